@@ -47,6 +47,10 @@ public final class AlertConfig implements Validator {
 
     private String alertServerAddress;
 
+    private Duration pluginInstanceCacheExpireTime = Duration.ofSeconds(30);
+
+    private AlertCoalesceConfig coalesce = new AlertCoalesceConfig();
+
     @Override
     public boolean supports(Class<?> clazz) {
         return AlertConfig.class.isAssignableFrom(clazz);
@@ -64,6 +68,18 @@ public final class AlertConfig implements Validator {
             errors.rejectValue("sender-parallelism", null, "should be a positive number");
         }
 
+        if (pluginInstanceCacheExpireTime.isNegative()) {
+            errors.rejectValue("plugin-instance-cache-expire-time", null, "should not be negative");
+        }
+
+        if (coalesce.isEnabled() && (coalesce.getWindow().isNegative() || coalesce.getWindow().isZero())) {
+            errors.rejectValue("coalesce.window", null, "should be a positive duration");
+        }
+
+        if (coalesce.getMaxDigestSize() <= 0) {
+            errors.rejectValue("coalesce.max-digest-size", null, "should be a positive number");
+        }
+
         if (StringUtils.isEmpty(alertServerAddress)) {
             alertConfig.setAlertServerAddress(NetUtils.getAddr(alertConfig.getPort()));
         }
@@ -75,5 +91,26 @@ public final class AlertConfig implements Validator {
         log.info("Alert config: port -> {}", port);
         log.info("Alert config: alertServerAddress -> {}", alertServerAddress);
         log.info("Alert config: maxHeartbeatInterval -> {}", maxHeartbeatInterval);
+        log.info("Alert config: pluginInstanceCacheExpireTime -> {}", pluginInstanceCacheExpireTime);
+        log.info("Alert config: coalesce -> {}", coalesce);
+    }
+
+    @Data
+    public static class AlertCoalesceConfig {
+
+        /**
+         * Whether to merge the alerts of the same alert group and alert type into one digest.
+         */
+        private boolean enabled = false;
+
+        /**
+         * The alerts arrived within the window are sent as one digest.
+         */
+        private Duration window = Duration.ofMinutes(1);
+
+        /**
+         * The digest is sent immediately once it contains so many alerts.
+         */
+        private int maxDigestSize = 100;
     }
 }
@@ -56,6 +56,12 @@ public class AlertServerMetrics {
                 .register(Metrics.globalRegistry);
     }
 
+    public void registerCoalescingAlertGauge(final Supplier<Number> supplier) {
+        Gauge.builder("ds.alert.coalescing", supplier)
+                .description("Number of alert waiting to be merged into a digest")
+                .register(Metrics.globalRegistry);
+    }
+
     public static void registerUncachedException(final Supplier<Number> supplier) {
         Gauge.builder("ds.alert.uncached.exception", supplier)
                 .description("number of uncached exception")
@@ -37,6 +37,7 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -62,19 +63,32 @@ public abstract class AbstractEventSender<T> implements EventSender<T> {
 
     @Override
     public void sendEvent(T event) {
-        List<AlertPluginInstance> alertPluginInstanceList = getAlertPluginInstanceList(event);
+        sendEvents(Collections.singletonList(event));
+    }
+
+    /**
+     * Send the given events as one alert, the events should belong to the same alert group and have the same alert
+     * type. A single event is sent as it is, multiple events are merged into one digest.
+     */
+    @Override
+    public void sendEvents(List<T> events) {
+        if (CollectionUtils.isEmpty(events)) {
+            return;
+        }
+        T firstEvent = events.get(0);
+        List<AlertPluginInstance> alertPluginInstanceList = getAlertPluginInstanceList(firstEvent);
         if (CollectionUtils.isEmpty(alertPluginInstanceList)) {
-            onError(event, "No bind plugin instance found");
+            onError(events, "No bind plugin instance found");
             return;
         }
-        AlertData alertData = getAlertData(event);
+        AlertData alertData = events.size() == 1 ? getAlertData(firstEvent) : getDigestAlertData(events);
         List<AlertSendStatus> alertSendStatuses = new ArrayList<>();
         for (AlertPluginInstance instance : alertPluginInstanceList) {
             AlertResult alertResult = doSendEvent(instance, alertData);
             AlertStatus alertStatus =
                     alertResult.isSuccess() ? AlertStatus.EXECUTION_SUCCESS : AlertStatus.EXECUTION_FAILURE;
             AlertSendStatus alertSendStatus = AlertSendStatus.builder()
-                    .alertId(getEventId(event))
+                    .alertId(getEventId(firstEvent))
                     .alertPluginInstanceId(instance.getId())
                     .sendStatus(alertStatus)
                     .log(JSONUtils.toJsonString(alertResult))
@@ -83,18 +97,18 @@ public abstract class AbstractEventSender<T> implements EventSender<T> {
             alertSendStatuses.add(alertSendStatus);
         }
         long failureCount = alertSendStatuses.stream()
-                .map(alertSendStatus -> alertSendStatus.getSendStatus() == AlertStatus.EXECUTION_FAILURE)
+                .filter(alertSendStatus -> alertSendStatus.getSendStatus() == AlertStatus.EXECUTION_FAILURE)
                 .count();
         long successCount = alertSendStatuses.stream()
-                .map(alertSendStatus -> alertSendStatus.getSendStatus() == AlertStatus.EXECUTION_SUCCESS)
+                .filter(alertSendStatus -> alertSendStatus.getSendStatus() == AlertStatus.EXECUTION_SUCCESS)
                 .count();
         if (successCount == 0) {
-            onError(event, JSONUtils.toJsonString(alertSendStatuses));
+            onError(events, JSONUtils.toJsonString(alertSendStatuses));
         } else {
             if (failureCount > 0) {
-                onPartialSuccess(event, JSONUtils.toJsonString(alertSendStatuses));
+                onPartialSuccess(events, JSONUtils.toJsonString(alertSendStatuses));
             } else {
-                onSuccess(event, JSONUtils.toJsonString(alertSendStatuses));
+                onSuccess(events, JSONUtils.toJsonString(alertSendStatuses));
             }
         }
     }
@@ -103,13 +117,18 @@ public abstract class AbstractEventSender<T> implements EventSender<T> {
 
     public abstract AlertData getAlertData(T event);
 
+    /**
+     * Merge the given events into one alert data.
+     */
+    public abstract AlertData getDigestAlertData(List<T> events);
+
     public abstract Integer getEventId(T event);
 
-    public abstract void onError(T event, String log);
+    public abstract void onError(List<T> events, String log);
 
-    public abstract void onPartialSuccess(T event, String log);
+    public abstract void onPartialSuccess(List<T> events, String log);
 
-    public abstract void onSuccess(T event, String log);
+    public abstract void onSuccess(List<T> events, String log);
 
     @Override
     public AlertResult doSendEvent(AlertPluginInstance instance, AlertData alertData) {
@@ -44,18 +44,22 @@ public final class AlertBootstrapService implements AutoCloseable {
 
     private final AlertEventLoop alertEventLoop;
 
+    private final AlertEventCoalescer alertEventCoalescer;
+
     public AlertBootstrapService(AlertRpcServer alertRpcServer,
                                  AlertRegistryClient alertRegistryClient,
                                  AlertPluginManager alertPluginManager,
                                  AlertHAServer alertHAServer,
                                  AlertEventFetcher alertEventFetcher,
-                                 AlertEventLoop alertEventLoop) {
+                                 AlertEventLoop alertEventLoop,
+                                 AlertEventCoalescer alertEventCoalescer) {
         this.alertRpcServer = alertRpcServer;
         this.alertRegistryClient = alertRegistryClient;
         this.alertPluginManager = alertPluginManager;
         this.alertHAServer = alertHAServer;
         this.alertEventFetcher = alertEventFetcher;
         this.alertEventLoop = alertEventLoop;
+        this.alertEventCoalescer = alertEventCoalescer;
     }
 
     public void start() {
@@ -65,6 +69,7 @@ public final class AlertBootstrapService implements AutoCloseable {
         alertRegistryClient.start();
         alertHAServer.start();
 
+        alertEventCoalescer.start();
         alertEventFetcher.start();
         alertEventLoop.start();
         log.info("AlertBootstrapService started...");
@@ -80,6 +85,7 @@ public final class AlertBootstrapService implements AutoCloseable {
             alertEventFetcher.shutdown();
 
             alertEventLoop.shutdown();
+            alertEventCoalescer.shutdown();
             alertHAServer.shutdown();
         }
         log.info("AlertBootstrapService stopped...");
@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.alert.service;
+
+import org.apache.dolphinscheduler.alert.config.AlertConfig;
+import org.apache.dolphinscheduler.alert.metrics.AlertServerMetrics;
+import org.apache.dolphinscheduler.common.enums.AlertType;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.dao.entity.Alert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Merge the alerts of the same alert group and alert type arrived within the coalesce window into one digest, so that
+ * a burst of similar alerts is sent to each plugin instance only once.
+ * <p>
+ * All the alerts of an alert group are sent to the same plugin instances, so grouping by the alert group also groups
+ * by the plugin instance. The close alerts are never merged, since they are used to resolve a specific alert.
+ * <p>
+ * The buffered alerts are still {@code WAIT_EXECUTION} in the database, if the server stopped before they are sent,
+ * they will be fetched and sent again by the next active alert server.
+ */
+@Slf4j
+@Component
+public class AlertEventCoalescer {
+
+    private final AlertSender alertSender;
+
+    private final AlertConfig.AlertCoalesceConfig coalesceConfig;
+
+    private final ThreadPoolExecutor senderThreadPool;
+
+    private final Map<CoalesceKey, CoalesceBucket> coalesceBuckets = new LinkedHashMap<>();
+
+    private final AtomicBoolean runningFlag = new AtomicBoolean(false);
+
+    private ScheduledExecutorService flushExecutor;
+
+    private int coalescingAlertCount;
+
+    public AlertEventCoalescer(AlertSender alertSender,
+                               AlertConfig alertConfig,
+                               AlertSenderThreadPoolFactory alertSenderThreadPoolFactory) {
+        this.alertSender = alertSender;
+        this.coalesceConfig = alertConfig.getCoalesce();
+        this.senderThreadPool = alertSenderThreadPoolFactory.getThreadPool();
+        AlertServerMetrics.registerCoalescingAlertGauge(this::getCoalescingAlertCount);
+    }
+
+    public boolean isEnabled() {
+        return coalesceConfig.isEnabled();
+    }
+
+    public void start() {
+        if (!isEnabled()) {
+            log.info("AlertEventCoalescer is disabled");
+            return;
+        }
+        if (!runningFlag.compareAndSet(false, true)) {
+            throw new IllegalArgumentException("AlertEventCoalescer is already started");
+        }
+        long flushInterval = Math.max(coalesceConfig.getWindow().toMillis() / 10, 100);
+        flushExecutor = ThreadUtils.newSingleDaemonScheduledExecutorService("AlertEventCoalescer");
+        flushExecutor.scheduleWithFixedDelay(this::flushExpiredBuckets, flushInterval, flushInterval,
+                TimeUnit.MILLISECONDS);
+        log.info("AlertEventCoalescer started, window: {}, maxDigestSize: {}", coalesceConfig.getWindow(),
+                coalesceConfig.getMaxDigestSize());
+    }
+
+    /**
+     * Buffer the given alert, the bucket is sent once it is full or the window is passed.
+     */
+    public void offer(Alert alert) {
+        if (alert.getAlertType() == AlertType.CLOSE_ALERT) {
+            send(Collections.singletonList(alert));
+            return;
+        }
+        List<Alert> fullBucket = null;
+        synchronized (coalesceBuckets) {
+            CoalesceKey coalesceKey = new CoalesceKey(alert.getAlertGroupId(), alert.getAlertType());
+            CoalesceBucket coalesceBucket =
+                    coalesceBuckets.computeIfAbsent(coalesceKey, key -> new CoalesceBucket(System.currentTimeMillis()));
+            coalesceBucket.alerts.add(alert);
+            coalescingAlertCount++;
+            if (coalesceBucket.alerts.size() >= coalesceConfig.getMaxDigestSize()) {
+                coalesceBuckets.remove(coalesceKey);
+                coalescingAlertCount -= coalesceBucket.alerts.size();
+                fullBucket = coalesceBucket.alerts;
+            }
+        }
+        if (fullBucket != null) {
+            send(fullBucket);
+        }
+    }
+
+    /**
+     * Send the buckets which have been buffered longer than the window.
+     */
+    void flushExpiredBuckets() {
+        long expiredCreateTime = System.currentTimeMillis() - coalesceConfig.getWindow().toMillis();
+        List<List<Alert>> expiredBuckets = new ArrayList<>();
+        synchronized (coalesceBuckets) {
+            Iterator<CoalesceBucket> iterator = coalesceBuckets.values().iterator();
+            while (iterator.hasNext()) {
+                CoalesceBucket coalesceBucket = iterator.next();
+                if (coalesceBucket.createTime > expiredCreateTime) {
+                    continue;
+                }
+                iterator.remove();
+                coalescingAlertCount -= coalesceBucket.alerts.size();
+                expiredBuckets.add(coalesceBucket.alerts);
+            }
+        }
+        expiredBuckets.forEach(this::send);
+    }
+
+    public int getCoalescingAlertCount() {
+        synchronized (coalesceBuckets) {
+            return coalescingAlertCount;
+        }
+    }
+
+    public void shutdown() {
+        if (!runningFlag.compareAndSet(true, false)) {
+            return;
+        }
+        flushExecutor.shutdownNow();
+        log.info("AlertEventCoalescer stopped, {} coalescing alerts will be sent after restart",
+                getCoalescingAlertCount());
+    }
+
+    private void send(List<Alert> alerts) {
+        CompletableFuture.runAsync(() -> alertSender.sendEvents(alerts), senderThreadPool)
+                .whenComplete((aVoid, throwable) -> {
+                    if (throwable != null) {
+                        log.error("Send {} coalesced alerts error", alerts.size(), throwable);
+                    }
+                });
+    }
+
+    private static class CoalesceKey {
+
+        private final Integer alertGroupId;
+
+        private final AlertType alertType;
+
+        private CoalesceKey(Integer alertGroupId, AlertType alertType) {
+            this.alertGroupId = alertGroupId;
+            this.alertType = alertType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CoalesceKey that = (CoalesceKey) o;
+            return Objects.equals(alertGroupId, that.alertGroupId) && alertType == that.alertType;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(alertGroupId, alertType);
+        }
+    }
+
+    private static class CoalesceBucket {
+
+        private final long createTime;
+
+        private final List<Alert> alerts = new ArrayList<>();
+
+        private CoalesceBucket(long createTime) {
+            this.createTime = createTime;
+        }
+    }
+}
@@ -30,16 +30,24 @@ public class AlertEventLoop extends AbstractEventLoop<Alert> {
 
     private final AlertSender alertSender;
 
+    private final AlertEventCoalescer alertEventCoalescer;
+
     public AlertEventLoop(AlertEventPendingQueue alertEventPendingQueue,
                           AlertSenderThreadPoolFactory alertSenderThreadPoolFactory,
-                          AlertSender alertSender) {
+                          AlertSender alertSender,
+                          AlertEventCoalescer alertEventCoalescer) {
         super("AlertEventLoop", alertSenderThreadPoolFactory.getThreadPool(), alertEventPendingQueue);
         this.alertSender = alertSender;
+        this.alertEventCoalescer = alertEventCoalescer;
         AlertServerMetrics.registerPendingAlertGauge(this::getHandlingEventCount);
     }
 
     @Override
     public void handleEvent(Alert event) {
+        if (alertEventCoalescer.isEnabled()) {
+            alertEventCoalescer.offer(event);
+            return;
+        }
         alertSender.sendEvent(event);
     }
 
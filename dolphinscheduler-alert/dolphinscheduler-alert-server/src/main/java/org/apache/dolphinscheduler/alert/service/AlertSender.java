@@ -22,6 +22,7 @@ import org.apache.dolphinscheduler.alert.api.AlertResult;
 import org.apache.dolphinscheduler.alert.config.AlertConfig;
 import org.apache.dolphinscheduler.alert.plugin.AlertPluginManager;
 import org.apache.dolphinscheduler.common.enums.AlertStatus;
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.dao.AlertDao;
 import org.apache.dolphinscheduler.dao.entity.Alert;
 import org.apache.dolphinscheduler.dao.entity.AlertPluginInstance;
@@ -30,23 +31,48 @@ import org.apache.dolphinscheduler.extract.alert.request.AlertSendResponse;
 import org.apache.commons.collections4.CollectionUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Component;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
 @Slf4j
 @Component
 public class AlertSender extends AbstractEventSender<Alert> {
 
     private final AlertDao alertDao;
 
+    /**
+     * The plugin instances of the alert groups, all the alerts of a group share the same plugin instances.
+     */
+    private final LoadingCache<Integer, List<AlertPluginInstance>> alertPluginInstanceCache;
+
     public AlertSender(AlertDao alertDao,
                        AlertPluginManager alertPluginManager,
                        AlertConfig alertConfig) {
         super(alertPluginManager, alertConfig.getWaitTimeout());
         this.alertDao = alertDao;
+        this.alertPluginInstanceCache = CacheBuilder.newBuilder()
+                .expireAfterWrite(alertConfig.getPluginInstanceCacheExpireTime().toMillis(), TimeUnit.MILLISECONDS)
+                .build(new CacheLoader<Integer, List<AlertPluginInstance>>() {
+
+                    @Override
+                    public List<AlertPluginInstance> load(Integer alertGroupId) {
+                        List<AlertPluginInstance> alertPluginInstances =
+                                alertDao.listInstanceByAlertGroupId(alertGroupId);
+                        return alertPluginInstances == null ? Collections.emptyList() : alertPluginInstances;
+                    }
+                });
     }
 
     /**
@@ -95,7 +121,7 @@ public class AlertSender extends AbstractEventSender<Alert> {
 
     @Override
     public List<AlertPluginInstance> getAlertPluginInstanceList(Alert event) {
-        return alertDao.listInstanceByAlertGroupId(event.getAlertGroupId());
+        return alertPluginInstanceCache.getUnchecked(event.getAlertGroupId());
     }
 
     @Override
@@ -109,23 +135,67 @@ public class AlertSender extends AbstractEventSender<Alert> {
                 .build();
     }
 
+    /**
+     * The digest takes the id and type of the first alert. If the contents of all the alerts are json, the json
+     * arrays are merged into one array so that the plugins can still render them as a table, otherwise the contents
+     * are joined by lines.
+     */
+    @Override
+    public AlertData getDigestAlertData(List<Alert> events) {
+        Alert firstEvent = events.get(0);
+        return AlertData.builder()
+                .id(firstEvent.getId())
+                .content(getDigestContent(events))
+                .title(String.format("[%s alerts] %s", events.size(), firstEvent.getTitle()))
+                .alertType(firstEvent.getAlertType().getCode())
+                .build();
+    }
+
+    private String getDigestContent(List<Alert> events) {
+        ArrayNode digestContent = JSONUtils.createArrayNode();
+        for (Alert event : events) {
+            String content = event.getContent();
+            JsonNode contentNode = JSONUtils.checkJsonValid(content, false)
+                    ? JSONUtils.parseObject(content, JsonNode.class)
+                    : null;
+            if (contentNode == null || !contentNode.isContainerNode()) {
+                return events.stream().map(Alert::getContent).collect(Collectors.joining("\n"));
+            }
+            if (contentNode.isArray()) {
+                digestContent.addAll((ArrayNode) contentNode);
+            } else {
+                digestContent.add(contentNode);
+            }
+        }
+        return JSONUtils.toJsonString(digestContent);
+    }
+
     @Override
     public Integer getEventId(Alert event) {
         return event.getId();
     }
 
     @Override
-    public void onError(Alert event, String log) {
-        alertDao.updateAlert(AlertStatus.EXECUTION_FAILURE, log, event.getId());
+    public void onError(List<Alert> events, String log) {
+        updateAlerts(AlertStatus.EXECUTION_FAILURE, log, events);
     }
 
     @Override
-    public void onPartialSuccess(Alert event, String log) {
-        alertDao.updateAlert(AlertStatus.EXECUTION_PARTIAL_SUCCESS, log, event.getId());
+    public void onPartialSuccess(List<Alert> events, String log) {
+        updateAlerts(AlertStatus.EXECUTION_PARTIAL_SUCCESS, log, events);
     }
 
     @Override
-    public void onSuccess(Alert event, String log) {
-        alertDao.updateAlert(AlertStatus.EXECUTION_SUCCESS, log, event.getId());
+    public void onSuccess(List<Alert> events, String log) {
+        updateAlerts(AlertStatus.EXECUTION_SUCCESS, log, events);
+    }
+
+    private void updateAlerts(AlertStatus alertStatus, String log, List<Alert> events) {
+        if (events.size() == 1) {
+            alertDao.updateAlert(alertStatus, log, events.get(0).getId());
+            return;
+        }
+        List<Integer> alertIds = events.stream().map(Alert::getId).collect(Collectors.toList());
+        alertDao.updateAlerts(alertStatus, log, alertIds);
     }
 }
@@ -22,10 +22,14 @@ import org.apache.dolphinscheduler.alert.api.AlertResult;
 import org.apache.dolphinscheduler.dao.entity.AlertPluginInstance;
 import org.apache.dolphinscheduler.extract.alert.request.AlertSendResponse;
 
+import java.util.List;
+
 public interface EventSender<T> {
 
     void sendEvent(T event);
 
+    void sendEvents(List<T> events);
+
     AlertResult doSendEvent(AlertPluginInstance instance, AlertData alertData);
 
     AlertSendResponse syncTestSend(int pluginDefineId, String pluginInstanceParams);
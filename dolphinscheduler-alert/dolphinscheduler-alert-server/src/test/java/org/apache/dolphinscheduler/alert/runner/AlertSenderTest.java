@@ -17,14 +17,26 @@
 
 package org.apache.dolphinscheduler.alert.runner;
 
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.apache.dolphinscheduler.alert.api.AlertChannel;
+import org.apache.dolphinscheduler.alert.api.AlertData;
+import org.apache.dolphinscheduler.alert.api.AlertInfo;
 import org.apache.dolphinscheduler.alert.api.AlertResult;
 import org.apache.dolphinscheduler.alert.config.AlertConfig;
 import org.apache.dolphinscheduler.alert.plugin.AlertPluginManager;
 import org.apache.dolphinscheduler.alert.service.AlertSender;
+import org.apache.dolphinscheduler.common.enums.AlertStatus;
+import org.apache.dolphinscheduler.common.enums.AlertType;
 import org.apache.dolphinscheduler.common.enums.WarningType;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.dao.AlertDao;
@@ -35,6 +47,8 @@ import org.apache.dolphinscheduler.extract.alert.request.AlertSendResponse;
 import org.apache.dolphinscheduler.spi.params.PluginParamsTransfer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -42,10 +56,12 @@ import java.util.Optional;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -61,8 +77,8 @@ class AlertSenderTest {
     private PluginDao pluginDao;
     @Mock
     private AlertPluginManager alertPluginManager;
-    @Mock
-    private AlertConfig alertConfig;
+    @Spy
+    private AlertConfig alertConfig = new AlertConfig();
 
     @InjectMocks
     private AlertSender alertSender;
@@ -181,4 +197,59 @@ class AlertSenderTest {
                 .thenReturn(paramsMap);
         alertSender.syncTestSend(PLUGIN_DEFINE_ID, PLUGIN_INSTANCE_PARAMS);
     }
+
+    @Test
+    void testSendEvents_digest() {
+        AlertPluginInstance alertPluginInstance = new AlertPluginInstance(PLUGIN_DEFINE_ID, "{}", PLUGIN_INSTANCE_NAME);
+        alertPluginInstance.setId(1);
+        when(alertDao.listInstanceByAlertGroupId(ALERT_GROUP_ID))
+                .thenReturn(Collections.singletonList(alertPluginInstance));
+        AlertChannel alertChannelMock = mock(AlertChannel.class);
+        when(alertChannelMock.process(any())).thenReturn(AlertResult.success());
+        when(alertPluginManager.getAlertChannel(PLUGIN_DEFINE_ID)).thenReturn(Optional.of(alertChannelMock));
+
+        alertSender.sendEvents(Arrays.asList(
+                createAlert(1, "[{\"task\":\"a\"}]"),
+                createAlert(2, "[{\"task\":\"b\"}]"),
+                createAlert(3, "{\"task\":\"c\"}")));
+
+        ArgumentCaptor<AlertInfo> alertInfoCaptor = ArgumentCaptor.forClass(AlertInfo.class);
+        verify(alertChannelMock, times(1)).process(alertInfoCaptor.capture());
+        AlertData alertData = alertInfoCaptor.getValue().getAlertData();
+        assertThat(alertData.getId()).isEqualTo(1);
+        assertThat(alertData.getTitle()).isEqualTo("[3 alerts] " + TITLE);
+        assertThat(alertData.getContent()).isEqualTo("[{\"task\":\"a\"},{\"task\":\"b\"},{\"task\":\"c\"}]");
+        verify(alertDao).updateAlerts(eq(AlertStatus.EXECUTION_SUCCESS), anyString(), eq(Arrays.asList(1, 2, 3)));
+        verify(alertDao, never()).updateAlert(any(), anyString(), anyInt());
+    }
+
+    @Test
+    void testGetDigestAlertData_plainContent() {
+        AlertData alertData = alertSender.getDigestAlertData(Arrays.asList(
+                createAlert(1, "[{\"task\":\"a\"}]"),
+                createAlert(2, "server down")));
+
+        assertThat(alertData.getContent()).isEqualTo("[{\"task\":\"a\"}]\nserver down");
+    }
+
+    @Test
+    void testGetAlertPluginInstanceList_cached() {
+        when(alertDao.listInstanceByAlertGroupId(ALERT_GROUP_ID)).thenReturn(null);
+
+        assertThat(alertSender.getAlertPluginInstanceList(createAlert(1, CONTENT))).isEmpty();
+        assertThat(alertSender.getAlertPluginInstanceList(createAlert(2, CONTENT))).isEmpty();
+
+        verify(alertDao, times(1)).listInstanceByAlertGroupId(ALERT_GROUP_ID);
+    }
+
+    private Alert createAlert(int id, String content) {
+        Alert alert = new Alert();
+        alert.setId(id);
+        alert.setAlertGroupId(ALERT_GROUP_ID);
+        alert.setTitle(TITLE);
+        alert.setContent(content);
+        alert.setAlertType(AlertType.PROCESS_INSTANCE_FAILURE);
+        alert.setWarningType(WarningType.FAILURE);
+        return alert;
+    }
 }
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.alert.service;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.alert.config.AlertConfig;
+import org.apache.dolphinscheduler.common.enums.AlertType;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.dao.entity.Alert;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AlertEventCoalescerTest {
+
+    private AlertSender alertSender;
+
+    private AlertConfig alertConfig;
+
+    private AlertSenderThreadPoolFactory alertSenderThreadPoolFactory;
+
+    @BeforeEach
+    void before() {
+        alertSender = mock(AlertSender.class);
+        alertConfig = new AlertConfig();
+        alertConfig.getCoalesce().setEnabled(true);
+        alertConfig.getCoalesce().setWindow(Duration.ofHours(1));
+        alertConfig.getCoalesce().setMaxDigestSize(3);
+        alertSenderThreadPoolFactory = mock(AlertSenderThreadPoolFactory.class);
+        when(alertSenderThreadPoolFactory.getThreadPool())
+                .thenReturn(ThreadUtils.newDaemonFixedThreadExecutor("AlertEventCoalescerTest", 1));
+    }
+
+    @Test
+    void offer_sendFullBucketImmediately() {
+        AlertEventCoalescer alertEventCoalescer = createAlertEventCoalescer();
+        Alert alert1 = createAlert(1, 1, AlertType.TASK_FAILURE);
+        Alert alert2 = createAlert(2, 1, AlertType.TASK_FAILURE);
+        Alert alert3 = createAlert(3, 1, AlertType.TASK_FAILURE);
+
+        alertEventCoalescer.offer(alert1);
+        alertEventCoalescer.offer(alert2);
+        assertThat(alertEventCoalescer.getCoalescingAlertCount()).isEqualTo(2);
+        alertEventCoalescer.offer(alert3);
+
+        verify(alertSender, timeout(5_000)).sendEvents(Arrays.asList(alert1, alert2, alert3));
+        assertThat(alertEventCoalescer.getCoalescingAlertCount()).isEqualTo(0);
+    }
+
+    @Test
+    void offer_groupByAlertGroupAndAlertType() {
+        alertConfig.getCoalesce().setWindow(Duration.ZERO);
+        AlertEventCoalescer alertEventCoalescer = createAlertEventCoalescer();
+        Alert alert1 = createAlert(1, 1, AlertType.TASK_FAILURE);
+        Alert alert2 = createAlert(2, 2, AlertType.TASK_FAILURE);
+        Alert alert3 = createAlert(3, 1, AlertType.PROCESS_INSTANCE_FAILURE);
+        Alert alert4 = createAlert(4, 1, AlertType.TASK_FAILURE);
+
+        alertEventCoalescer.offer(alert1);
+        alertEventCoalescer.offer(alert2);
+        alertEventCoalescer.offer(alert3);
+        alertEventCoalescer.offer(alert4);
+        alertEventCoalescer.flushExpiredBuckets();
+
+        verify(alertSender, timeout(5_000)).sendEvents(Arrays.asList(alert1, alert4));
+        verify(alertSender, timeout(5_000)).sendEvents(Collections.singletonList(alert2));
+        verify(alertSender, timeout(5_000)).sendEvents(Collections.singletonList(alert3));
+    }
+
+    @Test
+    void offer_sendCloseAlertImmediately() {
+        AlertEventCoalescer alertEventCoalescer = createAlertEventCoalescer();
+        Alert closeAlert = createAlert(1, 1, AlertType.CLOSE_ALERT);
+
+        alertEventCoalescer.offer(closeAlert);
+
+        verify(alertSender, timeout(5_000)).sendEvents(Collections.singletonList(closeAlert));
+        assertThat(alertEventCoalescer.getCoalescingAlertCount()).isEqualTo(0);
+    }
+
+    @Test
+    void flushExpiredBuckets_keepBucketWithinWindow() {
+        AlertEventCoalescer alertEventCoalescer = createAlertEventCoalescer();
+
+        alertEventCoalescer.offer(createAlert(1, 1, AlertType.TASK_FAILURE));
+        alertEventCoalescer.flushExpiredBuckets();
+
+        verify(alertSender, after(200).never()).sendEvents(anyList());
+        assertThat(alertEventCoalescer.getCoalescingAlertCount()).isEqualTo(1);
+    }
+
+    private AlertEventCoalescer createAlertEventCoalescer() {
+        return new AlertEventCoalescer(alertSender, alertConfig, alertSenderThreadPoolFactory);
+    }
+
+    private Alert createAlert(int id, int alertGroupId, AlertType alertType) {
+        Alert alert = new Alert();
+        alert.setId(id);
+        alert.setAlertGroupId(alertGroupId);
+        alert.setAlertType(alertType);
+        return alert;
+    }
+}
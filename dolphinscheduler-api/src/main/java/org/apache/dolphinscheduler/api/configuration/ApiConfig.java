@@ -17,6 +17,10 @@
 
 package org.apache.dolphinscheduler.api.configuration;
 
+import org.apache.dolphinscheduler.extract.base.serialize.JsonRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerManager;
+
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -40,10 +44,27 @@ public class ApiConfig implements Validator {
 
     private boolean auditEnable = false;
 
+    /**
+     * Whether to notify the masters once new commands are inserted, so the masters can fetch the commands immediately.
+     */
+    private boolean commandWakeupEnable = false;
+
     private TrafficConfiguration trafficControl = new TrafficConfiguration();
 
     private PythonGatewayConfiguration pythonGateway = new PythonGatewayConfiguration();
 
+    private StateCountRollupConfiguration stateCountRollup = new StateCountRollupConfiguration();
+
+    private LoginUserCacheConfiguration loginUserCache = new LoginUserCacheConfiguration();
+
+    private AuthorizationCacheConfiguration authorizationCache = new AuthorizationCacheConfiguration();
+
+    /**
+     * The serializer of the rpc requests sent by the api server, only set it to binary once all the servers are
+     * upgraded, the old servers cannot recognize the binary requests.
+     */
+    private String rpcSerializer = JsonRpcSerializer.NAME;
+
     @Override
     public boolean supports(Class<?> clazz) {
         return ApiConfig.class.isAssignableFrom(clazz);
@@ -51,13 +72,23 @@ public class ApiConfig implements Validator {
 
     @Override
     public void validate(Object target, Errors errors) {
+        try {
+            RpcSerializerManager.getSerializer(rpcSerializer);
+        } catch (IllegalArgumentException ex) {
+            errors.rejectValue("rpcSerializer", null, ex.getMessage());
+        }
         printConfig();
     }
 
     private void printConfig() {
         log.info("API config: auditEnable -> {} ", auditEnable);
+        log.info("API config: commandWakeupEnable -> {} ", commandWakeupEnable);
         log.info("API config: trafficControl -> {} ", trafficControl);
         log.info("API config: pythonGateway -> {} ", pythonGateway);
+        log.info("API config: stateCountRollup -> {} ", stateCountRollup);
+        log.info("API config: loginUserCache -> {} ", loginUserCache);
+        log.info("API config: authorizationCache -> {} ", authorizationCache);
+        log.info("API config: rpcSerializer -> {} ", rpcSerializer);
     }
 
     @Data
@@ -87,4 +118,65 @@ public class ApiConfig implements Validator {
         private String authToken = "jwUDzpLsNKEFER4*a8gruBH_GsAurNxU7A@Xc";
     }
 
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StateCountRollupConfiguration {
+
+        /**
+         * Whether to serve the instance state counts of the dashboard from the daily rollups.
+         */
+        private boolean enabled = true;
+        /**
+         * The interval to compact the finished days into the rollups.
+         */
+        private Duration compactInterval = Duration.ofHours(1);
+        /**
+         * The recent days which are compacted again in every round, since their instances may still change state.
+         */
+        private int recomputeDays = 3;
+        /**
+         * The older days which are compacted again in rotation in every round, to correct the reruns and deletions.
+         */
+        private int historyRecheckDaysPerRun = 7;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LoginUserCacheConfiguration {
+
+        /**
+         * Whether to cache the users of the tokens and sessions, so the login check doesn't query the db for each request.
+         */
+        private boolean enabled = true;
+        /**
+         * The max number of the cached tokens, and the max number of the cached sessions.
+         */
+        private int maximumSize = 10000;
+        /**
+         * The time to live of a cached user, the changes made on other api servers are seen after it.
+         */
+        private Duration expireAfterWrite = Duration.ofMinutes(1);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AuthorizationCacheConfiguration {
+
+        /**
+         * Whether to cache the user types and the authorized resource ids of the users for the permission checks.
+         */
+        private boolean enabled = true;
+        /**
+         * The max number of the cached users, and the max number of the cached (user, authorization type) pairs.
+         */
+        private int maximumSize = 10000;
+        /**
+         * The time to live of the cached authorization, the revocations made on other api servers are seen after it.
+         */
+        private Duration expireAfterWrite = Duration.ofMinutes(1);
+    }
+
 }
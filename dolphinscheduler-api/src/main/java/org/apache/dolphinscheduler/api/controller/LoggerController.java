@@ -64,13 +64,15 @@ public class LoggerController extends BaseController {
      * @param taskInstanceId task instance id
      * @param skipNum skip number
      * @param limit limit
+     * @param tail read the last limit lines of the log, the skipNum is ignored
      * @return task log content
      */
     @Operation(summary = "queryLog", description = "QUERY_TASK_INSTANCE_LOG_NOTES")
     @Parameters({
             @Parameter(name = "taskInstanceId", description = "TASK_ID", required = true, schema = @Schema(implementation = int.class, example = "100")),
             @Parameter(name = "skipLineNum", description = "SKIP_LINE_NUM", required = true, schema = @Schema(implementation = int.class, example = "100")),
-            @Parameter(name = "limit", description = "LIMIT", required = true, schema = @Schema(implementation = int.class, example = "100"))
+            @Parameter(name = "limit", description = "LIMIT", required = true, schema = @Schema(implementation = int.class, example = "100")),
+            @Parameter(name = "tail", description = "TAIL_LOG", required = false, schema = @Schema(implementation = boolean.class, example = "false"))
     })
     @GetMapping(value = "/detail")
     @ResponseStatus(HttpStatus.OK)
@@ -78,8 +80,9 @@ public class LoggerController extends BaseController {
     public Result<ResponseTaskLog> queryLog(@Parameter(hidden = true) @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
                                             @RequestParam(value = "taskInstanceId") int taskInstanceId,
                                             @RequestParam(value = "skipLineNum") int skipNum,
-                                            @RequestParam(value = "limit") int limit) {
-        return loggerService.queryLog(loginUser, taskInstanceId, skipNum, limit);
+                                            @RequestParam(value = "limit") int limit,
+                                            @RequestParam(value = "tail", required = false, defaultValue = "false") boolean tail) {
+        return loggerService.queryLog(loginUser, taskInstanceId, skipNum, limit, tail);
     }
 
     /**
@@ -114,6 +117,7 @@ public class LoggerController extends BaseController {
      * @param taskInstanceId task instance id
      * @param skipNum        skip number
      * @param limit          limit
+     * @param tail           read the last limit lines of the log, the skipNum is ignored
      * @return task log content
      */
     @Operation(summary = "queryLogInSpecifiedProject", description = "QUERY_TASK_INSTANCE_LOG_IN_SPECIFIED_PROJECT_NOTES")
@@ -121,7 +125,8 @@ public class LoggerController extends BaseController {
             @Parameter(name = "projectCode", description = "PROJECT_CODE", required = true, schema = @Schema(implementation = long.class)),
             @Parameter(name = "taskInstanceId", description = "TASK_ID", required = true, schema = @Schema(implementation = int.class, example = "100")),
             @Parameter(name = "skipLineNum", description = "SKIP_LINE_NUM", required = true, schema = @Schema(implementation = int.class, example = "100")),
-            @Parameter(name = "limit", description = "LIMIT", required = true, schema = @Schema(implementation = int.class, example = "100"))
+            @Parameter(name = "limit", description = "LIMIT", required = true, schema = @Schema(implementation = int.class, example = "100")),
+            @Parameter(name = "tail", description = "TAIL_LOG", required = false, schema = @Schema(implementation = boolean.class, example = "false"))
     })
     @GetMapping(value = "/{projectCode}/detail")
     @ResponseStatus(HttpStatus.OK)
@@ -130,8 +135,9 @@ public class LoggerController extends BaseController {
                                    @Parameter(name = "projectCode", description = "PROJECT_CODE", required = true) @PathVariable long projectCode,
                                    @RequestParam(value = "taskInstanceId") int taskInstanceId,
                                    @RequestParam(value = "skipLineNum") int skipNum,
-                                   @RequestParam(value = "limit") int limit) {
-        String log = loggerService.queryLog(loginUser, projectCode, taskInstanceId, skipNum, limit);
+                                   @RequestParam(value = "limit") int limit,
+                                   @RequestParam(value = "tail", required = false, defaultValue = "false") boolean tail) {
+        String log = loggerService.queryLog(loginUser, projectCode, taskInstanceId, skipNum, limit, tail);
         return Result.success(log);
     }
 
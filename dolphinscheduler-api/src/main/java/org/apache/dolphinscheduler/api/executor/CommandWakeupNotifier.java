@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.executor;
+
+import org.apache.dolphinscheduler.api.configuration.ApiConfig;
+import org.apache.dolphinscheduler.common.model.Server;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
+import org.apache.dolphinscheduler.extract.master.ICommandWakeupService;
+import org.apache.dolphinscheduler.extract.master.transportor.CommandWakeupRequest;
+import org.apache.dolphinscheduler.registry.api.RegistryClient;
+import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Notify the masters that new commands have been inserted, so the masters don't need to wait for the next fetch
+ * interval. The notification is best effort, the masters will still fetch the commands by polling if it is lost.
+ */
+@Slf4j
+@Component
+public class CommandWakeupNotifier {
+
+    private static final int MAX_PENDING_NOTIFICATIONS = 1024;
+
+    @Autowired
+    private ApiConfig apiConfig;
+
+    @Autowired
+    private RegistryClient registryClient;
+
+    private final ExecutorService notifyExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(MAX_PENDING_NOTIFICATIONS),
+            ThreadUtils.newDaemonThreadFactory("CommandWakeupNotifier"));
+
+    /**
+     * Notify the masters that the given commands are inserted, if there is an active transaction, the masters will be
+     * notified after the transaction committed, otherwise the masters might not see the commands.
+     *
+     * @param commandIds the ids of the inserted commands, if empty all the masters will be woken up
+     */
+    public void notifyCommandsCreated(List<Integer> commandIds) {
+        if (!apiConfig.isCommandWakeupEnable()) {
+            return;
+        }
+        List<Integer> wakeupCommandIds = commandIds == null ? Collections.emptyList() : new ArrayList<>(commandIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    submitNotification(wakeupCommandIds);
+                }
+            });
+            return;
+        }
+        submitNotification(wakeupCommandIds);
+    }
+
+    private void submitNotification(List<Integer> commandIds) {
+        try {
+            notifyExecutor.execute(() -> wakeupMasters(new CommandWakeupRequest(commandIds)));
+        } catch (RejectedExecutionException e) {
+            log.warn("Too many pending command wakeup notifications, the masters will fetch the commands by polling");
+        }
+    }
+
+    private void wakeupMasters(CommandWakeupRequest commandWakeupRequest) {
+        List<Server> masterServers = registryClient.getServerList(RegistryNodeType.MASTER);
+        for (Server masterServer : masterServers) {
+            String masterAddress = String.format("%s:%s", masterServer.getHost(), masterServer.getPort());
+            try {
+                SingletonJdkDynamicRpcClientProxyFactory.getProxyClient(masterAddress, ICommandWakeupService.class)
+                        .wakeupCommandFetcher(commandWakeupRequest);
+            } catch (Exception e) {
+                log.warn("Failed to wake up the command fetcher of master: {}, error message: {}", masterAddress,
+                        e.getMessage());
+            }
+        }
+    }
+}
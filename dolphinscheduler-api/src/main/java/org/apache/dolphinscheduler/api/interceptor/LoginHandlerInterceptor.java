@@ -20,10 +20,12 @@ package org.apache.dolphinscheduler.api.interceptor;
 import org.apache.dolphinscheduler.api.enums.Status;
 import org.apache.dolphinscheduler.api.metrics.ApiServerMetrics;
 import org.apache.dolphinscheduler.api.security.Authenticator;
+import org.apache.dolphinscheduler.api.security.LoginUserCache;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.enums.Flag;
 import org.apache.dolphinscheduler.common.thread.ThreadLocalContext;
 import org.apache.dolphinscheduler.dao.entity.User;
+import org.apache.dolphinscheduler.dao.mapper.AccessTokenMapper;
 import org.apache.dolphinscheduler.dao.mapper.UserMapper;
 
 import org.apache.commons.lang3.StringUtils;
@@ -49,9 +51,15 @@ public class LoginHandlerInterceptor implements HandlerInterceptor {
     @Autowired
     private UserMapper userMapper;
 
+    @Autowired
+    private AccessTokenMapper accessTokenMapper;
+
     @Autowired
     private Authenticator authenticator;
 
+    @Autowired
+    private LoginUserCache loginUserCache;
+
     /**
      * Intercept the execution of a handler. Called after HandlerMapping determined
      *
@@ -76,7 +84,8 @@ public class LoginHandlerInterceptor implements HandlerInterceptor {
                 return false;
             }
         } else {
-            user = userMapper.queryUserByToken(token, new Date());
+            user = loginUserCache.getTokenUser(token, t -> userMapper.queryUserByToken(t, new Date()),
+                    accessTokenMapper::queryExpireTimeByToken);
             if (user == null) {
                 response.setStatus(HttpStatus.SC_UNAUTHORIZED);
                 log.info("user token has expired");
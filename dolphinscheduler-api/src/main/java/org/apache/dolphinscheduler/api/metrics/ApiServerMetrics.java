@@ -21,8 +21,12 @@ import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import lombok.experimental.UtilityClass;
+
+import com.google.common.cache.Cache;
+
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Timer;
@@ -123,6 +127,28 @@ public class ApiServerMetrics {
                         "user.id", String.valueOf(userId)));
     }
 
+    /**
+     * Register the metrics of the login user cache.
+     *
+     * @param type the credential type of the cache, token or session
+     */
+    public void registerLoginUserCacheMetrics(final Cache<?, ?> cache, final String type) {
+        FunctionCounter.builder("ds.api.login.user.cache.request", cache, c -> c.stats().hitCount())
+                .tag("type", type)
+                .tag("result", "hit")
+                .description("The number of login user cache requests")
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder("ds.api.login.user.cache.request", cache, c -> c.stats().missCount())
+                .tag("type", type)
+                .tag("result", "miss")
+                .description("The number of login user cache requests")
+                .register(Metrics.globalRegistry);
+        Gauge.builder("ds.api.login.user.cache.size", cache, Cache::size)
+                .tag("type", type)
+                .description("The number of users in the login user cache")
+                .register(Metrics.globalRegistry);
+    }
+
     public static void registerUncachedException(final Supplier<Number> supplier) {
         Gauge.builder("ds.api.uncached.exception", supplier)
                 .description("number of uncached exception")
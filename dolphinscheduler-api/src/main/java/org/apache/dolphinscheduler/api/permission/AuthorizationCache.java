@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.permission;
+
+import org.apache.dolphinscheduler.api.configuration.ApiConfig;
+import org.apache.dolphinscheduler.common.enums.UserType;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Cache the user types and the authorized resource ids of the users for the permission checks.
+ * <p>
+ * A check which is denied by the cached resource ids is checked again with the resource ids loaded from db, so the
+ * newly authorized resources are never denied. The cached resource ids of a user are invalidated once the user is
+ * revoked from the resources on this api server, the revocations made on other api servers are seen after the cached
+ * resource ids expire.
+ * <p>
+ * If the revocation is made in a transaction, the cached authorization is invalidated again after the transaction
+ * committed, otherwise a check between the invalidation and the commit may load the revoked resource ids into the
+ * cache again.
+ */
+@Slf4j
+@Component
+public class AuthorizationCache {
+
+    private final Cache<Integer, UserType> userTypeCache;
+
+    /**
+     * (userId, authorizationType) -> authorized resource ids
+     */
+    private final Cache<Pair<Integer, Object>, AuthorizedResourceIds> authorizedResourceIdsCache;
+
+    public AuthorizationCache(ApiConfig apiConfig) {
+        ApiConfig.AuthorizationCacheConfiguration authorizationCacheConfig = apiConfig.getAuthorizationCache();
+        if (authorizationCacheConfig.isEnabled()) {
+            this.userTypeCache = CacheBuilder.newBuilder()
+                    .maximumSize(authorizationCacheConfig.getMaximumSize())
+                    .expireAfterWrite(authorizationCacheConfig.getExpireAfterWrite().toMillis(),
+                            TimeUnit.MILLISECONDS)
+                    .build();
+            this.authorizedResourceIdsCache = CacheBuilder.newBuilder()
+                    .maximumSize(authorizationCacheConfig.getMaximumSize())
+                    .expireAfterWrite(authorizationCacheConfig.getExpireAfterWrite().toMillis(),
+                            TimeUnit.MILLISECONDS)
+                    .build();
+        } else {
+            this.userTypeCache = null;
+            this.authorizedResourceIdsCache = null;
+        }
+    }
+
+    /**
+     * Get the user type of the user, load it if it is not cached.
+     *
+     * @return the user type, null if the user doesn't exist
+     */
+    public UserType getUserType(int userId, Supplier<UserType> userTypeLoader) {
+        if (userTypeCache == null) {
+            return userTypeLoader.get();
+        }
+        UserType userType = userTypeCache.getIfPresent(userId);
+        if (userType == null) {
+            userType = userTypeLoader.get();
+            if (userType != null) {
+                userTypeCache.put(userId, userType);
+            }
+        }
+        return userType;
+    }
+
+    /**
+     * Whether all the resources are authorized to the user.
+     *
+     * @param authorizationType authorization type
+     * @param userId user id
+     * @param resourceIds the resource ids to check
+     * @param authorizedResourceIdsLoader load all the authorized resource ids of the user from db
+     */
+    public boolean isAuthorized(Object authorizationType, int userId, Object[] resourceIds,
+                                Supplier<Set<?>> authorizedResourceIdsLoader) {
+        if (authorizedResourceIdsCache == null) {
+            return AuthorizedResourceIds.of(authorizedResourceIdsLoader.get()).containsAll(resourceIds);
+        }
+        Pair<Integer, Object> key = Pair.of(userId, authorizationType);
+        AuthorizedResourceIds authorizedResourceIds = authorizedResourceIdsCache.getIfPresent(key);
+        if (authorizedResourceIds != null && authorizedResourceIds.containsAll(resourceIds)) {
+            return true;
+        }
+        // the resources may be authorized after the resource ids are cached
+        authorizedResourceIds = AuthorizedResourceIds.of(authorizedResourceIdsLoader.get());
+        authorizedResourceIdsCache.put(key, authorizedResourceIds);
+        return authorizedResourceIds.containsAll(resourceIds);
+    }
+
+    /**
+     * Invalidate the cached user type and authorized resource ids of the user.
+     */
+    public void invalidateUser(Integer userId) {
+        if (userTypeCache == null || userId == null) {
+            return;
+        }
+        doInvalidateUser(userId);
+        afterCommit(() -> doInvalidateUser(userId));
+    }
+
+    /**
+     * Invalidate the cached authorized resource ids of the authorization type for all the users.
+     */
+    public void invalidateAuthorizationType(Object authorizationType) {
+        if (authorizedResourceIdsCache == null) {
+            return;
+        }
+        doInvalidateAuthorizationType(authorizationType);
+        afterCommit(() -> doInvalidateAuthorizationType(authorizationType));
+    }
+
+    private void doInvalidateUser(Integer userId) {
+        userTypeCache.invalidate(userId);
+        authorizedResourceIdsCache.asMap().keySet().removeIf(key -> userId.equals(key.getLeft()));
+        log.debug("Invalidate the cached authorization, userId: {}", userId);
+    }
+
+    private void doInvalidateAuthorizationType(Object authorizationType) {
+        authorizedResourceIdsCache.asMap().keySet().removeIf(key -> authorizationType.equals(key.getRight()));
+        log.debug("Invalidate the cached authorization, authorizationType: {}", authorizationType);
+    }
+
+    private void afterCommit(Runnable invalidation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+                invalidation.run();
+            }
+        });
+    }
+
+    /**
+     * The authorized resource ids, the integer ids are kept in a sorted array.
+     */
+    static final class AuthorizedResourceIds {
+
+        private static final AuthorizedResourceIds EMPTY = new AuthorizedResourceIds(new int[0], null);
+
+        private final int[] sortedIds;
+
+        private final Set<?> ids;
+
+        private AuthorizedResourceIds(int[] sortedIds, Set<?> ids) {
+            this.sortedIds = sortedIds;
+            this.ids = ids;
+        }
+
+        static AuthorizedResourceIds of(Set<?> ids) {
+            if (ids == null || ids.isEmpty()) {
+                return EMPTY;
+            }
+            int[] sortedIds = new int[ids.size()];
+            int i = 0;
+            for (Object id : ids) {
+                if (!(id instanceof Integer)) {
+                    return new AuthorizedResourceIds(null, new HashSet<>(ids));
+                }
+                sortedIds[i++] = (Integer) id;
+            }
+            Arrays.sort(sortedIds);
+            return new AuthorizedResourceIds(sortedIds, null);
+        }
+
+        boolean containsAll(Object[] resourceIds) {
+            for (Object resourceId : resourceIds) {
+                if (!contains(resourceId)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean contains(Object resourceId) {
+            if (sortedIds == null) {
+                return ids.contains(resourceId);
+            }
+            return resourceId instanceof Integer && Arrays.binarySearch(sortedIds, (Integer) resourceId) >= 0;
+        }
+    }
+}
@@ -61,9 +61,7 @@ import org.apache.dolphinscheduler.dao.mapper.TenantMapper;
 import org.apache.dolphinscheduler.dao.mapper.WorkerGroupMapper;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 
-import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -87,6 +85,9 @@ public class ResourcePermissionCheckServiceImpl
     @Autowired
     private ProcessService processService;
 
+    @Autowired
+    private AuthorizationCache authorizationCache;
+
     public static final Map<AuthorizationType, ResourceAcquisitionAndPermissionCheck<?>> RESOURCE_LIST_MAP =
             new ConcurrentHashMap<>();
 
@@ -103,9 +104,10 @@ public class ResourcePermissionCheckServiceImpl
     public boolean resourcePermissionCheck(Object authorizationType, Object[] needChecks, Integer userId,
                                            Logger logger) {
         if (Objects.nonNull(needChecks) && needChecks.length > 0) {
-            Set<?> originResSet = new HashSet<>(Arrays.asList(needChecks));
-            Set<?> ownResSets = RESOURCE_LIST_MAP.get(authorizationType).listAuthorizedResourceIds(userId, logger);
-            boolean checkResult = ownResSets != null && ownResSets.containsAll(originResSet);
+            ResourceAcquisitionAndPermissionCheck<?> resourceAcquisitionAndPermissionCheck =
+                    RESOURCE_LIST_MAP.get(authorizationType);
+            boolean checkResult = authorizationCache.isAuthorized(authorizationType, userId, needChecks,
+                    () -> resourceAcquisitionAndPermissionCheck.listAuthorizedResourceIds(userId, logger));
             if (!checkResult) {
                 logger.warn("User does not have resource permission on associated resources, userId:{}", userId);
             }
@@ -117,12 +119,12 @@ public class ResourcePermissionCheckServiceImpl
     @Override
     public boolean operationPermissionCheck(Object authorizationType, Integer userId,
                                             String permissionKey, Logger logger) {
-        User user = processService.getUserById(userId);
-        if (user == null) {
+        UserType userType = getUserType(userId);
+        if (userType == null) {
             logger.error("User does not exist, userId:{}.", userId);
             return false;
         }
-        if (user.getUserType().equals(UserType.ADMIN_USER)) {
+        if (userType.equals(UserType.ADMIN_USER)) {
             return true;
         }
         return RESOURCE_LIST_MAP.get(authorizationType).permissionCheck(userId, permissionKey, logger);
@@ -135,13 +137,20 @@ public class ResourcePermissionCheckServiceImpl
 
     @Override
     public Set<Object> userOwnedResourceIdsAcquisition(Object authorizationType, Integer userId, Logger logger) {
-        User user = processService.getUserById(userId);
-        if (user == null) {
+        UserType userType = getUserType(userId);
+        if (userType == null) {
             logger.error("User does not exist, userId:{}.", userId);
             return Collections.emptySet();
         }
         return (Set<Object>) RESOURCE_LIST_MAP.get(authorizationType).listAuthorizedResourceIds(
-                user.getUserType().equals(UserType.ADMIN_USER) ? 0 : userId, logger);
+                userType.equals(UserType.ADMIN_USER) ? 0 : userId, logger);
+    }
+
+    private UserType getUserType(Integer userId) {
+        return authorizationCache.getUserType(userId, () -> {
+            User user = processService.getUserById(userId);
+            return user == null ? null : user.getUserType();
+        });
     }
 
     @Component
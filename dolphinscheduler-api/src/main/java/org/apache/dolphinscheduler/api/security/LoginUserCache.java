@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.security;
+
+import org.apache.dolphinscheduler.api.configuration.ApiConfig;
+import org.apache.dolphinscheduler.api.metrics.ApiServerMetrics;
+import org.apache.dolphinscheduler.dao.entity.User;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Cache the login users by their access tokens and session ids, so the login check of each request doesn't query
+ * the db.
+ * <p>
+ * The cached users are invalidated once the token, the session or the user is changed on this api server, the changes
+ * made on other api servers are seen after the cached users expire.
+ * <p>
+ * If the change is made in a transaction, the cached users are invalidated again after the transaction committed,
+ * otherwise a request between the invalidation and the commit may load the old user into the cache again.
+ * <p>
+ * Each request gets its own copy of the cached user, since the login user is modified by some of the requests. The
+ * cached user of a token is not used after the token expires.
+ */
+@Slf4j
+@Component
+public class LoginUserCache {
+
+    private final Cache<String, CachedUser> tokenUserCache;
+
+    private final Cache<String, CachedUser> sessionUserCache;
+
+    public LoginUserCache(ApiConfig apiConfig) {
+        ApiConfig.LoginUserCacheConfiguration loginUserCacheConfig = apiConfig.getLoginUserCache();
+        if (loginUserCacheConfig.isEnabled()) {
+            this.tokenUserCache = createCache(loginUserCacheConfig);
+            this.sessionUserCache = createCache(loginUserCacheConfig);
+            ApiServerMetrics.registerLoginUserCacheMetrics(tokenUserCache, "token");
+            ApiServerMetrics.registerLoginUserCacheMetrics(sessionUserCache, "session");
+        } else {
+            this.tokenUserCache = null;
+            this.sessionUserCache = null;
+        }
+    }
+
+    /**
+     * Get the user of the access token, load it if it is not cached or the token is expired, the token which has no
+     * user or no expire time is not cached.
+     */
+    public User getTokenUser(String token,
+                             Function<String, User> userLoader,
+                             Function<String, Date> tokenExpireTimeLoader) {
+        return getUser(tokenUserCache, token, userLoader, tokenExpireTimeLoader);
+    }
+
+    /**
+     * Get the user of the session, load it if it is not cached, the session which has no user is not cached.
+     */
+    public User getSessionUser(String sessionId, Function<String, User> userLoader) {
+        return getUser(sessionUserCache, sessionId, userLoader, key -> new Date(Long.MAX_VALUE));
+    }
+
+    public void invalidateToken(String token) {
+        if (tokenUserCache == null || token == null) {
+            return;
+        }
+        tokenUserCache.invalidate(token);
+        afterCommit(() -> tokenUserCache.invalidate(token));
+    }
+
+    /**
+     * Invalidate all the cached tokens and sessions of the user.
+     */
+    public void invalidateUser(Integer userId) {
+        if (tokenUserCache == null || userId == null) {
+            return;
+        }
+        doInvalidateUser(userId);
+        afterCommit(() -> doInvalidateUser(userId));
+    }
+
+    private void doInvalidateUser(Integer userId) {
+        tokenUserCache.asMap().values().removeIf(cachedUser -> userId.equals(cachedUser.user.getId()));
+        sessionUserCache.asMap().values().removeIf(cachedUser -> userId.equals(cachedUser.user.getId()));
+        log.debug("Invalidate the cached login user, userId: {}", userId);
+    }
+
+    private void afterCommit(Runnable invalidation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+                invalidation.run();
+            }
+        });
+    }
+
+    private User getUser(Cache<String, CachedUser> userCache,
+                         String key,
+                         Function<String, User> userLoader,
+                         Function<String, Date> expireTimeLoader) {
+        if (userCache == null || StringUtils.isBlank(key)) {
+            return userLoader.apply(key);
+        }
+        CachedUser cachedUser = userCache.getIfPresent(key);
+        if (cachedUser != null) {
+            if (System.currentTimeMillis() < cachedUser.expireTime) {
+                return copyUser(cachedUser.user);
+            }
+            userCache.asMap().remove(key, cachedUser);
+        }
+        User user = userLoader.apply(key);
+        if (user != null) {
+            Date expireTime = expireTimeLoader.apply(key);
+            if (expireTime != null) {
+                userCache.put(key, new CachedUser(copyUser(user), expireTime.getTime()));
+            }
+        }
+        return user;
+    }
+
+    private static User copyUser(User user) {
+        User copy = new User();
+        BeanUtils.copyProperties(user, copy);
+        return copy;
+    }
+
+    private static Cache<String, CachedUser> createCache(ApiConfig.LoginUserCacheConfiguration loginUserCacheConfig) {
+        return CacheBuilder.newBuilder()
+                .maximumSize(loginUserCacheConfig.getMaximumSize())
+                .expireAfterWrite(loginUserCacheConfig.getExpireAfterWrite().toMillis(), TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+    }
+
+    private static class CachedUser {
+
+        private final User user;
+
+        private final long expireTime;
+
+        private CachedUser(User user, long expireTime) {
+            this.user = user;
+            this.expireTime = expireTime;
+        }
+    }
+}
@@ -20,6 +20,7 @@ package org.apache.dolphinscheduler.api.security.impl;
 import org.apache.dolphinscheduler.api.enums.Status;
 import org.apache.dolphinscheduler.api.security.AuthenticationType;
 import org.apache.dolphinscheduler.api.security.Authenticator;
+import org.apache.dolphinscheduler.api.security.LoginUserCache;
 import org.apache.dolphinscheduler.api.security.SecurityConfig;
 import org.apache.dolphinscheduler.api.service.SessionService;
 import org.apache.dolphinscheduler.api.service.UsersService;
@@ -56,6 +57,9 @@ public abstract class AbstractAuthenticator implements Authenticator {
     @Autowired
     private SecurityConfig securityConfig;
 
+    @Autowired
+    private LoginUserCache loginUserCache;
+
     /**
      * user login and return user in db
      *
@@ -119,12 +123,14 @@ public abstract class AbstractAuthenticator implements Authenticator {
                 sessionId = cookie.getValue();
             }
         }
-        Session session = sessionService.getSession(sessionId);
-        if (session == null) {
-            return null;
-        }
-        // get user object from session
-        return userService.queryUser(session.getUserId());
+        return loginUserCache.getSessionUser(sessionId, id -> {
+            Session session = sessionService.getSession(id);
+            if (session == null) {
+                return null;
+            }
+            // get user object from session
+            return userService.queryUser(session.getUserId());
+        });
     }
 
 }
@@ -33,9 +33,10 @@ public interface LoggerService {
      * @param taskInstId task instance id
      * @param skipLineNum skip line number
      * @param limit limit
+     * @param tail read the last limit lines of the log, the skipLineNum is ignored
      * @return log string data
      */
-    Result<ResponseTaskLog> queryLog(User loginUser, int taskInstId, int skipLineNum, int limit);
+    Result<ResponseTaskLog> queryLog(User loginUser, int taskInstId, int skipLineNum, int limit, boolean tail);
 
     /**
      * get log size
@@ -54,9 +55,10 @@ public interface LoggerService {
      * @param taskInstId  task instance id
      * @param skipLineNum skip line number
      * @param limit       limit
+     * @param tail        read the last limit lines of the log, the skipLineNum is ignored
      * @return log string data
      */
-    String queryLog(User loginUser, long projectCode, int taskInstId, int skipLineNum, int limit);
+    String queryLog(User loginUser, long projectCode, int taskInstId, int skipLineNum, int limit, boolean tail);
 
     /**
      * get log bytes
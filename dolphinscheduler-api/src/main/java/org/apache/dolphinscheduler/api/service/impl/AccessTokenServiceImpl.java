@@ -23,6 +23,7 @@ import static org.apache.dolphinscheduler.api.constants.ApiFuncIdentificationCon
 
 import org.apache.dolphinscheduler.api.enums.Status;
 import org.apache.dolphinscheduler.api.exceptions.ServiceException;
+import org.apache.dolphinscheduler.api.security.LoginUserCache;
 import org.apache.dolphinscheduler.api.service.AccessTokenService;
 import org.apache.dolphinscheduler.api.utils.PageInfo;
 import org.apache.dolphinscheduler.common.enums.AuthorizationType;
@@ -56,6 +57,9 @@ public class AccessTokenServiceImpl extends BaseServiceImpl implements AccessTok
     @Autowired
     private AccessTokenMapper accessTokenMapper;
 
+    @Autowired
+    private LoginUserCache loginUserCache;
+
     /**
      * query access token list
      *
@@ -181,6 +185,7 @@ public class AccessTokenServiceImpl extends BaseServiceImpl implements AccessTok
             throw new ServiceException(Status.USER_NO_OPERATION_PERM);
         }
         accessTokenMapper.deleteById(id);
+        loginUserCache.invalidateToken(accessToken.getToken());
     }
 
     /**
@@ -217,6 +222,7 @@ public class AccessTokenServiceImpl extends BaseServiceImpl implements AccessTok
         }
 
         // 4. persist to the database
+        String oldToken = accessToken.getToken();
         accessToken.setUserId(userId);
         accessToken.setExpireTime(DateUtils.stringToDate(expireTime));
         accessToken.setToken(token);
@@ -226,6 +232,7 @@ public class AccessTokenServiceImpl extends BaseServiceImpl implements AccessTok
         if (i <= 0) {
             throw new ServiceException(Status.ACCESS_TOKEN_NOT_EXIST, id);
         }
+        loginUserCache.invalidateToken(oldToken);
         return accessToken;
     }
 }
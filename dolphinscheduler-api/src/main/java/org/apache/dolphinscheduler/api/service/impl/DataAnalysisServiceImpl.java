@@ -27,6 +27,7 @@ import org.apache.dolphinscheduler.api.enums.Status;
 import org.apache.dolphinscheduler.api.exceptions.ServiceException;
 import org.apache.dolphinscheduler.api.service.DataAnalysisService;
 import org.apache.dolphinscheduler.api.service.ProjectService;
+import org.apache.dolphinscheduler.api.statistics.InstanceStateCountRollup;
 import org.apache.dolphinscheduler.api.utils.PageInfo;
 import org.apache.dolphinscheduler.api.vo.TaskInstanceCountVO;
 import org.apache.dolphinscheduler.api.vo.WorkflowDefinitionCountVO;
@@ -110,6 +111,9 @@ public class DataAnalysisServiceImpl extends BaseServiceImpl implements DataAnal
     @Autowired
     private TaskDefinitionMapper taskDefinitionMapper;
 
+    @Autowired
+    private InstanceStateCountRollup instanceStateCountRollup;
+
     @Override
     public TaskInstanceCountVO getTaskInstanceStateCountByProject(User loginUser,
                                                                   Long projectCode,
@@ -119,7 +123,7 @@ public class DataAnalysisServiceImpl extends BaseServiceImpl implements DataAnal
         Date start = startDate == null ? null : transformDate(startDate);
         Date end = endDate == null ? null : transformDate(endDate);
         List<TaskInstanceStatusCountDto> taskInstanceStatusCounts =
-                taskInstanceMapper.countTaskInstanceStateByProjectCodes(start, end, Lists.newArrayList(projectCode));
+                instanceStateCountRollup.countTaskInstanceState(start, end, Lists.newArrayList(projectCode));
         return TaskInstanceCountVO.of(taskInstanceStatusCounts);
     }
 
@@ -134,7 +138,7 @@ public class DataAnalysisServiceImpl extends BaseServiceImpl implements DataAnal
         Date start = startDate == null ? null : transformDate(startDate);
         Date end = endDate == null ? null : transformDate(endDate);
         List<TaskInstanceStatusCountDto> taskInstanceStatusCounts =
-                taskInstanceMapper.countTaskInstanceStateByProjectCodes(start, end, projectCodes);
+                instanceStateCountRollup.countTaskInstanceState(start, end, projectCodes);
         return TaskInstanceCountVO.of(taskInstanceStatusCounts);
     }
 
@@ -146,8 +150,8 @@ public class DataAnalysisServiceImpl extends BaseServiceImpl implements DataAnal
         projectService.checkProjectAndAuthThrowException(loginUser, projectCode, PROJECT_OVERVIEW);
         Date start = startDate == null ? null : transformDate(startDate);
         Date end = endDate == null ? null : transformDate(endDate);
-        List<WorkflowInstanceStatusCountDto> workflowInstanceStatusCountDtos = processInstanceMapper
-                .countWorkflowInstanceStateByProjectCodes(start, end, Lists.newArrayList(projectCode));
+        List<WorkflowInstanceStatusCountDto> workflowInstanceStatusCountDtos = instanceStateCountRollup
+                .countWorkflowInstanceState(start, end, Lists.newArrayList(projectCode));
         return WorkflowInstanceCountVO.of(workflowInstanceStatusCountDtos);
     }
 
@@ -163,7 +167,7 @@ public class DataAnalysisServiceImpl extends BaseServiceImpl implements DataAnal
         Date end = endDate == null ? null : transformDate(endDate);
 
         List<WorkflowInstanceStatusCountDto> workflowInstanceStatusCountDtos =
-                processInstanceMapper.countWorkflowInstanceStateByProjectCodes(start, end, projectCodes);
+                instanceStateCountRollup.countWorkflowInstanceState(start, end, projectCodes);
         return WorkflowInstanceCountVO.of(workflowInstanceStatusCountDtos);
     }
 
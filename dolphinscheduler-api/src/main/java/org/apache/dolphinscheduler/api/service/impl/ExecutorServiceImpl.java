@@ -36,6 +36,7 @@ import org.apache.dolphinscheduler.api.dto.workflowInstance.WorkflowExecuteRespo
 import org.apache.dolphinscheduler.api.enums.ExecuteType;
 import org.apache.dolphinscheduler.api.enums.Status;
 import org.apache.dolphinscheduler.api.exceptions.ServiceException;
+import org.apache.dolphinscheduler.api.executor.CommandWakeupNotifier;
 import org.apache.dolphinscheduler.api.executor.ExecuteClient;
 import org.apache.dolphinscheduler.api.executor.ExecuteContext;
 import org.apache.dolphinscheduler.api.service.ExecutorService;
@@ -184,6 +185,9 @@ public class ExecutorServiceImpl extends BaseServiceImpl implements ExecutorServ
     @Autowired
     private ExecuteClient executeClient;
 
+    @Autowired
+    private CommandWakeupNotifier commandWakeupNotifier;
+
     @Autowired
     private TenantMapper tenantMapper;
 
@@ -283,6 +287,7 @@ public class ExecutorServiceImpl extends BaseServiceImpl implements ExecutorServ
             processDefinitionMapper.updateById(processDefinition);
             log.info("Create command complete, processDefinitionCode:{}, commandCount:{}.",
                     processDefinition.getCode(), create);
+            commandWakeupNotifier.notifyCommandsCreated(Collections.emptyList());
             result.put(Constants.DATA_LIST, triggerCode);
             putMsg(result, Status.SUCCESS);
         } else {
@@ -430,6 +435,11 @@ public class ExecutorServiceImpl extends BaseServiceImpl implements ExecutorServ
                 processDefinition,
                 loginUser,
                 executeType));
+        if (executeType == ExecuteType.REPEAT_RUNNING
+                || executeType == ExecuteType.RECOVER_SUSPENDED_PROCESS
+                || executeType == ExecuteType.START_FAILURE_TASK_PROCESS) {
+            commandWakeupNotifier.notifyCommandsCreated(Collections.emptyList());
+        }
 
         Map<String, Object> result = new HashMap<>();
         result.put(Constants.STATUS, Status.SUCCESS);
@@ -537,6 +547,7 @@ public class ExecutorServiceImpl extends BaseServiceImpl implements ExecutorServ
             log.info("Create {} command complete, processDefinitionCode:{}, processDefinitionVersion:{}.",
                     command.getCommandType().getDescp(), command.getProcessDefinitionCode(),
                     processDefinition.getVersion());
+            commandWakeupNotifier.notifyCommandsCreated(Collections.singletonList(command.getId()));
             putMsg(response, Status.SUCCESS);
         } else {
             log.error(
@@ -80,11 +80,13 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
      * @param taskInstId task instance id
      * @param skipLineNum skip line number
      * @param limit limit
+     * @param tail read the last limit lines of the log, the skipLineNum is ignored
      * @return log string data
      */
     @Override
     @SuppressWarnings("unchecked")
-    public Result<ResponseTaskLog> queryLog(User loginUser, int taskInstId, int skipLineNum, int limit) {
+    public Result<ResponseTaskLog> queryLog(User loginUser, int taskInstId, int skipLineNum, int limit,
+                                            boolean tail) {
 
         TaskInstance taskInstance = taskInstanceDao.queryById(taskInstId);
 
@@ -98,7 +100,7 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
         }
         projectService.checkProjectAndAuthThrowException(loginUser, taskInstance.getProjectCode(), VIEW_LOG);
         Result<ResponseTaskLog> result = new Result<>(Status.SUCCESS.getCode(), Status.SUCCESS.getMsg());
-        String log = queryLog(taskInstance, skipLineNum, limit);
+        String log = queryLog(taskInstance, skipLineNum, limit, tail);
         int lineNum = log.split("\\r\\n").length;
         result.setData(new ResponseTaskLog(lineNum, log));
         return result;
@@ -130,11 +132,13 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
      * @param taskInstId  task instance id
      * @param skipLineNum skip line number
      * @param limit       limit
+     * @param tail        read the last limit lines of the log, the skipLineNum is ignored
      * @return log string data
      */
     @Override
     @SuppressWarnings("unchecked")
-    public String queryLog(User loginUser, long projectCode, int taskInstId, int skipLineNum, int limit) {
+    public String queryLog(User loginUser, long projectCode, int taskInstId, int skipLineNum, int limit,
+                           boolean tail) {
         // check user access for project
         projectService.checkProjectAndAuthThrowException(loginUser, projectCode, VIEW_LOG);
         // check whether the task instance can be found
@@ -147,7 +151,7 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
         if (taskDefinition != null && projectCode != taskDefinition.getProjectCode()) {
             throw new ServiceException(Status.TASK_INSTANCE_NOT_FOUND, taskInstId);
         }
-        return queryLog(task, skipLineNum, limit);
+        return queryLog(task, skipLineNum, limit, tail);
     }
 
     /**
@@ -182,9 +186,10 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
      * @param taskInstance  task instance
      * @param skipLineNum skip line number
      * @param limit       limit
+     * @param tail        read the last limit lines of the log, the skipLineNum is ignored
      * @return log string data
      */
-    private String queryLog(TaskInstance taskInstance, int skipLineNum, int limit) {
+    private String queryLog(TaskInstance taskInstance, int skipLineNum, int limit, boolean tail) {
         final String logPath = taskInstance.getLogPath();
         log.info("Query task instance log, taskInstanceId:{}, taskInstanceName:{}, host: {}, logPath:{}",
                 taskInstance.getId(), taskInstance.getName(), taskInstance.getHost(), logPath);
@@ -194,7 +199,8 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
         }
 
         StringBuilder sb = new StringBuilder();
-        if (skipLineNum == 0) {
+        // the head is only prepended to the first page, the tail doesn't start from the head of the log
+        if (skipLineNum == 0 && !tail) {
             String head = String.format(LOG_HEAD_FORMAT,
                     logPath,
                     taskInstance.getHost(),
@@ -210,6 +216,7 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
                     .taskInstanceLogAbsolutePath(logPath)
                     .skipLineNum(skipLineNum)
                     .limit(limit)
+                    .tail(tail)
                     .build();
             TaskInstanceLogPageQueryResponse response = iLogService.pageQueryTaskInstanceLog(request);
             String logContent = response.getLogContent();
@@ -59,7 +59,6 @@ import org.apache.dolphinscheduler.api.service.SchedulerService;
 import org.apache.dolphinscheduler.api.service.TaskDefinitionLogService;
 import org.apache.dolphinscheduler.api.service.TaskDefinitionService;
 import org.apache.dolphinscheduler.api.utils.CheckUtils;
-import org.apache.dolphinscheduler.api.utils.FileUtils;
 import org.apache.dolphinscheduler.api.utils.PageInfo;
 import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.common.constants.Constants;
@@ -72,7 +71,6 @@ import org.apache.dolphinscheduler.common.enums.TimeoutFlag;
 import org.apache.dolphinscheduler.common.enums.UserType;
 import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
 import org.apache.dolphinscheduler.common.graph.DAG;
-import org.apache.dolphinscheduler.common.lifecycle.ServerLifeCycleManager;
 import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
 import org.apache.dolphinscheduler.common.utils.CodeGenerateUtils;
 import org.apache.dolphinscheduler.common.utils.CodeGenerateUtils.CodeGenerateException;
@@ -163,14 +161,18 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
+import com.google.common.collect.PeekingIterator;
 
 /**
  * process definition service impl
@@ -181,6 +183,16 @@ public class ProcessDefinitionServiceImpl extends BaseServiceImpl implements Pro
 
     private static final String RELEASESTATE = "releaseState";
 
+    /**
+     * The max number of process instances whose task instances are queried at once by the tree view
+     */
+    private static final int TREE_VIEW_QUERY_PARTITION_SIZE = 100;
+
+    /**
+     * The max number of process definitions which are queried at once by the export
+     */
+    private static final int EXPORT_QUERY_BATCH_SIZE = 100;
+
     @Autowired
     private ProjectMapper projectMapper;
 
@@ -243,6 +255,9 @@ public class ProcessDefinitionServiceImpl extends BaseServiceImpl implements Pro
     @Autowired
     private DataSourceMapper dataSourceMapper;
 
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     @Autowired
     private ProcessLineageService processLineageService;
 
@@ -1138,39 +1153,56 @@ public class ProcessDefinitionServiceImpl extends BaseServiceImpl implements Pro
         }
         Set<Long> defineCodeSet = Lists.newArrayList(codes.split(Constants.COMMA)).stream().map(Long::parseLong)
                 .collect(Collectors.toSet());
-        List<ProcessDefinition> processDefinitionList = processDefinitionMapper.queryByCodes(defineCodeSet);
-        if (CollectionUtils.isEmpty(processDefinitionList)) {
-            log.error("Process definitions to be exported do not exist, processDefinitionCodes:{}.", defineCodeSet);
-            return;
-        }
-        // check processDefinition exist in project
-        List<ProcessDefinition> processDefinitionListInProject = processDefinitionList.stream()
-                .filter(o -> projectCode == o.getProjectCode()).collect(Collectors.toList());
-        List<DagDataSchedule> dagDataSchedules =
-                processDefinitionListInProject.stream().map(this::exportProcessDagData).collect(Collectors.toList());
-        if (CollectionUtils.isNotEmpty(dagDataSchedules)) {
+        // the dag data is loaded and written one by one, so only one of them is held in memory
+        PeekingIterator<DagDataSchedule> dagDataScheduleIterator =
+                Iterators.peekingIterator(exportProcessDagDataIterator(projectCode, defineCodeSet));
+        if (dagDataScheduleIterator.hasNext()) {
             log.info("Start download process definition file, processDefinitionCodes:{}.", defineCodeSet);
-            downloadProcessDefinitionFile(response, dagDataSchedules);
+            downloadProcessDefinitionFile(response, dagDataScheduleIterator);
         } else {
-            log.error("There is no exported process dag data.");
+            log.error("Process definitions to be exported do not exist in project, processDefinitionCodes:{}.",
+                    defineCodeSet);
         }
     }
 
+    /**
+     * Load the dag data of the process definitions in the project lazily, the process definitions are queried in
+     * batches.
+     */
+    private Iterator<DagDataSchedule> exportProcessDagDataIterator(long projectCode, Set<Long> defineCodeSet) {
+        Iterator<List<Long>> defineCodeBatches =
+                Lists.partition(new ArrayList<>(defineCodeSet), EXPORT_QUERY_BATCH_SIZE).iterator();
+        return Iterators.concat(Iterators.transform(defineCodeBatches,
+                defineCodeBatch -> processDefinitionMapper.queryByCodes(defineCodeBatch).stream()
+                        // check processDefinition exist in project
+                        .filter(o -> projectCode == o.getProjectCode())
+                        .map(this::exportProcessDagData)
+                        .iterator()));
+    }
+
     /**
      * download the process definition file
      */
-    protected void downloadProcessDefinitionFile(HttpServletResponse response, List<DagDataSchedule> dagDataSchedules) {
+    protected void downloadProcessDefinitionFile(HttpServletResponse response,
+                                                 Iterator<DagDataSchedule> dagDataSchedules) {
         response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
         BufferedOutputStream buff = null;
         ServletOutputStream out = null;
         try {
             out = response.getOutputStream();
             buff = new BufferedOutputStream(out);
-            buff.write(JSONUtils.toPrettyJsonString(dagDataSchedules).getBytes(StandardCharsets.UTF_8));
+            JSONUtils.writePrettyJsonArray(buff, dagDataSchedules);
             buff.flush();
             buff.close();
-        } catch (IOException e) {
-            log.warn("Export process definition fail", e);
+        } catch (IOException | RuntimeException e) {
+            log.error("Export process definition fail", e);
+            // the process definitions which are already written are discarded if the response is not committed,
+            // otherwise the json array is left unterminated, so the export can't be taken as a complete one
+            buff = null;
+            if (!response.isCommitted()) {
+                response.reset();
+                response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            }
         } finally {
             if (null != buff) {
                 try {
@@ -1214,26 +1246,42 @@ public class ProcessDefinitionServiceImpl extends BaseServiceImpl implements Pro
      * @return import process
      */
     @Override
-    @Transactional
     public Map<String, Object> importProcessDefinition(User loginUser, long projectCode, MultipartFile file) {
-        Map<String, Object> result;
-        String dagDataScheduleJson = FileUtils.file2String(file);
-        List<DagDataSchedule> dagDataScheduleList = JSONUtils.toList(dagDataScheduleJson, DagDataSchedule.class);
         Project project = projectMapper.queryByCode(projectCode);
-        result = projectService.checkProjectAndAuth(loginUser, project, projectCode, WORKFLOW_IMPORT);
+        Map<String, Object> result =
+                projectService.checkProjectAndAuth(loginUser, project, projectCode, WORKFLOW_IMPORT);
         if (result.get(Constants.STATUS) != Status.SUCCESS) {
             return result;
         }
-        // check file content
-        if (CollectionUtils.isEmpty(dagDataScheduleList)) {
-            log.warn("Process definition file content is empty.");
-            putMsg(result, Status.DATA_IS_NULL, "fileContent");
-            return result;
-        }
-        for (DagDataSchedule dagDataSchedule : dagDataScheduleList) {
-            if (!checkAndImport(loginUser, projectCode, result, dagDataSchedule)) {
+        // the dag data is parsed and imported one by one, so only one of them is held in memory
+        try (
+                MappingIterator<DagDataSchedule> dagDataScheduleIterator =
+                        JSONUtils.parseArrayIterator(file.getInputStream(), DagDataSchedule.class)) {
+            // check file content
+            if (!dagDataScheduleIterator.hasNextValue()) {
+                log.warn("Process definition file content is empty.");
+                putMsg(result, Status.DATA_IS_NULL, "fileContent");
                 return result;
             }
+            while (dagDataScheduleIterator.hasNextValue()) {
+                DagDataSchedule dagDataSchedule = dagDataScheduleIterator.nextValue();
+                // each process definition is imported in its own transaction, so importing a large file doesn't
+                // hold the locks of all the imported process definitions in one long transaction, the process
+                // definitions imported before a failed one are kept
+                Boolean imported = transactionTemplate.execute(status -> {
+                    if (checkAndImport(loginUser, projectCode, result, dagDataSchedule)) {
+                        return true;
+                    }
+                    status.setRollbackOnly();
+                    return false;
+                });
+                if (!Boolean.TRUE.equals(imported)) {
+                    return result;
+                }
+            }
+        } catch (IOException e) {
+            log.error("Parse process definition file error, projectCode:{}.", projectCode, e);
+            throw new ServiceException(Status.DATA_IS_NOT_VALID, "fileContent");
         }
         return result;
     }
@@ -1896,6 +1944,11 @@ public class ProcessDefinitionServiceImpl extends BaseServiceImpl implements Pro
                             DateUtils.format2Readable(endTime.getTime() - processInstance.getStartTime().getTime())));
         }
 
+        Map<Integer, Map<Long, TaskInstance>> taskInstanceIndex =
+                queryTaskInstanceIndex(processInstanceList.subList(0, limit));
+        // the sub process codes of the sub process tasks, parsed once for each task definition
+        Map<Long, Long> subProcessCodeMap = new HashMap<>();
+
         List<TreeViewDto> parentTreeViewDtoList = new ArrayList<>();
         parentTreeViewDtoList.add(parentTreeViewDto);
         // Here is the encapsulation task instance
@@ -1903,7 +1956,8 @@ public class ProcessDefinitionServiceImpl extends BaseServiceImpl implements Pro
             runningNodeMap.put(startNode, parentTreeViewDtoList);
         }
 
-        while (!ServerLifeCycleManager.isStopped()) {
+        // each round goes one level deeper, the depth of the dag is not greater than its nodes count
+        for (int depth = 0; depth < dag.getNodesCount(); depth++) {
             Set<Long> postNodeList;
             Iterator<Map.Entry<Long, List<TreeViewDto>>> iter = runningNodeMap.entrySet().iterator();
             while (iter.hasNext()) {
@@ -1919,8 +1973,9 @@ public class ProcessDefinitionServiceImpl extends BaseServiceImpl implements Pro
                 // set treeViewDto instances
                 for (int i = limit - 1; i >= 0; i--) {
                     ProcessInstance processInstance = processInstanceList.get(i);
-                    TaskInstance taskInstance =
-                            taskInstanceMapper.queryByInstanceIdAndCode(processInstance.getId(), nodeCode);
+                    TaskInstance taskInstance = taskInstanceIndex
+                            .getOrDefault(processInstance.getId(), Collections.emptyMap())
+                            .get(nodeCode);
                     if (taskInstance == null) {
                         treeViewDto.getInstances().add(new Instance(-1, "not running", 0, "null"));
                     } else {
@@ -1930,9 +1985,12 @@ public class ProcessDefinitionServiceImpl extends BaseServiceImpl implements Pro
                         long subProcessCode = 0L;
                         // if process is sub process, the return sub id, or sub id=0
                         if (TaskTypeUtils.isSubWorkflowTask(taskInstance.getTaskType())) {
-                            TaskDefinition taskDefinition = taskDefinitionMap.get(taskInstance.getTaskCode());
-                            subProcessCode = Long.parseLong(JSONUtils.parseObject(
-                                    taskDefinition.getTaskParams()).path(CMD_PARAM_SUB_PROCESS_DEFINE_CODE).asText());
+                            subProcessCode = subProcessCodeMap.computeIfAbsent(taskInstance.getTaskCode(),
+                                    taskCode -> {
+                                        TaskDefinition taskDefinition = taskDefinitionMap.get(taskCode);
+                                        return Long.parseLong(JSONUtils.parseObject(taskDefinition.getTaskParams())
+                                                .path(CMD_PARAM_SUB_PROCESS_DEFINE_CODE).asText());
+                                    });
                         }
                         treeViewDto.getInstances().add(new Instance(taskInstance.getId(), taskInstance.getName(),
                                 taskInstance.getTaskCode(),
@@ -1971,6 +2029,26 @@ public class ProcessDefinitionServiceImpl extends BaseServiceImpl implements Pro
         return result;
     }
 
+    /**
+     * Query the valid task instances of the process instances, index them by process instance id and task code.
+     */
+    private Map<Integer, Map<Long, TaskInstance>> queryTaskInstanceIndex(List<ProcessInstance> processInstanceList) {
+        Map<Integer, Map<Long, TaskInstance>> taskInstanceIndex = new HashMap<>();
+        if (CollectionUtils.isEmpty(processInstanceList)) {
+            return taskInstanceIndex;
+        }
+        List<Integer> processInstanceIds =
+                processInstanceList.stream().map(ProcessInstance::getId).collect(Collectors.toList());
+        for (List<Integer> partition : Lists.partition(processInstanceIds, TREE_VIEW_QUERY_PARTITION_SIZE)) {
+            for (TaskInstance taskInstance : taskInstanceMapper.queryByProcessInstanceIdsAndTaskCodes(partition,
+                    null)) {
+                taskInstanceIndex.computeIfAbsent(taskInstance.getProcessInstanceId(), k -> new HashMap<>())
+                        .putIfAbsent(taskInstance.getTaskCode(), taskInstance);
+            }
+        }
+        return taskInstanceIndex;
+    }
+
     /**
      * whether the graph has a ring
      *
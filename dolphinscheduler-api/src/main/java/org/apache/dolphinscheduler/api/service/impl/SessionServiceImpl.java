@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.api.service.impl;
 
+import org.apache.dolphinscheduler.api.security.LoginUserCache;
 import org.apache.dolphinscheduler.api.service.SessionService;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.dao.entity.Session;
@@ -46,6 +47,9 @@ public class SessionServiceImpl extends BaseServiceImpl implements SessionServic
     @Autowired
     private SessionDao sessionDao;
 
+    @Autowired
+    private LoginUserCache loginUserCache;
+
     @Override
     public Session getSession(String sessionId) {
         if (StringUtils.isBlank(sessionId)) {
@@ -74,6 +78,7 @@ public class SessionServiceImpl extends BaseServiceImpl implements SessionServic
                 return session;
             } else {
                 sessionDao.deleteById(session.getId());
+                loginUserCache.invalidateUser(user.getId());
             }
         }
 
@@ -90,6 +95,7 @@ public class SessionServiceImpl extends BaseServiceImpl implements SessionServic
     @Override
     public void expireSession(Integer userId) {
         sessionDao.deleteByUserId(userId);
+        loginUserCache.invalidateUser(userId);
     }
 
     @Override
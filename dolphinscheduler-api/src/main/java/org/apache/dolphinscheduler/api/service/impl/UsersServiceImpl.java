@@ -21,6 +21,8 @@ import static org.apache.dolphinscheduler.api.constants.ApiFuncIdentificationCon
 
 import org.apache.dolphinscheduler.api.enums.Status;
 import org.apache.dolphinscheduler.api.exceptions.ServiceException;
+import org.apache.dolphinscheduler.api.permission.AuthorizationCache;
+import org.apache.dolphinscheduler.api.security.LoginUserCache;
 import org.apache.dolphinscheduler.api.service.MetricsCleanUpService;
 import org.apache.dolphinscheduler.api.service.SessionService;
 import org.apache.dolphinscheduler.api.service.UsersService;
@@ -115,6 +117,12 @@ public class UsersServiceImpl extends BaseServiceImpl implements UsersService {
     @Autowired
     private SessionService sessionService;
 
+    @Autowired
+    private LoginUserCache loginUserCache;
+
+    @Autowired
+    private AuthorizationCache authorizationCache;
+
     /**
      * create user, only system admin have permission
      *
@@ -425,6 +433,8 @@ public class UsersServiceImpl extends BaseServiceImpl implements UsersService {
         if (userMapper.updateById(user) <= 0) {
             throw new ServiceException(Status.UPDATE_USER_ERROR);
         }
+        loginUserCache.invalidateUser(user.getId());
+        authorizationCache.invalidateUser(user.getId());
         return user;
     }
 
@@ -472,8 +482,11 @@ public class UsersServiceImpl extends BaseServiceImpl implements UsersService {
 
         accessTokenMapper.deleteAccessTokenByUserId(id);
         sessionService.expireSession(id);
+        authorizationCache.invalidateUser(id);
 
         if (userMapper.deleteById(id) > 0) {
+            // the user may be loaded into the cache again before it is deleted
+            loginUserCache.invalidateUser(id);
             metricsCleanUpService.cleanUpApiResponseTimeMetricsByUserId(id);
             log.info("User is deleted and id is :{}.", id);
             putMsg(result, Status.SUCCESS);
@@ -525,6 +538,7 @@ public class UsersServiceImpl extends BaseServiceImpl implements UsersService {
                 this.projectUserMapper.deleteProjectRelation(project.getId(), user.getId());
             }
         });
+        authorizationCache.invalidateUser(userId);
 
         this.putMsg(result, Status.SUCCESS);
         return result;
@@ -568,6 +582,7 @@ public class UsersServiceImpl extends BaseServiceImpl implements UsersService {
             ProjectUser projectUserOld = projectUserMapper.queryProjectRelation(Integer.parseInt(projectId), userId);
             if (projectUserOld != null) {
                 projectUserMapper.deleteProjectRelation(Integer.parseInt(projectId), userId);
+                authorizationCache.invalidateUser(userId);
             }
             Date now = new Date();
             ProjectUser projectUser = new ProjectUser();
@@ -623,6 +638,7 @@ public class UsersServiceImpl extends BaseServiceImpl implements UsersService {
             ProjectUser projectUserOld = projectUserMapper.queryProjectRelation(Integer.parseInt(projectId), userId);
             if (projectUserOld != null) {
                 projectUserMapper.deleteProjectRelation(Integer.parseInt(projectId), userId);
+                authorizationCache.invalidateUser(userId);
             }
             Date now = new Date();
             ProjectUser projectUser = new ProjectUser();
@@ -738,6 +754,7 @@ public class UsersServiceImpl extends BaseServiceImpl implements UsersService {
 
         // 4. delete th relationship between project and user
         this.projectUserMapper.deleteProjectRelation(project.getId(), user.getId());
+        authorizationCache.invalidateUser(userId);
         log.info("User is revoked permission for projects, userId:{}, projectCode:{}.", userId, projectCode);
         this.putMsg(result, Status.SUCCESS);
         return result;
@@ -775,6 +792,7 @@ public class UsersServiceImpl extends BaseServiceImpl implements UsersService {
         }
 
         k8sNamespaceUserMapper.deleteNamespaceRelation(0, userId);
+        authorizationCache.invalidateUser(userId);
         if (StringUtils.isNotEmpty(namespaceIds)) {
             String[] namespaceIdArr = namespaceIds.split(",");
             for (String namespaceId : namespaceIdArr) {
@@ -826,6 +844,7 @@ public class UsersServiceImpl extends BaseServiceImpl implements UsersService {
         }
 
         datasourceUserMapper.deleteByUserId(userId);
+        authorizationCache.invalidateUser(userId);
 
         if (check(result, StringUtils.isEmpty(datasourceIds), Status.SUCCESS)) {
             return result;
@@ -1146,6 +1165,7 @@ public class UsersServiceImpl extends BaseServiceImpl implements UsersService {
         Date now = new Date();
         user.setUpdateTime(now);
         userMapper.updateById(user);
+        loginUserCache.invalidateUser(user.getId());
 
         User responseUser = userMapper.queryByUserNameAccurately(userName);
         putMsg(result, Status.SUCCESS);
@@ -0,0 +1,304 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.statistics;
+
+import org.apache.dolphinscheduler.api.configuration.ApiConfig;
+import org.apache.dolphinscheduler.common.enums.InstanceType;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.common.utils.DateUtils;
+import org.apache.dolphinscheduler.dao.entity.InstanceStateCount;
+import org.apache.dolphinscheduler.dao.mapper.ProcessInstanceMapper;
+import org.apache.dolphinscheduler.dao.mapper.TaskInstanceMapper;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceStatusCountDto;
+import org.apache.dolphinscheduler.dao.model.WorkflowInstanceStatusCountDto;
+import org.apache.dolphinscheduler.dao.repository.InstanceStateCountDao;
+import org.apache.dolphinscheduler.registry.api.RegistryClient;
+import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+import javax.annotation.PreDestroy;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serve the instance state counts of the dashboard from the daily rollups in t_ds_instance_state_count.
+ * <p>
+ * The finished days are compacted into the rollups periodically, one day is replaced in one transaction and the
+ * watermark is advanced after it. A query range is split at the day boundaries: the whole days before the watermark
+ * are read from the rollups, and only the partial day at the head and the days after the watermark are counted from
+ * the instance tables. The recent days are compacted again in every round since their instances may still change
+ * state, and the older days are compacted again in rotation to correct the reruns and the deletions. The queries
+ * fall back to the instance tables until the first round is finished.
+ * <p>
+ * Every api server keeps its own watermark, and the rounds of the api servers are serialized by the registry lock, so
+ * a day is never replaced by two api servers at the same time. The first round, which compacts all the days since the
+ * first instance, starts after the api server is ready rather than during the startup.
+ */
+@Slf4j
+@Component
+public class InstanceStateCountRollup {
+
+    @Autowired
+    private ApiConfig apiConfig;
+
+    @Autowired
+    private InstanceStateCountDao instanceStateCountDao;
+
+    @Autowired
+    private TaskInstanceMapper taskInstanceMapper;
+
+    @Autowired
+    private ProcessInstanceMapper processInstanceMapper;
+
+    @Autowired
+    private RegistryClient registryClient;
+
+    Supplier<Date> clock = Date::new;
+
+    /**
+     * The days before this day are compacted, null if no round is finished.
+     */
+    private volatile Date compactedUntil;
+
+    private Date historyRecheckCursor;
+
+    private ScheduledExecutorService compactExecutor;
+
+    @EventListener
+    public void start(ApplicationReadyEvent readyEvent) {
+        ApiConfig.StateCountRollupConfiguration stateCountRollup = apiConfig.getStateCountRollup();
+        if (!stateCountRollup.isEnabled()) {
+            log.info("The instance state count rollup is disabled, the state counts are queried from the instances");
+            return;
+        }
+        long compactIntervalMills = stateCountRollup.getCompactInterval().toMillis();
+        compactExecutor = ThreadUtils.newSingleDaemonScheduledExecutorService("InstanceStateCountCompactor");
+        compactExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                compactWithLock();
+            } catch (Throwable ex) {
+                // the days which are not compacted will be compacted in the next round
+                log.error("Compact the instance state counts error", ex);
+            }
+        }, 0, compactIntervalMills, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (compactExecutor != null) {
+            compactExecutor.shutdownNow();
+            compactExecutor = null;
+        }
+    }
+
+    void compactWithLock() {
+        try {
+            registryClient.getLock(RegistryNodeType.API_STATE_COUNT_ROLLUP_LOCK.getRegistryPath());
+            compact();
+        } finally {
+            registryClient.releaseLock(RegistryNodeType.API_STATE_COUNT_ROLLUP_LOCK.getRegistryPath());
+        }
+    }
+
+    /**
+     * Compact the days which are not compacted and the recent days, then recheck some older days in rotation.
+     */
+    synchronized void compact() {
+        ApiConfig.StateCountRollupConfiguration stateCountRollup = apiConfig.getStateCountRollup();
+        Date today = DateUtils.getStartOfDay(clock.get());
+        Date recomputeFrom = DateUtils.addDays(today, -stateCountRollup.getRecomputeDays());
+
+        Date nextDay = compactedUntil != null ? compactedUntil : queryNextDayToCompact(today);
+        Date day = nextDay.before(recomputeFrom) ? nextDay : recomputeFrom;
+        while (day.before(today)) {
+            compactDay(day);
+            day = DateUtils.addDays(day, 1);
+            if (compactedUntil == null || compactedUntil.before(day)) {
+                compactedUntil = day;
+            }
+        }
+        if (compactedUntil == null || compactedUntil.before(today)) {
+            compactedUntil = today;
+        }
+
+        for (int i = 0; i < stateCountRollup.getHistoryRecheckDaysPerRun(); i++) {
+            if (historyRecheckCursor == null || !historyRecheckCursor.before(recomputeFrom)) {
+                Optional<Date> minCountDate = instanceStateCountDao.queryMinCountDate();
+                if (!minCountDate.isPresent() || !minCountDate.get().before(recomputeFrom)) {
+                    break;
+                }
+                historyRecheckCursor = DateUtils.getStartOfDay(minCountDate.get());
+            }
+            compactDay(historyRecheckCursor);
+            historyRecheckCursor = DateUtils.addDays(historyRecheckCursor, 1);
+        }
+    }
+
+    /**
+     * Count the task instance states whose start time is in (start, end], the same as
+     * {@link TaskInstanceMapper#countTaskInstanceStateByProjectCodes}.
+     */
+    public List<TaskInstanceStatusCountDto> countTaskInstanceState(Date start, Date end, List<Long> projectCodes) {
+        // the start time is exclusive, so the day of the start time is always counted from the instances
+        Date rollupStart = start == null ? null : DateUtils.addDays(DateUtils.getStartOfDay(start), 1);
+        RollupRange rollupRange = getRollupRange(rollupStart, end);
+        if (rollupRange == null) {
+            return taskInstanceMapper.countTaskInstanceStateByProjectCodes(start, end, projectCodes);
+        }
+        List<List<TaskInstanceStatusCountDto>> parts = new ArrayList<>();
+        if (start != null) {
+            parts.add(taskInstanceMapper.countTaskInstanceStateByProjectCodesAndStartTimeRange(start, null,
+                    rollupRange.from, null, false, projectCodes));
+        }
+        parts.add(instanceStateCountDao.countTaskInstanceState(rollupRange.from, rollupRange.to, projectCodes));
+        parts.add(taskInstanceMapper.countTaskInstanceStateByProjectCodesAndStartTimeRange(null, rollupRange.to, null,
+                end, start == null && end == null, projectCodes));
+        return merge(parts, TaskInstanceStatusCountDto::getState, TaskInstanceStatusCountDto::getCount,
+                TaskInstanceStatusCountDto::new);
+    }
+
+    /**
+     * Count the workflow instance states whose start time is in [start, end], the same as
+     * {@link ProcessInstanceMapper#countWorkflowInstanceStateByProjectCodes}.
+     */
+    public List<WorkflowInstanceStatusCountDto> countWorkflowInstanceState(Date start, Date end,
+                                                                           List<Long> projectCodes) {
+        RollupRange rollupRange = getRollupRange(start, end);
+        if (rollupRange == null) {
+            return processInstanceMapper.countWorkflowInstanceStateByProjectCodes(start, end, projectCodes);
+        }
+        List<List<WorkflowInstanceStatusCountDto>> parts = new ArrayList<>();
+        if (start != null && start.before(rollupRange.from)) {
+            parts.add(processInstanceMapper.countWorkflowInstanceStateByProjectCodesAndStartTimeRange(start, null,
+                    rollupRange.from, null, false, projectCodes));
+        }
+        parts.add(instanceStateCountDao.countWorkflowInstanceState(rollupRange.from, rollupRange.to, projectCodes));
+        parts.add(processInstanceMapper.countWorkflowInstanceStateByProjectCodesAndStartTimeRange(null,
+                rollupRange.to, null, end, start == null && end == null, projectCodes));
+        return merge(parts, WorkflowInstanceStatusCountDto::getState, WorkflowInstanceStatusCountDto::getCount,
+                WorkflowInstanceStatusCountDto::new);
+    }
+
+    /**
+     * @param start the inclusive start of the query range, null if unbounded
+     * @param end   the inclusive end of the query range, null if unbounded
+     * @return the whole days of the range which are compacted, null if there is no such day
+     */
+    private RollupRange getRollupRange(Date start, Date end) {
+        Date rollupTo = compactedUntil;
+        if (rollupTo == null) {
+            return null;
+        }
+        if (end != null) {
+            Date endDay = DateUtils.getStartOfDay(end);
+            if (endDay.before(rollupTo)) {
+                rollupTo = endDay;
+            }
+        }
+        Date rollupFrom = null;
+        if (start != null) {
+            Date startDay = DateUtils.getStartOfDay(start);
+            rollupFrom = startDay.equals(start) ? startDay : DateUtils.addDays(startDay, 1);
+            if (!rollupFrom.before(rollupTo)) {
+                return null;
+            }
+        }
+        return new RollupRange(rollupFrom, rollupTo);
+    }
+
+    private Date queryNextDayToCompact(Date today) {
+        Optional<Date> maxCountDate = instanceStateCountDao.queryMaxCountDate();
+        if (maxCountDate.isPresent()) {
+            return DateUtils.addDays(DateUtils.getStartOfDay(maxCountDate.get()), 1);
+        }
+        Date minStartTime = null;
+        for (Date startTime : new Date[]{taskInstanceMapper.queryMinStartTime(),
+                processInstanceMapper.queryMinStartTime()}) {
+            if (startTime != null && (minStartTime == null || startTime.before(minStartTime))) {
+                minStartTime = startTime;
+            }
+        }
+        return minStartTime == null ? today : DateUtils.getStartOfDay(minStartTime);
+    }
+
+    private void compactDay(Date day) {
+        Date nextDay = DateUtils.addDays(day, 1);
+        Date updateTime = clock.get();
+        List<InstanceStateCount> instanceStateCounts = new ArrayList<>();
+        for (InstanceStateCount instanceStateCount : taskInstanceMapper.countTaskInstanceStateGroupByProject(day,
+                nextDay)) {
+            instanceStateCount.setInstanceType(InstanceType.TASK_INSTANCE);
+            instanceStateCounts.add(instanceStateCount);
+        }
+        for (InstanceStateCount instanceStateCount : processInstanceMapper
+                .countWorkflowInstanceStateGroupByProject(day, nextDay)) {
+            instanceStateCount.setInstanceType(InstanceType.WORKFLOW_INSTANCE);
+            instanceStateCounts.add(instanceStateCount);
+        }
+        for (InstanceStateCount instanceStateCount : instanceStateCounts) {
+            instanceStateCount.setCountDate(day);
+            instanceStateCount.setUpdateTime(updateTime);
+        }
+        instanceStateCountDao.replaceByCountDate(day, instanceStateCounts);
+        log.debug("Compacted {} instance state counts of day: {}", instanceStateCounts.size(), day);
+    }
+
+    private static <T, S> List<T> merge(List<List<T>> parts,
+                                        Function<T, S> stateGetter,
+                                        ToIntFunction<T> countGetter,
+                                        BiFunction<S, Integer, T> factory) {
+        Map<S, Integer> counts = new LinkedHashMap<>();
+        for (List<T> part : parts) {
+            if (part == null) {
+                continue;
+            }
+            for (T statusCount : part) {
+                counts.merge(stateGetter.apply(statusCount), countGetter.applyAsInt(statusCount), Integer::sum);
+            }
+        }
+        List<T> result = new ArrayList<>(counts.size());
+        counts.forEach((state, count) -> result.add(factory.apply(state, count)));
+        return result;
+    }
+
+    @AllArgsConstructor
+    private static class RollupRange {
+
+        private final Date from;
+
+        private final Date to;
+    }
+}
@@ -16,13 +16,9 @@
  */
 package org.apache.dolphinscheduler.api.utils;
 
-import org.apache.commons.io.IOUtils;
-
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.MalformedURLException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
@@ -69,19 +65,4 @@ public class FileUtils {
         }
         return null;
     }
-
-    /**
-     * file convert String
-     * @param file MultipartFile file
-     * @return file content string
-     */
-    public static String file2String(MultipartFile file) {
-        try (InputStream inputStream = file.getInputStream()) {
-            return IOUtils.toString(inputStream, StandardCharsets.UTF_8);
-        } catch (IOException e) {
-            log.error("file convert to string failed: {}", file.getName());
-        }
-
-        return "";
-    }
 }
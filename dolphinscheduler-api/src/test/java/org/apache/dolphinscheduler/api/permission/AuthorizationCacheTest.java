@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.permission;
+
+import org.apache.dolphinscheduler.api.configuration.ApiConfig;
+import org.apache.dolphinscheduler.common.enums.AuthorizationType;
+import org.apache.dolphinscheduler.common.enums.UserType;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class AuthorizationCacheTest {
+
+    @Test
+    public void testIsAuthorized() {
+        AuthorizationCache authorizationCache = new AuthorizationCache(new ApiConfig());
+        Set<Integer> projectIds = new HashSet<>(Arrays.asList(3, 1, 2));
+        AtomicInteger loadCount = new AtomicInteger();
+        Supplier<Set<?>> loader = () -> {
+            loadCount.incrementAndGet();
+            return new HashSet<>(projectIds);
+        };
+
+        Assertions
+                .assertTrue(authorizationCache.isAuthorized(AuthorizationType.PROJECTS, 1, new Object[]{1, 2}, loader));
+        Assertions.assertTrue(authorizationCache.isAuthorized(AuthorizationType.PROJECTS, 1, new Object[]{3}, loader));
+        Assertions.assertEquals(1, loadCount.get());
+
+        // the denied check is checked again with the resource ids loaded from db
+        Assertions.assertFalse(authorizationCache.isAuthorized(AuthorizationType.PROJECTS, 1, new Object[]{4}, loader));
+        Assertions.assertEquals(2, loadCount.get());
+        projectIds.add(4);
+        Assertions.assertTrue(authorizationCache.isAuthorized(AuthorizationType.PROJECTS, 1, new Object[]{4}, loader));
+        Assertions.assertEquals(3, loadCount.get());
+
+        // the revoked resources are denied after the user is invalidated
+        projectIds.remove(1);
+        Assertions.assertTrue(authorizationCache.isAuthorized(AuthorizationType.PROJECTS, 1, new Object[]{1}, loader));
+        authorizationCache.invalidateUser(1);
+        Assertions.assertFalse(authorizationCache.isAuthorized(AuthorizationType.PROJECTS, 1, new Object[]{1}, loader));
+
+        projectIds.remove(2);
+        Assertions.assertTrue(authorizationCache.isAuthorized(AuthorizationType.PROJECTS, 1, new Object[]{2}, loader));
+        authorizationCache.invalidateAuthorizationType(AuthorizationType.PROJECTS);
+        Assertions.assertFalse(authorizationCache.isAuthorized(AuthorizationType.PROJECTS, 1, new Object[]{2}, loader));
+    }
+
+    @Test
+    public void testInvalidateAgainAfterCommit() {
+        AuthorizationCache authorizationCache = new AuthorizationCache(new ApiConfig());
+        Set<Integer> projectIds = new HashSet<>(Arrays.asList(1, 2));
+        Supplier<Set<?>> loader = () -> new HashSet<>(projectIds);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            authorizationCache.invalidateUser(1);
+            authorizationCache.invalidateAuthorizationType(AuthorizationType.PROJECTS);
+            // the revoked resource ids are loaded by another check before the transaction committed
+            Assertions.assertTrue(
+                    authorizationCache.isAuthorized(AuthorizationType.PROJECTS, 1, new Object[]{1}, loader));
+            Assertions.assertTrue(
+                    authorizationCache.isAuthorized(AuthorizationType.PROJECTS, 2, new Object[]{2}, loader));
+            projectIds.clear();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        Assertions.assertFalse(authorizationCache.isAuthorized(AuthorizationType.PROJECTS, 1, new Object[]{1}, loader));
+        Assertions.assertFalse(authorizationCache.isAuthorized(AuthorizationType.PROJECTS, 2, new Object[]{2}, loader));
+    }
+
+    @Test
+    public void testAuthorizedResourceIds() {
+        AuthorizationCache.AuthorizedResourceIds authorizedResourceIds =
+                AuthorizationCache.AuthorizedResourceIds.of(new HashSet<>(Arrays.asList(5, 1, 3)));
+        Assertions.assertTrue(authorizedResourceIds.containsAll(new Object[]{1, 3, 5}));
+        Assertions.assertFalse(authorizedResourceIds.containsAll(new Object[]{1, 2}));
+        Assertions.assertFalse(authorizedResourceIds.containsAll(new Object[]{"1"}));
+
+        authorizedResourceIds = AuthorizationCache.AuthorizedResourceIds.of(new HashSet<>(Arrays.asList("a", "b")));
+        Assertions.assertTrue(authorizedResourceIds.containsAll(new Object[]{"a"}));
+        Assertions.assertFalse(authorizedResourceIds.containsAll(new Object[]{"c"}));
+
+        Assertions.assertFalse(AuthorizationCache.AuthorizedResourceIds.of(null).containsAll(new Object[]{1}));
+    }
+
+    @Test
+    public void testGetUserType() {
+        AuthorizationCache authorizationCache = new AuthorizationCache(new ApiConfig());
+        AtomicInteger loadCount = new AtomicInteger();
+
+        Assertions.assertNull(authorizationCache.getUserType(1, () -> {
+            loadCount.incrementAndGet();
+            return null;
+        }));
+        Supplier<UserType> loader = () -> {
+            loadCount.incrementAndGet();
+            return UserType.GENERAL_USER;
+        };
+        Assertions.assertEquals(UserType.GENERAL_USER, authorizationCache.getUserType(1, loader));
+        Assertions.assertEquals(UserType.GENERAL_USER, authorizationCache.getUserType(1, loader));
+        Assertions.assertEquals(2, loadCount.get());
+
+        authorizationCache.invalidateUser(1);
+        Assertions.assertEquals(UserType.GENERAL_USER, authorizationCache.getUserType(1, loader));
+        Assertions.assertEquals(3, loadCount.get());
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.security;
+
+import org.apache.dolphinscheduler.api.configuration.ApiConfig;
+import org.apache.dolphinscheduler.dao.entity.User;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class LoginUserCacheTest {
+
+    private static final Function<String, Date> TOKEN_EXPIRE_TIME_LOADER =
+            token -> new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+
+    @Test
+    public void testGetTokenUser() {
+        LoginUserCache loginUserCache = new LoginUserCache(new ApiConfig());
+        AtomicInteger loadCount = new AtomicInteger();
+        User user = createUser(1);
+        Function<String, User> userLoader = token -> {
+            loadCount.incrementAndGet();
+            return "token1".equals(token) ? user : null;
+        };
+
+        Assertions.assertSame(user, loginUserCache.getTokenUser("token1", userLoader, TOKEN_EXPIRE_TIME_LOADER));
+        Assertions.assertEquals(user, loginUserCache.getTokenUser("token1", userLoader, TOKEN_EXPIRE_TIME_LOADER));
+        Assertions.assertEquals(1, loadCount.get());
+
+        // the token which has no user is not cached
+        Assertions.assertNull(loginUserCache.getTokenUser("token2", userLoader, TOKEN_EXPIRE_TIME_LOADER));
+        Assertions.assertNull(loginUserCache.getTokenUser("token2", userLoader, TOKEN_EXPIRE_TIME_LOADER));
+        Assertions.assertEquals(3, loadCount.get());
+
+        loginUserCache.invalidateToken("token1");
+        Assertions.assertSame(user, loginUserCache.getTokenUser("token1", userLoader, TOKEN_EXPIRE_TIME_LOADER));
+        Assertions.assertEquals(4, loadCount.get());
+    }
+
+    @Test
+    public void testGetTokenUserCopy() {
+        LoginUserCache loginUserCache = new LoginUserCache(new ApiConfig());
+        Function<String, User> userLoader = token -> createUser(1);
+
+        // the change of the user made by a request is not seen by the other requests
+        loginUserCache.getTokenUser("token1", userLoader, TOKEN_EXPIRE_TIME_LOADER).setUserPassword("password");
+        User user = loginUserCache.getTokenUser("token1", userLoader, TOKEN_EXPIRE_TIME_LOADER);
+        user.setTenantCode("tenant");
+        Assertions.assertNull(user.getUserPassword());
+        Assertions.assertNotSame(user, loginUserCache.getTokenUser("token1", userLoader, TOKEN_EXPIRE_TIME_LOADER));
+        Assertions.assertNull(
+                loginUserCache.getTokenUser("token1", userLoader, TOKEN_EXPIRE_TIME_LOADER).getTenantCode());
+    }
+
+    @Test
+    public void testGetExpiredTokenUser() {
+        LoginUserCache loginUserCache = new LoginUserCache(new ApiConfig());
+        AtomicInteger loadCount = new AtomicInteger();
+        Function<String, User> userLoader = token -> {
+            loadCount.incrementAndGet();
+            return createUser(1);
+        };
+
+        // the cached user is not used once the token expires
+        Function<String, Date> expiredTimeLoader = token -> new Date(System.currentTimeMillis() - 1);
+        loginUserCache.getTokenUser("token1", userLoader, expiredTimeLoader);
+        loginUserCache.getTokenUser("token1", userLoader, expiredTimeLoader);
+        Assertions.assertEquals(2, loadCount.get());
+
+        // the token which has no expire time is not cached
+        loginUserCache.getTokenUser("token2", userLoader, token -> null);
+        loginUserCache.getTokenUser("token2", userLoader, token -> null);
+        Assertions.assertEquals(4, loadCount.get());
+    }
+
+    @Test
+    public void testInvalidateUser() {
+        LoginUserCache loginUserCache = new LoginUserCache(new ApiConfig());
+        AtomicInteger loadCount = new AtomicInteger();
+        Function<String, User> userLoader = key -> {
+            loadCount.incrementAndGet();
+            return createUser(key.endsWith("1") ? 1 : 2);
+        };
+        loginUserCache.getTokenUser("token1", userLoader, TOKEN_EXPIRE_TIME_LOADER);
+        loginUserCache.getSessionUser("session1", userLoader);
+        loginUserCache.getSessionUser("session2", userLoader);
+        Assertions.assertEquals(3, loadCount.get());
+
+        loginUserCache.invalidateUser(1);
+        loginUserCache.getTokenUser("token1", userLoader, TOKEN_EXPIRE_TIME_LOADER);
+        loginUserCache.getSessionUser("session1", userLoader);
+        loginUserCache.getSessionUser("session2", userLoader);
+        Assertions.assertEquals(5, loadCount.get());
+    }
+
+    @Test
+    public void testInvalidateUserAgainAfterCommit() {
+        LoginUserCache loginUserCache = new LoginUserCache(new ApiConfig());
+        AtomicInteger loadCount = new AtomicInteger();
+        Function<String, User> userLoader = token -> {
+            loadCount.incrementAndGet();
+            return createUser(1);
+        };
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            loginUserCache.invalidateUser(1);
+            loginUserCache.invalidateToken("token2");
+            // the old user is loaded by another request before the transaction committed
+            loginUserCache.getTokenUser("token1", userLoader, TOKEN_EXPIRE_TIME_LOADER);
+            loginUserCache.getTokenUser("token2", userLoader, TOKEN_EXPIRE_TIME_LOADER);
+            loginUserCache.getTokenUser("token1", userLoader, TOKEN_EXPIRE_TIME_LOADER);
+            loginUserCache.getTokenUser("token2", userLoader, TOKEN_EXPIRE_TIME_LOADER);
+            Assertions.assertEquals(2, loadCount.get());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        loginUserCache.getTokenUser("token1", userLoader, TOKEN_EXPIRE_TIME_LOADER);
+        loginUserCache.getTokenUser("token2", userLoader, TOKEN_EXPIRE_TIME_LOADER);
+        Assertions.assertEquals(4, loadCount.get());
+    }
+
+    @Test
+    public void testDisabled() {
+        ApiConfig apiConfig = new ApiConfig();
+        apiConfig.getLoginUserCache().setEnabled(false);
+        LoginUserCache loginUserCache = new LoginUserCache(apiConfig);
+        AtomicInteger loadCount = new AtomicInteger();
+        Function<String, User> userLoader = token -> {
+            loadCount.incrementAndGet();
+            return createUser(1);
+        };
+        loginUserCache.getTokenUser("token1", userLoader, TOKEN_EXPIRE_TIME_LOADER);
+        loginUserCache.getTokenUser("token1", userLoader, TOKEN_EXPIRE_TIME_LOADER);
+        loginUserCache.invalidateUser(1);
+        Assertions.assertEquals(2, loadCount.get());
+    }
+
+    private User createUser(int id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+}
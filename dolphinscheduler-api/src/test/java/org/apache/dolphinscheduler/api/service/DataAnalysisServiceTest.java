@@ -32,6 +32,7 @@ import org.apache.dolphinscheduler.api.enums.Status;
 import org.apache.dolphinscheduler.api.exceptions.ServiceException;
 import org.apache.dolphinscheduler.api.permission.ResourcePermissionCheckService;
 import org.apache.dolphinscheduler.api.service.impl.DataAnalysisServiceImpl;
+import org.apache.dolphinscheduler.api.statistics.InstanceStateCountRollup;
 import org.apache.dolphinscheduler.api.utils.PageInfo;
 import org.apache.dolphinscheduler.api.vo.TaskInstanceCountVO;
 import org.apache.dolphinscheduler.common.constants.Constants;
@@ -109,6 +110,9 @@ public class DataAnalysisServiceTest {
     @Mock
     TaskInstanceMapper taskInstanceMapper;
 
+    @Mock
+    InstanceStateCountRollup instanceStateCountRollup;
+
     @Mock
     private ResourcePermissionCheckService resourcePermissionCheckService;
 
@@ -195,7 +199,7 @@ public class DataAnalysisServiceTest {
         user.setUserType(UserType.GENERAL_USER);
         when(resourcePermissionCheckService.userOwnedResourceIdsAcquisition(AuthorizationType.PROJECTS, 1,
                 serviceLogger)).thenReturn(projectIds());
-        when(taskInstanceMapper.countTaskInstanceStateByProjectCodes(any(), any(), any()))
+        when(instanceStateCountRollup.countTaskInstanceState(any(), any(), any()))
                 .thenReturn(Collections.emptyList());
         assertDoesNotThrow(() -> dataAnalysisServiceImpl.getTaskInstanceStateCountByProject(user, 1L, null, null));
 
@@ -209,7 +213,7 @@ public class DataAnalysisServiceTest {
 
         // when instanceStateCounter return null, then return nothing
         user.setUserType(UserType.GENERAL_USER);
-        when(taskInstanceMapper.countTaskInstanceStateByProjectCodes(any(), any(), any()))
+        when(instanceStateCountRollup.countTaskInstanceState(any(), any(), any()))
                 .thenReturn(Collections.emptyList());
         TaskInstanceCountVO taskInstanceStateCountByProject =
                 dataAnalysisServiceImpl.getTaskInstanceStateCountByProject(user, 1L, null, null);
@@ -31,6 +31,7 @@ import org.apache.dolphinscheduler.api.dto.workflowInstance.WorkflowExecuteRespo
 import org.apache.dolphinscheduler.api.enums.ExecuteType;
 import org.apache.dolphinscheduler.api.enums.Status;
 import org.apache.dolphinscheduler.api.exceptions.ServiceException;
+import org.apache.dolphinscheduler.api.executor.CommandWakeupNotifier;
 import org.apache.dolphinscheduler.api.executor.ExecuteClient;
 import org.apache.dolphinscheduler.api.permission.ResourcePermissionCheckService;
 import org.apache.dolphinscheduler.api.service.impl.ExecutorServiceImpl;
@@ -156,6 +157,9 @@ public class ExecuteFunctionServiceTest {
     @Mock
     private ExecuteClient executeClient;
 
+    @Mock
+    private CommandWakeupNotifier commandWakeupNotifier;
+
     @Mock
     private ProcessInstanceDao processInstanceDao;
 
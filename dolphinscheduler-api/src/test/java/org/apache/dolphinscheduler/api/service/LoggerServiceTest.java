@@ -34,6 +34,7 @@ import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.enums.UserType;
 import org.apache.dolphinscheduler.dao.entity.Project;
+import org.apache.dolphinscheduler.dao.entity.ResponseTaskLog;
 import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.entity.User;
@@ -120,6 +121,9 @@ public class LoggerServiceTest {
 
             @Override
             public TaskInstanceLogPageQueryResponse pageQueryTaskInstanceLog(TaskInstanceLogPageQueryRequest taskInstanceLogPageQueryRequest) {
+                if (taskInstanceLogPageQueryRequest.isTail()) {
+                    return new TaskInstanceLogPageQueryResponse("log tail");
+                }
                 if (taskInstanceLogPageQueryRequest.getTaskInstanceId() != null) {
                     if (taskInstanceLogPageQueryRequest.getTaskInstanceId() == 100) {
                         throw new ServiceException("query log error");
@@ -159,13 +163,13 @@ public class LoggerServiceTest {
         TaskInstance taskInstance = new TaskInstance();
         taskInstance.setExecutorId(loginUser.getId() + 1);
         when(taskInstanceDao.queryById(1)).thenReturn(taskInstance);
-        Result result = loggerService.queryLog(loginUser, 2, 1, 1);
+        Result result = loggerService.queryLog(loginUser, 2, 1, 1, false);
         // TASK_INSTANCE_NOT_FOUND
         Assertions.assertEquals(Status.TASK_INSTANCE_NOT_FOUND.getCode(), result.getCode().intValue());
 
         try {
             // HOST NOT FOUND OR ILLEGAL
-            result = loggerService.queryLog(loginUser, 1, 1, 1);
+            result = loggerService.queryLog(loginUser, 1, 1, 1, false);
         } catch (RuntimeException e) {
             Assertions.assertTrue(true);
             logger.error("testQueryDataSourceList error {}", e.getMessage());
@@ -178,27 +182,44 @@ public class LoggerServiceTest {
         doThrow(new ServiceException(Status.PROJECT_NOT_EXIST)).when(projectService)
                 .checkProjectAndAuthThrowException(loginUser, taskInstance.getProjectCode(), VIEW_LOG);
         AssertionsHelper.assertThrowsServiceException(Status.PROJECT_NOT_EXIST,
-                () -> loggerService.queryLog(loginUser, 1, 1, 1));
+                () -> loggerService.queryLog(loginUser, 1, 1, 1, false));
 
         // USER_NO_OPERATION_PERM
         doThrow(new ServiceException(Status.USER_NO_OPERATION_PERM)).when(projectService)
                 .checkProjectAndAuthThrowException(loginUser, taskInstance.getProjectCode(), VIEW_LOG);
         AssertionsHelper.assertThrowsServiceException(Status.USER_NO_OPERATION_PERM,
-                () -> loggerService.queryLog(loginUser, 1, 1, 1));
+                () -> loggerService.queryLog(loginUser, 1, 1, 1, false));
 
         // SUCCESS
         doNothing().when(projectService).checkProjectAndAuthThrowException(loginUser, taskInstance.getProjectCode(),
                 VIEW_LOG);
         when(taskInstanceDao.queryById(1)).thenReturn(taskInstance);
-        result = loggerService.queryLog(loginUser, 1, 1, 1);
+        result = loggerService.queryLog(loginUser, 1, 1, 1, false);
         Assertions.assertEquals(Status.SUCCESS.getCode(), result.getCode().intValue());
 
-        result = loggerService.queryLog(loginUser, 1, 0, 1);
+        result = loggerService.queryLog(loginUser, 1, 0, 1, false);
         Assertions.assertEquals(Status.SUCCESS.getCode(), result.getCode().intValue());
 
         taskInstance.setLogPath("");
         assertThrowsServiceException(Status.QUERY_TASK_INSTANCE_LOG_ERROR,
-                () -> loggerService.queryLog(loginUser, 1, 1, 1));
+                () -> loggerService.queryLog(loginUser, 1, 1, 1, false));
+    }
+
+    @Test
+    public void testQueryLogTail() {
+        User loginUser = new User();
+        loginUser.setId(1);
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setHost("127.0.0.1:" + nettyServerPort);
+        taskInstance.setLogPath("/temp/log");
+        when(taskInstanceDao.queryById(1)).thenReturn(taskInstance);
+        doNothing().when(projectService).checkProjectAndAuthThrowException(loginUser, taskInstance.getProjectCode(),
+                VIEW_LOG);
+
+        Result<ResponseTaskLog> result = loggerService.queryLog(loginUser, 1, 0, 100, true);
+        Assertions.assertEquals(Status.SUCCESS.getCode(), result.getCode().intValue());
+        // the head of the log isn't prepended to the tail
+        Assertions.assertEquals("log tail", result.getData().getMessage());
     }
 
     @Test
@@ -235,13 +256,13 @@ public class LoggerServiceTest {
         doThrow(new ServiceException(Status.PROJECT_NOT_EXIST)).when(projectService)
                 .checkProjectAndAuthThrowException(loginUser, taskInstance.getProjectCode(), VIEW_LOG);
         AssertionsHelper.assertThrowsServiceException(Status.PROJECT_NOT_EXIST,
-                () -> loggerService.queryLog(loginUser, 1, 1, 1));
+                () -> loggerService.queryLog(loginUser, 1, 1, 1, false));
 
         // USER_NO_OPERATION_PERM
         doThrow(new ServiceException(Status.USER_NO_OPERATION_PERM)).when(projectService)
                 .checkProjectAndAuthThrowException(loginUser, taskInstance.getProjectCode(), VIEW_LOG);
         AssertionsHelper.assertThrowsServiceException(Status.USER_NO_OPERATION_PERM,
-                () -> loggerService.queryLog(loginUser, 1, 1, 1));
+                () -> loggerService.queryLog(loginUser, 1, 1, 1, false));
 
         // SUCCESS
         doNothing().when(projectService).checkProjectAndAuthThrowException(loginUser, taskInstance.getProjectCode(),
@@ -262,7 +283,7 @@ public class LoggerServiceTest {
         when(taskInstanceDao.queryById(10)).thenReturn(null);
 
         assertThrowsServiceException(Status.TASK_INSTANCE_NOT_FOUND,
-                () -> loggerService.queryLog(loginUser, projectCode, 10, 1, 1));
+                () -> loggerService.queryLog(loginUser, projectCode, 10, 1, 1, false));
 
         TaskDefinition taskDefinition = new TaskDefinition();
         taskDefinition.setProjectCode(projectCode);
@@ -276,22 +297,22 @@ public class LoggerServiceTest {
         doNothing().when(projectService).checkProjectAndAuthThrowException(loginUser, projectCode, VIEW_LOG);
         when(taskInstanceDao.queryById(1)).thenReturn(taskInstance);
         when(taskDefinitionMapper.queryByCode(taskInstance.getTaskCode())).thenReturn(taskDefinition);
-        assertDoesNotThrow(() -> loggerService.queryLog(loginUser, projectCode, 1, 1, 1));
+        assertDoesNotThrow(() -> loggerService.queryLog(loginUser, projectCode, 1, 1, 1, false));
 
         taskDefinition.setProjectCode(10);
         assertThrowsServiceException(Status.TASK_INSTANCE_NOT_FOUND,
-                () -> loggerService.queryLog(loginUser, projectCode, 1, 1, 1));
+                () -> loggerService.queryLog(loginUser, projectCode, 1, 1, 1, false));
 
         taskDefinition.setProjectCode(1);
         taskInstance.setId(10);
         when(taskInstanceDao.queryById(10)).thenReturn(taskInstance);
-        String result = loggerService.queryLog(loginUser, projectCode, 10, 1, 1);
+        String result = loggerService.queryLog(loginUser, projectCode, 10, 1, 1, false);
         assertEquals("log content", result);
 
         taskInstance.setId(100);
         when(taskInstanceDao.queryById(100)).thenReturn(taskInstance);
         assertThrowsServiceException(Status.QUERY_TASK_INSTANCE_LOG_ERROR,
-                () -> loggerService.queryLog(loginUser, projectCode, 10, 1, 1));
+                () -> loggerService.queryLog(loginUser, projectCode, 10, 1, 1, false));
     }
 
     @Test
@@ -22,6 +22,7 @@ import static org.apache.dolphinscheduler.api.constants.ApiFuncIdentificationCon
 import static org.apache.dolphinscheduler.api.constants.ApiFuncIdentificationConstant.WORKFLOW_CREATE;
 import static org.apache.dolphinscheduler.api.constants.ApiFuncIdentificationConstant.WORKFLOW_DEFINITION;
 import static org.apache.dolphinscheduler.api.constants.ApiFuncIdentificationConstant.WORKFLOW_DEFINITION_DELETE;
+import static org.apache.dolphinscheduler.api.constants.ApiFuncIdentificationConstant.WORKFLOW_DEFINITION_EXPORT;
 import static org.apache.dolphinscheduler.api.constants.ApiFuncIdentificationConstant.WORKFLOW_IMPORT;
 import static org.apache.dolphinscheduler.api.constants.ApiFuncIdentificationConstant.WORKFLOW_TREE_VIEW;
 import static org.apache.dolphinscheduler.api.constants.ApiFuncIdentificationConstant.WORKFLOW_UPDATE;
@@ -32,6 +33,7 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 
+import org.apache.dolphinscheduler.api.dto.treeview.TreeViewDto;
 import org.apache.dolphinscheduler.api.dto.workflow.WorkflowCreateRequest;
 import org.apache.dolphinscheduler.api.dto.workflow.WorkflowFilterRequest;
 import org.apache.dolphinscheduler.api.dto.workflow.WorkflowUpdateRequest;
@@ -47,16 +49,20 @@ import org.apache.dolphinscheduler.common.enums.ProcessExecutionTypeEnum;
 import org.apache.dolphinscheduler.common.enums.ReleaseState;
 import org.apache.dolphinscheduler.common.enums.UserType;
 import org.apache.dolphinscheduler.common.enums.WarningType;
+import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
 import org.apache.dolphinscheduler.common.graph.DAG;
+import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
 import org.apache.dolphinscheduler.common.utils.DateUtils;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.dao.entity.DagData;
 import org.apache.dolphinscheduler.dao.entity.DataSource;
 import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.ProcessTaskRelation;
 import org.apache.dolphinscheduler.dao.entity.Project;
 import org.apache.dolphinscheduler.dao.entity.Schedule;
 import org.apache.dolphinscheduler.dao.entity.TaskDefinitionLog;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskMainInfo;
 import org.apache.dolphinscheduler.dao.entity.User;
 import org.apache.dolphinscheduler.dao.entity.UserWithProcessDefinitionCode;
@@ -67,12 +73,15 @@ import org.apache.dolphinscheduler.dao.mapper.ProcessTaskRelationMapper;
 import org.apache.dolphinscheduler.dao.mapper.ProjectMapper;
 import org.apache.dolphinscheduler.dao.mapper.ScheduleMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskDefinitionMapper;
+import org.apache.dolphinscheduler.dao.mapper.TaskInstanceMapper;
 import org.apache.dolphinscheduler.dao.mapper.UserMapper;
 import org.apache.dolphinscheduler.dao.model.PageListingResult;
 import org.apache.dolphinscheduler.dao.repository.ProcessDefinitionDao;
 import org.apache.dolphinscheduler.dao.repository.ProcessDefinitionLogDao;
 import org.apache.dolphinscheduler.dao.repository.TaskDefinitionLogDao;
 import org.apache.dolphinscheduler.dao.utils.WorkerGroupUtils;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.service.model.TaskNode;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 import org.apache.dolphinscheduler.spi.enums.DbType;
 
@@ -104,7 +113,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.DelegatingServletOutputStream;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.google.common.collect.Lists;
 
@@ -125,6 +138,9 @@ public class ProcessDefinitionServiceTest extends BaseServiceTestTool {
                     + "\"switchResult\":{}},\"flag\":\"YES\",\"taskPriority\":\"MEDIUM\",\"workerGroup\":\"default\",\"failRetryTimes\":0,\"failRetryInterval\":1,\"timeoutFlag\":\"CLOSE\","
                     + "\"timeoutNotifyStrategy\":\"WARN\",\"timeout\":0,\"environmentCode\":-1}]";
 
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private ProcessDefinitionServiceImpl processDefinitionService;
 
@@ -185,6 +201,9 @@ public class ProcessDefinitionServiceTest extends BaseServiceTestTool {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private TaskInstanceMapper taskInstanceMapper;
+
     protected User user;
     protected Exception exception;
     protected final static long projectCode = 1L;
@@ -750,6 +769,75 @@ public class ProcessDefinitionServiceTest extends BaseServiceTestTool {
         Assertions.assertEquals(Status.SUCCESS, taskNotNuLLRes.get(Constants.STATUS));
     }
 
+    @Test
+    public void testViewTreeWithTaskInstances() {
+        ProcessDefinition processDefinition = getProcessDefinition();
+        when(processDefinitionMapper.queryByCode(46L)).thenReturn(processDefinition);
+        Project project1 = getProject(1);
+        Map<String, Object> result = new HashMap<>();
+        result.put(Constants.STATUS, Status.SUCCESS);
+        when(projectMapper.queryByCode(1)).thenReturn(project1);
+        when(projectService.checkProjectAndAuth(user, project1, 1, WORKFLOW_TREE_VIEW)).thenReturn(result);
+
+        // task 1 -> task 2
+        DAG<Long, TaskNode, TaskNodeRelation> dag = new DAG<>();
+        for (long taskCode = 1; taskCode <= 2; taskCode++) {
+            TaskNode taskNode = new TaskNode();
+            taskNode.setCode(taskCode);
+            taskNode.setName("task" + taskCode);
+            taskNode.setType("SHELL");
+            dag.addNode(taskCode, taskNode);
+        }
+        dag.addEdge(1L, 2L);
+        when(processService.genDagGraph(processDefinition)).thenReturn(dag);
+
+        List<ProcessInstance> processInstances = new ArrayList<>();
+        for (int id = 1; id <= 2; id++) {
+            ProcessInstance processInstance = new ProcessInstance();
+            processInstance.setId(id);
+            processInstance.setName("instance" + id);
+            processInstance.setProcessDefinitionCode(46L);
+            processInstance.setState(WorkflowExecutionStatus.SUCCESS);
+            processInstance.setStartTime(new Date());
+            processInstances.add(processInstance);
+        }
+        when(processInstanceService.queryByProcessDefineCode(46L, 10)).thenReturn(processInstances);
+
+        // only task 1 of instance 1 and task 2 of instance 2 are run
+        List<TaskInstance> taskInstances = new ArrayList<>();
+        for (int id = 1; id <= 2; id++) {
+            TaskInstance taskInstance = new TaskInstance();
+            taskInstance.setId(id);
+            taskInstance.setProcessInstanceId(id);
+            taskInstance.setTaskCode(id);
+            taskInstance.setName("task" + id);
+            taskInstance.setTaskType("SHELL");
+            taskInstance.setState(TaskExecutionStatus.SUCCESS);
+            taskInstances.add(taskInstance);
+        }
+        when(taskInstanceMapper.queryByProcessInstanceIdsAndTaskCodes(Arrays.asList(1, 2), null))
+                .thenReturn(taskInstances);
+
+        Map<String, Object> viewTreeRes =
+                processDefinitionService.viewTree(user, processDefinition.getProjectCode(), 46, 10);
+        Assertions.assertEquals(Status.SUCCESS, viewTreeRes.get(Constants.STATUS));
+        Mockito.verify(taskInstanceMapper, times(1)).queryByProcessInstanceIdsAndTaskCodes(Mockito.any(),
+                Mockito.any());
+
+        TreeViewDto root = (TreeViewDto) viewTreeRes.get(Constants.DATA_LIST);
+        Assertions.assertEquals(1, root.getChildren().size());
+        TreeViewDto task1 = root.getChildren().get(0);
+        Assertions.assertEquals(1L, task1.getCode());
+        // the instances are listed from the oldest one, which is the last one of the process instance list
+        Assertions.assertEquals(-1, task1.getInstances().get(0).getId());
+        Assertions.assertEquals(1, task1.getInstances().get(1).getId());
+        Assertions.assertEquals(1, task1.getChildren().size());
+        TreeViewDto task2 = task1.getChildren().get(0);
+        Assertions.assertEquals(2L, task2.getCode());
+        Assertions.assertEquals(2, task2.getInstances().get(0).getId());
+        Assertions.assertEquals(-1, task2.getInstances().get(1).getId());
+    }
+
     @Test
     public void testSubProcessViewTree() {
         ProcessDefinition processDefinition = getProcessDefinition();
@@ -804,6 +892,89 @@ public class ProcessDefinitionServiceTest extends BaseServiceTestTool {
         Assertions.assertNotNull(processDefinitionService.exportProcessDagData(processDefinition));
     }
 
+    @Test
+    public void testImportProcessDefinition() {
+        Project project = getProject(projectCode);
+        when(projectMapper.queryByCode(projectCode)).thenReturn(project);
+        when(projectService.checkProjectAndAuth(user, project, projectCode, WORKFLOW_IMPORT))
+                .thenAnswer(invocation -> {
+                    Map<String, Object> result = new HashMap<>();
+                    putMsg(result, Status.SUCCESS, projectCode);
+                    return result;
+                });
+
+        // empty file content
+        MockMultipartFile emptyFile =
+                new MockMultipartFile("empty.json", "[]".getBytes(StandardCharsets.UTF_8));
+        Map<String, Object> emptyRes = processDefinitionService.importProcessDefinition(user, projectCode, emptyFile);
+        Assertions.assertEquals(Status.DATA_IS_NULL, emptyRes.get(Constants.STATUS));
+
+        // invalid file content
+        MockMultipartFile invalidFile =
+                new MockMultipartFile("invalid.json", "[{\"processDefinition\":".getBytes(StandardCharsets.UTF_8));
+        ServiceException exception = Assertions.assertThrows(ServiceException.class,
+                () -> processDefinitionService.importProcessDefinition(user, projectCode, invalidFile));
+        Assertions.assertEquals(Status.DATA_IS_NOT_VALID.getCode(), exception.getCode());
+    }
+
+    @Test
+    public void testImportProcessDefinitionInTransactionOneByOne() {
+        Project project = getProject(projectCode);
+        when(projectMapper.queryByCode(projectCode)).thenReturn(project);
+        when(projectService.checkProjectAndAuth(user, project, projectCode, WORKFLOW_IMPORT))
+                .thenAnswer(invocation -> {
+                    Map<String, Object> result = new HashMap<>();
+                    putMsg(result, Status.SUCCESS, projectCode);
+                    return result;
+                });
+        TransactionStatus transactionStatus = Mockito.mock(TransactionStatus.class);
+        when(transactionTemplate.execute(Mockito.any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0)
+                        .doInTransaction(transactionStatus));
+
+        // the import stops at the first process definition which lacks task definitions
+        MockMultipartFile file = new MockMultipartFile("process.json",
+                "[{\"processDefinition\":{\"name\":\"test\"}},{\"processDefinition\":{\"name\":\"test\"}}]"
+                        .getBytes(StandardCharsets.UTF_8));
+        Map<String, Object> result = processDefinitionService.importProcessDefinition(user, projectCode, file);
+        Assertions.assertEquals(Status.DATA_IS_NULL, result.get(Constants.STATUS));
+        Mockito.verify(transactionTemplate, times(1)).execute(Mockito.any());
+        Mockito.verify(transactionStatus).setRollbackOnly();
+    }
+
+    @Test
+    public void testBatchExportProcessDefinitionFailAfterStart() throws Exception {
+        Project project = getProject(projectCode);
+        when(projectMapper.queryByCode(projectCode)).thenReturn(project);
+        when(projectService.checkProjectAndAuth(user, project, projectCode, WORKFLOW_DEFINITION_EXPORT))
+                .thenAnswer(invocation -> {
+                    Map<String, Object> result = new HashMap<>();
+                    putMsg(result, Status.SUCCESS, projectCode);
+                    return result;
+                });
+        ProcessDefinition processDefinition1 = getProcessDefinition();
+        processDefinition1.setCode(1L);
+        ProcessDefinition processDefinition2 = getProcessDefinition();
+        processDefinition2.setCode(2L);
+        when(processDefinitionMapper.queryByCodes(Mockito.anyCollection()))
+                .thenReturn(Lists.newArrayList(processDefinition1, processDefinition2));
+        when(processService.genDagData(Mockito.any()))
+                .thenReturn(new DagData(processDefinition1, null, null))
+                .thenThrow(new IllegalStateException("Query task definitions fail"));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        HttpServletResponse response = Mockito.mock(HttpServletResponse.class);
+        when(response.getOutputStream()).thenReturn(new DelegatingServletOutputStream(outputStream));
+        when(response.isCommitted()).thenReturn(false);
+        processDefinitionService.batchExportProcessDefinitionByCodes(user, projectCode, "1,2", response);
+
+        // the json array is not terminated and the response fails instead of succeeding with an incomplete export
+        String json = new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+        Assertions.assertFalse(json.trim().endsWith("]"));
+        Mockito.verify(response).reset();
+        Mockito.verify(response).setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+    }
+
     @Test
     public void testImportSqlProcessDefinition() throws Exception {
         ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
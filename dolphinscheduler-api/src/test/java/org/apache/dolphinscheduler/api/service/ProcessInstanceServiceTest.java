@@ -475,7 +475,7 @@ public class ProcessInstanceServiceTest {
         when(taskInstanceDao.queryValidTaskListByWorkflowInstanceId(processInstance.getId(),
                 processInstance.getTestFlag()))
                         .thenReturn(taskInstanceList);
-        when(loggerService.queryLog(loginUser, taskInstance.getId(), 0, 4098)).thenReturn(res);
+        when(loggerService.queryLog(loginUser, taskInstance.getId(), 0, 4098, false)).thenReturn(res);
         Map<String, Object> successRes = processInstanceService.queryTaskListByProcessId(loginUser, projectCode, 1);
         Assertions.assertEquals(Status.SUCCESS, successRes.get(Constants.STATUS));
     }
@@ -26,6 +26,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 
 import org.apache.dolphinscheduler.api.enums.Status;
+import org.apache.dolphinscheduler.api.permission.AuthorizationCache;
 import org.apache.dolphinscheduler.api.permission.ResourcePermissionCheckService;
 import org.apache.dolphinscheduler.api.service.impl.BaseServiceImpl;
 import org.apache.dolphinscheduler.api.service.impl.ProjectServiceImpl;
@@ -97,6 +98,9 @@ public class ProjectServiceTest {
     @Mock
     private TaskGroupService taskGroupService;
 
+    @Mock
+    private AuthorizationCache authorizationCache;
+
     private String projectName = "ProjectServiceTest";
 
     private String userName = "ProjectServiceTest";
@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.api.service;
 
+import org.apache.dolphinscheduler.api.security.LoginUserCache;
 import org.apache.dolphinscheduler.api.service.impl.SessionServiceImpl;
 import org.apache.dolphinscheduler.common.enums.UserType;
 import org.apache.dolphinscheduler.common.utils.DateUtils;
@@ -55,6 +56,9 @@ public class SessionServiceTest {
     @Mock
     private SessionDao sessionDao;
 
+    @Mock
+    private LoginUserCache loginUserCache;
+
     private String sessionId = "aaaaaaaaaaaaaaaaaa";
 
     @BeforeEach
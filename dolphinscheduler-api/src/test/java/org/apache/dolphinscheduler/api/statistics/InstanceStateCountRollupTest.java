@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.statistics;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.api.configuration.ApiConfig;
+import org.apache.dolphinscheduler.common.enums.InstanceType;
+import org.apache.dolphinscheduler.common.utils.DateUtils;
+import org.apache.dolphinscheduler.dao.entity.InstanceStateCount;
+import org.apache.dolphinscheduler.dao.mapper.ProcessInstanceMapper;
+import org.apache.dolphinscheduler.dao.mapper.TaskInstanceMapper;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceStatusCountDto;
+import org.apache.dolphinscheduler.dao.model.WorkflowInstanceStatusCountDto;
+import org.apache.dolphinscheduler.dao.repository.InstanceStateCountDao;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.registry.api.RegistryClient;
+import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import com.google.common.collect.Lists;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class InstanceStateCountRollupTest {
+
+    private static final List<Long> PROJECT_CODES = Lists.newArrayList(1L);
+
+    @InjectMocks
+    private InstanceStateCountRollup instanceStateCountRollup;
+
+    @Mock
+    private ApiConfig apiConfig;
+
+    @Mock
+    private InstanceStateCountDao instanceStateCountDao;
+
+    @Mock
+    private TaskInstanceMapper taskInstanceMapper;
+
+    @Mock
+    private ProcessInstanceMapper processInstanceMapper;
+
+    @Mock
+    private RegistryClient registryClient;
+
+    private final Date today = DateUtils.stringToDate("2024-06-10 00:00:00");
+
+    @BeforeEach
+    public void before() {
+        when(apiConfig.getStateCountRollup())
+                .thenReturn(new ApiConfig.StateCountRollupConfiguration(true, Duration.ofHours(1), 2, 0));
+        instanceStateCountRollup.clock = () -> DateUtils.stringToDate("2024-06-10 12:30:00");
+    }
+
+    @Test
+    public void testCountWithoutCompaction() {
+        Date start = DateUtils.stringToDate("2024-06-01 00:00:00");
+        instanceStateCountRollup.countTaskInstanceState(start, null, PROJECT_CODES);
+        instanceStateCountRollup.countWorkflowInstanceState(start, null, PROJECT_CODES);
+
+        verify(taskInstanceMapper).countTaskInstanceStateByProjectCodes(start, null, PROJECT_CODES);
+        verify(processInstanceMapper).countWorkflowInstanceStateByProjectCodes(start, null, PROJECT_CODES);
+        verify(instanceStateCountDao, never()).countTaskInstanceState(any(), any(), any());
+    }
+
+    @Test
+    public void testCompactFromTheFirstInstance() {
+        when(instanceStateCountDao.queryMaxCountDate()).thenReturn(Optional.empty());
+        when(taskInstanceMapper.queryMinStartTime()).thenReturn(DateUtils.stringToDate("2024-06-05 10:00:00"));
+        when(processInstanceMapper.queryMinStartTime()).thenReturn(DateUtils.stringToDate("2024-06-05 09:00:00"));
+        InstanceStateCount instanceStateCount = InstanceStateCount.builder()
+                .projectCode(1L)
+                .state(TaskExecutionStatus.SUCCESS.getCode())
+                .instanceCount(3)
+                .build();
+        when(taskInstanceMapper.countTaskInstanceStateGroupByProject(DateUtils.stringToDate("2024-06-05 00:00:00"),
+                DateUtils.stringToDate("2024-06-06 00:00:00")))
+                        .thenReturn(Lists.newArrayList(instanceStateCount));
+
+        instanceStateCountRollup.compact();
+
+        InOrder inOrder = inOrder(instanceStateCountDao);
+        for (int day = 5; day < 10; day++) {
+            inOrder.verify(instanceStateCountDao)
+                    .replaceByCountDate(eq(DateUtils.stringToDate("2024-06-0" + day + " 00:00:00")), any());
+        }
+        verify(instanceStateCountDao, times(5)).replaceByCountDate(any(), any());
+        Assertions.assertEquals(InstanceType.TASK_INSTANCE, instanceStateCount.getInstanceType());
+        Assertions.assertEquals(DateUtils.stringToDate("2024-06-05 00:00:00"), instanceStateCount.getCountDate());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testCompactRecentDaysAndRecheckHistory() {
+        when(apiConfig.getStateCountRollup())
+                .thenReturn(new ApiConfig.StateCountRollupConfiguration(true, Duration.ofHours(1), 2, 1));
+        when(instanceStateCountDao.queryMaxCountDate())
+                .thenReturn(Optional.of(DateUtils.stringToDate("2024-06-09 00:00:00")));
+        when(instanceStateCountDao.queryMinCountDate())
+                .thenReturn(Optional.of(DateUtils.stringToDate("2024-06-01 00:00:00")));
+
+        instanceStateCountRollup.compact();
+        instanceStateCountRollup.compact();
+
+        ArgumentCaptor<Date> countDates = ArgumentCaptor.forClass(Date.class);
+        verify(instanceStateCountDao, times(6)).replaceByCountDate(countDates.capture(),
+                any(Collection.class));
+        Assertions.assertEquals(Lists.newArrayList(
+                DateUtils.stringToDate("2024-06-08 00:00:00"),
+                DateUtils.stringToDate("2024-06-09 00:00:00"),
+                DateUtils.stringToDate("2024-06-01 00:00:00"),
+                DateUtils.stringToDate("2024-06-08 00:00:00"),
+                DateUtils.stringToDate("2024-06-09 00:00:00"),
+                DateUtils.stringToDate("2024-06-02 00:00:00")), countDates.getAllValues());
+    }
+
+    @Test
+    public void testCompactWithLock() {
+        when(instanceStateCountDao.queryMaxCountDate())
+                .thenReturn(Optional.of(DateUtils.stringToDate("2024-06-09 00:00:00")));
+
+        instanceStateCountRollup.compactWithLock();
+
+        InOrder inOrder = inOrder(registryClient, instanceStateCountDao);
+        inOrder.verify(registryClient).getLock(RegistryNodeType.API_STATE_COUNT_ROLLUP_LOCK.getRegistryPath());
+        inOrder.verify(instanceStateCountDao, times(2)).replaceByCountDate(any(), any());
+        inOrder.verify(registryClient).releaseLock(RegistryNodeType.API_STATE_COUNT_ROLLUP_LOCK.getRegistryPath());
+    }
+
+    @Test
+    public void testCountTaskInstanceStateWithRollups() {
+        compactNothing();
+        Date start = DateUtils.stringToDate("2024-06-01 08:00:00");
+        Date end = DateUtils.stringToDate("2024-06-10 08:00:00");
+        Date rollupFrom = DateUtils.stringToDate("2024-06-02 00:00:00");
+        when(taskInstanceMapper.countTaskInstanceStateByProjectCodesAndStartTimeRange(start, null, rollupFrom, null,
+                false, PROJECT_CODES)).thenReturn(
+                        Lists.newArrayList(new TaskInstanceStatusCountDto(TaskExecutionStatus.SUCCESS, 1)));
+        when(instanceStateCountDao.countTaskInstanceState(rollupFrom, today, PROJECT_CODES)).thenReturn(
+                Lists.newArrayList(new TaskInstanceStatusCountDto(TaskExecutionStatus.SUCCESS, 10),
+                        new TaskInstanceStatusCountDto(TaskExecutionStatus.FAILURE, 2)));
+        when(taskInstanceMapper.countTaskInstanceStateByProjectCodesAndStartTimeRange(null, today, null, end,
+                false, PROJECT_CODES)).thenReturn(
+                        Lists.newArrayList(new TaskInstanceStatusCountDto(TaskExecutionStatus.SUCCESS, 100)));
+
+        List<TaskInstanceStatusCountDto> taskInstanceStatusCountDtos =
+                instanceStateCountRollup.countTaskInstanceState(start, end, PROJECT_CODES);
+
+        Assertions.assertEquals(Lists.newArrayList(
+                new TaskInstanceStatusCountDto(TaskExecutionStatus.SUCCESS, 111),
+                new TaskInstanceStatusCountDto(TaskExecutionStatus.FAILURE, 2)), taskInstanceStatusCountDtos);
+        verify(taskInstanceMapper, never()).countTaskInstanceStateByProjectCodes(any(), any(), any());
+    }
+
+    @Test
+    public void testCountWorkflowInstanceStateWithoutBounds() {
+        compactNothing();
+
+        instanceStateCountRollup.countWorkflowInstanceState(null, null, PROJECT_CODES);
+
+        verify(processInstanceMapper, never()).countWorkflowInstanceStateByProjectCodesAndStartTimeRange(any(),
+                isNull(), any(), any(), anyBoolean(), any());
+        verify(instanceStateCountDao).countWorkflowInstanceState(null, today, PROJECT_CODES);
+        verify(processInstanceMapper).countWorkflowInstanceStateByProjectCodesAndStartTimeRange(null, today, null,
+                null, true, PROJECT_CODES);
+    }
+
+    @Test
+    public void testCountWorkflowInstanceStateWithinOneDay() {
+        compactNothing();
+        Date start = DateUtils.stringToDate("2024-06-01 00:00:00");
+        Date end = DateUtils.stringToDate("2024-06-01 23:59:59");
+
+        List<WorkflowInstanceStatusCountDto> workflowInstanceStatusCountDtos =
+                instanceStateCountRollup.countWorkflowInstanceState(start, end, PROJECT_CODES);
+
+        Assertions.assertTrue(workflowInstanceStatusCountDtos.isEmpty());
+        verify(processInstanceMapper).countWorkflowInstanceStateByProjectCodes(start, end, PROJECT_CODES);
+        verify(instanceStateCountDao, never()).countWorkflowInstanceState(any(), any(), any());
+    }
+
+    private void compactNothing() {
+        when(instanceStateCountDao.queryMaxCountDate()).thenReturn(Optional.empty());
+        when(apiConfig.getStateCountRollup())
+                .thenReturn(new ApiConfig.StateCountRollupConfiguration(true, Duration.ofHours(1), 0, 0));
+        instanceStateCountRollup.compact();
+        when(instanceStateCountDao.countWorkflowInstanceState(any(), any(), any()))
+                .thenReturn(Collections.emptyList());
+    }
+}
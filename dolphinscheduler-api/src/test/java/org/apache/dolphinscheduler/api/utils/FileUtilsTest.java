@@ -17,8 +17,6 @@
 
 package org.apache.dolphinscheduler.api.utils;
 
-import org.apache.http.entity.ContentType;
-
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -33,7 +31,6 @@ import org.mockito.Mockito;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.Resource;
-import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
 public class FileUtilsTest {
@@ -99,24 +96,4 @@ public class FileUtilsTest {
         Assertions.assertNull(resource1);
 
     }
-
-    @Test
-    public void testFile2String() throws IOException {
-        String content = "123";
-        org.apache.commons.io.FileUtils.writeStringToFile(new File("/tmp/task.json"), content,
-                Charset.defaultCharset());
-
-        File file = new File("/tmp/task.json");
-        FileInputStream fileInputStream = new FileInputStream("/tmp/task.json");
-        MultipartFile multipartFile = new MockMultipartFile(file.getName(), file.getName(),
-                ContentType.APPLICATION_OCTET_STREAM.toString(), fileInputStream);
-
-        String resultStr = FileUtils.file2String(multipartFile);
-
-        Assertions.assertEquals(content, resultStr);
-
-        boolean delete = file.delete();
-
-        Assertions.assertTrue(delete);
-    }
 }
@@ -106,6 +106,13 @@ public final class Constants {
      */
     public static final String RESOURCE_STORAGE_TYPE = "resource.storage.type";
 
+    /**
+     * resource transfer
+     */
+    public static final String RESOURCE_TRANSFER_PARALLELISM = "resource.transfer.parallelism";
+    public static final String RESOURCE_TRANSFER_PART_SIZE_MB = "resource.transfer.part.size.mb";
+    public static final String RESOURCE_TRANSFER_MULTIPART_THRESHOLD_MB = "resource.transfer.multipart.threshold.mb";
+
     public static final String AWS_S3_BUCKET_NAME = "aws.s3.bucket.name";
 
     public static final String ALIBABA_CLOUD_OSS_BUCKET_NAME = "resource.alibaba.cloud.oss.bucket.name";
@@ -692,6 +699,8 @@ public final class Constants {
      */
     public static final String K8S_CONFIG_REGEX = "(?<=((?i)configYaml(\" : \"))).*?(?=(\",\\n))";
 
+    public static final String K8S_CONFIG_KEYWORD = "configYaml";
+
     public static final String RELEASE_STATE = "releaseState";
     public static final String EXECUTE_TYPE = "executeType";
 
@@ -104,6 +104,11 @@ public class DataSourceConstants {
     public static final String DATASOURCE_PASSWORD_REGEX =
             "(?<=((?i)password((\" : \")|(\":\")|(\\\\\":\\\\\")|(=')))).*?(?=((\")|(\\\\\")|(')))";
 
+    /**
+     * the keyword of the dataSource sensitive param, used to skip the regex for the log without the keyword
+     */
+    public static final String DATASOURCE_PASSWORD_KEYWORD = "password";
+
     /**
      * datasource encryption salt
      */
@@ -120,6 +125,13 @@ public class DataSourceConstants {
 
     public static final String SPRING_DATASOURCE_TEST_ON_BORROW = "spring.datasource.testOnBorrow";
 
+    /**
+     * datasource pool config, the pool size can be overridden by the db type, e.g. datasource.pool.hive.max.size
+     */
+    public static final String DATASOURCE_POOL_MAX_SIZE_FORMAT = "datasource.pool.%s.max.size";
+
+    public static final String DATASOURCE_POOL_MIN_IDLE_FORMAT = "datasource.pool.%s.min.idle";
+
     /**
      * azure static websites
      */
@@ -0,0 +1,291 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.graph;
+
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable form of a {@link DAG}, compiled once after the graph is built and then read without locks.
+ * <p>
+ * The nodes are indexed by their position in a topological order, so that a node always has a smaller index than its
+ * subsequent nodes. The edges are kept in compressed sparse row arrays: the subsequent nodes of the node {@code i}
+ * are {@code successors[successorOffsets[i]]} to {@code successors[successorOffsets[i + 1] - 1]}, the same for the
+ * previous nodes.
+ * <p>
+ * Node: node
+ * NodeInfo: node description information
+ */
+public final class CompiledDAG<Node, NodeInfo> {
+
+    private final Map<Node, Integer> nodeIndexes;
+
+    private final Object[] nodes;
+
+    private final Object[] nodeInfos;
+
+    private final int[] successorOffsets;
+
+    private final int[] successors;
+
+    private final int[] predecessorOffsets;
+
+    private final int[] predecessors;
+
+    private final Set<Node> beginNodes;
+
+    private final Set<Node> endNodes;
+
+    private final List<Node> topologicalOrder;
+
+    private CompiledDAG(DAG<Node, NodeInfo, ?> dag) {
+        List<Node> sortedNodes = Collections.emptyList();
+        // the topological sort of the dag reports the empty dag as a cycle
+        if (dag.getNodesCount() > 0) {
+            try {
+                sortedNodes = dag.topologicalSort();
+            } catch (Exception e) {
+                throw new IllegalArgumentException("Cannot compile the dag: " + e.getMessage(), e);
+            }
+        }
+        int nodesCount = sortedNodes.size();
+        this.nodes = new Object[nodesCount];
+        this.nodeInfos = new Object[nodesCount];
+        this.nodeIndexes = new HashMap<>(Math.max(16, (int) (nodesCount / 0.75f) + 1));
+        for (int i = 0; i < nodesCount; i++) {
+            Node node = sortedNodes.get(i);
+            nodes[i] = node;
+            nodeInfos[i] = dag.getNode(node);
+            nodeIndexes.put(node, i);
+        }
+
+        int edgesCount = dag.getEdgesCount();
+        this.successorOffsets = new int[nodesCount + 1];
+        this.successors = new int[edgesCount];
+        this.predecessorOffsets = new int[nodesCount + 1];
+        this.predecessors = new int[edgesCount];
+
+        int[] indegrees = new int[nodesCount];
+        int cursor = 0;
+        for (int i = 0; i < nodesCount; i++) {
+            successorOffsets[i] = cursor;
+            for (Node subsequentNode : dag.getSubsequentNodes(sortedNodes.get(i))) {
+                int subsequentIndex = nodeIndexes.get(subsequentNode);
+                successors[cursor++] = subsequentIndex;
+                indegrees[subsequentIndex]++;
+            }
+        }
+        successorOffsets[nodesCount] = cursor;
+
+        cursor = 0;
+        for (int i = 0; i < nodesCount; i++) {
+            predecessorOffsets[i] = cursor;
+            cursor += indegrees[i];
+        }
+        predecessorOffsets[nodesCount] = cursor;
+        // visit the edges by the index of the origin node, so the previous nodes are kept in topological order
+        int[] predecessorCursors = new int[nodesCount];
+        for (int i = 0; i < nodesCount; i++) {
+            for (int j = successorOffsets[i]; j < successorOffsets[i + 1]; j++) {
+                int subsequentIndex = successors[j];
+                predecessors[predecessorOffsets[subsequentIndex] + predecessorCursors[subsequentIndex]++] = i;
+            }
+        }
+
+        Set<Node> begin = new LinkedHashSet<>();
+        Set<Node> end = new LinkedHashSet<>();
+        for (int i = 0; i < nodesCount; i++) {
+            if (getIndegree(i) == 0) {
+                begin.add(nodeAt(i));
+            }
+            if (getOutdegree(i) == 0) {
+                end.add(nodeAt(i));
+            }
+        }
+        this.beginNodes = Collections.unmodifiableSet(begin);
+        this.endNodes = Collections.unmodifiableSet(end);
+        this.topologicalOrder = new IndexedNodeList(nodes.length, null, 0);
+    }
+
+    /**
+     * Compile the given dag, the dag should not be changed while compiling.
+     *
+     * @param dag dag
+     * @return the compiled dag
+     * @throws IllegalArgumentException if the dag has cycle
+     */
+    public static <Node, NodeInfo> CompiledDAG<Node, NodeInfo> of(DAG<Node, NodeInfo, ?> dag) {
+        return new CompiledDAG<>(dag);
+    }
+
+    /**
+     * Get the index of the node
+     *
+     * @param node node
+     * @return the index of the node, -1 if the node is not in the dag
+     */
+    public int indexOf(Node node) {
+        Integer index = nodeIndexes.get(node);
+        return index == null ? -1 : index;
+    }
+
+    public boolean containsNode(Node node) {
+        return nodeIndexes.containsKey(node);
+    }
+
+    /**
+     * get node description
+     *
+     * @param node node
+     * @return node description, null if the node is not in the dag
+     */
+    public NodeInfo getNode(Node node) {
+        Integer index = nodeIndexes.get(node);
+        return index == null ? null : nodeInfoAt(index);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Node nodeAt(int index) {
+        return (Node) nodes[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    public NodeInfo nodeInfoAt(int index) {
+        return (NodeInfo) nodeInfos[index];
+    }
+
+    public int getNodesCount() {
+        return nodes.length;
+    }
+
+    public int getEdgesCount() {
+        return successors.length;
+    }
+
+    public int getIndegree(int index) {
+        return predecessorOffsets[index + 1] - predecessorOffsets[index];
+    }
+
+    public int getOutdegree(int index) {
+        return successorOffsets[index + 1] - successorOffsets[index];
+    }
+
+    /**
+     * Get the index of the i-th previous node of the node at the given index, i should be less than the indegree
+     */
+    public int getPredecessor(int index, int i) {
+        return predecessors[predecessorOffsets[index] + i];
+    }
+
+    /**
+     * Get the index of the i-th subsequent node of the node at the given index, i should be less than the outdegree
+     */
+    public int getSuccessor(int index, int i) {
+        return successors[successorOffsets[index] + i];
+    }
+
+    /**
+     * Gets all previous nodes of the node, the returned list is a view of the dag
+     *
+     * @param node node
+     * @return all previous nodes of the node, empty if the node is not in the dag
+     */
+    public List<Node> getPreviousNodes(Node node) {
+        int index = indexOf(node);
+        if (index < 0) {
+            return Collections.emptyList();
+        }
+        return new IndexedNodeList(getIndegree(index), predecessors, predecessorOffsets[index]);
+    }
+
+    /**
+     * Gets all subsequent nodes of the node, the returned list is a view of the dag
+     *
+     * @param node node
+     * @return all subsequent nodes of the node, empty if the node is not in the dag
+     */
+    public List<Node> getSubsequentNodes(Node node) {
+        int index = indexOf(node);
+        if (index < 0) {
+            return Collections.emptyList();
+        }
+        return new IndexedNodeList(getOutdegree(index), successors, successorOffsets[index]);
+    }
+
+    public Set<Node> getBeginNode() {
+        return beginNodes;
+    }
+
+    public Set<Node> getEndNode() {
+        return endNodes;
+    }
+
+    /**
+     * Get all the nodes in topological order, the index of a node in the returned list is its index in the dag
+     */
+    public List<Node> getTopologicalOrder() {
+        return topologicalOrder;
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledDAG{"
+                + "nodesCount="
+                + nodes.length
+                + ", edgesCount="
+                + successors.length
+                + '}';
+    }
+
+    /**
+     * Read only list of the nodes at {@code indexes[offset]} to {@code indexes[offset + size - 1]}, or at
+     * {@code offset} to {@code offset + size - 1} if the indexes is null.
+     */
+    private final class IndexedNodeList extends AbstractList<Node> {
+
+        private final int size;
+
+        private final int[] indexes;
+
+        private final int offset;
+
+        private IndexedNodeList(int size, int[] indexes, int offset) {
+            this.size = size;
+            this.indexes = indexes;
+            this.offset = offset;
+        }
+
+        @Override
+        public Node get(int i) {
+            if (i < 0 || i >= size) {
+                throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+            }
+            return nodeAt(indexes == null ? offset + i : indexes[offset + i]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
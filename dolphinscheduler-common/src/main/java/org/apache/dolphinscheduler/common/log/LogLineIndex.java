@@ -0,0 +1,383 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * The sparse line offset index of a log file, used to read a page of lines without scanning the file from the start.
+ * <p>
+ * The index records the byte offset of every {@link #CHECKPOINT_INTERVAL}th line. It is built lazily on the first
+ * read, and only the appended bytes are scanned on the later reads, so the index of a running task follows its log
+ * incrementally. The index of a large log is persisted in a sidecar file next to the log, so it can be reused after
+ * the server restarted. The index file of a log which is deleted without {@link #remove(String)}, e.g. by the log
+ * retention, is removed by {@link #removeOrphanIndexFiles(Path)}.
+ * <p>
+ * The index is rebuilt once the log file is replaced or rewritten, which is detected by the file key (the inode on
+ * unix), the length and the last modified time of the file.
+ * <p>
+ * The line terminators are the same as {@link BufferedReader#readLine()}: '\n', '\r' or "\r\n".
+ */
+@Slf4j
+public class LogLineIndex {
+
+    static final int CHECKPOINT_INTERVAL = 1024;
+
+    static final String INDEX_FILE_SUFFIX = ".idx";
+
+    private static final String TMP_INDEX_FILE_SUFFIX = INDEX_FILE_SUFFIX + ".tmp";
+
+    private static final int INDEX_FILE_MAGIC = 0x44534c49;
+
+    private static final int INDEX_FILE_VERSION = 2;
+
+    /**
+     * Only persist the index when a scan covers at least so many bytes, scanning the small logs again is cheap.
+     */
+    private static final long PERSIST_THRESHOLD_BYTES = 16 * 1024 * 1024;
+
+    private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+
+    private static final Cache<String, LogLineIndex> INDEX_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(256)
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
+    private final Path logPath;
+
+    private final Path indexPath;
+
+    /**
+     * The offset of the line checkpoints[i] * CHECKPOINT_INTERVAL, the first checkpoint is always 0.
+     */
+    private long[] checkpoints;
+
+    private int checkpointCount;
+
+    /**
+     * The length of the log file which has been scanned.
+     */
+    private long indexedLength;
+
+    /**
+     * The file key and last modified time of the log file when it was scanned.
+     */
+    private String indexedFileKey;
+
+    private long indexedLastModifiedTime;
+
+    private long terminatorCount;
+
+    private boolean lastByteIsCarriageReturn;
+
+    private LogLineIndex(Path logPath) {
+        this.logPath = logPath;
+        this.indexPath = Paths.get(logPath + INDEX_FILE_SUFFIX);
+        reset();
+    }
+
+    /**
+     * Read at most limit lines after skipping skipLine lines of the given log file.
+     */
+    public static List<String> readLines(String filePath, int skipLine, int limit) throws IOException {
+        LogLineIndex logLineIndex;
+        try {
+            logLineIndex = INDEX_CACHE.get(filePath, () -> load(Paths.get(filePath)));
+        } catch (ExecutionException e) {
+            throw new IOException("Load the line index of file: " + filePath + " error", e.getCause());
+        }
+        return logLineIndex.read(skipLine, limit);
+    }
+
+    /**
+     * Remove the index of the given log file, should be called when the log file is deleted.
+     */
+    public static void remove(String filePath) {
+        INDEX_CACHE.invalidate(filePath);
+        try {
+            Files.deleteIfExists(Paths.get(filePath + INDEX_FILE_SUFFIX));
+        } catch (IOException e) {
+            log.warn("Delete the line index of file: {} error", filePath, e);
+        }
+    }
+
+    /**
+     * Remove the index files under the given directory whose log file doesn't exist anymore.
+     *
+     * @return the count of the removed index files
+     */
+    public static int removeOrphanIndexFiles(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        AtomicInteger removedCount = new AtomicInteger();
+        try {
+            Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    String fileName = file.getFileName().toString();
+                    String logFileName;
+                    if (fileName.endsWith(INDEX_FILE_SUFFIX)) {
+                        logFileName = fileName.substring(0, fileName.length() - INDEX_FILE_SUFFIX.length());
+                    } else if (fileName.endsWith(TMP_INDEX_FILE_SUFFIX)) {
+                        logFileName = fileName.substring(0, fileName.length() - TMP_INDEX_FILE_SUFFIX.length());
+                    } else {
+                        return FileVisitResult.CONTINUE;
+                    }
+                    Path logFile = file.resolveSibling(logFileName);
+                    if (Files.exists(logFile)) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                    INDEX_CACHE.invalidate(logFile.toAbsolutePath().toString());
+                    try {
+                        if (Files.deleteIfExists(file)) {
+                            removedCount.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        log.warn("Delete the orphan line index file: {} error", file, e);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    // the file may be deleted by the log retention during the walk
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            log.warn("Remove the orphan line index files under: {} error", directory, e);
+        }
+        return removedCount.get();
+    }
+
+    private synchronized List<String> read(int skipLine, int limit) throws IOException {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        // Read the attributes before opening the file, so a file replaced in between is detected by the next read
+        BasicFileAttributes fileAttributes = Files.readAttributes(logPath, BasicFileAttributes.class);
+        try (FileChannel fileChannel = FileChannel.open(logPath, StandardOpenOption.READ)) {
+            update(fileChannel, fileAttributes);
+            int checkpointIndex = (int) Math.min(Math.max(skipLine, 0) / CHECKPOINT_INTERVAL, checkpointCount - 1);
+            long remainingSkipLine = Math.max(skipLine, 0) - (long) checkpointIndex * CHECKPOINT_INTERVAL;
+            fileChannel.position(checkpoints[checkpointIndex]);
+            // Don't close the reader, the channel is closed by the outer try
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(Channels.newInputStream(fileChannel), StandardCharsets.UTF_8));
+            for (long i = 0; i < remainingSkipLine; i++) {
+                if (reader.readLine() == null) {
+                    return Collections.emptyList();
+                }
+            }
+            List<String> lines = new ArrayList<>(Math.min(limit, CHECKPOINT_INTERVAL));
+            String line;
+            while (lines.size() < limit && (line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+            return lines;
+        }
+    }
+
+    private void update(FileChannel fileChannel, BasicFileAttributes fileAttributes) throws IOException {
+        long fileLength = fileChannel.size();
+        String fileKey = getFileKey(fileAttributes);
+        long lastModifiedTime = fileAttributes.lastModifiedTime().toMillis();
+        if (isReplaced(fileLength, fileKey, lastModifiedTime)) {
+            log.info("The log file: {} is truncated or replaced, will rebuild the line index", logPath);
+            reset();
+        }
+        indexedFileKey = fileKey;
+        indexedLastModifiedTime = lastModifiedTime;
+        if (fileLength == indexedLength) {
+            return;
+        }
+        long scanStart = indexedLength;
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long position = indexedLength;
+        while (position < fileLength) {
+            buffer.clear();
+            int readLength = fileChannel.read(buffer, position);
+            if (readLength <= 0) {
+                break;
+            }
+            byte[] bytes = buffer.array();
+            for (int i = 0; i < readLength; i++) {
+                scan(bytes[i], position + i);
+            }
+            position += readLength;
+        }
+        indexedLength = position;
+        if (indexedLength - scanStart >= PERSIST_THRESHOLD_BYTES) {
+            persist();
+        }
+    }
+
+    private boolean isReplaced(long fileLength, String fileKey, long lastModifiedTime) {
+        if (indexedLength == 0) {
+            return false;
+        }
+        if (fileLength < indexedLength || !fileKey.equals(indexedFileKey)
+                || lastModifiedTime < indexedLastModifiedTime) {
+            return true;
+        }
+        // the log is only appended, so it's rewritten if it's modified without growing
+        return fileLength == indexedLength && lastModifiedTime != indexedLastModifiedTime;
+    }
+
+    private static String getFileKey(BasicFileAttributes fileAttributes) {
+        Object fileKey = fileAttributes.fileKey();
+        return fileKey == null ? "" : fileKey.toString();
+    }
+
+    private void scan(byte b, long position) {
+        if (b == '\n') {
+            if (lastByteIsCarriageReturn) {
+                // the tail of "\r\n", the next line starts after it
+                if (terminatorCount % CHECKPOINT_INTERVAL == 0) {
+                    checkpoints[checkpointCount - 1] = position + 1;
+                }
+            } else {
+                onLineTerminated(position + 1);
+            }
+            lastByteIsCarriageReturn = false;
+        } else if (b == '\r') {
+            onLineTerminated(position + 1);
+            lastByteIsCarriageReturn = true;
+        } else {
+            lastByteIsCarriageReturn = false;
+        }
+    }
+
+    private void onLineTerminated(long nextLineStart) {
+        terminatorCount++;
+        if (terminatorCount % CHECKPOINT_INTERVAL == 0) {
+            if (checkpointCount == checkpoints.length) {
+                checkpoints = Arrays.copyOf(checkpoints, checkpointCount * 2);
+            }
+            checkpoints[checkpointCount++] = nextLineStart;
+        }
+    }
+
+    private void reset() {
+        checkpoints = new long[16];
+        checkpointCount = 1;
+        indexedLength = 0;
+        indexedFileKey = null;
+        indexedLastModifiedTime = 0;
+        terminatorCount = 0;
+        lastByteIsCarriageReturn = false;
+    }
+
+    private void persist() {
+        Path tmpIndexPath = Paths.get(logPath + TMP_INDEX_FILE_SUFFIX);
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(tmpIndexPath.toFile()))) {
+            out.writeInt(INDEX_FILE_MAGIC);
+            out.writeInt(INDEX_FILE_VERSION);
+            out.writeLong(indexedLength);
+            out.writeUTF(indexedFileKey);
+            out.writeLong(indexedLastModifiedTime);
+            out.writeLong(terminatorCount);
+            out.writeBoolean(lastByteIsCarriageReturn);
+            out.writeInt(checkpointCount);
+            for (int i = 0; i < checkpointCount; i++) {
+                out.writeLong(checkpoints[i]);
+            }
+        } catch (IOException e) {
+            log.warn("Persist the line index of file: {} error", logPath, e);
+            return;
+        }
+        try {
+            Files.move(tmpIndexPath, indexPath, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("Persist the line index of file: {} error", logPath, e);
+        }
+    }
+
+    private static LogLineIndex load(Path logPath) {
+        LogLineIndex logLineIndex = new LogLineIndex(logPath);
+        File indexFile = logLineIndex.indexPath.toFile();
+        if (!indexFile.isFile()) {
+            return logLineIndex;
+        }
+        try (DataInputStream in = new DataInputStream(new FileInputStream(indexFile))) {
+            if (in.readInt() != INDEX_FILE_MAGIC || in.readInt() != INDEX_FILE_VERSION) {
+                log.warn("The line index file: {} is invalid, will rebuild it", indexFile);
+                return logLineIndex;
+            }
+            long indexedLength = in.readLong();
+            String indexedFileKey = in.readUTF();
+            long indexedLastModifiedTime = in.readLong();
+            long terminatorCount = in.readLong();
+            boolean lastByteIsCarriageReturn = in.readBoolean();
+            int checkpointCount = in.readInt();
+            if (indexedLength > logPath.toFile().length() || checkpointCount <= 0
+                    || checkpointCount != terminatorCount / CHECKPOINT_INTERVAL + 1) {
+                log.warn("The line index file: {} doesn't match the log file, will rebuild it", indexFile);
+                return logLineIndex;
+            }
+            long[] checkpoints = new long[checkpointCount];
+            for (int i = 0; i < checkpointCount; i++) {
+                checkpoints[i] = in.readLong();
+            }
+            logLineIndex.checkpoints = checkpoints;
+            logLineIndex.checkpointCount = checkpointCount;
+            logLineIndex.indexedLength = indexedLength;
+            logLineIndex.indexedFileKey = indexedFileKey;
+            logLineIndex.indexedLastModifiedTime = indexedLastModifiedTime;
+            logLineIndex.terminatorCount = terminatorCount;
+            logLineIndex.lastByteIsCarriageReturn = lastByteIsCarriageReturn;
+        } catch (IOException e) {
+            log.warn("Load the line index file: {} error, will rebuild it", indexFile, e);
+            logLineIndex.reset();
+        }
+        return logLineIndex;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+
+import java.nio.file.Path;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Remove the orphan line index files under the task log base directory periodically, the task logs may be deleted
+ * without removing their index, e.g. by the log retention.
+ */
+@Slf4j
+public class LogLineIndexCleaner implements AutoCloseable {
+
+    private static final long CLEAN_INTERVAL_MINUTES = 60;
+
+    private final Path logBasePath;
+
+    private final ScheduledExecutorService cleanExecutor =
+            ThreadUtils.newSingleDaemonScheduledExecutorService("LogLineIndexCleaner");
+
+    public LogLineIndexCleaner(Path logBasePath) {
+        this.logBasePath = logBasePath;
+    }
+
+    public void start() {
+        if (logBasePath == null) {
+            log.warn("Cannot find the task instance log base path, the orphan line index files will not be removed");
+            return;
+        }
+        cleanExecutor.scheduleWithFixedDelay(this::clean, 0, CLEAN_INTERVAL_MINUTES, TimeUnit.MINUTES);
+        log.info("LogLineIndexCleaner started, logBasePath: {}", logBasePath);
+    }
+
+    private void clean() {
+        try {
+            int removedCount = LogLineIndex.removeOrphanIndexFiles(logBasePath);
+            if (removedCount > 0) {
+                log.info("Removed {} orphan line index files under: {}", removedCount, logBasePath);
+            }
+        } catch (Exception e) {
+            log.error("Remove the orphan line index files under: {} error", logBasePath, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        cleanExecutor.shutdownNow();
+        log.info("LogLineIndexCleaner closed");
+    }
+}
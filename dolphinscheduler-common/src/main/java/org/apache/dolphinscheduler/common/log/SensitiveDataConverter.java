@@ -17,29 +17,24 @@
 
 package org.apache.dolphinscheduler.common.log;
 
-import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.constants.DataSourceConstants;
 
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Arrays;
-import java.util.HashSet;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Collections;
 
 import ch.qos.logback.classic.pattern.MessageConverter;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 
-import com.google.common.base.Strings;
-
 /**
  * sensitive data log converter
  */
 public class SensitiveDataConverter extends MessageConverter {
 
-    private static Pattern multilinePattern;
-    private static HashSet<String> maskPatterns =
-            new HashSet<>(Arrays.asList(DataSourceConstants.DATASOURCE_PASSWORD_REGEX));
+    private static volatile SensitiveDataMasker sensitiveDataMasker = new SensitiveDataMasker(
+            Collections.singletonMap(DataSourceConstants.DATASOURCE_PASSWORD_REGEX,
+                    Collections.singletonList(DataSourceConstants.DATASOURCE_PASSWORD_KEYWORD)));
 
     @Override
     public String convert(ILoggingEvent event) {
@@ -51,27 +46,25 @@ public class SensitiveDataConverter extends MessageConverter {
         return maskSensitiveData(requestLogMsg);
     }
 
-    public static void addMaskPattern(String maskPattern) {
-        maskPatterns.add(maskPattern);
+    /**
+     * Add the mask pattern, the patterns are compiled again only if the pattern is not added before.
+     *
+     * @param maskPattern the regex of the sensitive data
+     * @param keywords the keywords (ignoring case) one of which must appear in the message matching the pattern, the
+     *                 messages without any keyword skip the regex, if a pattern is added without keywords, all the
+     *                 messages are matched by the regex
+     */
+    public static void addMaskPattern(String maskPattern, String... keywords) {
+        synchronized (SensitiveDataConverter.class) {
+            sensitiveDataMasker = sensitiveDataMasker.withMaskPattern(maskPattern, Arrays.asList(keywords));
+        }
     }
 
     public static String maskSensitiveData(final String logMsg) {
         if (StringUtils.isEmpty(logMsg)) {
             return logMsg;
         }
-        multilinePattern = Pattern.compile(String.join("|", maskPatterns), Pattern.MULTILINE);
-
-        StringBuffer sb = new StringBuffer(logMsg.length());
-        Matcher matcher = multilinePattern.matcher(logMsg);
-
-        while (matcher.find()) {
-            String password = matcher.group();
-            String maskPassword = Strings.repeat(Constants.STAR, password.length());
-            matcher.appendReplacement(sb, maskPassword);
-        }
-        matcher.appendTail(sb);
-
-        return sb.toString();
+        return sensitiveDataMasker.mask(logMsg);
     }
 
 }
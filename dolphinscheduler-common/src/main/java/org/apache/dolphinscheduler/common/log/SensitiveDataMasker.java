@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import org.apache.dolphinscheduler.common.constants.Constants;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable snapshot of the mask patterns, a new snapshot is built once the mask patterns change.
+ * <p>
+ * The patterns are compiled once into a single pattern. If every pattern is registered with the keywords which must
+ * appear in a sensitive message, the messages without any keyword (ignoring case) skip the regex. The matcher and the
+ * buffer are reused by each thread.
+ */
+final class SensitiveDataMasker {
+
+    private static final int MAX_CACHED_BUFFER_SIZE = 64 * 1024;
+
+    private static final ThreadLocal<Matcher> MATCHER = new ThreadLocal<>();
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    /**
+     * mask pattern -> the keywords of the pattern, empty if the pattern doesn't have keywords
+     */
+    private final Map<String, List<String>> maskPatterns;
+
+    private final Pattern pattern;
+
+    /**
+     * the keywords of all the patterns, null if any pattern doesn't have keywords
+     */
+    private final String[] keywords;
+
+    private final boolean[] keywordFirstChars = new boolean[128];
+
+    SensitiveDataMasker(Map<String, List<String>> maskPatterns) {
+        this.maskPatterns = Collections.unmodifiableMap(new LinkedHashMap<>(maskPatterns));
+        this.pattern = Pattern.compile(String.join("|", maskPatterns.keySet()), Pattern.MULTILINE);
+        this.keywords = collectKeywords(maskPatterns);
+        if (keywords != null) {
+            for (String keyword : keywords) {
+                char firstChar = keyword.charAt(0);
+                keywordFirstChars[Character.toLowerCase(firstChar)] = true;
+                keywordFirstChars[Character.toUpperCase(firstChar)] = true;
+            }
+        }
+    }
+
+    Map<String, List<String>> getMaskPatterns() {
+        return maskPatterns;
+    }
+
+    /**
+     * Create a new snapshot with the given mask pattern, return this snapshot if the pattern is already registered
+     * with the same keywords.
+     */
+    SensitiveDataMasker withMaskPattern(String maskPattern, List<String> maskKeywords) {
+        if (maskKeywords.equals(maskPatterns.get(maskPattern))) {
+            return this;
+        }
+        Map<String, List<String>> newMaskPatterns = new LinkedHashMap<>(maskPatterns);
+        newMaskPatterns.put(maskPattern, maskKeywords);
+        return new SensitiveDataMasker(newMaskPatterns);
+    }
+
+    String mask(String logMsg) {
+        if (!mayContainSensitiveData(logMsg)) {
+            return logMsg;
+        }
+        Matcher matcher = MATCHER.get();
+        if (matcher == null || matcher.pattern() != pattern) {
+            matcher = pattern.matcher(logMsg);
+            MATCHER.set(matcher);
+        } else {
+            matcher.reset(logMsg);
+        }
+        try {
+            if (!matcher.find()) {
+                return logMsg;
+            }
+            StringBuilder buffer = BUFFER.get();
+            buffer.setLength(0);
+            int lastEnd = 0;
+            do {
+                buffer.append(logMsg, lastEnd, matcher.start());
+                for (int i = matcher.start(); i < matcher.end(); i++) {
+                    buffer.append(Constants.STAR);
+                }
+                lastEnd = matcher.end();
+            } while (matcher.find());
+            buffer.append(logMsg, lastEnd, logMsg.length());
+            String maskedMsg = buffer.toString();
+            if (buffer.capacity() > MAX_CACHED_BUFFER_SIZE) {
+                BUFFER.remove();
+            }
+            return maskedMsg;
+        } finally {
+            // don't hold the log message in the thread local matcher
+            matcher.reset("");
+        }
+    }
+
+    /**
+     * Whether the message contains any keyword ignoring case, always true if the patterns don't have keywords.
+     */
+    boolean mayContainSensitiveData(String logMsg) {
+        if (keywords == null) {
+            return true;
+        }
+        for (int i = 0, length = logMsg.length(); i < length; i++) {
+            char c = logMsg.charAt(i);
+            if (c < keywordFirstChars.length && keywordFirstChars[c]) {
+                for (String keyword : keywords) {
+                    if (logMsg.regionMatches(true, i, keyword, 0, keyword.length())) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String[] collectKeywords(Map<String, List<String>> maskPatterns) {
+        List<String> allKeywords = new ArrayList<>();
+        for (List<String> patternKeywords : maskPatterns.values()) {
+            if (patternKeywords.isEmpty()) {
+                return null;
+            }
+            for (String keyword : patternKeywords) {
+                if (keyword.isEmpty() || keyword.charAt(0) >= 128) {
+                    return null;
+                }
+                allKeywords.add(keyword);
+            }
+        }
+        return allKeywords.toArray(new String[0]);
+    }
+}
@@ -28,11 +28,14 @@ import static org.apache.dolphinscheduler.common.constants.DateConstants.YYYY_MM
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -42,6 +45,7 @@ import javax.annotation.Nullable;
 
 import lombok.extern.slf4j.Slf4j;
 
+import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -50,6 +54,7 @@ import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
@@ -60,6 +65,7 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
 import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.google.common.base.Strings;
 
@@ -336,6 +342,45 @@ public final class JSONUtils {
         }
     }
 
+    /**
+     * Write the elements to the output stream as a pretty json array one by one, so the elements don't need to be held
+     * in memory at the same time. The output stream is not closed.
+     * <p>
+     * Each element is serialized completely before it is written, and the json array is left unterminated if an
+     * element fails to be loaded or serialized, so the partially written output can't be taken as a complete one.
+     *
+     * @param outputStream output stream
+     * @param elements elements
+     */
+    public static void writePrettyJsonArray(OutputStream outputStream, Iterator<?> elements) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartArray();
+            while (elements.hasNext()) {
+                TokenBuffer element = new TokenBuffer(objectMapper, false);
+                objectMapper.writeValue(element, elements.next());
+                element.serialize(generator);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * Parse the elements of the json array in the input stream one by one, so the elements don't need to be held in
+     * memory at the same time. The input stream is closed once the returned iterator is closed.
+     *
+     * @param inputStream input stream of a json array
+     * @param clazz class of the elements
+     * @param <T> T
+     * @return iterator of the elements
+     */
+    public static <T> MappingIterator<T> parseArrayIterator(InputStream inputStream,
+                                                            Class<T> clazz) throws IOException {
+        return objectMapper.readerFor(clazz).readValues(inputStream);
+    }
+
     /**
      * serialize to json byte
      *
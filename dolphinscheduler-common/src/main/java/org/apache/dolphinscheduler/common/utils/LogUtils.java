@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.common.utils;
 
+import org.apache.dolphinscheduler.common.log.LogLineIndex;
 import org.apache.dolphinscheduler.common.log.remote.RemoteLogUtils;
 
 import java.io.BufferedReader;
@@ -26,12 +27,14 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -42,6 +45,8 @@ import ch.qos.logback.classic.LoggerContext;
 @Slf4j
 public class LogUtils {
 
+    private static final int MAX_RESPONSE_LOG_SIZE = 65535;
+
     public static byte[] getFileContentBytesFromLocal(String filePath) {
         try (
                 InputStream in = new FileInputStream(filePath);
@@ -79,8 +84,8 @@ public class LogUtils {
                                                             int limit) {
         File file = new File(filePath);
         if (file.exists() && file.isFile()) {
-            try (Stream<String> stream = Files.lines(Paths.get(filePath))) {
-                return stream.skip(skipLine).limit(limit).collect(Collectors.toList());
+            try {
+                return LogLineIndex.readLines(filePath, skipLine, limit);
             } catch (IOException e) {
                 log.error("read file error", e);
                 throw new RuntimeException(String.format("Read file: %s error", filePath), e);
@@ -110,6 +115,87 @@ public class LogUtils {
         return readPartFileContentFromLocal(filePath, skipLine, limit);
     }
 
+    /**
+     * Read the last n lines of the local file, the file is scanned backwards from the end, so only the tail of the
+     * file is read.
+     */
+    public static List<String> readLastLinesFromLocal(String filePath, int n) {
+        File file = new File(filePath);
+        if (!file.exists() || !file.isFile()) {
+            throw new RuntimeException("The file path: " + filePath + " not exists");
+        }
+        if (n <= 0) {
+            return Collections.emptyList();
+        }
+        try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long fileLength = fileChannel.size();
+            long tailStart = findTailStart(fileChannel, fileLength, n);
+            fileChannel.position(tailStart);
+            // Don't close the reader, the channel is closed by the outer try
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(Channels.newInputStream(fileChannel), StandardCharsets.UTF_8));
+            List<String> lines = new ArrayList<>(Math.min(n, 1024));
+            String line;
+            while (lines.size() < n && (line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+            return lines;
+        } catch (IOException e) {
+            log.error("read file error", e);
+            throw new RuntimeException(String.format("Read file: %s error", filePath), e);
+        }
+    }
+
+    public static List<String> readLastLinesFromRemote(String filePath, int n) {
+        RemoteLogUtils.getRemoteLog(filePath);
+        return readLastLinesFromLocal(filePath, n);
+    }
+
+    public static List<String> readLastLines(String filePath, int n) {
+        File file = new File(filePath);
+        if (file.exists()) {
+            return readLastLinesFromLocal(filePath, n);
+        }
+        if (RemoteLogUtils.isRemoteLoggingEnable()) {
+            return readLastLinesFromRemote(filePath, n);
+        }
+        return readLastLinesFromLocal(filePath, n);
+    }
+
+    /**
+     * Find the start offset of the last n lines, the line terminators are the same as
+     * {@link BufferedReader#readLine()}, and the terminator at the end of file doesn't start a new line.
+     */
+    private static long findTailStart(FileChannel fileChannel, long fileLength, int n) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        int foundLines = 0;
+        // the byte after the current one, -1 means the end of file
+        int nextByte = -1;
+        long blockEnd = fileLength;
+        while (blockEnd > 0) {
+            long blockStart = Math.max(0, blockEnd - buffer.capacity());
+            buffer.clear();
+            buffer.limit((int) (blockEnd - blockStart));
+            while (buffer.hasRemaining()) {
+                if (fileChannel.read(buffer, blockStart + buffer.position()) < 0) {
+                    throw new IOException("The file is truncated while reading");
+                }
+            }
+            byte[] bytes = buffer.array();
+            for (int i = (int) (blockEnd - blockStart) - 1; i >= 0; i--) {
+                byte b = bytes[i];
+                long position = blockStart + i;
+                boolean lineTerminator = b == '\n' || (b == '\r' && nextByte != '\n');
+                if (lineTerminator && position + 1 < fileLength && ++foundLines == n) {
+                    return position + 1;
+                }
+                nextByte = b;
+            }
+            blockEnd = blockStart;
+        }
+        return 0;
+    }
+
     public static String readWholeFileContentFromRemote(String filePath) {
         RemoteLogUtils.getRemoteLog(filePath);
         return LogUtils.readWholeFileContentFromLocal(filePath);
@@ -142,28 +228,46 @@ public class LogUtils {
 
     public static String rollViewLogLines(List<String> lines) {
         StringBuilder builder = new StringBuilder();
-        final int MaxResponseLogSize = 65535;
         int totalLogByteSize = 0;
         for (String line : lines) {
             // If a single line of log is exceed max response size, cut off the line
             final int lineByteSize = line.getBytes(StandardCharsets.UTF_8).length;
-            if (lineByteSize >= MaxResponseLogSize) {
-                builder.append(line, 0, MaxResponseLogSize)
+            if (lineByteSize >= MAX_RESPONSE_LOG_SIZE) {
+                builder.append(line, 0, MAX_RESPONSE_LOG_SIZE)
                         .append(" [this line's size ").append(lineByteSize).append(" bytes is exceed ")
-                        .append(MaxResponseLogSize).append(" bytes, so only ")
-                        .append(MaxResponseLogSize).append(" characters are reserved for performance reasons.]")
+                        .append(MAX_RESPONSE_LOG_SIZE).append(" bytes, so only ")
+                        .append(MAX_RESPONSE_LOG_SIZE).append(" characters are reserved for performance reasons.]")
                         .append("\r\n");
             } else {
                 builder.append(line).append("\r\n");
             }
             totalLogByteSize += lineByteSize;
-            if (totalLogByteSize >= MaxResponseLogSize) {
+            if (totalLogByteSize >= MAX_RESPONSE_LOG_SIZE) {
                 break;
             }
         }
 
         return builder.toString();
     }
+
+    /**
+     * Same as {@link #rollViewLogLines(List)}, but the leading lines rather than the trailing lines are dropped when the
+     * lines exceed the max response size, so the end of the log is kept.
+     */
+    public static String rollViewLogTailLines(List<String> lines) {
+        int start = lines.size();
+        int totalLogByteSize = 0;
+        while (start > 0) {
+            int lineByteSize = lines.get(start - 1).getBytes(StandardCharsets.UTF_8).length;
+            if (totalLogByteSize + lineByteSize >= MAX_RESPONSE_LOG_SIZE && start < lines.size()) {
+                break;
+            }
+            totalLogByteSize += lineByteSize;
+            start--;
+        }
+        return rollViewLogLines(lines.subList(start, lines.size()));
+    }
+
     public static String getLocalLogBaseDir() {
         LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
         return loggerContext.getProperty("log.base.ctx");
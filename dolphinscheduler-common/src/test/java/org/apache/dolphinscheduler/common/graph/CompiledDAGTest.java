@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.graph;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CompiledDAGTest {
+
+    private DAG<Integer, String, String> graph;
+
+    @BeforeEach
+    public void setup() {
+        // 1->2
+        // 2->5
+        // 3->5
+        // 4->6
+        // 5->6
+        // 6->7
+        graph = new DAG<>();
+        for (int i = 1; i <= 7; ++i) {
+            graph.addNode(i, "v(" + i + ")");
+        }
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 5);
+        graph.addEdge(3, 5);
+        graph.addEdge(4, 6);
+        graph.addEdge(5, 6);
+        graph.addEdge(6, 7);
+    }
+
+    @Test
+    public void testNodes() {
+        CompiledDAG<Integer, String> compiledDAG = CompiledDAG.of(graph);
+
+        Assertions.assertEquals(7, compiledDAG.getNodesCount());
+        Assertions.assertEquals(6, compiledDAG.getEdgesCount());
+        Assertions.assertEquals("v(5)", compiledDAG.getNode(5));
+        Assertions.assertTrue(compiledDAG.containsNode(7));
+        Assertions.assertFalse(compiledDAG.containsNode(8));
+        Assertions.assertNull(compiledDAG.getNode(8));
+        Assertions.assertEquals(-1, compiledDAG.indexOf(8));
+
+        int index = compiledDAG.indexOf(6);
+        Assertions.assertEquals(6, compiledDAG.nodeAt(index));
+        Assertions.assertEquals("v(6)", compiledDAG.nodeInfoAt(index));
+        Assertions.assertEquals(2, compiledDAG.getIndegree(index));
+        Assertions.assertEquals(1, compiledDAG.getOutdegree(index));
+        Assertions.assertEquals(compiledDAG.indexOf(7), compiledDAG.getSuccessor(index, 0));
+    }
+
+    @Test
+    public void testNeighborNodes() {
+        CompiledDAG<Integer, String> compiledDAG = CompiledDAG.of(graph);
+
+        Assertions.assertEquals(graph.getPreviousNodes(5), new HashSet<>(compiledDAG.getPreviousNodes(5)));
+        Assertions.assertEquals(graph.getPreviousNodes(6), new HashSet<>(compiledDAG.getPreviousNodes(6)));
+        Assertions.assertEquals(graph.getSubsequentNodes(5), new HashSet<>(compiledDAG.getSubsequentNodes(5)));
+        Assertions.assertTrue(compiledDAG.getPreviousNodes(1).isEmpty());
+        Assertions.assertTrue(compiledDAG.getSubsequentNodes(7).isEmpty());
+        Assertions.assertTrue(compiledDAG.getPreviousNodes(8).isEmpty());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> compiledDAG.getPreviousNodes(5).add(1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> compiledDAG.getPreviousNodes(5).get(2));
+    }
+
+    @Test
+    public void testBeginAndEndNode() {
+        CompiledDAG<Integer, String> compiledDAG = CompiledDAG.of(graph);
+
+        Assertions.assertEquals(new HashSet<>(graph.getBeginNode()), compiledDAG.getBeginNode());
+        Assertions.assertEquals(new HashSet<>(graph.getEndNode()), compiledDAG.getEndNode());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> compiledDAG.getBeginNode().add(8));
+    }
+
+    @Test
+    public void testTopologicalOrder() {
+        CompiledDAG<Integer, String> compiledDAG = CompiledDAG.of(graph);
+
+        List<Integer> topologicalOrder = compiledDAG.getTopologicalOrder();
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(1, 2, 3, 4, 5, 6, 7)), new HashSet<>(topologicalOrder));
+        for (int i = 0; i < compiledDAG.getNodesCount(); i++) {
+            Assertions.assertEquals(i, compiledDAG.indexOf(topologicalOrder.get(i)));
+            for (int j = 0; j < compiledDAG.getOutdegree(i); j++) {
+                Assertions.assertTrue(compiledDAG.getSuccessor(i, j) > i);
+            }
+            for (int j = 0; j < compiledDAG.getIndegree(i); j++) {
+                Assertions.assertTrue(compiledDAG.getPredecessor(i, j) < i);
+            }
+        }
+    }
+
+    @Test
+    public void testEmptyDag() {
+        CompiledDAG<Integer, String> compiledDAG = CompiledDAG.of(new DAG<>());
+
+        Assertions.assertEquals(0, compiledDAG.getNodesCount());
+        Assertions.assertTrue(compiledDAG.getBeginNode().isEmpty());
+        Assertions.assertTrue(compiledDAG.getTopologicalOrder().isEmpty());
+    }
+}
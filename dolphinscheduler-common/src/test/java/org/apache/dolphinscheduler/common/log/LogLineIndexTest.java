@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LogLineIndexTest {
+
+    private static final String[] LINE_TERMINATORS = {"\n", "\r", "\r\n"};
+
+    @TempDir
+    private Path tempDirectory;
+
+    @Test
+    void readLines_sameAsReadingFromStart() throws IOException {
+        Path logFile = tempDirectory.resolve("task.log");
+        String content = randomContent(new Random(0), 5000);
+        write(logFile, content);
+
+        for (int skipLine : new int[]{0, 1, 1023, 1024, 1025, 2048, 4999, 5000, 6000}) {
+            assertThat(LogLineIndex.readLines(logFile.toString(), skipLine, 100))
+                    .containsExactlyElementsIn(readLines(content, skipLine, 100))
+                    .inOrder();
+        }
+    }
+
+    @Test
+    void readLines_followAppendedContent() throws IOException {
+        Path logFile = tempDirectory.resolve("task.log");
+        Random random = new Random(1);
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            String appended = randomContent(random, random.nextInt(500));
+            // split "\r\n" into two appends
+            appended = i % 2 == 0 ? appended + "\r" : "\n" + appended;
+            content.append(appended);
+            Files.write(logFile, appended.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+
+            int skipLine = random.nextInt(content.length() / 10 + 1);
+            assertThat(LogLineIndex.readLines(logFile.toString(), skipLine, 50))
+                    .containsExactlyElementsIn(readLines(content.toString(), skipLine, 50))
+                    .inOrder();
+        }
+    }
+
+    @Test
+    void readLines_rebuildWhenTruncated() throws IOException {
+        Path logFile = tempDirectory.resolve("task.log");
+        write(logFile, randomContent(new Random(2), 3000));
+        LogLineIndex.readLines(logFile.toString(), 2500, 10);
+
+        String content = randomContent(new Random(3), 1500);
+        write(logFile, content);
+
+        assertThat(LogLineIndex.readLines(logFile.toString(), 1100, 10))
+                .containsExactlyElementsIn(readLines(content, 1100, 10))
+                .inOrder();
+    }
+
+    @Test
+    void readLines_rebuildWhenReplacedByLongerFile() throws IOException {
+        Path logFile = tempDirectory.resolve("task.log");
+        write(logFile, randomContent(new Random(4), 1500));
+        LogLineIndex.readLines(logFile.toString(), 1100, 10);
+
+        String content = randomContent(new Random(5), 3000);
+        Path newLogFile = tempDirectory.resolve("task.log.new");
+        write(newLogFile, content);
+        Files.move(newLogFile, logFile, StandardCopyOption.REPLACE_EXISTING);
+
+        assertThat(LogLineIndex.readLines(logFile.toString(), 2500, 10))
+                .containsExactlyElementsIn(readLines(content, 2500, 10))
+                .inOrder();
+    }
+
+    @Test
+    void readLines_rebuildWhenRewrittenWithSameLength() throws IOException {
+        Path logFile = tempDirectory.resolve("task.log");
+        write(logFile, "line1\nline2\nline3\n");
+        LogLineIndex.readLines(logFile.toString(), 0, 10);
+
+        write(logFile, "line1\r\nline2line3\n");
+        Files.setLastModifiedTime(logFile, FileTime.fromMillis(Files.getLastModifiedTime(logFile).toMillis() + 1000));
+
+        assertThat(LogLineIndex.readLines(logFile.toString(), 0, 10))
+                .containsExactly("line1", "line2line3")
+                .inOrder();
+    }
+
+    @Test
+    void readLines_persistIndexOfLargeLog() throws IOException {
+        Path logFile = tempDirectory.resolve("task.log");
+        StringBuilder content = new StringBuilder();
+        String line = "a line of the large log file, used to test the persisted line index";
+        while (content.length() < 17 * 1024 * 1024) {
+            content.append(line).append('\n');
+        }
+        write(logFile, content.toString());
+        int lineCount = content.length() / (line.length() + 1);
+        Path indexFile = Paths.get(logFile + LogLineIndex.INDEX_FILE_SUFFIX);
+
+        assertThat(LogLineIndex.readLines(logFile.toString(), lineCount - 1, 10)).containsExactly(line);
+        assertThat(Files.exists(indexFile)).isTrue();
+
+        LogLineIndex.remove(logFile.toString());
+        assertThat(Files.exists(indexFile)).isFalse();
+    }
+
+    @Test
+    void removeOrphanIndexFiles() throws IOException {
+        Path logDirectory = Files.createDirectories(tempDirectory.resolve("20240101").resolve("1"));
+        Path logFile = logDirectory.resolve("1.log");
+        write(logFile, "line1\n");
+        Path indexFile = Paths.get(logFile + LogLineIndex.INDEX_FILE_SUFFIX);
+        write(indexFile, "");
+        Path orphanIndexFile = logDirectory.resolve("2.log" + LogLineIndex.INDEX_FILE_SUFFIX);
+        write(orphanIndexFile, "");
+        Path orphanTmpIndexFile = logDirectory.resolve("3.log" + LogLineIndex.INDEX_FILE_SUFFIX + ".tmp");
+        write(orphanTmpIndexFile, "");
+
+        assertThat(LogLineIndex.removeOrphanIndexFiles(tempDirectory)).isEqualTo(2);
+        assertThat(Files.exists(indexFile)).isTrue();
+        assertThat(Files.exists(orphanIndexFile)).isFalse();
+        assertThat(Files.exists(orphanTmpIndexFile)).isFalse();
+        assertThat(LogLineIndex.removeOrphanIndexFiles(tempDirectory.resolve("not-exists"))).isEqualTo(0);
+    }
+
+    private static String randomContent(Random random, int lineCount) {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < lineCount; i++) {
+            int lineLength = random.nextInt(8);
+            for (int j = 0; j < lineLength; j++) {
+                content.append(j == 0 && random.nextInt(10) == 0 ? '中' : (char) ('a' + random.nextInt(26)));
+            }
+            content.append(LINE_TERMINATORS[random.nextInt(LINE_TERMINATORS.length)]);
+        }
+        return content.toString();
+    }
+
+    private static List<String> readLines(String content, int skipLine, int limit) throws IOException {
+        BufferedReader reader = new BufferedReader(new StringReader(content));
+        List<String> lines = new ArrayList<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null && lines.size() < limit) {
+            if (lineNumber++ >= skipLine) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.common.log;
 
+import static org.apache.dolphinscheduler.common.constants.Constants.K8S_CONFIG_KEYWORD;
 import static org.apache.dolphinscheduler.common.constants.Constants.K8S_CONFIG_REGEX;
 
 import java.util.HashMap;
@@ -118,7 +119,7 @@ public class SensitiveDataConverterTest {
     @Test
     public void testPostJdbcInfoLogMsgConverter() {
         String POST_JDBC_INFO_REGEX = "(?<=(post jdbc info:)).*(?=)";
-        SensitiveDataConverter.addMaskPattern(POST_JDBC_INFO_REGEX);
+        SensitiveDataConverter.addMaskPattern(POST_JDBC_INFO_REGEX, "post jdbc info:");
         String postJdbcInfoLogMsg = "post jdbc info:clickhouse,jdbc:clickhouse://127.0.0.1:8123/td_cdp,admin,123%@@56";
         final String maskedLog = SensitiveDataConverter.maskSensitiveData(postJdbcInfoLogMsg);
         String expectedMsg = "post jdbc info:*****************************************************************";
@@ -143,7 +144,7 @@ public class SensitiveDataConverterTest {
                 "  },\n" +
                 "  \"logBufferEnable\" : false\n" +
                 "}";
-        SensitiveDataConverter.addMaskPattern(K8S_CONFIG_REGEX);
+        SensitiveDataConverter.addMaskPattern(K8S_CONFIG_REGEX, K8S_CONFIG_KEYWORD);
         final String maskedLog = SensitiveDataConverter.maskSensitiveData(msg);
 
         logger.info("original parameter : {}", msg);
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import org.apache.dolphinscheduler.common.constants.DataSourceConstants;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SensitiveDataMaskerTest {
+
+    private final SensitiveDataMasker passwordMasker = new SensitiveDataMasker(
+            Collections.singletonMap(DataSourceConstants.DATASOURCE_PASSWORD_REGEX,
+                    Collections.singletonList(DataSourceConstants.DATASOURCE_PASSWORD_KEYWORD)));
+
+    @Test
+    public void testMayContainSensitiveData() {
+        Assertions.assertTrue(passwordMasker.mayContainSensitiveData("{\"PassWord\":\"abc\"}"));
+        Assertions.assertTrue(passwordMasker.mayContainSensitiveData("password"));
+        Assertions.assertFalse(passwordMasker.mayContainSensitiveData("{\"user\":\"abc\"}"));
+        Assertions.assertFalse(passwordMasker.mayContainSensitiveData("passwor"));
+
+        // the pattern without keywords disables the keyword filter
+        SensitiveDataMasker masker = passwordMasker.withMaskPattern("(?<=(token:)).*", Collections.emptyList());
+        Assertions.assertTrue(masker.mayContainSensitiveData("{\"user\":\"abc\"}"));
+        Assertions.assertEquals("token:***", masker.mask("token:abc"));
+    }
+
+    @Test
+    public void testMask() {
+        Assertions.assertEquals("{\"password\":\"***\",\"user\":\"abc\"}",
+                passwordMasker.mask("{\"password\":\"abc\",\"user\":\"abc\"}"));
+        Assertions.assertEquals("{\"Password\":\"***\"} {\"password\":\"****\"}",
+                passwordMasker.mask("{\"Password\":\"abc\"} {\"password\":\"abcd\"}"));
+        String unmasked = "{\"password_type\":1}";
+        Assertions.assertSame(unmasked, passwordMasker.mask(unmasked));
+    }
+
+    @Test
+    public void testWithMaskPattern() {
+        List<String> keywords = Collections.singletonList("token:");
+        Assertions.assertSame(passwordMasker, passwordMasker.withMaskPattern(
+                DataSourceConstants.DATASOURCE_PASSWORD_REGEX,
+                Collections.singletonList(DataSourceConstants.DATASOURCE_PASSWORD_KEYWORD)));
+
+        SensitiveDataMasker masker = passwordMasker.withMaskPattern("(?<=(token:)).*", keywords);
+        Assertions.assertNotSame(passwordMasker, masker);
+        Assertions.assertEquals(2, masker.getMaskPatterns().size());
+        Assertions.assertSame(masker, masker.withMaskPattern("(?<=(token:)).*", keywords));
+        Assertions.assertEquals("{\"password\":\"***\"} token:***", masker.mask("{\"password\":\"abc\"} token:abc"));
+        // the matcher of the thread is bound to the pattern of each masker
+        Assertions.assertEquals("{\"password\":\"***\"} token:abc",
+                passwordMasker.mask("{\"password\":\"abc\"} token:abc"));
+    }
+}
@@ -17,11 +17,16 @@
 
 package org.apache.dolphinscheduler.common.utils;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +36,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -194,4 +200,71 @@ public class JSONUtilsTest {
         Assertions.assertEquals(localDateTime, timeList.get(0));
     }
 
+    @Test
+    public void testWritePrettyJsonArray() throws Exception {
+        List<Map<String, String>> elements = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Map<String, String> element = new LinkedHashMap<>();
+            element.put("name", "element" + i);
+            elements.add(element);
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        JSONUtils.writePrettyJsonArray(outputStream, elements.iterator());
+        Assertions.assertEquals(JSONUtils.toPrettyJsonString(elements),
+                new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+
+        outputStream = new ByteArrayOutputStream();
+        JSONUtils.writePrettyJsonArray(outputStream, new ArrayList<>().iterator());
+        Assertions.assertEquals(JSONUtils.toPrettyJsonString(new ArrayList<>()),
+                new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testWritePrettyJsonArrayUnterminatedWhenElementFail() {
+        Iterator<Object> elements = new Iterator<Object>() {
+
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < 2;
+            }
+
+            @Override
+            public Object next() {
+                if (index++ == 0) {
+                    return Collections.singletonMap("name", "element0");
+                }
+                throw new IllegalStateException("Load element1 fail");
+            }
+        };
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> JSONUtils.writePrettyJsonArray(outputStream, elements));
+        String json = new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+        Assertions.assertTrue(json.contains("element0"));
+        Assertions.assertFalse(json.trim().endsWith("]"));
+    }
+
+    @Test
+    public void testParseArrayIterator() throws Exception {
+        String json = "[{\"name\":\"element0\"},{\"name\":\"element1\"}]";
+        List<Map<String, String>> elements = new ArrayList<>();
+        try (
+                MappingIterator<HashMap> iterator = JSONUtils.parseArrayIterator(
+                        new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), HashMap.class)) {
+            while (iterator.hasNextValue()) {
+                elements.add(iterator.nextValue());
+            }
+        }
+        Assertions.assertEquals(2, elements.size());
+        Assertions.assertEquals("element1", elements.get(1).get("name"));
+
+        try (
+                MappingIterator<HashMap> iterator = JSONUtils.parseArrayIterator(
+                        new ByteArrayInputStream(new byte[0]), HashMap.class)) {
+            Assertions.assertFalse(iterator.hasNextValue());
+        }
+    }
+
 }
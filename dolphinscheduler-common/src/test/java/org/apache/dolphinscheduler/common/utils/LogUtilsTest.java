@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.utils;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LogUtilsTest {
+
+    @TempDir
+    private Path tempDirectory;
+
+    @Test
+    void readPartFileContentFromLocal() throws IOException {
+        Path logFile = write("line1\nline2\r\nline3\rline4");
+
+        assertThat(LogUtils.readPartFileContentFromLocal(logFile.toString(), 1, 2))
+                .containsExactly("line2", "line3")
+                .inOrder();
+        assertThat(LogUtils.readPartFileContentFromLocal(logFile.toString(), 4, 2)).isEmpty();
+    }
+
+    @Test
+    void readLastLinesFromLocal() throws IOException {
+        assertThat(LogUtils.readLastLinesFromLocal(write("line1\nline2\r\nline3\rline4").toString(), 3))
+                .containsExactly("line2", "line3", "line4")
+                .inOrder();
+        assertThat(LogUtils.readLastLinesFromLocal(write("line1\nline2\r\n").toString(), 1))
+                .containsExactly("line2");
+        assertThat(LogUtils.readLastLinesFromLocal(write("line1\r\n\r\nline3\n").toString(), 2))
+                .containsExactly("", "line3")
+                .inOrder();
+        assertThat(LogUtils.readLastLinesFromLocal(write("line1\nline2").toString(), 10))
+                .containsExactly("line1", "line2")
+                .inOrder();
+        assertThat(LogUtils.readLastLinesFromLocal(write("").toString(), 10)).isEmpty();
+    }
+
+    @Test
+    void readLastLinesFromLocal_acrossBlocks() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            content.append("line").append(i).append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+
+        assertThat(LogUtils.readLastLinesFromLocal(write(content.toString()).toString(), 2000))
+                .containsExactlyElementsIn(
+                        LogUtils.readPartFileContentFromLocal(write(content.toString()).toString(), 8000, 2000))
+                .inOrder();
+    }
+
+    @Test
+    void rollViewLogTailLines() {
+        String longLine = StringUtils.repeat('a', 40000);
+
+        assertThat(LogUtils.rollViewLogTailLines(Arrays.asList("line1", longLine, "line3", longLine, "line5")))
+                .isEqualTo("line3\r\n" + longLine + "\r\nline5\r\n");
+        assertThat(LogUtils.rollViewLogTailLines(Arrays.asList("line1", "line2")))
+                .isEqualTo("line1\r\nline2\r\n");
+        assertThat(LogUtils.rollViewLogTailLines(Collections.emptyList())).isEmpty();
+    }
+
+    private Path write(String content) throws IOException {
+        Path logFile = tempDirectory.resolve("task.log");
+        Files.write(logFile, content.getBytes(StandardCharsets.UTF_8));
+        return logFile;
+    }
+}
@@ -118,6 +118,21 @@ public class AlertDao {
         return alertMapper.updateById(alert);
     }
 
+    /**
+     * update the status of the given alerts in one batch
+     *
+     * @param alertStatus alertStatus
+     * @param log log
+     * @param ids ids
+     * @return update alert result
+     */
+    public int updateAlerts(AlertStatus alertStatus, String log, List<Integer> ids) {
+        if (CollectionUtils.isEmpty(ids)) {
+            return 0;
+        }
+        return alertMapper.batchUpdateAlertStatus(ids, alertStatus.getCode(), log, new Date());
+    }
+
     /**
      * generate sign for alert
      *
@@ -21,6 +21,7 @@ import org.apache.dolphinscheduler.dao.entity.AccessToken;
 
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Date;
 import java.util.List;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
@@ -52,6 +53,14 @@ public interface AccessTokenMapper extends BaseMapper<AccessToken> {
      */
     List<AccessToken> queryAccessTokenByUser(@Param("userId") int userId);
 
+    /**
+     * Query the expire time of the token
+     *
+     * @param token token
+     * @return the latest expire time of the token, null if the token does not exist
+     */
+    Date queryExpireTimeByToken(@Param("token") String token);
+
     /**
      * delete by userId
      *
@@ -46,6 +46,14 @@ public interface AlertMapper extends BaseMapper<Alert> {
     void insertAlertWhenServerCrash(@Param("alert") Alert alert,
                                     @Param("crashAlarmSuppressionStartTime") Date crashAlarmSuppressionStartTime);
 
+    /**
+     * Update the status and log of the given alerts in one statement.
+     */
+    int batchUpdateAlertStatus(@Param("ids") List<Integer> ids,
+                               @Param("alertStatus") int alertStatus,
+                               @Param("log") String log,
+                               @Param("updateTime") Date updateTime);
+
     void deleteByWorkflowInstanceId(@Param("workflowInstanceId") Integer processInstanceId);
 
     List<Alert> selectByWorkflowInstanceId(@Param("workflowInstanceId") Integer processInstanceId);
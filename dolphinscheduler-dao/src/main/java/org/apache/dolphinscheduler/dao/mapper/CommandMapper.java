@@ -59,6 +59,21 @@ public interface CommandMapper extends BaseMapper<Command> {
                                        @Param("idStep") int idStep,
                                        @Param("fetchNumber") int fetchNum);
 
+    List<Command> queryCommandByIdSlotAfterId(@Param("currentSlotIndex") int currentSlotIndex,
+                                              @Param("totalSlot") int totalSlot,
+                                              @Param("idStep") int idStep,
+                                              @Param("processInstancePriority") int processInstancePriority,
+                                              @Param("minId") int minId,
+                                              @Param("fetchNumber") int fetchNum);
+
+    /**
+     * insert the commands by a multi-row insert statement
+     *
+     * @param commands commands
+     * @return insert count
+     */
+    int batchInsert(@Param("commands") List<Command> commands);
+
     void deleteByWorkflowInstanceIds(@Param("workflowInstanceIds") List<Integer> workflowInstanceIds);
 
     IPage<Command> queryCommandPageByIds(Page<Command> page,
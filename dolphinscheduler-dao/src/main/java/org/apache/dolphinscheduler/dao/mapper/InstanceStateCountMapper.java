@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.mapper;
+
+import org.apache.dolphinscheduler.dao.entity.InstanceStateCount;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceStatusCountDto;
+import org.apache.dolphinscheduler.dao.model.WorkflowInstanceStatusCountDto;
+
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Date;
+import java.util.List;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+
+/**
+ * instance state count mapper interface
+ */
+public interface InstanceStateCountMapper extends BaseMapper<InstanceStateCount> {
+
+    /**
+     * sum the task instance state counts of the days in [startDate, endDate)
+     *
+     * @param startDate    the first day, no lower bound if null
+     * @param endDate      the day after the last day
+     * @param projectCodes project codes, all projects if empty
+     * @return task instance state count list
+     */
+    List<TaskInstanceStatusCountDto> countTaskInstanceState(@Param("startDate") Date startDate,
+                                                            @Param("endDate") Date endDate,
+                                                            @Param("projectCodes") List<Long> projectCodes);
+
+    /**
+     * sum the workflow instance state counts of the days in [startDate, endDate)
+     *
+     * @param startDate    the first day, no lower bound if null
+     * @param endDate      the day after the last day
+     * @param projectCodes project codes, all projects if empty
+     * @return workflow instance state count list
+     */
+    List<WorkflowInstanceStatusCountDto> countWorkflowInstanceState(@Param("startDate") Date startDate,
+                                                                    @Param("endDate") Date endDate,
+                                                                    @Param("projectCodes") List<Long> projectCodes);
+
+    Date queryMinCountDate();
+
+    Date queryMaxCountDate();
+
+    int deleteByCountDate(@Param("countDate") Date countDate);
+
+    int batchInsert(@Param("instanceStateCounts") List<InstanceStateCount> instanceStateCounts);
+}
@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.dao.mapper;
 
 import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
 import org.apache.dolphinscheduler.dao.entity.ExecuteStatusCount;
+import org.apache.dolphinscheduler.dao.entity.InstanceStateCount;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.model.WorkflowInstanceStatusCountDto;
 
@@ -175,6 +176,37 @@ public interface ProcessInstanceMapper extends BaseMapper<ProcessInstance> {
                                                                                   @Param("endTime") Date endTime,
                                                                                   @Param("projectCodes") Collection<Long> projectCodes);
 
+    /**
+     * Statistics process instance state by given project codes list by start time, used to count the rest instances which
+     * are not covered by the instance state count rollups. The bounds are applied only if they are not null.
+     *
+     * @param startTime            the start time should be after this time, the same as the count without rollups
+     * @param startTimeFrom        the start time should be equal to or after this time
+     * @param startTimeBefore      the start time should be before this time
+     * @param endTime              the start time should be equal to or before this time
+     * @param includeNullStartTime whether to count the instances whose start time is null, works with startTimeFrom
+     * @param projectCodes         project codes list to filter
+     * @return WorkflowInstanceStatusCountDto list
+     */
+    List<WorkflowInstanceStatusCountDto> countWorkflowInstanceStateByProjectCodesAndStartTimeRange(@Param("startTime") Date startTime,
+                                                                                                   @Param("startTimeFrom") Date startTimeFrom,
+                                                                                                   @Param("startTimeBefore") Date startTimeBefore,
+                                                                                                   @Param("endTime") Date endTime,
+                                                                                                   @Param("includeNullStartTime") boolean includeNullStartTime,
+                                                                                                   @Param("projectCodes") Collection<Long> projectCodes);
+
+    /**
+     * Statistics process instance state group by project, the start time is in [startTime, endTime)
+     *
+     * @param startTime startTime
+     * @param endTime   endTime
+     * @return the instance state counts, the instance type and the count date are not set
+     */
+    List<InstanceStateCount> countWorkflowInstanceStateGroupByProject(@Param("startTime") Date startTime,
+                                                                      @Param("endTime") Date endTime);
+
+    Date queryMinStartTime();
+
     /**
      * query process instance by processDefinitionCode
      *
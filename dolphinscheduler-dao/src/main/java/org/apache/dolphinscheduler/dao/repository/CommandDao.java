@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.dao.repository;
 
+import org.apache.dolphinscheduler.common.enums.Priority;
 import org.apache.dolphinscheduler.dao.entity.Command;
 
 import java.util.List;
@@ -36,4 +37,27 @@ public interface CommandDao extends IDao<Command> {
                                        int totalSlot,
                                        int idStep,
                                        int fetchNum);
+
+    /**
+     * Query command by priority, command id and server slot, return the command which match
+     * processInstancePriority = priority and id > minId and (commandId / step) % totalSlot = currentSlotIndex,
+     * ordered by id.
+     * <p>
+     * Different from {@link #queryCommandByIdSlot}, this query can be served by a range seek on the
+     * (process_instance_priority, id) index, so the cost doesn't grow with the size of the command table.
+     *
+     * @param currentSlotIndex current slot index
+     * @param totalSlot        total slot number
+     * @param idStep           id step in db
+     * @param priority         process instance priority
+     * @param minId            the returned command id should be bigger than this id
+     * @param fetchNum         fetch number
+     * @return command list
+     */
+    List<Command> queryCommandByIdSlotAfterId(int currentSlotIndex,
+                                              int totalSlot,
+                                              int idStep,
+                                              Priority priority,
+                                              int minId,
+                                              int fetchNum);
 }
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.repository;
+
+import org.apache.dolphinscheduler.dao.entity.InstanceStateCount;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceStatusCountDto;
+import org.apache.dolphinscheduler.dao.model.WorkflowInstanceStatusCountDto;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+public interface InstanceStateCountDao extends IDao<InstanceStateCount> {
+
+    /**
+     * Sum the task instance state counts of the days in [startDate, endDate), no lower bound if startDate is null.
+     */
+    List<TaskInstanceStatusCountDto> countTaskInstanceState(Date startDate, Date endDate, List<Long> projectCodes);
+
+    /**
+     * Sum the workflow instance state counts of the days in [startDate, endDate), no lower bound if startDate is null.
+     */
+    List<WorkflowInstanceStatusCountDto> countWorkflowInstanceState(Date startDate, Date endDate,
+                                                                    List<Long> projectCodes);
+
+    Optional<Date> queryMinCountDate();
+
+    Optional<Date> queryMaxCountDate();
+
+    /**
+     * Replace the state counts of the given day in one transaction, so the readers never see a half written day.
+     */
+    void replaceByCountDate(Date countDate, Collection<InstanceStateCount> instanceStateCounts);
+}
@@ -59,4 +59,15 @@ public interface TaskGroupDao extends IDao<TaskGroup> {
      * @return true if release successfully, false otherwise.
      */
     boolean releaseTaskGroupSlot(Integer taskGroupId);
+
+    /**
+     * Set the useSize of the TaskGroup to the actual use size, only if its useSize is still the expected one, so the
+     * slots which are acquired or released concurrently are not overwritten.
+     *
+     * @param taskGroupId     taskGroupId which shouldn't be null
+     * @param expectedUseSize the useSize which is read before counting the actual use size
+     * @param actualUseSize   the actual use size
+     * @return true if amend successfully, false if the useSize is changed.
+     */
+    boolean amendTaskGroupUseSize(Integer taskGroupId, int expectedUseSize, int actualUseSize);
 }
@@ -92,4 +92,15 @@ public interface TaskGroupQueueDao extends IDao<TaskGroupQueue> {
      * @return TaskGroupQueue ordered by priority desc
      */
     List<TaskGroupQueue> queryWaitNotifyForceStartTaskGroupQueue(int minTaskGroupQueueId, int limit);
+
+    /**
+     * Delete the {@link TaskGroupQueue}, and release the slot of its TaskGroup in the same transaction if
+     * releaseTaskGroupSlot is true, so the useSize of the TaskGroup is always consistent with the TaskGroupQueues.
+     * The slot is only released if the TaskGroupQueue is deleted by this call.
+     *
+     * @param taskGroupQueue       the TaskGroupQueue to delete
+     * @param releaseTaskGroupSlot whether the TaskGroupQueue is using a slot of its TaskGroup
+     * @return true if the TaskGroupQueue is deleted by this call, false if it's already deleted.
+     */
+    boolean deleteTaskGroupQueue(TaskGroupQueue taskGroupQueue, boolean releaseTaskGroupSlot);
 }
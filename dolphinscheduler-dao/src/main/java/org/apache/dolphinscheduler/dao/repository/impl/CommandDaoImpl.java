@@ -17,11 +17,16 @@
 
 package org.apache.dolphinscheduler.dao.repository.impl;
 
+import org.apache.dolphinscheduler.common.enums.Priority;
 import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.mapper.CommandMapper;
 import org.apache.dolphinscheduler.dao.repository.BaseDao;
 import org.apache.dolphinscheduler.dao.repository.CommandDao;
 
+import org.apache.commons.collections4.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.stereotype.Repository;
@@ -38,4 +43,26 @@ public class CommandDaoImpl extends BaseDao<Command, CommandMapper> implements C
         return mybatisMapper.queryCommandByIdSlot(currentSlotIndex, totalSlot, idStep, fetchNum);
     }
 
+    @Override
+    public List<Command> queryCommandByIdSlotAfterId(int currentSlotIndex,
+                                                     int totalSlot,
+                                                     int idStep,
+                                                     Priority priority,
+                                                     int minId,
+                                                     int fetchNum) {
+        return mybatisMapper.queryCommandByIdSlotAfterId(currentSlotIndex, totalSlot, idStep, priority.getCode(),
+                minId, fetchNum);
+    }
+
+    /**
+     * Insert the commands by one multi-row insert statement rather than one statement per command.
+     */
+    @Override
+    public void insertBatch(Collection<Command> commands) {
+        if (CollectionUtils.isEmpty(commands)) {
+            return;
+        }
+        mybatisMapper.batchInsert(new ArrayList<>(commands));
+    }
+
 }
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.repository.impl;
+
+import org.apache.dolphinscheduler.dao.entity.InstanceStateCount;
+import org.apache.dolphinscheduler.dao.mapper.InstanceStateCountMapper;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceStatusCountDto;
+import org.apache.dolphinscheduler.dao.model.WorkflowInstanceStatusCountDto;
+import org.apache.dolphinscheduler.dao.repository.BaseDao;
+import org.apache.dolphinscheduler.dao.repository.InstanceStateCountDao;
+
+import org.apache.commons.collections4.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import lombok.NonNull;
+
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public class InstanceStateCountDaoImpl extends BaseDao<InstanceStateCount, InstanceStateCountMapper>
+        implements
+            InstanceStateCountDao {
+
+    public InstanceStateCountDaoImpl(@NonNull InstanceStateCountMapper instanceStateCountMapper) {
+        super(instanceStateCountMapper);
+    }
+
+    @Override
+    public List<TaskInstanceStatusCountDto> countTaskInstanceState(Date startDate, Date endDate,
+                                                                   List<Long> projectCodes) {
+        return mybatisMapper.countTaskInstanceState(startDate, endDate, projectCodes);
+    }
+
+    @Override
+    public List<WorkflowInstanceStatusCountDto> countWorkflowInstanceState(Date startDate, Date endDate,
+                                                                           List<Long> projectCodes) {
+        return mybatisMapper.countWorkflowInstanceState(startDate, endDate, projectCodes);
+    }
+
+    @Override
+    public Optional<Date> queryMinCountDate() {
+        return Optional.ofNullable(mybatisMapper.queryMinCountDate());
+    }
+
+    @Override
+    public Optional<Date> queryMaxCountDate() {
+        return Optional.ofNullable(mybatisMapper.queryMaxCountDate());
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void replaceByCountDate(Date countDate, Collection<InstanceStateCount> instanceStateCounts) {
+        mybatisMapper.deleteByCountDate(countDate);
+        if (CollectionUtils.isNotEmpty(instanceStateCounts)) {
+            mybatisMapper.batchInsert(new ArrayList<>(instanceStateCounts));
+        }
+    }
+}
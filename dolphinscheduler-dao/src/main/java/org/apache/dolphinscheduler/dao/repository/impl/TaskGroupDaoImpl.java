@@ -67,4 +67,12 @@ public class TaskGroupDaoImpl extends BaseDao<TaskGroup, TaskGroupMapper> implem
         }
         return mybatisMapper.releaseTaskGroupSlot(taskGroupId) > 0;
     }
+
+    @Override
+    public boolean amendTaskGroupUseSize(Integer taskGroupId, int expectedUseSize, int actualUseSize) {
+        if (taskGroupId == null) {
+            throw new IllegalArgumentException("taskGroupId cannot be null");
+        }
+        return mybatisMapper.amendTaskGroupUseSize(taskGroupId, expectedUseSize, actualUseSize) > 0;
+    }
 }
@@ -20,6 +20,7 @@ package org.apache.dolphinscheduler.dao.repository.impl;
 import org.apache.dolphinscheduler.common.enums.Flag;
 import org.apache.dolphinscheduler.common.enums.TaskGroupQueueStatus;
 import org.apache.dolphinscheduler.dao.entity.TaskGroupQueue;
+import org.apache.dolphinscheduler.dao.mapper.TaskGroupMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskGroupQueueMapper;
 import org.apache.dolphinscheduler.dao.repository.BaseDao;
 import org.apache.dolphinscheduler.dao.repository.TaskGroupQueueDao;
@@ -31,12 +32,17 @@ import java.util.List;
 import lombok.NonNull;
 
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public class TaskGroupQueueDaoImpl extends BaseDao<TaskGroupQueue, TaskGroupQueueMapper> implements TaskGroupQueueDao {
 
-    public TaskGroupQueueDaoImpl(@NonNull TaskGroupQueueMapper taskGroupQueueMapper) {
+    private final TaskGroupMapper taskGroupMapper;
+
+    public TaskGroupQueueDaoImpl(@NonNull TaskGroupQueueMapper taskGroupQueueMapper,
+                                 @NonNull TaskGroupMapper taskGroupMapper) {
         super(taskGroupQueueMapper);
+        this.taskGroupMapper = taskGroupMapper;
     }
 
     @Override
@@ -92,4 +98,16 @@ public class TaskGroupQueueDaoImpl extends BaseDao<TaskGroupQueue, TaskGroupQueu
                 minTaskGroupQueueId,
                 limit);
     }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean deleteTaskGroupQueue(TaskGroupQueue taskGroupQueue, boolean releaseTaskGroupSlot) {
+        if (mybatisMapper.deleteById(taskGroupQueue.getId()) <= 0) {
+            return false;
+        }
+        if (releaseTaskGroupSlot) {
+            taskGroupMapper.releaseTaskGroupSlot(taskGroupQueue.getGroupId());
+        }
+        return true;
+    }
 }
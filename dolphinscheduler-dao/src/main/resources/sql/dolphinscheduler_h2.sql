@@ -2239,3 +2239,20 @@ CREATE TABLE `t_ds_jdbc_registry_data_change_event`
 -- ----------------------------
 -- Table structure for jdbc registry
 -- ----------------------------
+
+-- ----------------------------
+-- Table structure for t_ds_instance_state_count
+-- ----------------------------
+DROP TABLE IF EXISTS t_ds_instance_state_count CASCADE;
+CREATE TABLE t_ds_instance_state_count
+(
+    id             int(11)    NOT NULL AUTO_INCREMENT,
+    instance_type  tinyint(4) NOT NULL,
+    project_code   bigint(20) NOT NULL,
+    count_date     date       NOT NULL,
+    state          tinyint(4) NOT NULL,
+    instance_count int(11)    NOT NULL DEFAULT '0',
+    update_time    datetime   DEFAULT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uniq_instance_state_count (instance_type, count_date, project_code, state)
+);
@@ -932,7 +932,8 @@ CREATE TABLE `t_ds_task_instance` (
   PRIMARY KEY (`id`),
   KEY `process_instance_id` (`process_instance_id`) USING BTREE,
   KEY `idx_code_version` (`task_code`, `task_definition_version`) USING BTREE,
-  KEY `idx_cache_key` (`cache_key`) USING BTREE
+  KEY `idx_cache_key` (`cache_key`) USING BTREE,
+  KEY `idx_start_time` (`start_time`) USING BTREE
 ) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=utf8 COLLATE = utf8_bin;
 
 -- ----------------------------
@@ -2208,3 +2209,21 @@ CREATE TABLE `t_ds_jdbc_registry_data_change_event`
     PRIMARY KEY (`id`)
 ) ENGINE = InnoDB
   DEFAULT CHARSET = utf8;
+
+-- ----------------------------
+-- Table structure for t_ds_instance_state_count
+-- ----------------------------
+DROP TABLE IF EXISTS `t_ds_instance_state_count`;
+CREATE TABLE `t_ds_instance_state_count`
+(
+    `id`             int(11)    NOT NULL AUTO_INCREMENT COMMENT 'key',
+    `instance_type`  tinyint(4) NOT NULL COMMENT 'instance type: 0 workflow instance, 1 task instance',
+    `project_code`   bigint(20) NOT NULL COMMENT 'project code',
+    `count_date`     date       NOT NULL COMMENT 'the day of the instance start time',
+    `state`          tinyint(4) NOT NULL COMMENT 'instance state',
+    `instance_count` int(11)    NOT NULL DEFAULT '0' COMMENT 'instance count',
+    `update_time`    datetime   DEFAULT NULL COMMENT 'update time',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uniq_instance_state_count` (`instance_type`, `count_date`, `project_code`, `state`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8;
@@ -837,6 +837,7 @@ CREATE TABLE t_ds_task_instance (
 
 create index idx_task_instance_code_version on t_ds_task_instance (task_code, task_definition_version);
 create index idx_cache_key on t_ds_task_instance (cache_key);
+create index idx_task_instance_start_time on t_ds_task_instance (start_time);
 
 --
 -- Table structure for table t_ds_tenant
@@ -2195,3 +2196,17 @@ create table t_ds_jdbc_registry_data_change_event
     create_time        timestamp not null default current_timestamp,
     primary key (id)
 );
+
+DROP TABLE IF EXISTS t_ds_instance_state_count;
+CREATE TABLE t_ds_instance_state_count
+(
+    id             serial    NOT NULL,
+    instance_type  int       NOT NULL,
+    project_code   bigint    NOT NULL,
+    count_date     date      NOT NULL,
+    state          int       NOT NULL,
+    instance_count int       NOT NULL DEFAULT '0',
+    update_time    timestamp DEFAULT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uniq_instance_state_count UNIQUE (instance_type, count_date, project_code, state)
+);
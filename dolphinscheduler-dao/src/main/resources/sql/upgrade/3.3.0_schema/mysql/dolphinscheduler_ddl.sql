@@ -125,3 +125,36 @@ d//
 delimiter ;
 CALL drop_column_t_ds_alert_plugin_instance;
 DROP PROCEDURE drop_column_t_ds_alert_plugin_instance;
+
+DROP TABLE IF EXISTS `t_ds_instance_state_count`;
+CREATE TABLE `t_ds_instance_state_count`
+(
+    `id`             int(11)    NOT NULL AUTO_INCREMENT COMMENT 'key',
+    `instance_type`  tinyint(4) NOT NULL COMMENT 'instance type: 0 workflow instance, 1 task instance',
+    `project_code`   bigint(20) NOT NULL COMMENT 'project code',
+    `count_date`     date       NOT NULL COMMENT 'the day of the instance start time',
+    `state`          tinyint(4) NOT NULL COMMENT 'instance state',
+    `instance_count` int(11)    NOT NULL DEFAULT '0' COMMENT 'instance count',
+    `update_time`    datetime   DEFAULT NULL COMMENT 'update time',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uniq_instance_state_count` (`instance_type`, `count_date`, `project_code`, `state`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8;
+
+-- ALTER TABLE `t_ds_task_instance` ADD INDEX `idx_start_time` (`start_time`) USING BTREE;
+drop PROCEDURE if EXISTS add_t_ds_task_instance_idx_start_time;
+delimiter d//
+CREATE PROCEDURE add_t_ds_task_instance_idx_start_time()
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.STATISTICS
+        WHERE TABLE_NAME='t_ds_task_instance'
+        AND TABLE_SCHEMA=(SELECT DATABASE())
+        AND INDEX_NAME='idx_start_time')
+    THEN
+ALTER TABLE `t_ds_task_instance` ADD INDEX `idx_start_time` (`start_time`) USING BTREE;
+END IF;
+END;
+d//
+delimiter ;
+CALL add_t_ds_task_instance_idx_start_time;
+DROP PROCEDURE add_t_ds_task_instance_idx_start_time;
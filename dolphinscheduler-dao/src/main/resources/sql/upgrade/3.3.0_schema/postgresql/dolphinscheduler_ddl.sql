@@ -123,3 +123,19 @@ d//
 
 select drop_column_t_ds_alert_plugin_instance();
 DROP FUNCTION IF EXISTS drop_column_t_ds_alert_plugin_instance();
+
+DROP TABLE IF EXISTS t_ds_instance_state_count;
+CREATE TABLE t_ds_instance_state_count
+(
+    id             serial    NOT NULL,
+    instance_type  int       NOT NULL,
+    project_code   bigint    NOT NULL,
+    count_date     date      NOT NULL,
+    state          int       NOT NULL,
+    instance_count int       NOT NULL DEFAULT '0',
+    update_time    timestamp DEFAULT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uniq_instance_state_count UNIQUE (instance_type, count_date, project_code, state)
+);
+
+create index if not exists idx_task_instance_start_time on t_ds_task_instance (start_time);
@@ -58,6 +58,14 @@ public class AccessTokenMapperTest extends BaseDaoTest {
         Assertions.assertTrue(accessToken.getId() > 0);
     }
 
+    @Test
+    public void testQueryExpireTimeByToken() throws Exception {
+        AccessToken accessToken = createAccessToken(1);
+        Assertions.assertEquals(accessToken.getExpireTime().getTime() / 1000,
+                accessTokenMapper.queryExpireTimeByToken(accessToken.getToken()).getTime() / 1000);
+        Assertions.assertNull(accessTokenMapper.queryExpireTimeByToken("not-exist-token"));
+    }
+
     /**
      * test delete AccessToken By UserId
      */
@@ -25,6 +25,7 @@ import org.apache.dolphinscheduler.dao.entity.Alert;
 
 import org.apache.commons.codec.digest.DigestUtils;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -82,6 +83,25 @@ public class AlertMapperTest extends BaseDaoTest {
         Assertions.assertEquals(expectedAlert, actualAlert);
     }
 
+    /**
+     * test batch update alert status
+     */
+    @Test
+    public void testBatchUpdateAlertStatus() {
+        Alert alert1 = createAlert();
+        Alert alert2 = createAlert();
+        Alert untouchedAlert = createAlert();
+
+        int updateCount = alertMapper.batchUpdateAlertStatus(Arrays.asList(alert1.getId(), alert2.getId()),
+                AlertStatus.EXECUTION_SUCCESS.getCode(), "digest", DateUtils.getCurrentDate());
+
+        Assertions.assertEquals(2, updateCount);
+        Assertions.assertEquals(AlertStatus.EXECUTION_SUCCESS, alertMapper.selectById(alert1.getId()).getAlertStatus());
+        Assertions.assertEquals("digest", alertMapper.selectById(alert2.getId()).getLog());
+        Assertions.assertEquals(AlertStatus.WAIT_EXECUTION,
+                alertMapper.selectById(untouchedAlert.getId()).getAlertStatus());
+    }
+
     /**
      * test delete
      */
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.mapper;
+
+import org.apache.dolphinscheduler.common.enums.InstanceType;
+import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
+import org.apache.dolphinscheduler.common.utils.DateUtils;
+import org.apache.dolphinscheduler.dao.BaseDaoTest;
+import org.apache.dolphinscheduler.dao.entity.InstanceStateCount;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceStatusCountDto;
+import org.apache.dolphinscheduler.dao.model.WorkflowInstanceStatusCountDto;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.google.common.collect.Lists;
+
+public class InstanceStateCountMapperTest extends BaseDaoTest {
+
+    @Autowired
+    private InstanceStateCountMapper instanceStateCountMapper;
+
+    private final Date today = DateUtils.getStartOfDay(new Date());
+
+    private final Date yesterday = DateUtils.addDays(today, -1);
+
+    @Test
+    public void testCountTaskInstanceState() {
+        instanceStateCountMapper.batchInsert(Lists.newArrayList(
+                createInstanceStateCount(InstanceType.TASK_INSTANCE, 1L, yesterday,
+                        TaskExecutionStatus.SUCCESS.getCode(), 2),
+                createInstanceStateCount(InstanceType.TASK_INSTANCE, 1L, today,
+                        TaskExecutionStatus.SUCCESS.getCode(), 3),
+                createInstanceStateCount(InstanceType.TASK_INSTANCE, 2L, today,
+                        TaskExecutionStatus.SUCCESS.getCode(), 4),
+                createInstanceStateCount(InstanceType.WORKFLOW_INSTANCE, 1L, today,
+                        WorkflowExecutionStatus.SUCCESS.getCode(), 5)));
+
+        List<TaskInstanceStatusCountDto> taskInstanceStatusCountDtos = instanceStateCountMapper
+                .countTaskInstanceState(null, DateUtils.addDays(today, 1), Lists.newArrayList(1L));
+        Assertions.assertEquals(1, taskInstanceStatusCountDtos.size());
+        Assertions.assertEquals(TaskExecutionStatus.SUCCESS, taskInstanceStatusCountDtos.get(0).getState());
+        Assertions.assertEquals(5, taskInstanceStatusCountDtos.get(0).getCount());
+
+        taskInstanceStatusCountDtos = instanceStateCountMapper
+                .countTaskInstanceState(yesterday, today, Lists.newArrayList(1L, 2L));
+        Assertions.assertEquals(2, taskInstanceStatusCountDtos.get(0).getCount());
+
+        List<WorkflowInstanceStatusCountDto> workflowInstanceStatusCountDtos = instanceStateCountMapper
+                .countWorkflowInstanceState(today, DateUtils.addDays(today, 1), Lists.newArrayList(1L));
+        Assertions.assertEquals(1, workflowInstanceStatusCountDtos.size());
+        Assertions.assertEquals(WorkflowExecutionStatus.SUCCESS, workflowInstanceStatusCountDtos.get(0).getState());
+        Assertions.assertEquals(5, workflowInstanceStatusCountDtos.get(0).getCount());
+    }
+
+    @Test
+    public void testQueryCountDateAndDelete() {
+        Assertions.assertNull(instanceStateCountMapper.queryMaxCountDate());
+
+        instanceStateCountMapper.batchInsert(Lists.newArrayList(
+                createInstanceStateCount(InstanceType.TASK_INSTANCE, 1L, yesterday,
+                        TaskExecutionStatus.SUCCESS.getCode(), 1),
+                createInstanceStateCount(InstanceType.TASK_INSTANCE, 1L, today,
+                        TaskExecutionStatus.SUCCESS.getCode(), 1)));
+        Assertions.assertEquals(yesterday.getTime(), instanceStateCountMapper.queryMinCountDate().getTime());
+        Assertions.assertEquals(today.getTime(), instanceStateCountMapper.queryMaxCountDate().getTime());
+
+        Assertions.assertEquals(1, instanceStateCountMapper.deleteByCountDate(today));
+        Assertions.assertEquals(yesterday.getTime(), instanceStateCountMapper.queryMaxCountDate().getTime());
+    }
+
+    private InstanceStateCount createInstanceStateCount(InstanceType instanceType, long projectCode, Date countDate,
+                                                        int state, int instanceCount) {
+        return InstanceStateCount.builder()
+                .instanceType(instanceType)
+                .projectCode(projectCode)
+                .countDate(countDate)
+                .state(state)
+                .instanceCount(instanceCount)
+                .updateTime(new Date())
+                .build();
+    }
+}
@@ -20,7 +20,9 @@ package org.apache.dolphinscheduler.dao.mapper;
 import org.apache.dolphinscheduler.common.enums.Flag;
 import org.apache.dolphinscheduler.common.enums.TaskExecuteType;
 import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
+import org.apache.dolphinscheduler.common.utils.DateUtils;
 import org.apache.dolphinscheduler.dao.BaseDaoTest;
+import org.apache.dolphinscheduler.dao.entity.InstanceStateCount;
 import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
@@ -235,6 +237,44 @@ public class TaskInstanceMapperTest extends BaseDaoTest {
         taskInstanceMapper.deleteById(task.getId());
     }
 
+    @Test
+    public void testCountTaskInstanceStateByProjectCodesAndStartTimeRange() {
+        TaskInstance task = insertTaskInstance(1);
+        Date startTime = task.getStartTime();
+
+        List<TaskInstanceStatusCountDto> taskInstanceStatusCountDtos =
+                taskInstanceMapper.countTaskInstanceStateByProjectCodesAndStartTimeRange(null, startTime, null,
+                        null, false, Lists.newArrayList(task.getProjectCode()));
+        Assertions.assertEquals(1, taskInstanceStatusCountDtos.size());
+        Assertions.assertEquals(1, taskInstanceStatusCountDtos.get(0).getCount());
+
+        taskInstanceStatusCountDtos =
+                taskInstanceMapper.countTaskInstanceStateByProjectCodesAndStartTimeRange(null, null, startTime,
+                        null, false, Lists.newArrayList(task.getProjectCode()));
+        Assertions.assertTrue(taskInstanceStatusCountDtos.isEmpty());
+
+        taskInstanceMapper.deleteById(task.getId());
+    }
+
+    @Test
+    public void testCountTaskInstanceStateGroupByProject() {
+        TaskInstance task = insertTaskInstance(1);
+        Date day = DateUtils.getStartOfDay(task.getStartTime());
+
+        List<InstanceStateCount> instanceStateCounts =
+                taskInstanceMapper.countTaskInstanceStateGroupByProject(day, DateUtils.addDays(day, 1));
+        Assertions.assertEquals(1, instanceStateCounts.size());
+        Assertions.assertEquals(task.getProjectCode(), instanceStateCounts.get(0).getProjectCode());
+        Assertions.assertEquals(task.getState().getCode(), instanceStateCounts.get(0).getState());
+        Assertions.assertEquals(1, instanceStateCounts.get(0).getInstanceCount());
+        Assertions.assertTrue(
+                taskInstanceMapper.countTaskInstanceStateGroupByProject(DateUtils.addDays(day, 1),
+                        DateUtils.addDays(day, 2)).isEmpty());
+        Assertions.assertNotNull(taskInstanceMapper.queryMinStartTime());
+
+        taskInstanceMapper.deleteById(task.getId());
+    }
+
     /**
      * test page
      */
@@ -32,9 +32,13 @@ import org.apache.dolphinscheduler.dao.utils.WorkerGroupUtils;
 
 import org.apache.commons.lang3.RandomUtils;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.annotation.DirtiesContext;
 
@@ -70,6 +74,57 @@ class CommandDaoImplTest extends BaseDaoTest {
 
     }
 
+    @RepeatedTest(value = 10)
+    void fetchCommandByIdSlotAfterId() {
+        int totalSlot = RandomUtils.nextInt(1, 10);
+        int currentSlotIndex = RandomUtils.nextInt(0, totalSlot);
+        int fetchSize = RandomUtils.nextInt(10, 100);
+        int idStep = RandomUtils.nextInt(1, 5);
+        int commandSize = RandomUtils.nextInt(currentSlotIndex, 1000);
+        int id = 1;
+        for (int j = 0; j < commandSize; j++) {
+            Command command = generateCommand(CommandType.START_PROCESS, 0);
+            command.setId(id);
+            command.setProcessInstancePriority(j % 2 == 0 ? Priority.MEDIUM : Priority.HIGH);
+            commandDao.insert(command);
+            id += idStep;
+        }
+        int minId = RandomUtils.nextInt(0, id);
+
+        List<Command> commands = commandDao.queryCommandByIdSlotAfterId(currentSlotIndex, totalSlot, idStep,
+                Priority.MEDIUM, minId, fetchSize);
+        List<Command> expectedCommands = commandDao.queryAll()
+                .stream()
+                .filter(command -> command.getProcessInstancePriority() == Priority.MEDIUM)
+                .filter(command -> command.getId() > minId)
+                .filter(command -> (command.getId() / idStep) % totalSlot == currentSlotIndex)
+                .sorted(Comparator.comparing(Command::getId))
+                .limit(fetchSize)
+                .collect(Collectors.toList());
+        assertThat(commands).containsExactlyElementsIn(expectedCommands).inOrder();
+    }
+
+    @Test
+    void insertBatch() {
+        List<Command> commands = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Command command = generateCommand(CommandType.SCHEDULER, i);
+            command.setTenantCode("tenant" + i);
+            commands.add(command);
+        }
+
+        commandDao.insertBatch(commands);
+
+        List<Command> insertedCommands = commandDao.queryAll();
+        assertThat(insertedCommands.size()).isEqualTo(10);
+        for (Command insertedCommand : insertedCommands) {
+            assertThat(insertedCommand.getCommandType()).isEqualTo(CommandType.SCHEDULER);
+            assertThat(insertedCommand.getProcessInstancePriority()).isEqualTo(Priority.MEDIUM);
+            assertThat(insertedCommand.getTenantCode())
+                    .isEqualTo("tenant" + insertedCommand.getProcessDefinitionCode());
+        }
+    }
+
     private Command generateCommand(CommandType commandType, int processDefinitionCode) {
         Command command = new Command();
         command.setCommandType(commandType);
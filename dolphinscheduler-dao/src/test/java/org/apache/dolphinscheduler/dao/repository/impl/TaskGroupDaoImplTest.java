@@ -101,6 +101,19 @@ class TaskGroupDaoImplTest extends BaseDaoTest {
         assertEquals(0, taskGroup.getUseSize());
     }
 
+    @Test
+    void amendTaskGroupUseSize() {
+        TaskGroup taskGroup = createTaskGroup("test", 3, 5);
+        taskGroupDao.insert(taskGroup);
+
+        // the useSize is changed since it's read
+        assertFalse(taskGroupDao.amendTaskGroupUseSize(taskGroup.getId(), 2, 1));
+        assertEquals(3, taskGroupDao.queryById(taskGroup.getId()).getUseSize());
+
+        assertTrue(taskGroupDao.amendTaskGroupUseSize(taskGroup.getId(), 3, 1));
+        assertEquals(1, taskGroupDao.queryById(taskGroup.getId()).getUseSize());
+    }
+
     private TaskGroup createTaskGroup(String name, int useSize, int groupSize) {
         return TaskGroup.builder()
                 .name(name)
@@ -18,13 +18,17 @@
 package org.apache.dolphinscheduler.dao.repository.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.apache.dolphinscheduler.common.enums.Flag;
 import org.apache.dolphinscheduler.common.enums.TaskGroupQueueStatus;
 import org.apache.dolphinscheduler.dao.BaseDaoTest;
+import org.apache.dolphinscheduler.dao.entity.TaskGroup;
 import org.apache.dolphinscheduler.dao.entity.TaskGroupQueue;
+import org.apache.dolphinscheduler.dao.repository.TaskGroupDao;
 import org.apache.dolphinscheduler.dao.repository.TaskGroupQueueDao;
 
 import org.apache.commons.collections4.CollectionUtils;
@@ -42,6 +46,9 @@ class TaskGroupQueueDaoImplTest extends BaseDaoTest {
     @Autowired
     private TaskGroupQueueDao taskGroupQueueDao;
 
+    @Autowired
+    private TaskGroupDao taskGroupDao;
+
     @Test
     void deleteByWorkflowInstanceIds() {
         TaskGroupQueue taskGroupQueue = createTaskGroupQueue(Flag.NO, TaskGroupQueueStatus.ACQUIRE_SUCCESS);
@@ -167,6 +174,34 @@ class TaskGroupQueueDaoImplTest extends BaseDaoTest {
         assertEquals(insertCount, queryCount);
     }
 
+    @Test
+    void deleteTaskGroupQueue() {
+        TaskGroup taskGroup = TaskGroup.builder()
+                .name("test")
+                .description("test")
+                .groupSize(2)
+                .useSize(1)
+                .userId(1)
+                .status(Flag.YES)
+                .createTime(new Date())
+                .updateTime(new Date())
+                .projectCode(1)
+                .build();
+        taskGroupDao.insert(taskGroup);
+        TaskGroupQueue taskGroupQueue = createTaskGroupQueue(Flag.NO, TaskGroupQueueStatus.ACQUIRE_SUCCESS);
+        taskGroupQueue.setGroupId(taskGroup.getId());
+        taskGroupQueueDao.insert(taskGroupQueue);
+
+        assertTrue(taskGroupQueueDao.deleteTaskGroupQueue(taskGroupQueue, true));
+        assertNull(taskGroupQueueDao.queryById(taskGroupQueue.getId()));
+        assertEquals(0, taskGroupDao.queryById(taskGroup.getId()).getUseSize());
+
+        // the TaskGroupQueue is already deleted, the slot should not be released again
+        taskGroupDao.acquireTaskGroupSlot(taskGroup.getId());
+        assertFalse(taskGroupQueueDao.deleteTaskGroupQueue(taskGroupQueue, true));
+        assertEquals(1, taskGroupDao.queryById(taskGroup.getId()).getUseSize());
+    }
+
     private TaskGroupQueue createTaskGroupQueue(Flag forceStart, TaskGroupQueueStatus taskGroupQueueStatus) {
         return TaskGroupQueue.builder()
                 .taskId(1)
@@ -27,14 +27,17 @@ import org.apache.dolphinscheduler.spi.datasource.BaseConnectionParam;
 import org.apache.dolphinscheduler.spi.datasource.PooledDataSourceClient;
 import org.apache.dolphinscheduler.spi.enums.DbType;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.collections4.MapUtils;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.TreeMap;
 
 import lombok.extern.slf4j.Slf4j;
 
 import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Metrics;
 
 @Slf4j
 public abstract class BasePooledDataSourceClient implements PooledDataSourceClient {
@@ -59,9 +62,17 @@ public abstract class BasePooledDataSourceClient implements PooledDataSourceClie
         dataSource.setUsername(baseConnectionParam.getUser());
         dataSource.setPassword(PasswordUtils.decodePassword(baseConnectionParam.getPassword()));
 
-        dataSource.setMinimumIdle(PropertyUtils.getInt(DataSourceConstants.SPRING_DATASOURCE_MIN_IDLE, 5));
-        dataSource.setMaximumPoolSize(PropertyUtils.getInt(DataSourceConstants.SPRING_DATASOURCE_MAX_ACTIVE, 50));
+        String dbTypeName = dbType.getName().toLowerCase();
+        dataSource.setMinimumIdle(PropertyUtils.getInt(
+                String.format(DataSourceConstants.DATASOURCE_POOL_MIN_IDLE_FORMAT, dbTypeName),
+                PropertyUtils.getInt(DataSourceConstants.SPRING_DATASOURCE_MIN_IDLE, 5)));
+        dataSource.setMaximumPoolSize(PropertyUtils.getInt(
+                String.format(DataSourceConstants.DATASOURCE_POOL_MAX_SIZE_FORMAT, dbTypeName),
+                PropertyUtils.getInt(DataSourceConstants.SPRING_DATASOURCE_MAX_ACTIVE, 50)));
         dataSource.setConnectionTestQuery(baseConnectionParam.getValidationQuery());
+        // the pool name is used as the tag of the pool metrics, so it should not contain the password
+        dataSource.setPoolName(getPoolName(baseConnectionParam, dbType, dataSource.getJdbcUrl()));
+        dataSource.setMetricRegistry(Metrics.globalRegistry);
 
         if (MapUtils.isNotEmpty(baseConnectionParam.getOther())) {
             baseConnectionParam.getOther().forEach(dataSource::addDataSourceProperty);
@@ -76,6 +87,21 @@ public abstract class BasePooledDataSourceClient implements PooledDataSourceClie
         return dataSource.getConnection();
     }
 
+    /**
+     * The pool name is suffixed by the hash of all the connection properties, so the pools of the same database with
+     * different password or other params, e.g. the old and new pool after the datasource is updated, will not share
+     * the same metrics.
+     */
+    protected String getPoolName(BaseConnectionParam baseConnectionParam, DbType dbType, String jdbcUrl) {
+        String connectionProperties = String.join("@", dbType.getName(), baseConnectionParam.getUser(),
+                baseConnectionParam.getPassword(), jdbcUrl,
+                MapUtils.isEmpty(baseConnectionParam.getOther()) ? ""
+                        : new TreeMap<>(baseConnectionParam.getOther()).toString());
+        return String.format("%s-%s@%s/%s-%s", dbType.getName(), baseConnectionParam.getUser(),
+                baseConnectionParam.getAddress(), baseConnectionParam.getDatabase(),
+                DigestUtils.sha256Hex(connectionProperties).substring(0, 8));
+    }
+
     @Override
     public void close() {
         log.info("do close dataSource {}.", baseConnectionParam.getDatabase());
@@ -17,7 +17,8 @@
 
 package org.apache.dolphinscheduler.extract.base;
 
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerManager;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -33,13 +34,17 @@ public class StandardRpcRequest implements IRpcRequest {
     private Class<?>[] argsTypes;
 
     public static StandardRpcRequest of(Object[] args) {
+        return of(args, RpcSerializerManager.getDefaultSerializer());
+    }
+
+    public static StandardRpcRequest of(Object[] args, IRpcSerializer rpcSerializer) {
         if (args == null || args.length == 0) {
             return new StandardRpcRequest(null, null);
         }
         final byte[][] argsBytes = new byte[args.length][];
         final Class<?>[] argsTypes = new Class[args.length];
         for (int i = 0; i < args.length; i++) {
-            argsBytes[i] = JsonSerializer.serialize(args[i]);
+            argsBytes[i] = rpcSerializer.serialize(args[i]);
             argsTypes[i] = args[i] == null ? null : args[i].getClass();
         }
         return new StandardRpcRequest(argsBytes, argsTypes);
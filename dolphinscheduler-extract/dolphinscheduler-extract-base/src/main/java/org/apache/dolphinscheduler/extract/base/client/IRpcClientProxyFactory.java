@@ -17,7 +17,7 @@
 
 package org.apache.dolphinscheduler.extract.base.client;
 
-interface IRpcClientProxyFactory {
+public interface IRpcClientProxyFactory {
 
     /**
      * Create the client proxy.
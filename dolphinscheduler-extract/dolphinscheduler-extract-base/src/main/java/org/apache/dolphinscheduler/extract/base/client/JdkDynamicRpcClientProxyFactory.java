@@ -33,11 +33,11 @@ import com.google.common.cache.LoadingCache;
 /**
  * This class is used to create a proxy client which will transform local method invocation to remove invocation.
  */
-class JdkDynamicRpcClientProxyFactory implements IRpcClientProxyFactory {
+public class JdkDynamicRpcClientProxyFactory implements IRpcClientProxyFactory {
 
     private final NettyRemotingClient nettyRemotingClient;
 
-    private static final LoadingCache<String, Map<String, Object>> proxyClientCache = CacheBuilder.newBuilder()
+    private final LoadingCache<String, Map<String, Object>> proxyClientCache = CacheBuilder.newBuilder()
             // expire here to remove dead host
             .expireAfterAccess(Duration.ofHours(1))
             .build(new CacheLoader<String, Map<String, Object>>() {
@@ -48,10 +48,14 @@ class JdkDynamicRpcClientProxyFactory implements IRpcClientProxyFactory {
                 }
             });
 
-    JdkDynamicRpcClientProxyFactory(NettyRemotingClient nettyRemotingClient) {
+    public JdkDynamicRpcClientProxyFactory(NettyRemotingClient nettyRemotingClient) {
         this.nettyRemotingClient = nettyRemotingClient;
     }
 
+    public NettyRemotingClient getNettyRemotingClient() {
+        return nettyRemotingClient;
+    }
+
     @SneakyThrows
     @SuppressWarnings("unchecked")
     @Override
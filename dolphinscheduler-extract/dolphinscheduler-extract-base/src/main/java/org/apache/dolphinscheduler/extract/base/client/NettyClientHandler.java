@@ -21,7 +21,8 @@ import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
 import org.apache.dolphinscheduler.extract.base.future.ResponseFuture;
 import org.apache.dolphinscheduler.extract.base.protocal.HeartBeatTransporter;
 import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerManager;
 import org.apache.dolphinscheduler.extract.base.utils.ChannelUtils;
 
 import lombok.extern.slf4j.Slf4j;
@@ -30,6 +31,7 @@ import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.util.ReferenceCountUtil;
 
 @ChannelHandler.Sharable
 @Slf4j
@@ -53,14 +55,22 @@ public class NettyClientHandler extends ChannelInboundHandlerAdapter {
     }
 
     private void processReceived(final Transporter transporter) {
-        ResponseFuture future = ResponseFuture.getFuture(transporter.getHeader().getOpaque());
-        if (future == null) {
-            log.warn("Cannot find the ResponseFuture if transporter: {}", transporter);
-            return;
+        try {
+            ResponseFuture future = ResponseFuture.getFuture(transporter.getHeader().getOpaque());
+            if (future == null) {
+                log.warn("Cannot find the ResponseFuture if transporter: {}", transporter);
+                return;
+            }
+            IRpcSerializer rpcSerializer = RpcSerializerManager.getSerializer(transporter.getVersion())
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            "Unknown serializer version: " + transporter.getVersion()));
+            StandardRpcResponse deserialize =
+                    rpcSerializer.deserialize(transporter.getBody(), StandardRpcResponse.class);
+            future.setIRpcResponse(deserialize);
+            future.putResponse(deserialize);
+        } finally {
+            ReferenceCountUtil.release(transporter.getBody());
         }
-        StandardRpcResponse deserialize = JsonSerializer.deserialize(transporter.getBody(), StandardRpcResponse.class);
-        future.setIRpcResponse(deserialize);
-        future.putResponse(deserialize);
     }
 
     @Override
@@ -30,6 +30,8 @@ import org.apache.dolphinscheduler.extract.base.metrics.RpcMetrics;
 import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterDecoder;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterEncoder;
+import org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerManager;
 import org.apache.dolphinscheduler.extract.base.utils.Host;
 import org.apache.dolphinscheduler.extract.base.utils.NettyUtils;
 
@@ -70,8 +72,11 @@ public class NettyRemotingClient implements AutoCloseable {
 
     private final NettyClientHandler clientHandler;
 
+    private volatile IRpcSerializer rpcSerializer;
+
     public NettyRemotingClient(final NettyClientConfig clientConfig) {
         this.clientConfig = clientConfig;
+        this.rpcSerializer = RpcSerializerManager.getSerializer(clientConfig.getSerializer());
         ThreadFactory nettyClientThreadFactory = ThreadUtils.newDaemonThreadFactory("NettyClientThread-");
         if (Epoll.isAvailable()) {
             this.workerGroup = new EpollEventLoopGroup(clientConfig.getWorkerThreads(), nettyClientThreadFactory);
@@ -110,6 +115,21 @@ public class NettyRemotingClient implements AutoCloseable {
         isStarted.compareAndSet(false, true);
     }
 
+    /**
+     * Get the serializer used to serialize the requests sent by this client.
+     */
+    public IRpcSerializer getRpcSerializer() {
+        return rpcSerializer;
+    }
+
+    /**
+     * Change the serializer used to serialize the requests, the server responds with the serializer of each request, so
+     * the serializer can be changed at any time.
+     */
+    public void setRpcSerializer(IRpcSerializer rpcSerializer) {
+        this.rpcSerializer = rpcSerializer;
+    }
+
     public IRpcResponse sendSync(SyncRequestDto syncRequestDto) throws RemotingException {
         long start = System.currentTimeMillis();
 
@@ -18,7 +18,11 @@
 package org.apache.dolphinscheduler.extract.base.client;
 
 import org.apache.dolphinscheduler.extract.base.config.NettyClientConfig;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerManager;
 
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 public class SingletonJdkDynamicRpcClientProxyFactory {
 
     private static final JdkDynamicRpcClientProxyFactory INSTANCE = new JdkDynamicRpcClientProxyFactory(
@@ -28,4 +32,16 @@ public class SingletonJdkDynamicRpcClientProxyFactory {
         return INSTANCE.getProxyClient(serverAddress, clazz);
     }
 
+    /**
+     * Set the serializer of the requests sent by the proxy clients, the servers which receive the requests must be able
+     * to recognize the serializer.
+     *
+     * @param serializerName the name of the serializer, e.g. json, binary
+     * @throws IllegalArgumentException if the serializer is unknown
+     */
+    public static void setRpcSerializer(String serializerName) {
+        INSTANCE.getNettyRemotingClient().setRpcSerializer(RpcSerializerManager.getSerializer(serializerName));
+        log.info("Set the rpc serializer of the rpc clients to: {}", serializerName);
+    }
+
 }
@@ -17,6 +17,8 @@
 
 package org.apache.dolphinscheduler.extract.base.config;
 
+import org.apache.dolphinscheduler.extract.base.serialize.JsonRpcSerializer;
+
 import java.time.Duration;
 
 import lombok.AllArgsConstructor;
@@ -76,4 +78,14 @@ public class NettyClientConfig {
     @Builder.Default
     private int defaultRpcTimeoutMillis = 10_000;
 
+    /**
+     * The name of the serializer used to serialize the requests, the server will respond with the same serializer.
+     * Only use the serializer other than json once all the servers support it, the proxy clients used by the servers
+     * can be switched by {@code SingletonJdkDynamicRpcClientProxyFactory#setRpcSerializer}.
+     *
+     * @see org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer
+     */
+    @Builder.Default
+    private String serializer = JsonRpcSerializer.NAME;
+
 }
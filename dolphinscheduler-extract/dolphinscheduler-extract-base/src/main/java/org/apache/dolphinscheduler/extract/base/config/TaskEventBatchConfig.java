@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.config;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+/**
+ * The task instance execution events sent by the worker to the same master, or the acks of them sent by the master to
+ * the same worker, will be coalesced and sent in one request.
+ * <p>
+ * Disabled by default, since the servers which don't know the batch rpc can't handle the batch request, it should only
+ * be enabled once all the masters and workers are upgraded.
+ */
+@Data
+public class TaskEventBatchConfig {
+
+    private boolean enabled = false;
+
+    /**
+     * The batch will be sent once it reaches this size.
+     */
+    private int maxBatchSize = 100;
+
+    /**
+     * The max time an event waits in the batch before being sent.
+     */
+    private Duration flushInterval = Duration.ofMillis(100);
+
+}
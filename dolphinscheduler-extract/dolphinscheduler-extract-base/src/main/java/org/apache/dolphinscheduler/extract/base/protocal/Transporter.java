@@ -19,34 +19,64 @@ package org.apache.dolphinscheduler.extract.base.protocal;
 
 import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
 import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerManager;
 
 import java.io.Serializable;
 
 import lombok.Data;
 import lombok.NonNull;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 
+/**
+ * The frame transported between the rpc client and server.
+ * <p>
+ * The received transporter holds a retained slice of the pooled inbound buffer as its body, the handler which
+ * consumes the transporter is responsible to release the body.
+ */
 @Data
 public class Transporter implements Serializable {
 
     private static final long serialVersionUID = -1L;
 
     public static final byte MAGIC = (byte) 0xbabe;
+
+    /**
+     * The version of the json serializer, which is the default serializer, see {@link IRpcSerializer#getVersion()}.
+     */
     public static final byte VERSION = 0;
 
+    /**
+     * The version of the serializer which is used to serialize the header and body.
+     */
+    private byte version = VERSION;
     private TransporterHeader header;
-    private byte[] body;
+    private ByteBuf body;
 
     public static Transporter of(@NonNull TransporterHeader header, StandardRpcResponse iRpcResponse) {
-        return of(header, JsonSerializer.serialize(iRpcResponse));
+        return of(header, iRpcResponse, RpcSerializerManager.getDefaultSerializer());
     }
 
     public static Transporter of(@NonNull TransporterHeader header, StandardRpcRequest iRpcRequest) {
-        return of(header, JsonSerializer.serialize(iRpcRequest));
+        return of(header, iRpcRequest, RpcSerializerManager.getDefaultSerializer());
+    }
+
+    public static Transporter of(@NonNull TransporterHeader header,
+                                 StandardRpcResponse iRpcResponse,
+                                 @NonNull IRpcSerializer rpcSerializer) {
+        return of(rpcSerializer.getVersion(), header, Unpooled.wrappedBuffer(rpcSerializer.serialize(iRpcResponse)));
+    }
+
+    public static Transporter of(@NonNull TransporterHeader header,
+                                 StandardRpcRequest iRpcRequest,
+                                 @NonNull IRpcSerializer rpcSerializer) {
+        return of(rpcSerializer.getVersion(), header, Unpooled.wrappedBuffer(rpcSerializer.serialize(iRpcRequest)));
     }
 
-    public static Transporter of(@NonNull TransporterHeader header, byte[] body) {
+    public static Transporter of(byte version, @NonNull TransporterHeader header, ByteBuf body) {
         Transporter transporter = new Transporter();
+        transporter.setVersion(version);
         transporter.setHeader(header);
         transporter.setBody(body);
         return transporter;
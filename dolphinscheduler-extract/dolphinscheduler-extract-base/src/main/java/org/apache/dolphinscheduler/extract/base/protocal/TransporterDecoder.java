@@ -17,7 +17,8 @@
 
 package org.apache.dolphinscheduler.extract.base.protocal;
 
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerManager;
 
 import java.util.List;
 
@@ -26,6 +27,10 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ReplayingDecoder;
 
+/**
+ * Decode the {@link Transporter} from the inbound buffer. The header is deserialized in place, and the body is a
+ * retained slice of the inbound buffer, so no intermediate array is allocated.
+ */
 @Slf4j
 public class TransporterDecoder extends ReplayingDecoder<TransporterDecoder.State> {
 
@@ -33,10 +38,11 @@ public class TransporterDecoder extends ReplayingDecoder<TransporterDecoder.Stat
         super(State.MAGIC);
     }
 
+    private byte version;
+    private IRpcSerializer rpcSerializer;
     private int headerLength;
-    private byte[] header;
+    private TransporterHeader header;
     private int bodyLength;
-    private byte[] body;
 
     @Override
     protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
@@ -45,23 +51,23 @@ public class TransporterDecoder extends ReplayingDecoder<TransporterDecoder.Stat
                 checkMagic(in.readByte());
                 checkpoint(State.VERSION);
             case VERSION:
-                checkVersion(in.readByte());
+                version = in.readByte();
+                rpcSerializer = getSerializer(version);
                 checkpoint(State.HEADER_LENGTH);
             case HEADER_LENGTH:
                 headerLength = in.readInt();
                 checkpoint(State.HEADER);
             case HEADER:
-                header = new byte[headerLength];
-                in.readBytes(header);
+                header = rpcSerializer.deserialize(in.readSlice(headerLength), TransporterHeader.class);
+                if (header == null) {
+                    throw new IllegalArgumentException("illegal packet [header]");
+                }
                 checkpoint(State.BODY_LENGTH);
             case BODY_LENGTH:
                 bodyLength = in.readInt();
                 checkpoint(State.BODY);
             case BODY:
-                body = new byte[bodyLength];
-                in.readBytes(body);
-                Transporter transporter =
-                        Transporter.of(JsonSerializer.deserialize(header, TransporterHeader.class), body);
+                Transporter transporter = Transporter.of(version, header, in.readRetainedSlice(bodyLength));
                 out.add(transporter);
                 checkpoint(State.MAGIC);
                 break;
@@ -76,10 +82,9 @@ public class TransporterDecoder extends ReplayingDecoder<TransporterDecoder.Stat
         }
     }
 
-    private void checkVersion(byte version) {
-        if (version != Transporter.VERSION) {
-            throw new IllegalArgumentException("illegal protocol [version]" + version);
-        }
+    private IRpcSerializer getSerializer(byte version) {
+        return RpcSerializerManager.getSerializer(version)
+                .orElseThrow(() -> new IllegalArgumentException("illegal protocol [version]" + version));
     }
 
     enum State {
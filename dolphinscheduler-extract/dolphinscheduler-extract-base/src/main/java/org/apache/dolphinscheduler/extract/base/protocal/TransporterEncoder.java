@@ -18,6 +18,8 @@
 package org.apache.dolphinscheduler.extract.base.protocal;
 
 import org.apache.dolphinscheduler.extract.base.exception.RemotingException;
+import org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerManager;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandler.Sharable;
@@ -32,18 +34,20 @@ public class TransporterEncoder extends MessageToByteEncoder<Transporter> {
         if (transporter == null) {
             throw new RemotingException("encode msg is null");
         }
+        IRpcSerializer rpcSerializer = RpcSerializerManager.getSerializer(transporter.getVersion())
+                .orElseThrow(() -> new RemotingException("Unknown serializer version: " + transporter.getVersion()));
         out.writeByte(Transporter.MAGIC);
-        out.writeByte(Transporter.VERSION);
+        out.writeByte(transporter.getVersion());
 
         // write header
-        byte[] header = transporter.getHeader().toBytes();
+        byte[] header = rpcSerializer.serialize(transporter.getHeader());
         out.writeInt(header.length);
         out.writeBytes(header);
 
-        // write body
-        byte[] body = transporter.getBody();
-        out.writeInt(body.length);
-        out.writeBytes(body);
+        // write body, the body might be shared by multiple transporters, so don't change its reader index
+        ByteBuf body = transporter.getBody();
+        out.writeInt(body.readableBytes());
+        out.writeBytes(body, body.readerIndex(), body.readableBytes());
     }
 
 }
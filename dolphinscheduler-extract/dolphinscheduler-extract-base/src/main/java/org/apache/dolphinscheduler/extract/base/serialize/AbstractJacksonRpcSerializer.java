@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+
+/**
+ * The base class of the serializers which are based on a jackson {@link ObjectMapper}.
+ */
+@Slf4j
+public abstract class AbstractJacksonRpcSerializer implements IRpcSerializer {
+
+    private final ObjectMapper objectMapper;
+
+    protected AbstractJacksonRpcSerializer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public byte[] serialize(Object obj) {
+        if (obj == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsBytes(obj);
+        } catch (JsonProcessingException e) {
+            log.error("Serialize {} by {} serializer failed", obj.getClass(), getName(), e);
+            return null;
+        }
+    }
+
+    @Override
+    public <T> T deserialize(byte[] src, Class<T> clazz) {
+        if (src == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(src, clazz);
+        } catch (IOException e) {
+            log.error("Deserialize {} by {} serializer failed", clazz, getName(), e);
+            return null;
+        }
+    }
+
+    @Override
+    public <T> T deserialize(ByteBuf src, Class<T> clazz) {
+        try {
+            if (src.hasArray()) {
+                return objectMapper.readValue(src.array(), src.arrayOffset() + src.readerIndex(),
+                        src.readableBytes(), clazz);
+            }
+            try (InputStream inputStream = new ByteBufInputStream(src.duplicate())) {
+                return objectMapper.readValue(inputStream, clazz);
+            }
+        } catch (IOException e) {
+            log.error("Deserialize {} by {} serializer failed", clazz, getName(), e);
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.google.auto.service.AutoService;
+
+/**
+ * The compact binary serializer based on CBOR, it has the same object mapping as {@link JsonRpcSerializer}, so all the
+ * rpc arguments and results which can be transported by json can be transported by this serializer. Compared with
+ * json, the byte arrays (e.g. the serialized arguments in the rpc request) are written as raw bytes instead of base64
+ * strings, and the numbers are written in binary.
+ * <p>
+ * The old servers cannot recognize this serializer, so the client should only use it once all the servers are upgraded.
+ */
+@AutoService(IRpcSerializer.class)
+public class BinaryRpcSerializer extends AbstractJacksonRpcSerializer {
+
+    public static final String NAME = "binary";
+
+    public static final byte VERSION = 1;
+
+    public BinaryRpcSerializer() {
+        super(JsonSerializer.configure(CBORMapper.builder()).build());
+    }
+
+    @Override
+    public byte getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+}
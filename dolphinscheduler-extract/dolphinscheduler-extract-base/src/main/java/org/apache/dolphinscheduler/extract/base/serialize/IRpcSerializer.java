@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * The serializer used to serialize the {@link Transporter} and the rpc arguments/results.
+ * <p>
+ * Each serializer is identified by the version byte of the {@link Transporter} frame, the receiver use the version to
+ * find the serializer of the frame, and the server will respond with the same serializer of the request. The
+ * serializers are loaded by {@link java.util.ServiceLoader}, see {@link RpcSerializerManager}.
+ */
+public interface IRpcSerializer {
+
+    /**
+     * The version byte written in the {@link Transporter} frame, should be unique among all serializers.
+     */
+    byte getVersion();
+
+    /**
+     * The name used to choose the serializer in the client config.
+     */
+    String getName();
+
+    /**
+     * @return null if the given object is null or cannot be serialized
+     */
+    byte[] serialize(Object obj);
+
+    /**
+     * @return null if the given bytes is null or cannot be deserialized
+     */
+    <T> T deserialize(byte[] src, Class<T> clazz);
+
+    /**
+     * Deserialize the readable bytes of the given buffer, the bytes are read in place rather than copied into an
+     * intermediate array. The reader index of the buffer is not changed.
+     *
+     * @return null if the bytes cannot be deserialized
+     */
+    <T> T deserialize(ByteBuf src, Class<T> clazz);
+
+}
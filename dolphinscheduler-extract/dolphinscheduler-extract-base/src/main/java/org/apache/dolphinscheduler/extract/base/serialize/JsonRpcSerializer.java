@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
+
+import com.google.auto.service.AutoService;
+
+/**
+ * The json serializer, this is the only serializer before the serializer is pluggable, so it use the
+ * {@link Transporter#VERSION} to keep compatible with the old servers and clients.
+ */
+@AutoService(IRpcSerializer.class)
+public class JsonRpcSerializer extends AbstractJacksonRpcSerializer {
+
+    public static final String NAME = "json";
+
+    public JsonRpcSerializer() {
+        super(JsonSerializer.getObjectMapper());
+    }
+
+    @Override
+    public byte getVersion() {
+        return Transporter.VERSION;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+}
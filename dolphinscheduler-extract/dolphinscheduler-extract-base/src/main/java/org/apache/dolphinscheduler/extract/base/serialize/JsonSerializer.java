@@ -35,6 +35,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.MapperBuilder;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 
@@ -44,22 +45,33 @@ import com.fasterxml.jackson.databind.module.SimpleModule;
 @Slf4j
 public class JsonSerializer {
 
-    private static final ObjectMapper objectMapper = JsonMapper.builder()
-            .configure(FAIL_ON_UNKNOWN_PROPERTIES, false)
-            .configure(ACCEPT_EMPTY_ARRAY_AS_NULL_OBJECT, true)
-            .configure(READ_UNKNOWN_ENUM_VALUES_AS_NULL, true)
-            .configure(REQUIRE_SETTERS_FOR_GETTERS, true)
-            .addModule(new SimpleModule()
-                    .addSerializer(LocalDateTime.class, new JSONUtils.LocalDateTimeSerializer())
-                    .addDeserializer(LocalDateTime.class, new JSONUtils.LocalDateTimeDeserializer()))
-            .defaultTimeZone(TimeZone.getDefault())
-            .defaultDateFormat(new SimpleDateFormat(YYYY_MM_DD_HH_MM_SS))
-            .build();
+    private static final ObjectMapper objectMapper = configure(JsonMapper.builder()).build();
 
     private JsonSerializer() {
 
     }
 
+    /**
+     * Apply the object mapping config of the rpc, the other jackson based serializers should use the same config to
+     * keep the same object mapping as json.
+     */
+    static <M extends ObjectMapper, B extends MapperBuilder<M, B>> B configure(B mapperBuilder) {
+        return mapperBuilder
+                .configure(FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .configure(ACCEPT_EMPTY_ARRAY_AS_NULL_OBJECT, true)
+                .configure(READ_UNKNOWN_ENUM_VALUES_AS_NULL, true)
+                .configure(REQUIRE_SETTERS_FOR_GETTERS, true)
+                .addModule(new SimpleModule()
+                        .addSerializer(LocalDateTime.class, new JSONUtils.LocalDateTimeSerializer())
+                        .addDeserializer(LocalDateTime.class, new JSONUtils.LocalDateTimeDeserializer()))
+                .defaultTimeZone(TimeZone.getDefault())
+                .defaultDateFormat(new SimpleDateFormat(YYYY_MM_DD_HH_MM_SS));
+    }
+
+    static ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
     /**
      * serialize to byte
      *
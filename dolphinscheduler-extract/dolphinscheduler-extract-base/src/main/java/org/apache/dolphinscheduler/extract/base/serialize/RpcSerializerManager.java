@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceLoader;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class RpcSerializerManager {
+
+    private static final Map<Byte, IRpcSerializer> serializerVersionMap = new HashMap<>();
+
+    private static final Map<String, IRpcSerializer> serializerNameMap = new HashMap<>();
+
+    static {
+        ServiceLoader.load(IRpcSerializer.class)
+                .forEach(rpcSerializer -> {
+                    IRpcSerializer duplicateSerializer =
+                            serializerVersionMap.put(rpcSerializer.getVersion(), rpcSerializer);
+                    if (duplicateSerializer != null) {
+                        throw new IllegalStateException("Duplicate rpc serializer version " + rpcSerializer.getVersion()
+                                + ": " + duplicateSerializer.getClass().getName() + ", "
+                                + rpcSerializer.getClass().getName());
+                    }
+                    serializerNameMap.put(rpcSerializer.getName(), rpcSerializer);
+                    log.info("Initialize rpc serializer: {}, version: {}", rpcSerializer.getName(),
+                            rpcSerializer.getVersion());
+                });
+    }
+
+    private RpcSerializerManager() {
+    }
+
+    public static Optional<IRpcSerializer> getSerializer(byte version) {
+        return Optional.ofNullable(serializerVersionMap.get(version));
+    }
+
+    public static IRpcSerializer getSerializer(String name) {
+        IRpcSerializer rpcSerializer = serializerNameMap.get(name);
+        if (rpcSerializer == null) {
+            throw new IllegalArgumentException(
+                    "Unknown rpc serializer: " + name + ", supported: " + serializerNameMap.keySet());
+        }
+        return rpcSerializer;
+    }
+
+    public static IRpcSerializer getDefaultSerializer() {
+        return getSerializer(JsonRpcSerializer.NAME);
+    }
+
+}
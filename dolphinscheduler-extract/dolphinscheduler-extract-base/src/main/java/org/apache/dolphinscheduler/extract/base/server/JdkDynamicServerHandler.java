@@ -24,7 +24,8 @@ import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
 import org.apache.dolphinscheduler.extract.base.protocal.HeartBeatTransporter;
 import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerManager;
 import org.apache.dolphinscheduler.extract.base.utils.ChannelUtils;
 
 import java.util.Map;
@@ -40,6 +41,7 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.handler.timeout.IdleState;
 import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.util.ReferenceCountUtil;
 
 @Slf4j
 @ChannelHandler.Sharable
@@ -73,10 +75,27 @@ class JdkDynamicServerHandler extends ChannelInboundHandlerAdapter {
 
     private void processReceived(final Channel channel, final Transporter transporter) {
         final String methodIdentifier = transporter.getHeader().getMethodIdentifier();
-        if (HeartBeatTransporter.METHOD_IDENTIFY.equals(methodIdentifier)) {
-            if (log.isDebugEnabled()) {
-                log.debug("server receive heart beat from: host: {}", ChannelUtils.getRemoteAddress(channel));
+        final StandardRpcRequest standardRpcRequest;
+        final IRpcSerializer rpcSerializer;
+        try {
+            if (HeartBeatTransporter.METHOD_IDENTIFY.equals(methodIdentifier)) {
+                if (log.isDebugEnabled()) {
+                    log.debug("server receive heart beat from: host: {}", ChannelUtils.getRemoteAddress(channel));
+                }
+                return;
             }
+            // The decoder has checked the version, respond with the same serializer as the request.
+            rpcSerializer = RpcSerializerManager.getSerializer(transporter.getVersion())
+                    .orElseGet(RpcSerializerManager::getDefaultSerializer);
+            // Deserialize the request here, so that the inbound buffer can be released before the method invocation.
+            standardRpcRequest = rpcSerializer.deserialize(transporter.getBody(), StandardRpcRequest.class);
+        } finally {
+            ReferenceCountUtil.release(transporter.getBody());
+        }
+        if (standardRpcRequest == null) {
+            log.error("Cannot deserialize the request of : {}", transporter);
+            writeResponse(channel, transporter, StandardRpcResponse.fail("Cannot deserialize the request"),
+                    rpcSerializer);
             return;
         }
         ServerMethodInvoker methodInvoker = methodInvokerMap.get(methodIdentifier);
@@ -85,24 +104,19 @@ class JdkDynamicServerHandler extends ChannelInboundHandlerAdapter {
                 log.error("Cannot find the ServerMethodInvoker of : {}", transporter);
                 StandardRpcResponse iRpcResponse =
                         StandardRpcResponse.fail("Cannot find the ServerMethodInvoker of " + methodIdentifier);
-                TransporterHeader transporterHeader =
-                        TransporterHeader.of(transporter.getHeader().getOpaque(), methodIdentifier);
-                Transporter response = Transporter.of(transporterHeader, iRpcResponse);
-                channel.writeAndFlush(response);
+                writeResponse(channel, transporter, iRpcResponse, rpcSerializer);
                 return;
             }
             methodInvokeExecutor.execute(() -> {
                 StandardRpcResponse iRpcResponse;
                 try {
-                    StandardRpcRequest standardRpcRequest =
-                            JsonSerializer.deserialize(transporter.getBody(), StandardRpcRequest.class);
                     Object[] args;
                     if (standardRpcRequest.getArgs() == null || standardRpcRequest.getArgs().length == 0) {
                         args = null;
                     } else {
                         args = new Object[standardRpcRequest.getArgs().length];
                         for (int i = 0; i < standardRpcRequest.getArgs().length; i++) {
-                            args[i] = JsonSerializer.deserialize(standardRpcRequest.getArgs()[i],
+                            args[i] = rpcSerializer.deserialize(standardRpcRequest.getArgs()[i],
                                     standardRpcRequest.getArgsTypes()[i]);
                         }
                     }
@@ -110,28 +124,32 @@ class JdkDynamicServerHandler extends ChannelInboundHandlerAdapter {
                     if (result == null) {
                         iRpcResponse = StandardRpcResponse.success(null, null);
                     } else {
-                        iRpcResponse = StandardRpcResponse.success(JsonSerializer.serialize(result), result.getClass());
+                        iRpcResponse = StandardRpcResponse.success(rpcSerializer.serialize(result), result.getClass());
                     }
                 } catch (Throwable e) {
                     log.error("Invoke method {} failed, {}.", methodIdentifier, e.getMessage(), e);
                     iRpcResponse = StandardRpcResponse.fail(e.getMessage());
                 }
-                TransporterHeader transporterHeader =
-                        TransporterHeader.of(transporter.getHeader().getOpaque(), methodIdentifier);
-                Transporter response = Transporter.of(transporterHeader, iRpcResponse);
-                channel.writeAndFlush(response);
+                writeResponse(channel, transporter, iRpcResponse, rpcSerializer);
             });
         } catch (RejectedExecutionException e) {
             log.warn("NettyRemotingServer's thread pool is full, discard msg {} from {}", transporter,
                     ChannelUtils.getRemoteAddress(channel));
             StandardRpcResponse iRpcResponse = StandardRpcResponse.fail("NettyRemotingServer's thread pool is full");
-            TransporterHeader transporterHeader =
-                    TransporterHeader.of(transporter.getHeader().getOpaque(), methodIdentifier);
-            Transporter response = Transporter.of(transporterHeader, iRpcResponse);
-            channel.writeAndFlush(response);
+            writeResponse(channel, transporter, iRpcResponse, rpcSerializer);
         }
     }
 
+    private void writeResponse(final Channel channel,
+                               final Transporter request,
+                               final StandardRpcResponse iRpcResponse,
+                               final IRpcSerializer rpcSerializer) {
+        TransporterHeader transporterHeader =
+                TransporterHeader.of(request.getHeader().getOpaque(), request.getHeader().getMethodIdentifier());
+        Transporter response = Transporter.of(transporterHeader, iRpcResponse, rpcSerializer);
+        channel.writeAndFlush(response);
+    }
+
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
         log.error("exceptionCaught : {}", cause.getMessage(), cause);
@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.utils;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Coalesce the items by key, e.g. the target host, and flush them as one batch.
+ * <p>
+ * A batch is sealed once it reaches the max batch size, otherwise it will be sealed after at most one flush interval.
+ * The sealed batches are kept in one queue in the order they are sealed, and only flushed by one thread at a time, so
+ * the items of the same key are flushed in the order they are added. The flusher should not throw exception, the
+ * failed batch will not be flushed again.
+ */
+@Slf4j
+public class BatchCoalescer<K, E> implements AutoCloseable {
+
+    private final String name;
+
+    private final int maxBatchSize;
+
+    private final long flushIntervalMills;
+
+    private final BiConsumer<K, List<E>> flusher;
+
+    private final Map<K, List<E>> buffers = new ConcurrentHashMap<>();
+
+    private final Queue<SealedBatch<K, E>> sealedBatches = new ConcurrentLinkedQueue<>();
+
+    private final Object flushLock = new Object();
+
+    private volatile ScheduledExecutorService flushExecutor;
+
+    public BatchCoalescer(String name, int maxBatchSize, long flushIntervalMills, BiConsumer<K, List<E>> flusher) {
+        checkArgument(maxBatchSize > 0, "maxBatchSize must be positive");
+        checkArgument(flushIntervalMills > 0, "flushIntervalMills must be positive");
+        this.name = checkNotNull(name);
+        this.maxBatchSize = maxBatchSize;
+        this.flushIntervalMills = flushIntervalMills;
+        this.flusher = checkNotNull(flusher);
+    }
+
+    public synchronized void start() {
+        if (flushExecutor != null) {
+            return;
+        }
+        flushExecutor = ThreadUtils.newSingleDaemonScheduledExecutorService(name + "-flush-thread");
+        flushExecutor.scheduleWithFixedDelay(this::flushAll, flushIntervalMills, flushIntervalMills,
+                TimeUnit.MILLISECONDS);
+        log.info("BatchCoalescer: {} started, maxBatchSize: {}, flushInterval: {}ms", name, maxBatchSize,
+                flushIntervalMills);
+    }
+
+    public void add(K key, E item) {
+        checkNotNull(key, "key is null");
+        checkNotNull(item, "item is null");
+        boolean[] sealed = new boolean[1];
+        buffers.compute(key, (k, buffer) -> {
+            if (buffer == null) {
+                buffer = new ArrayList<>();
+            }
+            buffer.add(item);
+            if (buffer.size() >= maxBatchSize) {
+                // seal the batch under the lock of the key, so the batches of the same key are queued in order
+                sealedBatches.add(new SealedBatch<>(k, buffer));
+                sealed[0] = true;
+                return null;
+            }
+            return buffer;
+        });
+        if (sealed[0]) {
+            flushSealedBatchesAsync();
+        }
+    }
+
+    /**
+     * Seal all the buffered items and flush them.
+     */
+    public void flushAll() {
+        for (K key : buffers.keySet()) {
+            buffers.computeIfPresent(key, (k, buffer) -> {
+                if (!buffer.isEmpty()) {
+                    sealedBatches.add(new SealedBatch<>(k, buffer));
+                }
+                return null;
+            });
+        }
+        flushSealedBatches();
+    }
+
+    public int size() {
+        return buffers.values().stream().mapToInt(List::size).sum()
+                + sealedBatches.stream().mapToInt(sealedBatch -> sealedBatch.items.size()).sum();
+    }
+
+    private void flushSealedBatchesAsync() {
+        ScheduledExecutorService executor = flushExecutor;
+        if (executor == null) {
+            flushSealedBatches();
+            return;
+        }
+        try {
+            executor.execute(this::flushSealedBatches);
+        } catch (RejectedExecutionException ex) {
+            // the coalescer is closing, the sealed batches will be flushed by close
+            log.debug("BatchCoalescer: {} is closing, the sealed batch will be flushed by close", name);
+        }
+    }
+
+    private void flushSealedBatches() {
+        synchronized (flushLock) {
+            SealedBatch<K, E> sealedBatch;
+            while ((sealedBatch = sealedBatches.poll()) != null) {
+                flush(sealedBatch.key, sealedBatch.items);
+            }
+        }
+    }
+
+    private void flush(K key, List<E> batch) {
+        try {
+            flusher.accept(key, batch);
+        } catch (Exception ex) {
+            log.error("BatchCoalescer: {} flush batch to {} error, batch size: {}", name, key, batch.size(), ex);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (flushExecutor != null) {
+            flushExecutor.shutdownNow();
+            flushExecutor = null;
+        }
+        flushAll();
+        log.info("BatchCoalescer: {} closed", name);
+    }
+
+    @AllArgsConstructor
+    private static class SealedBatch<K, E> {
+
+        private final K key;
+
+        private final List<E> items;
+    }
+}
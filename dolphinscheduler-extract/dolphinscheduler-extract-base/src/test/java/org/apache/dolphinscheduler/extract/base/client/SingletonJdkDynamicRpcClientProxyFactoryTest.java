@@ -22,8 +22,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import org.apache.dolphinscheduler.extract.base.RpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcService;
+import org.apache.dolphinscheduler.extract.base.config.NettyClientConfig;
 import org.apache.dolphinscheduler.extract.base.config.NettyServerConfig;
 import org.apache.dolphinscheduler.extract.base.exception.MethodInvocationException;
+import org.apache.dolphinscheduler.extract.base.serialize.BinaryRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.JsonRpcSerializer;
 import org.apache.dolphinscheduler.extract.base.server.SpringServerMethodInvokerDiscovery;
 
 import org.apache.commons.lang3.RandomUtils;
@@ -71,6 +74,40 @@ public class SingletonJdkDynamicRpcClientProxyFactoryTest {
         assertEquals("ping: null is illegal", methodInvocationException.getMessage());
     }
 
+    @Test
+    public void testPingWithBinarySerializer() {
+        NettyClientConfig nettyClientConfig = NettyClientConfig.builder()
+                .serializer(BinaryRpcSerializer.NAME)
+                .build();
+        try (
+                NettyRemotingClient nettyRemotingClient =
+                        NettyRemotingClientFactory.buildNettyRemotingClient(nettyClientConfig)) {
+            IService proxyClient = new JdkDynamicRpcClientProxyFactory(nettyRemotingClient)
+                    .getProxyClient(serverAddress, IService.class);
+            assertEquals("pong", proxyClient.ping("ping"));
+
+            MethodInvocationException methodInvocationException =
+                    Assertions.assertThrows(MethodInvocationException.class, () -> proxyClient.ping(null));
+            assertEquals("ping: null is illegal", methodInvocationException.getMessage());
+        }
+    }
+
+    @Test
+    public void testSetRpcSerializer() {
+        IService proxyClient =
+                SingletonJdkDynamicRpcClientProxyFactory.getProxyClient(serverAddress, IService.class);
+        try {
+            SingletonJdkDynamicRpcClientProxyFactory.setRpcSerializer(BinaryRpcSerializer.NAME);
+            assertEquals("pong", proxyClient.ping("ping"));
+        } finally {
+            SingletonJdkDynamicRpcClientProxyFactory.setRpcSerializer(JsonRpcSerializer.NAME);
+        }
+        assertEquals("pong", proxyClient.ping("ping"));
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> SingletonJdkDynamicRpcClientProxyFactory.setRpcSerializer("unknown"));
+    }
+
     @Test
     public void testVoid() {
         IService proxyClient =
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.protocal;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
+import org.apache.dolphinscheduler.extract.base.serialize.BinaryRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.JsonRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerManager;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.DecoderException;
+
+class TransporterCodecTest {
+
+    @Test
+    void encodeAndDecode() {
+        assertEncodeAndDecode(JsonRpcSerializer.NAME);
+        assertEncodeAndDecode(BinaryRpcSerializer.NAME);
+    }
+
+    @Test
+    void encodeSharedBody() {
+        assertEncodeSharedBody(JsonRpcSerializer.NAME);
+        assertEncodeSharedBody(BinaryRpcSerializer.NAME);
+    }
+
+    private void assertEncodeAndDecode(String serializerName) {
+        IRpcSerializer rpcSerializer = RpcSerializerManager.getSerializer(serializerName);
+        Payload payload =
+                new Payload("payload", 1L, new Date(1_700_000_000_000L), Collections.singletonMap("key", "value"));
+        Transporter transporter = Transporter.of(
+                TransporterHeader.of(100L, "method"),
+                StandardRpcRequest.of(new Object[]{payload}, rpcSerializer),
+                rpcSerializer);
+
+        EmbeddedChannel encodeChannel = new EmbeddedChannel(new TransporterEncoder());
+        encodeChannel.writeOutbound(transporter);
+        ByteBuf frame = encodeChannel.readOutbound();
+        assertEquals(rpcSerializer.getVersion(), frame.getByte(1));
+
+        // copy into a pooled direct buffer, the decoder should read the frame in place
+        ByteBuf directFrame = PooledByteBufAllocator.DEFAULT.directBuffer(frame.readableBytes());
+        directFrame.writeBytes(frame);
+        frame.release();
+        EmbeddedChannel decodeChannel = new EmbeddedChannel(new TransporterDecoder());
+        decodeChannel.writeInbound(directFrame);
+        Transporter decoded = decodeChannel.readInbound();
+        try {
+            assertEquals(rpcSerializer.getVersion(), decoded.getVersion());
+            assertEquals(transporter.getHeader(), decoded.getHeader());
+            StandardRpcRequest request = rpcSerializer.deserialize(decoded.getBody(), StandardRpcRequest.class);
+            assertArrayEquals(new Class<?>[]{Payload.class}, request.getArgsTypes());
+            assertEquals(payload, rpcSerializer.deserialize(request.getArgs()[0], Payload.class));
+        } finally {
+            decoded.getBody().release();
+        }
+        assertEquals(0, directFrame.refCnt());
+    }
+
+    private void assertEncodeSharedBody(String serializerName) {
+        IRpcSerializer rpcSerializer = RpcSerializerManager.getSerializer(serializerName);
+        Transporter transporter = Transporter.of(TransporterHeader.of(1L, "method"),
+                StandardRpcRequest.of(new Object[]{"arg"}, rpcSerializer), rpcSerializer);
+        int bodyLength = transporter.getBody().readableBytes();
+
+        EmbeddedChannel encodeChannel = new EmbeddedChannel(new TransporterEncoder());
+        encodeChannel.writeOutbound(transporter, transporter);
+        assertEquals(bodyLength, transporter.getBody().readableBytes());
+        ByteBuf first = encodeChannel.readOutbound();
+        ByteBuf second = encodeChannel.readOutbound();
+        assertEquals(first, second);
+        first.release();
+        second.release();
+    }
+
+    @Test
+    void binarySmallerThanJson() {
+        byte[] json = RpcSerializerManager.getSerializer(JsonRpcSerializer.NAME)
+                .serialize(StandardRpcRequest.of(new Object[]{"arg"}));
+        byte[] binary = RpcSerializerManager.getSerializer(BinaryRpcSerializer.NAME)
+                .serialize(StandardRpcRequest.of(new Object[]{"arg"},
+                        RpcSerializerManager.getSerializer(BinaryRpcSerializer.NAME)));
+        assertTrue(binary.length < json.length);
+    }
+
+    @Test
+    void decodeUnknownVersion() {
+        ByteBuf frame = PooledByteBufAllocator.DEFAULT.buffer();
+        frame.writeByte(Transporter.MAGIC);
+        frame.writeByte(100);
+        EmbeddedChannel decodeChannel = new EmbeddedChannel(new TransporterDecoder());
+        assertThrows(DecoderException.class, () -> decodeChannel.writeInbound(frame));
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Payload {
+
+        private String name;
+
+        private Long id;
+
+        private Date createTime;
+
+        private Map<String, String> params;
+    }
+
+}
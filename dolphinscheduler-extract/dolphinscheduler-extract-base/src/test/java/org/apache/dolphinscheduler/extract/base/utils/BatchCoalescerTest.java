@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.utils;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+class BatchCoalescerTest {
+
+    private final Map<String, List<List<Integer>>> flushedBatches = new ConcurrentHashMap<>();
+
+    private void flush(String key, List<Integer> batch) {
+        flushedBatches.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(batch);
+    }
+
+    @Test
+    void add_flushWhenReachMaxBatchSize() {
+        try (
+                BatchCoalescer<String, Integer> batchCoalescer =
+                        new BatchCoalescer<>("test", 3, Duration.ofMinutes(1).toMillis(), this::flush)) {
+            batchCoalescer.add("a", 1);
+            batchCoalescer.add("b", 2);
+            batchCoalescer.add("a", 3);
+            assertThat(flushedBatches).isEmpty();
+
+            batchCoalescer.add("a", 4);
+            assertThat(flushedBatches.get("a")).containsExactly(Arrays.asList(1, 3, 4));
+            assertThat(flushedBatches.get("b")).isNull();
+            assertThat(batchCoalescer.size()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void start_flushAfterFlushInterval() {
+        try (BatchCoalescer<String, Integer> batchCoalescer = new BatchCoalescer<>("test", 100, 50, this::flush)) {
+            batchCoalescer.start();
+            batchCoalescer.add("a", 1);
+            batchCoalescer.add("a", 2);
+            batchCoalescer.add("b", 3);
+
+            await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+                assertThat(flushedBatches.get("a")).containsExactly(Arrays.asList(1, 2));
+                assertThat(flushedBatches.get("b")).containsExactly(Arrays.asList(3));
+            });
+            assertThat(batchCoalescer.size()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    void add_flushInOrderWhenAddConcurrently() throws InterruptedException {
+        int threadCount = 4;
+        int itemCountPerThread = 1000;
+        try (BatchCoalescer<String, Integer> batchCoalescer = new BatchCoalescer<>("test", 7, 1, this::flush)) {
+            batchCoalescer.start();
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                int base = i * itemCountPerThread;
+                threads.add(new Thread(() -> {
+                    for (int j = 0; j < itemCountPerThread; j++) {
+                        batchCoalescer.add("a", base + j);
+                    }
+                }));
+            }
+            threads.forEach(Thread::start);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+        // the items added by the same thread are flushed in the order they are added
+        List<Integer> flushedItems = new ArrayList<>();
+        flushedBatches.get("a").forEach(flushedItems::addAll);
+        assertThat(flushedItems).hasSize(threadCount * itemCountPerThread);
+        for (int i = 0; i < threadCount; i++) {
+            int base = i * itemCountPerThread;
+            assertThat(flushedItems.stream()
+                    .filter(item -> item >= base && item < base + itemCountPerThread)
+                    .collect(Collectors.toList()))
+                            .isInOrder();
+        }
+    }
+
+    @Test
+    void close_flushRemainingItems() {
+        BatchCoalescer<String, Integer> batchCoalescer =
+                new BatchCoalescer<>("test", 100, Duration.ofMinutes(1).toMillis(), this::flush);
+        batchCoalescer.start();
+        batchCoalescer.add("a", 1);
+        batchCoalescer.close();
+        assertThat(flushedBatches.get("a")).containsExactly(Arrays.asList(1));
+    }
+
+    @Test
+    void flushAll_ignoreFlusherException() {
+        try (
+                BatchCoalescer<String, Integer> batchCoalescer =
+                        new BatchCoalescer<>("test", 100, Duration.ofMinutes(1).toMillis(), (key, batch) -> {
+                            throw new IllegalStateException("flush failed");
+                        })) {
+            batchCoalescer.add("a", 1);
+            batchCoalescer.flushAll();
+            assertThat(batchCoalescer.size()).isEqualTo(0);
+        }
+    }
+}
@@ -35,4 +35,9 @@ public class TaskInstanceLogPageQueryRequest {
     private int skipLineNum;
     private int limit;
 
+    /**
+     * Read the last limit lines of the log, the skipLineNum is ignored.
+     */
+    private boolean tail;
+
 }
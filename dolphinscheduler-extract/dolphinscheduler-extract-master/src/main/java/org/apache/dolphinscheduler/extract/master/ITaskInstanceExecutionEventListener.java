@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.extract.master;
 
 import org.apache.dolphinscheduler.extract.base.RpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcService;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionEventBatch;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionFinishEvent;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionInfoEvent;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionRunningEvent;
@@ -36,6 +37,13 @@ public interface ITaskInstanceExecutionEventListener {
     @RpcMethod
     void onTaskInstanceExecutionInfoUpdate(TaskInstanceExecutionInfoEvent taskInstanceExecutionInfoEvent);
 
+    /**
+     * Receive the events coalesced by the worker, the events will be acked by
+     * {@code ITaskInstanceExecutionEventAckListener#handleTaskInstanceExecutionEventAckBatch}.
+     */
+    @RpcMethod
+    void onTaskInstanceExecutionEventBatch(TaskInstanceExecutionEventBatch taskInstanceExecutionEventBatch);
+
     // todo: Split this into a separate interface
     @RpcMethod
     void onWorkflowInstanceInstanceStateChange(WorkflowInstanceStateChangeEvent workflowInstanceStateChangeEvent);
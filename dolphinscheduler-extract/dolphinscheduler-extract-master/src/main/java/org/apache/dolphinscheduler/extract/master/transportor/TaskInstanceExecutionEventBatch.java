@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.master.transportor;
+
+import org.apache.dolphinscheduler.extract.master.transportor.ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The task instance execution events reported by one worker to one master in a single request.
+ * <p>
+ * The events are grouped by type since the transporter doesn't keep the concrete type of a polymorphic list, the type
+ * of each event is recorded in {@link #eventTypes} in the order they are added, so that the master can restore the
+ * original order by {@link #toEvents()}, e.g. the running event and the finish event of a task are not reversed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskInstanceExecutionEventBatch {
+
+    private List<TaskInstanceExecutionRunningEvent> runningEvents = new ArrayList<>();
+
+    private List<TaskInstanceExecutionInfoEvent> infoEvents = new ArrayList<>();
+
+    private List<TaskInstanceExecutionFinishEvent> finishEvents = new ArrayList<>();
+
+    private List<TaskInstanceExecutionEventType> eventTypes = new ArrayList<>();
+
+    public static TaskInstanceExecutionEventBatch of(List<? extends ITaskInstanceExecutionEvent> events) {
+        TaskInstanceExecutionEventBatch batch = new TaskInstanceExecutionEventBatch();
+        for (ITaskInstanceExecutionEvent event : events) {
+            switch (event.getEventType()) {
+                case RUNNING:
+                    batch.runningEvents.add((TaskInstanceExecutionRunningEvent) event);
+                    break;
+                case RUNNING_INFO:
+                    batch.infoEvents.add((TaskInstanceExecutionInfoEvent) event);
+                    break;
+                case FINISH:
+                    batch.finishEvents.add((TaskInstanceExecutionFinishEvent) event);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported event type: " + event.getEventType());
+            }
+            batch.eventTypes.add(event.getEventType());
+        }
+        return batch;
+    }
+
+    /**
+     * Restore the events in the order they are added into the batch.
+     */
+    public List<ITaskInstanceExecutionEvent> toEvents() {
+        List<ITaskInstanceExecutionEvent> events = new ArrayList<>(eventTypes.size());
+        Iterator<TaskInstanceExecutionRunningEvent> runningEventIterator = runningEvents.iterator();
+        Iterator<TaskInstanceExecutionInfoEvent> infoEventIterator = infoEvents.iterator();
+        Iterator<TaskInstanceExecutionFinishEvent> finishEventIterator = finishEvents.iterator();
+        for (TaskInstanceExecutionEventType eventType : eventTypes) {
+            switch (eventType) {
+                case RUNNING:
+                    events.add(runningEventIterator.next());
+                    break;
+                case RUNNING_INFO:
+                    events.add(infoEventIterator.next());
+                    break;
+                case FINISH:
+                    events.add(finishEventIterator.next());
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported event type: " + eventType);
+            }
+        }
+        return events;
+    }
+
+    public int size() {
+        return runningEvents.size() + infoEvents.size() + finishEvents.size();
+    }
+}
@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.extract.worker;
 
 import org.apache.dolphinscheduler.extract.base.RpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcService;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionEventAckBatch;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionFinishEventAck;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionInfoEventAck;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionRunningEventAck;
@@ -36,4 +37,7 @@ public interface ITaskInstanceExecutionEventAckListener {
     @RpcMethod
     void handleTaskInstanceExecutionInfoEventAck(TaskInstanceExecutionInfoEventAck taskInstanceExecutionInfoEventAck);
 
+    @RpcMethod
+    void handleTaskInstanceExecutionEventAckBatch(TaskInstanceExecutionEventAckBatch taskInstanceExecutionEventAckBatch);
+
 }
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.worker.transportor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The acks of the task instance execution events sent by one master to one worker in a single request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskInstanceExecutionEventAckBatch {
+
+    private List<TaskInstanceExecutionRunningEventAck> runningEventAcks = new ArrayList<>();
+
+    private List<TaskInstanceExecutionInfoEventAck> infoEventAcks = new ArrayList<>();
+
+    private List<TaskInstanceExecutionFinishEventAck> finishEventAcks = new ArrayList<>();
+
+    public static TaskInstanceExecutionEventAckBatch of(List<? extends ITaskInstanceExecutionEventAck> acks) {
+        TaskInstanceExecutionEventAckBatch batch = new TaskInstanceExecutionEventAckBatch();
+        for (ITaskInstanceExecutionEventAck ack : acks) {
+            if (ack instanceof TaskInstanceExecutionRunningEventAck) {
+                batch.runningEventAcks.add((TaskInstanceExecutionRunningEventAck) ack);
+            } else if (ack instanceof TaskInstanceExecutionInfoEventAck) {
+                batch.infoEventAcks.add((TaskInstanceExecutionInfoEventAck) ack);
+            } else if (ack instanceof TaskInstanceExecutionFinishEventAck) {
+                batch.finishEventAcks.add((TaskInstanceExecutionFinishEventAck) ack);
+            } else {
+                throw new IllegalArgumentException("Unsupported ack type: " + ack.getClass().getName());
+            }
+        }
+        return batch;
+    }
+
+    public int size() {
+        return runningEventAcks.size() + infoEventAcks.size() + finishEventAcks.size();
+    }
+}
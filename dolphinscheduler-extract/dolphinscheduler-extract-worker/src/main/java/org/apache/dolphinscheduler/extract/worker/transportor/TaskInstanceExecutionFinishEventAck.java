@@ -24,7 +24,7 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class TaskInstanceExecutionFinishEventAck {
+public class TaskInstanceExecutionFinishEventAck implements ITaskInstanceExecutionEventAck {
 
     private int taskInstanceId;
     private boolean success;
@@ -24,7 +24,7 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class TaskInstanceExecutionInfoEventAck {
+public class TaskInstanceExecutionInfoEventAck implements ITaskInstanceExecutionEventAck {
 
     private boolean success;
     private int taskInstanceId;
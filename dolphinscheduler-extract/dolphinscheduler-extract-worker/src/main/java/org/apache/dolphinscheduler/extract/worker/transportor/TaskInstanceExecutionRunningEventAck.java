@@ -24,7 +24,7 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class TaskInstanceExecutionRunningEventAck {
+public class TaskInstanceExecutionRunningEventAck implements ITaskInstanceExecutionEventAck {
 
     private int taskInstanceId;
     private boolean success;
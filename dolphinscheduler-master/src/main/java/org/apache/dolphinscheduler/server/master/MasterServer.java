@@ -21,18 +21,22 @@ import org.apache.dolphinscheduler.common.CommonConfiguration;
 import org.apache.dolphinscheduler.common.IStoppable;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.lifecycle.ServerLifeCycleManager;
+import org.apache.dolphinscheduler.common.log.LogLineIndexCleaner;
 import org.apache.dolphinscheduler.common.thread.DefaultUncaughtExceptionHandler;
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.dao.DaoConfiguration;
+import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
 import org.apache.dolphinscheduler.meter.metrics.MetricsProvider;
 import org.apache.dolphinscheduler.meter.metrics.SystemMetrics;
 import org.apache.dolphinscheduler.plugin.datasource.api.plugin.DataSourceProcessorProvider;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageConfiguration;
 import org.apache.dolphinscheduler.plugin.task.api.TaskPluginManager;
+import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 import org.apache.dolphinscheduler.registry.api.RegistryConfiguration;
 import org.apache.dolphinscheduler.scheduler.api.SchedulerApi;
 import org.apache.dolphinscheduler.server.master.cluster.ClusterManager;
 import org.apache.dolphinscheduler.server.master.cluster.ClusterStateMonitors;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.metrics.MasterServerMetrics;
 import org.apache.dolphinscheduler.server.master.registry.MasterRegistryClient;
 import org.apache.dolphinscheduler.server.master.rpc.MasterRpcServer;
@@ -95,6 +99,11 @@ public class MasterServer implements IStoppable {
     @Autowired
     private ClusterManager clusterManager;
 
+    @Autowired
+    private MasterConfig masterConfig;
+
+    private LogLineIndexCleaner logLineIndexCleaner;
+
     public static void main(String[] args) {
         MasterServerMetrics.registerUncachedException(DefaultUncaughtExceptionHandler::getUncaughtExceptionCount);
 
@@ -110,6 +119,7 @@ public class MasterServer implements IStoppable {
     public void run() throws SchedulerException {
         // init rpc server
         this.masterRPCServer.start();
+        SingletonJdkDynamicRpcClientProxyFactory.setRpcSerializer(masterConfig.getRpcSerializer());
 
         // install task plugin
         TaskPluginManager.loadTaskPlugin();
@@ -130,6 +140,9 @@ public class MasterServer implements IStoppable {
         this.schedulerApi.start();
         this.taskGroupCoordinator.start();
 
+        this.logLineIndexCleaner = new LogLineIndexCleaner(LogUtils.getTaskInstanceLogBasePath());
+        this.logLineIndexCleaner.start();
+
         MasterServerMetrics.registerMasterCpuUsageGauge(() -> {
             SystemMetrics systemMetrics = metricsProvider.getSystemMetrics();
             return systemMetrics.getSystemCpuUsagePercentage();
@@ -169,6 +182,7 @@ public class MasterServer implements IStoppable {
                 MasterSchedulerBootstrap closedSchedulerBootstrap = masterSchedulerBootstrap;
                 MasterRpcServer closedRpcServer = masterRPCServer;
                 MasterRegistryClient closedMasterRegistryClient = masterRegistryClient;
+                LogLineIndexCleaner closedLogLineIndexCleaner = logLineIndexCleaner;
                 // close spring Context and will invoke method with @PreDestroy annotation to destroy beans.
                 // like ServerNodeManager,HostManager,TaskResponseService,CuratorZookeeperClient,etc
                 SpringApplicationContext closedSpringContext = springApplicationContext) {
@@ -32,6 +32,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 public class WorkerClusters extends AbstractClusterSubscribeListener<WorkerServerMetadata>
@@ -48,6 +49,9 @@ public class WorkerClusters extends AbstractClusterSubscribeListener<WorkerServe
     private final List<IClustersChangeListener<WorkerServerMetadata>> workerClusterChangeListeners =
             new CopyOnWriteArrayList<>();
 
+    // Increased when the workers, their status or the worker groups changed
+    private final AtomicLong clusterVersion = new AtomicLong();
+
     @Override
     public List<WorkerServerMetadata> getServers() {
         return UnmodifiableList.unmodifiableList(new ArrayList<>(workerMapping.values()));
@@ -76,6 +80,14 @@ public class WorkerClusters extends AbstractClusterSubscribeListener<WorkerServe
                 || workerGroupMapping.containsKey(workerGroup);
     }
 
+    /**
+     * Get the version of the cluster, it will be changed once the normal workers of any worker group may be changed.
+     * The caller can use it to detect the changes instead of querying the workers of the group each time.
+     */
+    public long getClusterVersion() {
+        return clusterVersion.get();
+    }
+
     @Override
     public void registerListener(IClustersChangeListener<WorkerServerMetadata> listener) {
         workerClusterChangeListeners.add(listener);
@@ -86,6 +98,7 @@ public class WorkerClusters extends AbstractClusterSubscribeListener<WorkerServe
         for (WorkerGroup workerGroup : workerGroups) {
             workerGroupMapping.remove(workerGroup.getName());
         }
+        clusterVersion.incrementAndGet();
     }
 
     @Override
@@ -106,6 +119,7 @@ public class WorkerClusters extends AbstractClusterSubscribeListener<WorkerServe
                     .collect(Collectors.toList());
             workerGroupMapping.put(workerGroup.getName(), activeWorkers);
         }
+        clusterVersion.incrementAndGet();
     }
 
     @Override
@@ -123,6 +137,7 @@ public class WorkerClusters extends AbstractClusterSubscribeListener<WorkerServe
         for (IClustersChangeListener<WorkerServerMetadata> listener : workerClusterChangeListeners) {
             listener.onServerAdded(workerServer);
         }
+        clusterVersion.incrementAndGet();
     }
 
     @Override
@@ -131,13 +146,17 @@ public class WorkerClusters extends AbstractClusterSubscribeListener<WorkerServe
         for (IClustersChangeListener<WorkerServerMetadata> listener : workerClusterChangeListeners) {
             listener.onServerRemove(workerServer);
         }
+        clusterVersion.incrementAndGet();
     }
 
     @Override
     public void onServerUpdate(WorkerServerMetadata workerServer) {
-        workerMapping.put(workerServer.getAddress(), workerServer);
+        WorkerServerMetadata oldWorkerServer = workerMapping.put(workerServer.getAddress(), workerServer);
         for (IClustersChangeListener<WorkerServerMetadata> listener : workerClusterChangeListeners) {
             listener.onServerUpdate(workerServer);
         }
+        if (oldWorkerServer == null || oldWorkerServer.getServerStatus() != workerServer.getServerStatus()) {
+            clusterVersion.incrementAndGet();
+        }
     }
 }
@@ -36,6 +36,20 @@ public interface IWorkerLoadBalancer {
      */
     Optional<String> select(@NonNull String workerGroup);
 
+    /**
+     * Called after the task instance is dispatched to the worker successfully.
+     */
+    default void onTaskInstanceDispatched(@NonNull String workerAddress, int taskInstanceId) {
+        // most load balancers don't care about the dispatched task instances
+    }
+
+    /**
+     * Called after the task instance is finished, the task instance might not be dispatched by this master.
+     */
+    default void onTaskInstanceFinished(int taskInstanceId) {
+        // most load balancers don't care about the finished task instances
+    }
+
     WorkerLoadBalancerType getType();
 
 }
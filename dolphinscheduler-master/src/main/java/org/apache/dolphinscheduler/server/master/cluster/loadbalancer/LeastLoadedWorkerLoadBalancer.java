@@ -0,0 +1,287 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cluster.loadbalancer;
+
+import org.apache.dolphinscheduler.server.master.cluster.IClusters;
+import org.apache.dolphinscheduler.server.master.cluster.WorkerClusters;
+import org.apache.dolphinscheduler.server.master.cluster.WorkerServerMetadata;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import lombok.NonNull;
+
+/**
+ * This load balancer selects the less loaded one of two random workers from {@link WorkerClusters}, a.k.a. the power of
+ * two choices.
+ * <p>
+ * The load of a worker is combined by the task instances which are dispatched to the worker by this master but not
+ * finished, and the cpu/memory/thread usage in the worker's heartbeat. The in-flight task instances are updated once a
+ * task instance is dispatched, so the tasks dispatched between two heartbeats will not be sent to the same worker. The
+ * heartbeat load covers the tasks dispatched by other masters. You can config the heartbeat load calculation strategy in
+ * {@link WorkerLoadBalancerConfigurationProperties.DynamicWeightConfigProperties}.
+ * <p>
+ * The finish event of an in-flight task instance may never come, e.g. the task instance is failover to another master
+ * or the event is lost, so the in-flight task instances are expired after {@link #IN_FLIGHT_TASK_INSTANCE_TTL_MILLS},
+ * by then the worker's heartbeat load has already covered the task instance if it is still running.
+ * <p>
+ * The candidate workers of each worker group are cached and only rebuilt once the {@link WorkerClusters} changed, so
+ * the selection doesn't allocate any object.
+ */
+public class LeastLoadedWorkerLoadBalancer implements IWorkerLoadBalancer {
+
+    static final long IN_FLIGHT_TASK_INSTANCE_TTL_MILLS = TimeUnit.MINUTES.toMillis(10);
+
+    static final long IN_FLIGHT_TASK_INSTANCE_EXPIRE_INTERVAL_MILLS = TimeUnit.MINUTES.toMillis(1);
+
+    private final WorkerClusters workerClusters;
+
+    private final WorkerLoadBalancerConfigurationProperties.DynamicWeightConfigProperties dynamicWeightConfigProperties;
+
+    // WorkerAddress -> WorkerLoad
+    private final Map<String, WorkerLoad> workerLoadMap = new ConcurrentHashMap<>();
+
+    // TaskInstanceId -> InFlightTaskInstance
+    private final Map<Integer, InFlightTaskInstance> inFlightTaskInstanceMap = new ConcurrentHashMap<>();
+
+    // WorkerGroup -> Candidates
+    private final Map<String, WorkerCandidates> workerCandidatesMap = new ConcurrentHashMap<>();
+
+    private final Supplier<Random> randomSupplier;
+
+    private final LongSupplier clock;
+
+    private final AtomicLong lastExpireTime;
+
+    public LeastLoadedWorkerLoadBalancer(WorkerClusters workerClusters,
+                                         WorkerLoadBalancerConfigurationProperties.DynamicWeightConfigProperties dynamicWeightConfigProperties) {
+        this(workerClusters, dynamicWeightConfigProperties, ThreadLocalRandom::current, System::currentTimeMillis);
+    }
+
+    LeastLoadedWorkerLoadBalancer(WorkerClusters workerClusters,
+                                  WorkerLoadBalancerConfigurationProperties.DynamicWeightConfigProperties dynamicWeightConfigProperties,
+                                  Supplier<Random> randomSupplier,
+                                  LongSupplier clock) {
+        this.workerClusters = workerClusters;
+        this.dynamicWeightConfigProperties = dynamicWeightConfigProperties;
+        this.randomSupplier = randomSupplier;
+        this.clock = clock;
+        this.lastExpireTime = new AtomicLong(clock.getAsLong());
+        this.workerClusters.registerListener(new IClusters.IClustersChangeListener<WorkerServerMetadata>() {
+
+            @Override
+            public void onServerAdded(WorkerServerMetadata server) {
+                workerLoadMap.computeIfAbsent(server.getAddress(), WorkerLoad::new)
+                        .setHeartbeatLoad(calculateHeartbeatLoad(server));
+            }
+
+            @Override
+            public void onServerRemove(WorkerServerMetadata server) {
+                WorkerLoad workerLoad = workerLoadMap.remove(server.getAddress());
+                if (workerLoad != null) {
+                    // the task instances will be failover, they are no longer running on the removed worker
+                    inFlightTaskInstanceMap.values()
+                            .removeIf(inFlightTaskInstance -> inFlightTaskInstance.workerLoad == workerLoad);
+                }
+            }
+
+            @Override
+            public void onServerUpdate(WorkerServerMetadata server) {
+                onServerAdded(server);
+            }
+        });
+    }
+
+    @Override
+    public Optional<String> select(@NonNull String workerGroup) {
+        WorkerLoad[] candidates = getCandidates(workerGroup);
+        if (candidates.length == 0) {
+            return Optional.empty();
+        }
+        if (candidates.length == 1) {
+            return candidates[0].getOptionalAddress();
+        }
+        Random random = randomSupplier.get();
+        int firstIndex = random.nextInt(candidates.length);
+        int secondIndex = random.nextInt(candidates.length - 1);
+        if (secondIndex >= firstIndex) {
+            secondIndex++;
+        }
+        WorkerLoad first = candidates[firstIndex];
+        WorkerLoad second = candidates[secondIndex];
+        return (first.getLoad() <= second.getLoad() ? first : second).getOptionalAddress();
+    }
+
+    @Override
+    public void onTaskInstanceDispatched(@NonNull String workerAddress, int taskInstanceId) {
+        WorkerLoad workerLoad = workerLoadMap.get(workerAddress);
+        if (workerLoad == null) {
+            return;
+        }
+        long now = clock.getAsLong();
+        workerLoad.increaseInFlightTaskCount();
+        InFlightTaskInstance oldInFlightTaskInstance =
+                inFlightTaskInstanceMap.put(taskInstanceId, new InFlightTaskInstance(workerLoad, now));
+        if (oldInFlightTaskInstance != null) {
+            oldInFlightTaskInstance.workerLoad.decreaseInFlightTaskCount();
+        }
+        expireInFlightTaskInstances(now);
+    }
+
+    @Override
+    public void onTaskInstanceFinished(int taskInstanceId) {
+        InFlightTaskInstance inFlightTaskInstance = inFlightTaskInstanceMap.remove(taskInstanceId);
+        if (inFlightTaskInstance != null) {
+            inFlightTaskInstance.workerLoad.decreaseInFlightTaskCount();
+        }
+    }
+
+    @Override
+    public WorkerLoadBalancerType getType() {
+        return WorkerLoadBalancerType.LEAST_LOADED;
+    }
+
+    int getInFlightTaskCount(String workerAddress) {
+        WorkerLoad workerLoad = workerLoadMap.get(workerAddress);
+        return workerLoad == null ? 0 : workerLoad.getInFlightTaskCount();
+    }
+
+    /**
+     * Scan the in-flight task instances at most once per {@link #IN_FLIGHT_TASK_INSTANCE_EXPIRE_INTERVAL_MILLS}, only
+     * the thread which wins the race does the scan, so the dispatch is not blocked by each other.
+     */
+    private void expireInFlightTaskInstances(long now) {
+        long lastExpireTimeSnapshot = lastExpireTime.get();
+        if (now - lastExpireTimeSnapshot < IN_FLIGHT_TASK_INSTANCE_EXPIRE_INTERVAL_MILLS
+                || !lastExpireTime.compareAndSet(lastExpireTimeSnapshot, now)) {
+            return;
+        }
+        for (Map.Entry<Integer, InFlightTaskInstance> entry : inFlightTaskInstanceMap.entrySet()) {
+            InFlightTaskInstance inFlightTaskInstance = entry.getValue();
+            if (now - inFlightTaskInstance.dispatchTime >= IN_FLIGHT_TASK_INSTANCE_TTL_MILLS
+                    // remove by value, the task instance may be dispatched again concurrently
+                    && inFlightTaskInstanceMap.remove(entry.getKey(), inFlightTaskInstance)) {
+                inFlightTaskInstance.workerLoad.decreaseInFlightTaskCount();
+            }
+        }
+    }
+
+    private WorkerLoad[] getCandidates(String workerGroup) {
+        long clusterVersion = workerClusters.getClusterVersion();
+        WorkerCandidates workerCandidates = workerCandidatesMap.get(workerGroup);
+        if (workerCandidates != null && workerCandidates.clusterVersion == clusterVersion) {
+            return workerCandidates.workerLoads;
+        }
+        List<WorkerLoad> workerLoads = new ArrayList<>();
+        for (String workerAddress : workerClusters.getNormalWorkerServerAddressByGroup(workerGroup)) {
+            // filter non null here to avoid the two map changed between workerClusters and workerLoadMap is not atomic
+            WorkerLoad workerLoad = workerLoadMap.get(workerAddress);
+            if (workerLoad != null) {
+                workerLoads.add(workerLoad);
+            }
+        }
+        workerCandidates = new WorkerCandidates(clusterVersion, workerLoads.toArray(new WorkerLoad[0]));
+        workerCandidatesMap.put(workerGroup, workerCandidates);
+        return workerCandidates.workerLoads;
+    }
+
+    /**
+     * @return the heartbeat load of the worker, in range [0, 1] unless the task thread pool is overloaded
+     */
+    private double calculateHeartbeatLoad(WorkerServerMetadata server) {
+        return (dynamicWeightConfigProperties.getCpuUsageWeight() * server.getCpuUsage()
+                + dynamicWeightConfigProperties.getMemoryUsageWeight() * server.getMemoryUsage()
+                + dynamicWeightConfigProperties.getTaskThreadPoolUsageWeight() * server.getTaskThreadPoolUsage())
+                / 100;
+    }
+
+    private static class WorkerCandidates {
+
+        private final long clusterVersion;
+
+        private final WorkerLoad[] workerLoads;
+
+        private WorkerCandidates(long clusterVersion, WorkerLoad[] workerLoads) {
+            this.clusterVersion = clusterVersion;
+            this.workerLoads = workerLoads;
+        }
+    }
+
+    private static class InFlightTaskInstance {
+
+        private final WorkerLoad workerLoad;
+
+        private final long dispatchTime;
+
+        private InFlightTaskInstance(WorkerLoad workerLoad, long dispatchTime) {
+            this.workerLoad = workerLoad;
+            this.dispatchTime = dispatchTime;
+        }
+    }
+
+    private static class WorkerLoad {
+
+        private final Optional<String> optionalAddress;
+
+        private final AtomicInteger inFlightTaskCount = new AtomicInteger();
+
+        private volatile double heartbeatLoad;
+
+        private WorkerLoad(String address) {
+            this.optionalAddress = Optional.of(address);
+        }
+
+        private Optional<String> getOptionalAddress() {
+            return optionalAddress;
+        }
+
+        private void setHeartbeatLoad(double heartbeatLoad) {
+            this.heartbeatLoad = heartbeatLoad;
+        }
+
+        private int getInFlightTaskCount() {
+            return inFlightTaskCount.get();
+        }
+
+        private void increaseInFlightTaskCount() {
+            inFlightTaskCount.incrementAndGet();
+        }
+
+        private void decreaseInFlightTaskCount() {
+            inFlightTaskCount.decrementAndGet();
+        }
+
+        /**
+         * The in-flight task instances are weighted by the heartbeat load, so the worker with higher resource usage
+         * will be selected less when the in-flight task instances are the same.
+         */
+        private double getLoad() {
+            return (inFlightTaskCount.get() + 1) * (1 + heartbeatLoad);
+        }
+    }
+}
@@ -41,6 +41,10 @@ public class WorkerLoadBalancerConfiguration {
                 return new DynamicWeightedRoundRobinWorkerLoadBalancer(
                         clusterManager.getWorkerClusters(),
                         workerLoadBalancerConfigurationProperties.getDynamicWeightConfigProperties());
+            case LEAST_LOADED:
+                return new LeastLoadedWorkerLoadBalancer(
+                        clusterManager.getWorkerClusters(),
+                        workerLoadBalancerConfigurationProperties.getDynamicWeightConfigProperties());
             default:
                 throw new IllegalArgumentException(
                         "unSupport worker load balancer type " + workerLoadBalancerConfigurationProperties.getType());
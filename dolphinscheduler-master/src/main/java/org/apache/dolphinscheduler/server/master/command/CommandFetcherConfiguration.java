@@ -41,6 +41,11 @@ public class CommandFetcherConfiguration {
                 CommandFetchStrategy.IdSlotBasedFetchConfig idSlotBasedFetchConfig =
                         (CommandFetchStrategy.IdSlotBasedFetchConfig) commandFetchStrategy.getConfig();
                 return new IdSlotBasedCommandFetcher(idSlotBasedFetchConfig, masterSlotManager, commandDao);
+            case ID_SLOT_CURSOR_BASED:
+                CommandFetchStrategy.IdSlotBasedFetchConfig idSlotCursorBasedFetchConfig =
+                        (CommandFetchStrategy.IdSlotBasedFetchConfig) commandFetchStrategy.getConfig();
+                return new IdSlotCursorBasedCommandFetcher(idSlotCursorBasedFetchConfig, masterSlotManager,
+                        commandDao);
             default:
                 throw new IllegalArgumentException(
                         "unsupported command fetch strategy type: " + commandFetchStrategy.getType());
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.command;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Used to wake up the command loop once new commands are inserted, so the command loop doesn't need to wait for the
+ * whole fetch interval. Multiple signals before the command loop wakes up are merged into one.
+ */
+@Component
+public class CommandWakeupSignal {
+
+    private final Semaphore semaphore = new Semaphore(0);
+
+    public void signal() {
+        if (semaphore.availablePermits() == 0) {
+            semaphore.release();
+        }
+    }
+
+    /**
+     * Wait until signaled or timeout.
+     *
+     * @return true if signaled, false if timeout
+     */
+    public boolean await(long timeoutMills) throws InterruptedException {
+        boolean signaled = semaphore.tryAcquire(timeoutMills, TimeUnit.MILLISECONDS);
+        semaphore.drainPermits();
+        return signaled;
+    }
+}
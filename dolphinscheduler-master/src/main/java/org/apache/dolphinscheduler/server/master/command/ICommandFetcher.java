@@ -31,6 +31,17 @@ public interface ICommandFetcher {
      *
      * @return command list which need to be handled
      */
-    List<Command> fetchCommands();
+    default List<Command> fetchCommands() {
+        return fetchCommands(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Fetch commands, the number of fetched commands will not exceed the given max fetch size and the configured fetch
+     * size.
+     *
+     * @param maxFetchSize the max number of commands which can be handled now
+     * @return command list which need to be handled
+     */
+    List<Command> fetchCommands(int maxFetchSize);
 
 }
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.command;
+
+import org.apache.dolphinscheduler.common.enums.Priority;
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.dao.repository.CommandDao;
+import org.apache.dolphinscheduler.server.master.cluster.MasterSlotManager;
+import org.apache.dolphinscheduler.server.master.config.CommandFetchStrategy;
+import org.apache.dolphinscheduler.server.master.metrics.ProcessInstanceMetrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The command fetcher which is fetch commands by command id and slot, same as {@link IdSlotBasedCommandFetcher}.
+ * <p>
+ * The commands are fetched priority by priority, and each priority keeps a cursor of the last fetched command id, so
+ * each fetch is a range seek on the (process_instance_priority, id) index rather than a scan of the whole command
+ * table. Once a priority reaches its tail, its cursor is reset, so the commands which are skipped (e.g. committed out of
+ * id order or failed to be handled) will be fetched in the next round.
+ * <p>
+ * This fetcher is not thread safe, it should only be used by the command loop thread.
+ */
+@Slf4j
+public class IdSlotCursorBasedCommandFetcher implements ICommandFetcher {
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final CommandFetchStrategy.IdSlotBasedFetchConfig idSlotBasedFetchConfig;
+
+    private final CommandDao commandDao;
+
+    private final MasterSlotManager masterSlotManager;
+
+    /**
+     * The last fetched command id of each priority, index by {@link Priority#ordinal()}.
+     */
+    private final int[] priorityCursors = new int[PRIORITIES.length];
+
+    private int lastSlotIndex = -1;
+
+    private int lastTotalSlot = -1;
+
+    public IdSlotCursorBasedCommandFetcher(CommandFetchStrategy.IdSlotBasedFetchConfig idSlotBasedFetchConfig,
+                                           MasterSlotManager masterSlotManager,
+                                           CommandDao commandDao) {
+        this.idSlotBasedFetchConfig = idSlotBasedFetchConfig;
+        this.masterSlotManager = masterSlotManager;
+        this.commandDao = commandDao;
+    }
+
+    @Override
+    public List<Command> fetchCommands(int maxFetchSize) {
+        long scheduleStartTime = System.currentTimeMillis();
+        if (!masterSlotManager.checkSlotValid()) {
+            log.warn("MasterSlotManager check slot ({} -> {})is invalidated.",
+                    masterSlotManager.getCurrentMasterSlot(), masterSlotManager.getTotalMasterSlots());
+            return Collections.emptyList();
+        }
+        int currentSlotIndex = masterSlotManager.getCurrentMasterSlot();
+        int totalSlot = masterSlotManager.getTotalMasterSlots();
+        if (currentSlotIndex != lastSlotIndex || totalSlot != lastTotalSlot) {
+            // The slot is changed, the commands before the cursor may belong to the current master now
+            Arrays.fill(priorityCursors, 0);
+            lastSlotIndex = currentSlotIndex;
+            lastTotalSlot = totalSlot;
+        }
+
+        int fetchSize = Math.min(idSlotBasedFetchConfig.getFetchSize(), maxFetchSize);
+        List<Command> commands = new ArrayList<>(fetchSize);
+        for (Priority priority : PRIORITIES) {
+            int remaining = fetchSize - commands.size();
+            if (remaining <= 0) {
+                break;
+            }
+            List<Command> priorityCommands = commandDao.queryCommandByIdSlotAfterId(
+                    currentSlotIndex,
+                    totalSlot,
+                    idSlotBasedFetchConfig.getIdStep(),
+                    priority,
+                    priorityCursors[priority.ordinal()],
+                    remaining);
+            commands.addAll(priorityCommands);
+            if (priorityCommands.size() < remaining) {
+                priorityCursors[priority.ordinal()] = 0;
+            } else {
+                priorityCursors[priority.ordinal()] = priorityCommands.get(priorityCommands.size() - 1).getId();
+            }
+        }
+        long cost = System.currentTimeMillis() - scheduleStartTime;
+        log.info("Fetch commands: {} success, cost: {}ms, totalSlot: {}, currentSlotIndex: {}", commands.size(), cost,
+                totalSlot, currentSlotIndex);
+        ProcessInstanceMetrics.recordCommandQueryTime(cost);
+        return commands;
+    }
+
+}
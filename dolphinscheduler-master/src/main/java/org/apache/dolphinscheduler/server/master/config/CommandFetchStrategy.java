@@ -17,6 +17,8 @@
 
 package org.apache.dolphinscheduler.server.master.config;
 
+import java.time.Duration;
+
 import lombok.Data;
 
 import org.springframework.validation.Errors;
@@ -28,12 +30,22 @@ public class CommandFetchStrategy {
 
     private CommandFetchConfig config = new IdSlotBasedFetchConfig();
 
+    /**
+     * The interval to fetch commands again when there is no command. The command loop will be woken up before the
+     * interval once the api server notifies that new commands are inserted.
+     */
+    private Duration idleFetchInterval = Duration.ofSeconds(1);
+
     public void validate(Errors errors) {
+        if (idleFetchInterval.toMillis() <= 0) {
+            errors.rejectValue("idleFetchInterval", null, "idleFetchInterval must be greater than 0");
+        }
         config.validate(errors);
     }
 
     public enum CommandFetchStrategyType {
         ID_SLOT_BASED,
+        ID_SLOT_CURSOR_BASED,
         ;
     }
 
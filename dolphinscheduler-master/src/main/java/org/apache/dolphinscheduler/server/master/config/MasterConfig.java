@@ -18,6 +18,9 @@
 package org.apache.dolphinscheduler.server.master.config;
 
 import org.apache.dolphinscheduler.common.utils.NetUtils;
+import org.apache.dolphinscheduler.extract.base.config.TaskEventBatchConfig;
+import org.apache.dolphinscheduler.extract.base.serialize.JsonRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerManager;
 import org.apache.dolphinscheduler.registry.api.ConnectStrategyProperties;
 import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
 import org.apache.dolphinscheduler.server.master.cluster.loadbalancer.WorkerLoadBalancerConfigurationProperties;
@@ -86,11 +89,32 @@ public class MasterConfig implements Validator {
 
     private Duration workerGroupRefreshInterval = Duration.ofSeconds(10L);
 
+    /**
+     * The interval to reconcile the task group slots with the task group queues in db, the waiting tasks are woken up
+     * once the slots are released, this is only used to correct the slots which are not released normally.
+     */
+    private Duration taskGroupReconcileInterval = Duration.ofMinutes(1);
+
     private CommandFetchStrategy commandFetchStrategy = new CommandFetchStrategy();
 
+    private WorkflowEventBackPressure workflowEventBackPressure = new WorkflowEventBackPressure();
+
+    private WorkflowGraphCacheConfig workflowGraphCache = new WorkflowGraphCacheConfig();
+
+    /**
+     * The acks of the task events which are reported in batch by the worker will be coalesced and sent in one request.
+     */
+    private TaskEventBatchConfig taskEventAckBatch = new TaskEventBatchConfig();
+
     private WorkerLoadBalancerConfigurationProperties workerLoadBalancerConfigurationProperties =
             new WorkerLoadBalancerConfigurationProperties();
 
+    /**
+     * The serializer of the rpc requests sent by the master, only set it to binary once all the servers are upgraded,
+     * the old servers cannot recognize the binary requests.
+     */
+    private String rpcSerializer = JsonRpcSerializer.NAME;
+
     /**
      * The IP address and listening port of the master server in the format 'ip:listenPort'.
      */
@@ -137,10 +161,26 @@ public class MasterConfig implements Validator {
         if (masterConfig.getWorkerGroupRefreshInterval().getSeconds() < 10) {
             errors.rejectValue("worker-group-refresh-interval", null, "should >= 10s");
         }
+        if (masterConfig.getTaskGroupReconcileInterval().toMillis() <= 0) {
+            errors.rejectValue("task-group-reconcile-interval", null, "should be a valid duration");
+        }
+        if (masterConfig.getTaskEventAckBatch().getMaxBatchSize() <= 0) {
+            errors.rejectValue("task-event-ack-batch.max-batch-size", null, "should be a positive value");
+        }
+        if (masterConfig.getTaskEventAckBatch().getFlushInterval().toMillis() <= 0) {
+            errors.rejectValue("task-event-ack-batch.flush-interval", null, "should be a valid duration");
+        }
         if (StringUtils.isEmpty(masterConfig.getMasterAddress())) {
             masterConfig.setMasterAddress(NetUtils.getAddr(masterConfig.getListenPort()));
         }
+        try {
+            RpcSerializerManager.getSerializer(masterConfig.getRpcSerializer());
+        } catch (IllegalArgumentException ex) {
+            errors.rejectValue("rpc-serializer", null, ex.getMessage());
+        }
         commandFetchStrategy.validate(errors);
+        workflowEventBackPressure.validate(errors);
+        workflowGraphCache.validate(errors);
         workerLoadBalancerConfigurationProperties.validate(errors);
 
         masterConfig.setMasterRegistryPath(
@@ -165,9 +205,14 @@ public class MasterConfig implements Validator {
                         "\n  master-address -> " + masterAddress +
                         "\n  master-registry-path: " + masterRegistryPath +
                         "\n  worker-group-refresh-interval: " + workerGroupRefreshInterval +
+                        "\n  task-group-reconcile-interval: " + taskGroupReconcileInterval +
                         "\n  command-fetch-strategy: " + commandFetchStrategy +
+                        "\n  workflow-event-back-pressure: " + workflowEventBackPressure +
+                        "\n  workflow-graph-cache: " + workflowGraphCache +
+                        "\n  task-event-ack-batch: " + taskEventAckBatch +
                         "\n  worker-load-balancer-configuration-properties: "
                         + workerLoadBalancerConfigurationProperties +
+                        "\n  rpc-serializer: " + rpcSerializer +
                         "\n****************************Master Configuration**************************************";
         log.info(config);
     }
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.config;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+import org.springframework.validation.Errors;
+
+/**
+ * The back pressure of the workflow event pipeline, the master will stop consuming commands once the pending workflow
+ * start events or the pending workflow execute tasks reach the high watermark, or the oldest workflow event waits longer
+ * than the max event lag, and will not consume commands again until both of them drop to the low watermark.
+ */
+@Data
+public class WorkflowEventBackPressure {
+
+    private boolean enabled = true;
+
+    /**
+     * The number of pending workflow start events, or pending workflow execute tasks, which will pause consuming
+     * commands.
+     */
+    private int highWatermark = 1000;
+
+    /**
+     * The number of pending workflow start events and pending workflow execute tasks which will resume consuming
+     * commands.
+     */
+    private int lowWatermark = 500;
+
+    /**
+     * The max waiting time of a workflow event in the workflow event queue, the master will pause consuming commands
+     * once the oldest workflow event waits longer than this value.
+     */
+    private Duration maxEventLag = Duration.ofMinutes(1);
+
+    public void validate(Errors errors) {
+        if (highWatermark <= 0) {
+            errors.rejectValue("workflowEventBackPressure.highWatermark", null, "should be a positive value");
+        }
+        if (lowWatermark < 0 || lowWatermark >= highWatermark) {
+            errors.rejectValue("workflowEventBackPressure.lowWatermark", null,
+                    "should be a non-negative value smaller than highWatermark");
+        }
+        if (maxEventLag.toMillis() <= 0) {
+            errors.rejectValue("workflowEventBackPressure.maxEventLag", null, "should be a valid duration");
+        }
+    }
+
+}
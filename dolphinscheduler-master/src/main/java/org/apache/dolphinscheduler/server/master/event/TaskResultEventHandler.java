@@ -26,8 +26,10 @@ import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcCli
 import org.apache.dolphinscheduler.extract.worker.ITaskInstanceExecutionEventAckListener;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionFinishEventAck;
 import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
+import org.apache.dolphinscheduler.server.master.cluster.loadbalancer.IWorkerLoadBalancer;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEvent;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskEventAckBatchSender;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteRunnable;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteThreadPool;
 import org.apache.dolphinscheduler.server.master.utils.DataQualityResultOperator;
@@ -59,13 +61,21 @@ public class TaskResultEventHandler implements TaskEventHandler {
     @Autowired
     private TaskInstanceDao taskInstanceDao;
 
+    @Autowired
+    private TaskEventAckBatchSender taskEventAckBatchSender;
+
     @Autowired
     private MasterConfig masterConfig;
 
+    @Autowired
+    private IWorkerLoadBalancer workerLoadBalancer;
+
     @Override
     public void handleTaskEvent(TaskEvent taskEvent) throws TaskEventHandleError, TaskEventHandleException {
         int taskInstanceId = taskEvent.getTaskInstanceId();
         int processInstanceId = taskEvent.getProcessInstanceId();
+        // the task instance is no longer running on the worker even if the event will be discarded
+        workerLoadBalancer.onTaskInstanceFinished(taskInstanceId);
 
         WorkflowExecuteRunnable workflowExecuteRunnable = this.processInstanceExecCacheManager.getByProcessInstanceId(
                 processInstanceId);
@@ -120,6 +130,11 @@ public class TaskResultEventHandler implements TaskEventHandler {
     }
 
     public void sendAckToWorker(TaskEvent taskEvent) {
+        if (taskEvent.isAckInBatch()) {
+            taskEventAckBatchSender.sendAck(taskEvent.getWorkerAddress(),
+                    TaskInstanceExecutionFinishEventAck.success(taskEvent.getTaskInstanceId()));
+            return;
+        }
         try {
             ITaskInstanceExecutionEventAckListener instanceExecutionEventAckListener =
                     SingletonJdkDynamicRpcClientProxyFactory
@@ -28,6 +28,7 @@ import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecut
 import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEvent;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskEventAckBatchSender;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteRunnable;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteThreadPool;
 
@@ -48,6 +49,9 @@ public class TaskRunningEventHandler implements TaskEventHandler {
     @Autowired
     private TaskInstanceDao taskInstanceDao;
 
+    @Autowired
+    private TaskEventAckBatchSender taskEventAckBatchSender;
+
     @Autowired
     private MasterConfig masterConfig;
 
@@ -109,6 +113,11 @@ public class TaskRunningEventHandler implements TaskEventHandler {
 
     private void sendAckToWorker(TaskEvent taskEvent) {
         // If event handle success, send ack to worker to otherwise the worker will retry this event
+        if (taskEvent.isAckInBatch()) {
+            taskEventAckBatchSender.sendAck(taskEvent.getWorkerAddress(),
+                    TaskInstanceExecutionRunningEventAck.success(taskEvent.getTaskInstanceId()));
+            return;
+        }
         ITaskInstanceExecutionEventAckListener instanceExecutionEventAckListener =
                 SingletonJdkDynamicRpcClientProxyFactory
                         .getProxyClient(taskEvent.getWorkerAddress(), ITaskInstanceExecutionEventAckListener.class);
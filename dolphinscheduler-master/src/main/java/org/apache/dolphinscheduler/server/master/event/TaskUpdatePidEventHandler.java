@@ -26,6 +26,7 @@ import org.apache.dolphinscheduler.extract.worker.ITaskInstanceExecutionEventAck
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionInfoEventAck;
 import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEvent;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskEventAckBatchSender;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteRunnable;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteThreadPool;
 
@@ -46,6 +47,9 @@ public class TaskUpdatePidEventHandler implements TaskEventHandler {
     @Autowired
     private TaskInstanceDao taskInstanceDao;
 
+    @Autowired
+    private TaskEventAckBatchSender taskEventAckBatchSender;
+
     @Override
     public void handleTaskEvent(TaskEvent taskEvent) throws TaskEventHandleError {
         int taskInstanceId = taskEvent.getTaskInstanceId();
@@ -93,6 +97,11 @@ public class TaskUpdatePidEventHandler implements TaskEventHandler {
 
     private void sendAckToWorker(TaskEvent taskEvent) {
         // If event handle success, send ack to worker to otherwise the worker will retry this event
+        if (taskEvent.isAckInBatch()) {
+            taskEventAckBatchSender.sendAck(taskEvent.getWorkerAddress(),
+                    TaskInstanceExecutionInfoEventAck.success(taskEvent.getTaskInstanceId()));
+            return;
+        }
         ITaskInstanceExecutionEventAckListener instanceExecutionEventAckListener =
                 SingletonJdkDynamicRpcClientProxyFactory
                         .getProxyClient(taskEvent.getWorkerAddress(), ITaskInstanceExecutionEventAckListener.class);
@@ -17,23 +17,47 @@
 
 package org.apache.dolphinscheduler.server.master.event;
 
+import org.apache.dolphinscheduler.server.master.metrics.MasterServerMetrics;
+
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.LongSupplier;
 
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Component;
 
+/**
+ * The queue of the workflow events which are waiting for the {@code WorkflowEventLooper}.
+ * <p>
+ * The queue is not bounded by itself, since the looper puts the events which cannot be handled now back into the queue
+ * from its own thread, a bounded queue would block the only consumer. The command loop is the other producer, it is
+ * bounded by the {@code WorkflowEventBackPressureController} instead, which limits the commands fetched at once to the
+ * remaining capacity under the high watermark.
+ * <p>
+ * The waiting time of an event is measured from the time it is (re)added into the queue, so an event which keeps
+ * failing and is put back by the looper doesn't look like an ever-waiting event.
+ */
 @Component
 @Slf4j
 public class WorkflowEventQueue {
 
-    private static final LinkedBlockingQueue<WorkflowEvent> workflowEventQueue = new LinkedBlockingQueue<>();
+    private final LinkedBlockingQueue<QueuedWorkflowEvent> workflowEventQueue = new LinkedBlockingQueue<>();
+
+    private final LongSupplier clock;
+
+    public WorkflowEventQueue() {
+        this(System::currentTimeMillis);
+    }
+
+    public WorkflowEventQueue(LongSupplier clock) {
+        this.clock = clock;
+    }
 
     /**
      * Add a workflow event.
      */
     public void addEvent(WorkflowEvent workflowEvent) {
-        workflowEventQueue.add(workflowEvent);
+        workflowEventQueue.add(new QueuedWorkflowEvent(workflowEvent, clock.getAsLong()));
         log.info("Added workflow event to workflowEvent queue, event: {}", workflowEvent);
     }
 
@@ -41,10 +65,39 @@ public class WorkflowEventQueue {
      * Pool the head of the workflow event queue and wait an workflow event.
      */
     public WorkflowEvent poolEvent() throws InterruptedException {
-        return workflowEventQueue.take();
+        QueuedWorkflowEvent queuedWorkflowEvent = workflowEventQueue.take();
+        MasterServerMetrics.recordWorkflowEventQueueLag(clock.getAsLong() - queuedWorkflowEvent.enqueueTime);
+        return queuedWorkflowEvent.workflowEvent;
+    }
+
+    public int size() {
+        return workflowEventQueue.size();
+    }
+
+    /**
+     * Get the waiting time of the head of the workflow event queue since it is added, return 0 if the queue is empty.
+     */
+    public long getOldestEventLagMills() {
+        QueuedWorkflowEvent queuedWorkflowEvent = workflowEventQueue.peek();
+        if (queuedWorkflowEvent == null) {
+            return 0;
+        }
+        return Math.max(0, clock.getAsLong() - queuedWorkflowEvent.enqueueTime);
     }
 
     public void clearWorkflowEventQueue() {
         workflowEventQueue.clear();
     }
+
+    private static class QueuedWorkflowEvent {
+
+        private final WorkflowEvent workflowEvent;
+
+        private final long enqueueTime;
+
+        private QueuedWorkflowEvent(WorkflowEvent workflowEvent, long enqueueTime) {
+            this.workflowEvent = workflowEvent;
+            this.enqueueTime = enqueueTime;
+        }
+    }
 }
@@ -21,6 +21,7 @@ import org.apache.dolphinscheduler.common.enums.StateEventType;
 import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
+import org.apache.dolphinscheduler.server.master.metrics.MasterServerMetrics;
 import org.apache.dolphinscheduler.server.master.metrics.ProcessInstanceMetrics;
 import org.apache.dolphinscheduler.server.master.runner.StateWheelExecuteThread;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteRunnable;
@@ -60,7 +61,11 @@ public class WorkflowStartEventHandler implements WorkflowEventHandler {
                 workflowExecuteRunnable.getWorkflowExecuteContext().getWorkflowInstance();
         ProcessInstanceMetrics.incProcessInstanceByStateAndProcessDefinitionCode("submit",
                 processInstance.getProcessDefinitionCode().toString());
-        CompletableFuture.supplyAsync(workflowExecuteRunnable::call, workflowExecuteThreadPool)
+        long submitTime = System.currentTimeMillis();
+        CompletableFuture.supplyAsync(() -> {
+            MasterServerMetrics.recordWorkflowExecutePoolLag(System.currentTimeMillis() - submitTime);
+            return workflowExecuteRunnable.call();
+        }, workflowExecuteThreadPool)
                 .thenAccept(workflowStartStatus -> {
                     if (WorkflowStartStatus.SUCCESS == workflowStartStatus) {
                         log.info("Success submit the workflow instance");
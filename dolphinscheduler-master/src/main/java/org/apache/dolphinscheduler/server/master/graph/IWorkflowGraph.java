@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.server.master.graph;
 
+import org.apache.dolphinscheduler.common.graph.CompiledDAG;
 import org.apache.dolphinscheduler.common.graph.DAG;
 import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
 import org.apache.dolphinscheduler.service.model.TaskNode;
@@ -28,6 +29,11 @@ public interface IWorkflowGraph {
     // todo: refactor DAG class
     DAG<Long, TaskNode, TaskNodeRelation> getDag();
 
+    /**
+     * The immutable form of {@link #getDag()}, prefer it in the read only paths since it doesn't take locks.
+     */
+    CompiledDAG<Long, TaskNode> getCompiledDag();
+
     boolean isForbiddenTask(Long taskCode);
 
 }
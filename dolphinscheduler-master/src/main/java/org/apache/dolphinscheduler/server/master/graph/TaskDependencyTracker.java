@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.graph;
+
+import org.apache.dolphinscheduler.common.graph.CompiledDAG;
+import org.apache.dolphinscheduler.service.model.TaskNode;
+
+import org.apache.commons.collections4.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Track the unsettled dependencies of each task in a workflow instance, a dependency is settled once it is complete or
+ * skipped.
+ * <p>
+ * The dependencies of a task are its pre tasks in the dag, a forbidden pre task is replaced by its own dependencies.
+ * They are resolved once from the workflow graph, then settling a task only decreases the counters of the tasks depend
+ * on it, so the readiness of a task is known without walking its dependencies again.
+ */
+public class TaskDependencyTracker {
+
+    private static final int[] NO_DEPENDENCIES = new int[0];
+
+    private final CompiledDAG<Long, TaskNode> dag;
+
+    private final int[][] dependencies;
+
+    private final int[][] dependents;
+
+    private final int[] unsettledDependencyCounts;
+
+    private final boolean[] completed;
+
+    private final boolean[] skipped;
+
+    private int trackedSkippedTaskCount;
+
+    public TaskDependencyTracker(IWorkflowGraph workflowGraph) {
+        this.dag = workflowGraph.getCompiledDag();
+        int nodesCount = dag.getNodesCount();
+        this.dependencies = new int[nodesCount][];
+        for (int i = 0; i < nodesCount; i++) {
+            resolveDependencies(workflowGraph, i);
+        }
+
+        int[] dependentsCounts = new int[nodesCount];
+        for (int[] taskDependencies : dependencies) {
+            for (int dependency : taskDependencies) {
+                dependentsCounts[dependency]++;
+            }
+        }
+        this.dependents = new int[nodesCount][];
+        for (int i = 0; i < nodesCount; i++) {
+            dependents[i] = dependentsCounts[i] == 0 ? NO_DEPENDENCIES : new int[dependentsCounts[i]];
+            dependentsCounts[i] = 0;
+        }
+        for (int i = 0; i < nodesCount; i++) {
+            for (int dependency : dependencies[i]) {
+                dependents[dependency][dependentsCounts[dependency]++] = i;
+            }
+        }
+
+        this.unsettledDependencyCounts = new int[nodesCount];
+        this.completed = new boolean[nodesCount];
+        this.skipped = new boolean[nodesCount];
+        reset();
+    }
+
+    /**
+     * Get the resolved dependencies of the task
+     *
+     * @param taskCode task code
+     * @return the dependencies, empty if the task is not in the dag
+     */
+    public List<Long> getDependencies(Long taskCode) {
+        int index = dag.indexOf(taskCode);
+        if (index < 0) {
+            return Collections.emptyList();
+        }
+        List<Long> taskDependencies = new ArrayList<>(dependencies[index].length);
+        for (int dependency : dependencies[index]) {
+            taskDependencies.add(dag.nodeAt(dependency));
+        }
+        return taskDependencies;
+    }
+
+    /**
+     * Whether all the dependencies of the task are complete or skipped, a task out of the dag has no dependencies.
+     */
+    public synchronized boolean isDependenciesSettled(Long taskCode) {
+        int index = dag.indexOf(taskCode);
+        return index < 0 || unsettledDependencyCounts[index] == 0;
+    }
+
+    public synchronized void markCompleted(Long taskCode) {
+        int index = dag.indexOf(taskCode);
+        if (index < 0 || completed[index]) {
+            return;
+        }
+        boolean settled = isSettled(index);
+        completed[index] = true;
+        onSettledChanged(index, settled);
+    }
+
+    public synchronized void markUncompleted(Long taskCode) {
+        int index = dag.indexOf(taskCode);
+        if (index < 0 || !completed[index]) {
+            return;
+        }
+        boolean settled = isSettled(index);
+        completed[index] = false;
+        onSettledChanged(index, settled);
+    }
+
+    /**
+     * Track the newly skipped tasks, the skipped tasks are only added to the given map and never removed.
+     *
+     * @param skipTaskNodeMap all the skipped tasks of the workflow instance
+     */
+    public synchronized void trackSkippedTasks(Map<Long, TaskNode> skipTaskNodeMap) {
+        if (skipTaskNodeMap.size() == trackedSkippedTaskCount) {
+            return;
+        }
+        for (Long taskCode : skipTaskNodeMap.keySet()) {
+            int index = dag.indexOf(taskCode);
+            if (index < 0 || skipped[index]) {
+                continue;
+            }
+            boolean settled = isSettled(index);
+            skipped[index] = true;
+            onSettledChanged(index, settled);
+        }
+        trackedSkippedTaskCount = skipTaskNodeMap.size();
+    }
+
+    /**
+     * Mark all the tasks as uncompleted, the skipped tasks are kept.
+     */
+    public synchronized void reset() {
+        Arrays.fill(completed, false);
+        for (int i = 0; i < dependencies.length; i++) {
+            int unsettledDependencyCount = 0;
+            for (int dependency : dependencies[i]) {
+                if (!isSettled(dependency)) {
+                    unsettledDependencyCount++;
+                }
+            }
+            unsettledDependencyCounts[i] = unsettledDependencyCount;
+        }
+    }
+
+    private boolean isSettled(int index) {
+        return completed[index] || skipped[index];
+    }
+
+    private void onSettledChanged(int index, boolean settledBefore) {
+        boolean settled = isSettled(index);
+        if (settled == settledBefore) {
+            return;
+        }
+        int delta = settled ? -1 : 1;
+        for (int dependent : dependents[index]) {
+            unsettledDependencyCounts[dependent] += delta;
+        }
+    }
+
+    private int[] resolveDependencies(IWorkflowGraph workflowGraph, int index) {
+        if (dependencies[index] != null) {
+            return dependencies[index];
+        }
+        TaskNode taskNode = dag.nodeInfoAt(index);
+        if (taskNode == null || CollectionUtils.isEmpty(taskNode.getDepList())) {
+            dependencies[index] = NO_DEPENDENCIES;
+            return NO_DEPENDENCIES;
+        }
+        Set<Integer> dependencyIndexes = new LinkedHashSet<>();
+        for (Long depCode : taskNode.getDepList()) {
+            int depIndex = dag.indexOf(depCode);
+            // the dependency may be out of the dag if the workflow starts from the start nodes or recovery nodes
+            if (depIndex < 0) {
+                continue;
+            }
+            if (workflowGraph.isForbiddenTask(depCode)) {
+                for (int indirectDependency : resolveDependencies(workflowGraph, depIndex)) {
+                    dependencyIndexes.add(indirectDependency);
+                }
+            } else {
+                dependencyIndexes.add(depIndex);
+            }
+        }
+        dependencies[index] = dependencyIndexes.stream().mapToInt(Integer::intValue).toArray();
+        return dependencies[index];
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.graph;
+
+import org.apache.dolphinscheduler.common.enums.TaskDependType;
+import org.apache.dolphinscheduler.common.graph.DAG;
+import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
+import org.apache.dolphinscheduler.service.model.TaskNode;
+import org.apache.dolphinscheduler.service.process.ProcessDag;
+import org.apache.dolphinscheduler.service.utils.DagHelper;
+
+import java.util.Collections;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+
+/**
+ * The task nodes of a workflow definition version.
+ * <p>
+ * The task nodes are never changed once they are loaded, so they are shared by all the workflow instances of the
+ * version, and so is the graph to run the whole workflow, which is built at the first use.
+ */
+@Slf4j
+public class WorkflowDefinitionGraph {
+
+    @Getter
+    private final long workflowDefinitionCode;
+
+    @Getter
+    private final int workflowDefinitionVersion;
+
+    @Getter
+    private final List<TaskNode> taskNodes;
+
+    private final Supplier<IWorkflowGraph> wholeWorkflowGraph;
+
+    public WorkflowDefinitionGraph(long workflowDefinitionCode,
+                                   int workflowDefinitionVersion,
+                                   List<TaskNode> taskNodes) {
+        this.workflowDefinitionCode = workflowDefinitionCode;
+        this.workflowDefinitionVersion = workflowDefinitionVersion;
+        this.taskNodes = Collections.unmodifiableList(taskNodes);
+        this.wholeWorkflowGraph = Suppliers.memoize(() -> {
+            try {
+                return buildWorkflowGraph(Collections.emptyList(), Collections.emptyList(), TaskDependType.TASK_POST);
+            } catch (IllegalArgumentException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalArgumentException("Create WorkflowGraph failed", e);
+            }
+        });
+    }
+
+    /**
+     * Create the workflow graph to run.
+     *
+     * @param startNodeCodes the start nodes of the workflow instance, empty to run the whole workflow
+     * @param recoveryNodeCodes the nodes to recover from
+     * @param taskDependType the task depend type of the workflow instance
+     * @return the workflow graph, the graph to run the whole workflow is shared
+     */
+    public IWorkflowGraph createWorkflowGraph(List<Long> startNodeCodes,
+                                              List<Long> recoveryNodeCodes,
+                                              TaskDependType taskDependType) throws Exception {
+        if (startNodeCodes.isEmpty() && recoveryNodeCodes.isEmpty() && taskDependType == TaskDependType.TASK_POST) {
+            return wholeWorkflowGraph.get();
+        }
+        return buildWorkflowGraph(startNodeCodes, recoveryNodeCodes, taskDependType);
+    }
+
+    /**
+     * The weight of the workflow definition version in the cache.
+     */
+    public int getWeight() {
+        return taskNodes.size() + 1;
+    }
+
+    private IWorkflowGraph buildWorkflowGraph(List<Long> startNodeCodes,
+                                              List<Long> recoveryNodeCodes,
+                                              TaskDependType taskDependType) throws Exception {
+        // generate process to get DAG info
+        ProcessDag processDag =
+                DagHelper.generateFlowDag(taskNodes, startNodeCodes, recoveryNodeCodes, taskDependType);
+        if (processDag == null) {
+            log.error("ProcessDag is null");
+            throw new IllegalArgumentException("Create WorkflowGraph failed, ProcessDag is null");
+        }
+        // generate process dag
+        DAG<Long, TaskNode, TaskNodeRelation> dagGraph = DagHelper.buildDagGraph(processDag);
+        log.debug("Build dag success, dag: {}", dagGraph);
+
+        return new WorkflowGraph(taskNodes, dagGraph);
+    }
+
+    @Override
+    public String toString() {
+        return "WorkflowDefinitionGraph{"
+                + "workflowDefinitionCode="
+                + workflowDefinitionCode
+                + ", workflowDefinitionVersion="
+                + workflowDefinitionVersion
+                + ", taskNodes="
+                + taskNodes.size()
+                + '}';
+    }
+}
@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.server.master.graph;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import org.apache.dolphinscheduler.common.graph.CompiledDAG;
 import org.apache.dolphinscheduler.common.graph.DAG;
 import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
 import org.apache.dolphinscheduler.service.model.TaskNode;
@@ -33,6 +34,7 @@ public class WorkflowGraph implements IWorkflowGraph {
 
     private final Map<Long, TaskNode> taskNodeMap;
     private final DAG<Long, TaskNode, TaskNodeRelation> dag;
+    private final CompiledDAG<Long, TaskNode> compiledDag;
 
     private final Set<Long> forbiddenTaskCodes;
 
@@ -43,6 +45,7 @@ public class WorkflowGraph implements IWorkflowGraph {
 
         this.taskNodeMap = taskNodes.stream().collect(Collectors.toMap(TaskNode::getCode, Function.identity()));
         this.dag = dag;
+        this.compiledDag = CompiledDAG.of(dag);
         forbiddenTaskCodes =
                 taskNodes.stream().filter(TaskNode::isForbidden).map(TaskNode::getCode).collect(Collectors.toSet());
     }
@@ -61,6 +64,11 @@ public class WorkflowGraph implements IWorkflowGraph {
         return dag;
     }
 
+    @Override
+    public CompiledDAG<Long, TaskNode> getCompiledDag() {
+        return compiledDag;
+    }
+
     @Override
     public boolean isForbiddenTask(Long taskCode) {
         return forbiddenTaskCodes.contains(taskCode);
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.graph;
+
+import org.apache.dolphinscheduler.dao.entity.ProcessTaskRelation;
+import org.apache.dolphinscheduler.dao.entity.TaskDefinitionLog;
+import org.apache.dolphinscheduler.dao.repository.TaskDefinitionLogDao;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.config.WorkflowGraphCacheConfig;
+import org.apache.dolphinscheduler.server.master.metrics.MasterServerMetrics;
+import org.apache.dolphinscheduler.service.model.TaskNode;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * Cache the {@link WorkflowDefinitionGraph} by the workflow definition code and version.
+ * <p>
+ * The task relations and task definitions of a workflow definition version are kept in the log tables and never
+ * change, so a cached version never needs to be invalidated, a new version is cached by its own key and the old one is
+ * evicted once it is not used. The cache is bounded by the total number of the cached task nodes.
+ */
+@Slf4j
+@Component
+public class WorkflowGraphCache {
+
+    private final ProcessService processService;
+
+    private final TaskDefinitionLogDao taskDefinitionLogDao;
+
+    private final Cache<Pair<Long, Integer>, WorkflowDefinitionGraph> workflowDefinitionGraphCache;
+
+    public WorkflowGraphCache(MasterConfig masterConfig,
+                              ProcessService processService,
+                              TaskDefinitionLogDao taskDefinitionLogDao) {
+        this.processService = processService;
+        this.taskDefinitionLogDao = taskDefinitionLogDao;
+        WorkflowGraphCacheConfig workflowGraphCacheConfig = masterConfig.getWorkflowGraphCache();
+        if (workflowGraphCacheConfig.isEnabled()) {
+            this.workflowDefinitionGraphCache = CacheBuilder.newBuilder()
+                    .maximumWeight(workflowGraphCacheConfig.getMaxTaskNodes())
+                    .weigher((Pair<Long, Integer> key, WorkflowDefinitionGraph value) -> value.getWeight())
+                    .expireAfterAccess(workflowGraphCacheConfig.getExpireAfterAccess().toMillis(),
+                            TimeUnit.MILLISECONDS)
+                    .recordStats()
+                    .build();
+            MasterServerMetrics.registerWorkflowGraphCacheMetrics(workflowDefinitionGraphCache);
+        } else {
+            this.workflowDefinitionGraphCache = null;
+        }
+    }
+
+    /**
+     * Get the task nodes of the workflow definition version, load them from db if they are not cached.
+     *
+     * @param workflowDefinitionCode workflow definition code
+     * @param workflowDefinitionVersion workflow definition version
+     * @return the workflow definition graph
+     */
+    public WorkflowDefinitionGraph getWorkflowDefinitionGraph(long workflowDefinitionCode,
+                                                              int workflowDefinitionVersion) {
+        if (workflowDefinitionGraphCache == null) {
+            return loadWorkflowDefinitionGraph(workflowDefinitionCode, workflowDefinitionVersion);
+        }
+        try {
+            return workflowDefinitionGraphCache.get(Pair.of(workflowDefinitionCode, workflowDefinitionVersion),
+                    () -> loadWorkflowDefinitionGraph(workflowDefinitionCode, workflowDefinitionVersion));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Load the workflow definition graph failed, workflowDefinitionCode: "
+                    + workflowDefinitionCode + ", workflowDefinitionVersion: " + workflowDefinitionVersion, e);
+        }
+    }
+
+    private WorkflowDefinitionGraph loadWorkflowDefinitionGraph(long workflowDefinitionCode,
+                                                                int workflowDefinitionVersion) {
+        List<ProcessTaskRelation> processTaskRelations =
+                processService.findRelationByCode(workflowDefinitionCode, workflowDefinitionVersion);
+        List<TaskDefinitionLog> taskDefinitionLogs =
+                taskDefinitionLogDao.queryTaskDefineLogList(processTaskRelations);
+        List<TaskNode> taskNodeList = processService.transformTask(processTaskRelations, taskDefinitionLogs);
+        log.info("Load the workflow definition graph, workflowDefinitionCode: {}, workflowDefinitionVersion: {}, "
+                + "taskNodes: {}", workflowDefinitionCode, workflowDefinitionVersion, taskNodeList.size());
+        return new WorkflowDefinitionGraph(workflowDefinitionCode, workflowDefinitionVersion, taskNodeList);
+    }
+}
@@ -22,19 +22,10 @@ import static org.apache.dolphinscheduler.common.constants.CommandKeyConstants.C
 import static org.apache.dolphinscheduler.common.constants.Constants.COMMA;
 
 import org.apache.dolphinscheduler.common.constants.Constants;
-import org.apache.dolphinscheduler.common.graph.DAG;
-import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
-import org.apache.dolphinscheduler.dao.entity.ProcessTaskRelation;
-import org.apache.dolphinscheduler.dao.entity.TaskDefinitionLog;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
-import org.apache.dolphinscheduler.dao.repository.TaskDefinitionLogDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
-import org.apache.dolphinscheduler.service.model.TaskNode;
-import org.apache.dolphinscheduler.service.process.ProcessDag;
-import org.apache.dolphinscheduler.service.process.ProcessService;
-import org.apache.dolphinscheduler.service.utils.DagHelper;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -46,47 +37,26 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-import lombok.extern.slf4j.Slf4j;
-
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-@Slf4j
 @Component
 public class WorkflowGraphFactory {
 
     @Autowired
-    private ProcessService processService;
+    private WorkflowGraphCache workflowGraphCache;
 
     @Autowired
     private TaskInstanceDao taskInstanceDao;
 
-    @Autowired
-    private TaskDefinitionLogDao taskDefinitionLogDao;
-
     public IWorkflowGraph createWorkflowGraph(ProcessInstance workflowInstance) throws Exception {
+        WorkflowDefinitionGraph workflowDefinitionGraph = workflowGraphCache.getWorkflowDefinitionGraph(
+                workflowInstance.getProcessDefinitionCode(), workflowInstance.getProcessDefinitionVersion());
 
-        List<ProcessTaskRelation> processTaskRelations =
-                processService.findRelationByCode(workflowInstance.getProcessDefinitionCode(),
-                        workflowInstance.getProcessDefinitionVersion());
-        List<TaskDefinitionLog> taskDefinitionLogs =
-                taskDefinitionLogDao.queryTaskDefineLogList(processTaskRelations);
-        List<TaskNode> taskNodeList = processService.transformTask(processTaskRelations, taskDefinitionLogs);
-
-        // generate process to get DAG info
         List<Long> recoveryTaskNodeCodeList = getRecoveryTaskNodeCodeList(workflowInstance.getCommandParam());
         List<Long> startNodeNameList = parseStartNodeName(workflowInstance.getCommandParam());
-        ProcessDag processDag = DagHelper.generateFlowDag(taskNodeList, startNodeNameList, recoveryTaskNodeCodeList,
+        return workflowDefinitionGraph.createWorkflowGraph(startNodeNameList, recoveryTaskNodeCodeList,
                 workflowInstance.getTaskDependType());
-        if (processDag == null) {
-            log.error("ProcessDag is null");
-            throw new IllegalArgumentException("Create WorkflowGraph failed, ProcessDag is null");
-        }
-        // generate process dag
-        DAG<Long, TaskNode, TaskNodeRelation> dagGraph = DagHelper.buildDagGraph(processDag);
-        log.debug("Build dag success, dag: {}", dagGraph);
-
-        return new WorkflowGraph(taskNodeList, dagGraph);
     }
 
     /**
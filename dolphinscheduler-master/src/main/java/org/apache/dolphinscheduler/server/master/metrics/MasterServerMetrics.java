@@ -17,12 +17,18 @@
 
 package org.apache.dolphinscheduler.server.master.metrics;
 
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import lombok.experimental.UtilityClass;
+
+import com.google.common.cache.Cache;
+
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 
 @UtilityClass
 public class MasterServerMetrics {
@@ -43,6 +49,26 @@ public class MasterServerMetrics {
                     .description("Master server consume command count")
                     .register(Metrics.globalRegistry);
 
+    /**
+     * Used to measure the master server pause consuming command due to the workflow event back pressure.
+     */
+    private final Counter masterBackPressureCounter =
+            Counter.builder("ds.master.back.pressure.count")
+                    .description("Master server workflow event back pressure count")
+                    .register(Metrics.globalRegistry);
+
+    private final Timer workflowEventQueueLagTimer =
+            Timer.builder("ds.master.workflow.event.lag")
+                    .tag("stage", "event-queue")
+                    .description("The time a workflow event waits before being handled")
+                    .register(Metrics.globalRegistry);
+
+    private final Timer workflowExecutePoolLagTimer =
+            Timer.builder("ds.master.workflow.event.lag")
+                    .tag("stage", "execute-pool")
+                    .description("The time a workflow event waits before being handled")
+                    .register(Metrics.globalRegistry);
+
     private final Counter masterHeartBeatCounter =
             Counter.builder("ds.master.heartbeat.count")
                     .description("master heartbeat count")
@@ -72,6 +98,64 @@ public class MasterServerMetrics {
                 .register(Metrics.globalRegistry);
     }
 
+    public void registerStateWheelOccupancyGauge(String checkType, Supplier<Number> supplier) {
+        Gauge.builder("ds.master.state.wheel.occupancy", supplier)
+                .tag("type", checkType)
+                .description("The number of items waiting in the state wheel")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void registerStateWheelTickLagGauge(Supplier<Number> supplier) {
+        Gauge.builder("ds.master.state.wheel.tick.lag", supplier)
+                .description("The lag in milliseconds between the scheduled and the actual state wheel tick")
+                .baseUnit("milliseconds")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void registerWorkflowEventQueueSizeGauge(Supplier<Number> supplier) {
+        Gauge.builder("ds.master.workflow.event.queue.size", supplier)
+                .description("The number of workflow events waiting in the workflow event queue")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void registerWorkflowExecutePoolQueueSizeGauge(Supplier<Number> supplier) {
+        Gauge.builder("ds.master.workflow.execute.pool.queue.size", supplier)
+                .description("The number of tasks waiting in the workflow execute thread pool")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void registerWorkflowGraphCacheMetrics(Cache<?, ?> cache) {
+        FunctionCounter.builder("ds.master.workflow.graph.cache.request", cache, c -> c.stats().hitCount())
+                .tag("result", "hit")
+                .description("The number of workflow graph cache requests")
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder("ds.master.workflow.graph.cache.request", cache, c -> c.stats().missCount())
+                .tag("result", "miss")
+                .description("The number of workflow graph cache requests")
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder("ds.master.workflow.graph.cache.eviction", cache, c -> c.stats().evictionCount())
+                .description("The number of workflow definition versions evicted from the workflow graph cache")
+                .register(Metrics.globalRegistry);
+        Gauge.builder("ds.master.workflow.graph.cache.hit.rate", cache, c -> c.stats().hitRate())
+                .description("The hit rate of the workflow graph cache")
+                .register(Metrics.globalRegistry);
+        Gauge.builder("ds.master.workflow.graph.cache.size", cache, Cache::size)
+                .description("The number of workflow definition versions in the workflow graph cache")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void recordWorkflowEventQueueLag(long milliseconds) {
+        workflowEventQueueLagTimer.record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
+    public void recordWorkflowExecutePoolLag(long milliseconds) {
+        workflowExecutePoolLagTimer.record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
+    public void incMasterBackPressure() {
+        masterBackPressureCounter.increment();
+    }
+
     public void incMasterOverload() {
         masterOverloadCounter.increment();
     }
@@ -96,6 +96,11 @@ public class TaskEvent {
 
     private int processInstanceId;
 
+    /**
+     * Whether the event is reported in batch, if true the ack should be sent by {@link TaskEventAckBatchSender}
+     */
+    private boolean ackInBatch;
+
     public static TaskEvent newDispatchEvent(int processInstanceId, int taskInstanceId, String workerAddress) {
         TaskEvent event = new TaskEvent();
         event.setProcessInstanceId(processInstanceId);
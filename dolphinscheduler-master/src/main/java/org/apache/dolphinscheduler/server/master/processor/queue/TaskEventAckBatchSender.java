@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.processor.queue;
+
+import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
+import org.apache.dolphinscheduler.extract.base.config.TaskEventBatchConfig;
+import org.apache.dolphinscheduler.extract.base.utils.BatchCoalescer;
+import org.apache.dolphinscheduler.extract.worker.ITaskInstanceExecutionEventAckListener;
+import org.apache.dolphinscheduler.extract.worker.transportor.ITaskInstanceExecutionEventAck;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionEventAckBatch;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionFinishEventAck;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionInfoEventAck;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionRunningEventAck;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+
+import java.util.List;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalesce the acks of the task events which are reported in batch by the worker, and send them back to the worker in
+ * one request. The acks are sent one by one if {@link MasterConfig#getTaskEventAckBatch()} is disabled.
+ */
+@Slf4j
+@Component
+public class TaskEventAckBatchSender {
+
+    @Autowired
+    private MasterConfig masterConfig;
+
+    private BatchCoalescer<String, ITaskInstanceExecutionEventAck> batchCoalescer;
+
+    @PostConstruct
+    public void start() {
+        TaskEventBatchConfig taskEventAckBatchConfig = masterConfig.getTaskEventAckBatch();
+        if (!taskEventAckBatchConfig.isEnabled()) {
+            log.info("The task event ack batch is disabled, the task event acks will be sent one by one");
+            return;
+        }
+        batchCoalescer = new BatchCoalescer<>(
+                "TaskEventAckBatchSender",
+                taskEventAckBatchConfig.getMaxBatchSize(),
+                taskEventAckBatchConfig.getFlushInterval().toMillis(),
+                this::sendBatch);
+        batchCoalescer.start();
+    }
+
+    public void sendAck(@NonNull String workerAddress, @NonNull ITaskInstanceExecutionEventAck ack) {
+        if (batchCoalescer == null) {
+            sendSingleAck(workerAddress, ack);
+            return;
+        }
+        batchCoalescer.add(workerAddress, ack);
+    }
+
+    private void sendSingleAck(String workerAddress, ITaskInstanceExecutionEventAck ack) {
+        ITaskInstanceExecutionEventAckListener instanceExecutionEventAckListener =
+                SingletonJdkDynamicRpcClientProxyFactory
+                        .getProxyClient(workerAddress, ITaskInstanceExecutionEventAckListener.class);
+        if (ack instanceof TaskInstanceExecutionRunningEventAck) {
+            instanceExecutionEventAckListener
+                    .handleTaskInstanceExecutionRunningEventAck((TaskInstanceExecutionRunningEventAck) ack);
+        } else if (ack instanceof TaskInstanceExecutionInfoEventAck) {
+            instanceExecutionEventAckListener
+                    .handleTaskInstanceExecutionInfoEventAck((TaskInstanceExecutionInfoEventAck) ack);
+        } else if (ack instanceof TaskInstanceExecutionFinishEventAck) {
+            instanceExecutionEventAckListener
+                    .handleTaskInstanceExecutionFinishEventAck((TaskInstanceExecutionFinishEventAck) ack);
+        } else {
+            log.warn("Send ack to worker error, get an unknown ack: {}", ack);
+        }
+    }
+
+    private void sendBatch(String workerAddress, List<ITaskInstanceExecutionEventAck> acks) {
+        // If the batch failed to send, the worker will retry the events and the master will ack them again
+        ITaskInstanceExecutionEventAckListener instanceExecutionEventAckListener =
+                SingletonJdkDynamicRpcClientProxyFactory
+                        .getProxyClient(workerAddress, ITaskInstanceExecutionEventAckListener.class);
+        instanceExecutionEventAckListener
+                .handleTaskInstanceExecutionEventAckBatch(TaskInstanceExecutionEventAckBatch.of(acks));
+    }
+
+    @PreDestroy
+    public void close() {
+        if (batchCoalescer != null) {
+            batchCoalescer.close();
+        }
+    }
+}
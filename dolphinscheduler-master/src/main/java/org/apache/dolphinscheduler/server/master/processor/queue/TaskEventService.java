@@ -97,6 +97,15 @@ public class TaskEventService {
         eventQueue.add(taskEvent);
     }
 
+    /**
+     * add events in bulk, the events will be dispatched in the given order
+     *
+     * @param taskEvents taskEvents
+     */
+    public void addEvents(List<TaskEvent> taskEvents) {
+        eventQueue.addAll(taskEvents);
+    }
+
     /**
      * Dispatch event to target task runnable.
      */
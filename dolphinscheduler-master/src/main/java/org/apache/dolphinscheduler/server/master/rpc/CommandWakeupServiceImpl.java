@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.rpc;
+
+import org.apache.dolphinscheduler.extract.master.ICommandWakeupService;
+import org.apache.dolphinscheduler.extract.master.transportor.CommandWakeupRequest;
+import org.apache.dolphinscheduler.server.master.cluster.MasterSlotManager;
+import org.apache.dolphinscheduler.server.master.command.CommandWakeupSignal;
+import org.apache.dolphinscheduler.server.master.config.CommandFetchStrategy;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+
+import org.apache.commons.collections4.CollectionUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+public class CommandWakeupServiceImpl implements ICommandWakeupService {
+
+    @Autowired
+    private CommandWakeupSignal commandWakeupSignal;
+
+    @Autowired
+    private MasterSlotManager masterSlotManager;
+
+    @Autowired
+    private MasterConfig masterConfig;
+
+    @Override
+    public void wakeupCommandFetcher(CommandWakeupRequest commandWakeupRequest) {
+        if (CollectionUtils.isEmpty(commandWakeupRequest.getCommandIds())) {
+            commandWakeupSignal.signal();
+            return;
+        }
+        if (!masterSlotManager.checkSlotValid()) {
+            return;
+        }
+        int currentSlotIndex = masterSlotManager.getCurrentMasterSlot();
+        int totalSlot = masterSlotManager.getTotalMasterSlots();
+        int idStep = getIdStep();
+        for (Integer commandId : commandWakeupRequest.getCommandIds()) {
+            if (commandId != null && (commandId / idStep) % totalSlot == currentSlotIndex) {
+                log.debug("Receive command: {} belongs to the current slot, will wake up the command fetcher",
+                        commandId);
+                commandWakeupSignal.signal();
+                return;
+            }
+        }
+    }
+
+    private int getIdStep() {
+        CommandFetchStrategy.CommandFetchConfig commandFetchConfig =
+                masterConfig.getCommandFetchStrategy().getConfig();
+        if (commandFetchConfig instanceof CommandFetchStrategy.IdSlotBasedFetchConfig) {
+            return ((CommandFetchStrategy.IdSlotBasedFetchConfig) commandFetchConfig).getIdStep();
+        }
+        return 1;
+    }
+}
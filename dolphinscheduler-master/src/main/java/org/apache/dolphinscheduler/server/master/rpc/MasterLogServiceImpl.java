@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.server.master.rpc;
 
+import org.apache.dolphinscheduler.common.log.LogLineIndex;
 import org.apache.dolphinscheduler.common.utils.FileUtils;
 import org.apache.dolphinscheduler.common.utils.LogUtils;
 import org.apache.dolphinscheduler.extract.common.ILogService;
@@ -48,13 +49,18 @@ public class MasterLogServiceImpl implements ILogService {
 
     @Override
     public TaskInstanceLogPageQueryResponse pageQueryTaskInstanceLog(TaskInstanceLogPageQueryRequest taskInstanceLogPageQueryRequest) {
-
-        List<String> lines = LogUtils.readPartFileContent(
-                taskInstanceLogPageQueryRequest.getTaskInstanceLogAbsolutePath(),
-                taskInstanceLogPageQueryRequest.getSkipLineNum(),
-                taskInstanceLogPageQueryRequest.getLimit());
-
-        String logContent = LogUtils.rollViewLogLines(lines);
+        String logPath = taskInstanceLogPageQueryRequest.getTaskInstanceLogAbsolutePath();
+        String logContent;
+        if (taskInstanceLogPageQueryRequest.isTail()) {
+            List<String> lines = LogUtils.readLastLines(logPath, taskInstanceLogPageQueryRequest.getLimit());
+            logContent = LogUtils.rollViewLogTailLines(lines);
+        } else {
+            List<String> lines = LogUtils.readPartFileContent(
+                    logPath,
+                    taskInstanceLogPageQueryRequest.getSkipLineNum(),
+                    taskInstanceLogPageQueryRequest.getLimit());
+            logContent = LogUtils.rollViewLogLines(lines);
+        }
         return new TaskInstanceLogPageQueryResponse(logContent);
     }
 
@@ -66,5 +72,6 @@ public class MasterLogServiceImpl implements ILogService {
     @Override
     public void removeTaskInstanceLog(String taskInstanceLogAbsolutePath) {
         FileUtils.deleteFile(taskInstanceLogAbsolutePath);
+        LogLineIndex.remove(taskInstanceLogAbsolutePath);
     }
 }
@@ -18,6 +18,7 @@
 package org.apache.dolphinscheduler.server.master.rpc;
 
 import org.apache.dolphinscheduler.extract.master.ITaskInstanceExecutionEventListener;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionEventBatch;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionFinishEvent;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionInfoEvent;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionRunningEvent;
@@ -56,6 +57,12 @@ public class TaskInstanceListenerImpl implements ITaskInstanceExecutionEventList
                 .handleTaskInstanceExecutionEvent(taskInstanceExecutionInfoEvent);
     }
 
+    @Override
+    public void onTaskInstanceExecutionEventBatch(TaskInstanceExecutionEventBatch taskInstanceExecutionEventBatch) {
+        taskInstanceExecutionEventListenerManager.getTaskInstanceExecutionEventBatchListenFunction()
+                .handleTaskInstanceExecutionEvent(taskInstanceExecutionEventBatch);
+    }
+
     @Override
     public void onWorkflowInstanceInstanceStateChange(WorkflowInstanceStateChangeEvent taskInstanceStateChangeEvent) {
         taskInstanceExecutionEventListenerManager.getTaskInstanceStateEventListenFunction()
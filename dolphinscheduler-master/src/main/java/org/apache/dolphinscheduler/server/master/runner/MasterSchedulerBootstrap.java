@@ -26,6 +26,7 @@ import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.meter.metrics.MetricsProvider;
 import org.apache.dolphinscheduler.meter.metrics.SystemMetrics;
 import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
+import org.apache.dolphinscheduler.server.master.command.CommandWakeupSignal;
 import org.apache.dolphinscheduler.server.master.command.ICommandFetcher;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.config.MasterServerLoadProtection;
@@ -56,6 +57,9 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
     @Autowired
     private ICommandFetcher commandFetcher;
 
+    @Autowired
+    private CommandWakeupSignal commandWakeupSignal;
+
     @Autowired
     private CommandService commandService;
 
@@ -80,6 +84,9 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
     @Autowired
     private MetricsProvider metricsProvider;
 
+    @Autowired
+    private WorkflowEventBackPressureController workflowEventBackPressureController;
+
     protected MasterSchedulerBootstrap() {
         super("MasterCommandLoopThread");
     }
@@ -96,6 +103,8 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
     @Override
     public void close() throws Exception {
         log.info("MasterSchedulerBootstrap stopping...");
+        // wake up the command loop if it is waiting, so it can find the server is stopped
+        commandWakeupSignal.signal();
         try (
                 final WorkflowEventLooper workflowEventLooper1 = workflowEventLooper;
                 final MasterTaskExecutorBootstrap masterTaskExecutorBootstrap1 = masterTaskExecutorBootstrap) {
@@ -107,6 +116,7 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
     @Override
     public void run() {
         MasterServerLoadProtection serverLoadProtection = masterConfig.getServerLoadProtection();
+        long idleFetchIntervalMills = masterConfig.getCommandFetchStrategy().getIdleFetchInterval().toMillis();
         while (!ServerLifeCycleManager.isStopped()) {
             try {
                 if (!ServerLifeCycleManager.isRunning()) {
@@ -114,7 +124,6 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
                     log.warn("The current server is not at running status, cannot consumes commands.");
                     Thread.sleep(Constants.SLEEP_TIME_MILLIS);
                 }
-                // todo: if the workflow event queue is much, we need to handle the back pressure
                 SystemMetrics systemMetrics = metricsProvider.getSystemMetrics();
                 if (serverLoadProtection.isOverload(systemMetrics)) {
                     log.warn("The current server is overload, cannot consumes commands.");
@@ -122,10 +131,17 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
                     Thread.sleep(Constants.SLEEP_TIME_MILLIS);
                     continue;
                 }
-                List<Command> commands = commandFetcher.fetchCommands();
+                int maxFetchSize = workflowEventBackPressureController.getMaxFetchSize();
+                if (maxFetchSize <= 0) {
+                    // the workflow event pipeline is busy, wait until the pending workflow events are drained, the wait
+                    // is woken up once the server is closing
+                    commandWakeupSignal.await(Constants.SLEEP_TIME_MILLIS);
+                    continue;
+                }
+                List<Command> commands = commandFetcher.fetchCommands(maxFetchSize);
                 if (CollectionUtils.isEmpty(commands)) {
-                    // indicate that no command ,sleep for 1s
-                    Thread.sleep(Constants.SLEEP_TIME_MILLIS);
+                    // indicate that no command, wait until new commands are notified or the idle fetch interval
+                    commandWakeupSignal.await(idleFetchIntervalMills);
                     continue;
                 }
 
@@ -22,7 +22,6 @@ import org.apache.dolphinscheduler.common.enums.TimeoutFlag;
 import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
 import org.apache.dolphinscheduler.common.lifecycle.ServerLifeCycleManager;
 import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
-import org.apache.dolphinscheduler.common.utils.DateUtils;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
@@ -32,10 +31,16 @@ import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheM
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.event.TaskStateEvent;
 import org.apache.dolphinscheduler.server.master.event.WorkflowStateEvent;
+import org.apache.dolphinscheduler.server.master.metrics.MasterServerMetrics;
+import org.apache.dolphinscheduler.server.master.runner.queue.HashedTimingWheel;
 import org.apache.dolphinscheduler.server.master.runner.task.TaskInstanceKey;
 
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PostConstruct;
@@ -53,25 +58,43 @@ import org.springframework.stereotype.Component;
  * 2. dependent task state check
  * 3. retry task check
  * 4. timeout process check
+ * <p>
+ * The check items are kept in {@link HashedTimingWheel}s keyed by their deadline, the deadline is calculated when the
+ * item is added, so each tick only need to handle the items which are expired.
+ * <p>
+ * The expired items are removed from the wheel before they are checked, so an item which cannot be checked right now,
+ * e.g. the check failed or the task instance is not loaded yet, is added back and checked again at the next tick.
  */
 @Component
 @Slf4j
 public class StateWheelExecuteThread extends BaseDaemonThread {
 
+    private static final int TICKS_PER_WHEEL = 512;
+
     /**
-     * ProcessInstance timeout check list, element is the processInstanceId.
+     * ProcessInstance timeout check wheel, element is the processInstanceId.
      */
-    private final ConcurrentLinkedQueue<Integer> processInstanceTimeoutCheckList = new ConcurrentLinkedQueue<>();
+    private HashedTimingWheel<Integer> processInstanceTimeoutCheckWheel;
 
     /**
-     * task time out check list
+     * task time out check wheel
      */
-    private final ConcurrentLinkedQueue<TaskInstanceKey> taskInstanceTimeoutCheckList = new ConcurrentLinkedQueue<>();
+    private HashedTimingWheel<TaskInstanceKey> taskInstanceTimeoutCheckWheel;
 
     /**
-     * task retry check list
+     * task retry check wheel
      */
-    private final ConcurrentLinkedQueue<TaskInstanceKey> taskInstanceRetryCheckList = new ConcurrentLinkedQueue<>();
+    private HashedTimingWheel<TaskInstanceKey> taskInstanceRetryCheckWheel;
+
+    /**
+     * The retry check keys group by processInstanceId, used to stop the waiting retry tasks once the workflow is ready
+     * to stop.
+     */
+    private final Map<Integer, Set<TaskInstanceKey>> taskInstanceRetryCheckKeys = new ConcurrentHashMap<>();
+
+    private volatile long tickLagMills;
+
+    private long recheckBackoffMills;
 
     @Autowired
     private MasterConfig masterConfig;
@@ -89,22 +112,37 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
 
     @PostConstruct
     public void startWheelThread() {
+        final long checkInterval = masterConfig.getStateWheelInterval().toMillis();
+        recheckBackoffMills = checkInterval;
+        processInstanceTimeoutCheckWheel = new HashedTimingWheel<>(checkInterval, TICKS_PER_WHEEL);
+        taskInstanceTimeoutCheckWheel = new HashedTimingWheel<>(checkInterval, TICKS_PER_WHEEL);
+        taskInstanceRetryCheckWheel = new HashedTimingWheel<>(checkInterval, TICKS_PER_WHEEL);
+        MasterServerMetrics.registerStateWheelOccupancyGauge("workflow_timeout",
+                processInstanceTimeoutCheckWheel::size);
+        MasterServerMetrics.registerStateWheelOccupancyGauge("task_timeout", taskInstanceTimeoutCheckWheel::size);
+        MasterServerMetrics.registerStateWheelOccupancyGauge("task_retry", taskInstanceRetryCheckWheel::size);
+        MasterServerMetrics.registerStateWheelTickLagGauge(() -> tickLagMills);
         super.start();
     }
 
     @Override
     public void run() {
         final long checkInterval = masterConfig.getStateWheelInterval().toMillis();
+        long nextTickTime = System.currentTimeMillis();
         while (!ServerLifeCycleManager.isStopped()) {
+            long now = System.currentTimeMillis();
+            tickLagMills = Math.max(0, now - nextTickTime);
             try {
-                checkTask4Timeout();
-                checkTask4Retry();
-                checkProcess4Timeout();
+                checkTask4Timeout(now);
+                checkTask4Retry(now);
+                checkProcess4Timeout(now);
             } catch (Exception e) {
                 log.error("state wheel thread check error:", e);
             }
+            // Don't try to catch up the missed ticks, the wheel will expire all the overdue items in one advance
+            nextTickTime = Math.max(nextTickTime + checkInterval, now);
             try {
-                Thread.sleep(checkInterval);
+                Thread.sleep(Math.max(0, nextTickTime - System.currentTimeMillis()));
             } catch (InterruptedException e) {
                 log.error("state wheel thread sleep error, will close the loop", e);
                 Thread.currentThread().interrupt();
@@ -114,22 +152,22 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
     }
 
     public void addProcess4TimeoutCheck(ProcessInstance processInstance) {
-        processInstanceTimeoutCheckList.add(processInstance.getId());
-        log.info("Success add workflow instance {} into timeout check list", processInstance.getId());
+        long deadline = getDeadline(processInstance.getStartTime(), processInstance.getTimeout());
+        if (processInstanceTimeoutCheckWheel.add(processInstance.getId(), deadline)) {
+            log.info("Success add workflow instance {} into timeout check list", processInstance.getId());
+        }
     }
 
     public void removeProcess4TimeoutCheck(int processInstanceId) {
-        boolean removeFlag = processInstanceTimeoutCheckList.remove(processInstanceId);
+        boolean removeFlag = processInstanceTimeoutCheckWheel.cancel(processInstanceId);
         if (removeFlag) {
             log.info("Success remove workflow instance {} from timeout check list", processInstanceId);
         }
     }
 
-    private void checkProcess4Timeout() {
-        if (processInstanceTimeoutCheckList.isEmpty()) {
-            return;
-        }
-        for (Integer processInstanceId : processInstanceTimeoutCheckList) {
+    private void checkProcess4Timeout(long now) {
+        List<Integer> expiredProcessInstanceIds = processInstanceTimeoutCheckWheel.advance(now);
+        for (Integer processInstanceId : expiredProcessInstanceIds) {
             try {
                 LogUtils.setWorkflowInstanceIdMDC(processInstanceId);
                 WorkflowExecuteRunnable workflowExecuteThread = processInstanceExecCacheManager.getByProcessInstanceId(
@@ -137,25 +175,27 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
                 if (workflowExecuteThread == null) {
                     log.warn(
                             "Check workflow timeout failed, can not find workflowExecuteThread from cache manager, will remove this workflowInstance from check list");
-                    processInstanceTimeoutCheckList.remove(processInstanceId);
                     continue;
                 }
                 ProcessInstance processInstance =
                         workflowExecuteThread.getWorkflowExecuteContext().getWorkflowInstance();
                 if (processInstance == null) {
-                    log.warn("Check workflow timeout failed, the workflowInstance is null");
+                    log.warn("Check workflow timeout failed, the workflowInstance is not loaded, will check it later");
+                    processInstanceTimeoutCheckWheel.add(processInstanceId, now + recheckBackoffMills);
                     continue;
                 }
-                long timeRemain = DateUtils.getRemainTime(processInstance.getStartTime(),
-                        TimeUnit.MINUTES.toSeconds(processInstance.getTimeout()));
-                if (timeRemain < 0) {
-                    log.info("Workflow instance {} timeout, adding timeout event", processInstance.getId());
-                    addProcessTimeoutEvent(processInstance);
-                    processInstanceTimeoutCheckList.remove(processInstance.getId());
-                    log.info("Workflow instance timeout, added timeout event");
+                long deadline = getDeadline(processInstance.getStartTime(), processInstance.getTimeout());
+                if (deadline > now) {
+                    // the start time has been changed after the workflow instance is added, e.g. recovered
+                    processInstanceTimeoutCheckWheel.add(processInstanceId, deadline);
+                    continue;
                 }
+                log.info("Workflow instance {} timeout, adding timeout event", processInstance.getId());
+                addProcessTimeoutEvent(processInstance);
+                log.info("Workflow instance timeout, added timeout event");
             } catch (Exception ex) {
-                log.error("Check workflow instance timeout error");
+                log.error("Check workflow instance timeout error, will check it later", ex);
+                processInstanceTimeoutCheckWheel.add(processInstanceId, now + recheckBackoffMills);
             } finally {
                 LogUtils.removeWorkflowInstanceIdMDC();
             }
@@ -165,7 +205,7 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
     public void addTask4TimeoutCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
         log.info("Adding task instance into timeout check list");
-        if (taskInstanceTimeoutCheckList.contains(taskInstanceKey)) {
+        if (taskInstanceTimeoutCheckWheel.contains(taskInstanceKey)) {
             log.warn("Task instance is already in timeout check list");
             return;
         }
@@ -175,21 +215,23 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
             return;
         }
         if (TimeoutFlag.OPEN == taskDefinition.getTimeoutFlag()) {
-            taskInstanceTimeoutCheckList.add(taskInstanceKey);
+            // If the task instance is not started, the timeout will be recalculated by the start time once expired
+            long deadline = getDeadline(taskInstance.getStartTime(), taskDefinition.getTimeout());
+            taskInstanceTimeoutCheckWheel.add(taskInstanceKey, deadline);
             log.info("Timeout flag is open, added task instance into timeout check list");
         }
     }
 
     public void removeTask4TimeoutCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
-        taskInstanceTimeoutCheckList.remove(taskInstanceKey);
+        taskInstanceTimeoutCheckWheel.cancel(taskInstanceKey);
         log.info("remove task instance from timeout check list");
     }
 
     public void addTask4RetryCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
         log.info("Adding task instance into retry check list");
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
-        if (taskInstanceRetryCheckList.contains(taskInstanceKey)) {
+        if (taskInstanceRetryCheckWheel.contains(taskInstanceKey)) {
             log.warn("Task instance is already in retry check list");
             return;
         }
@@ -198,28 +240,49 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
             log.error("Add task instance into retry check list error, taskDefinition is null");
             return;
         }
-        taskInstanceRetryCheckList.add(taskInstanceKey);
+        addTask4RetryCheck(taskInstanceKey, getRetryDeadline(taskInstance));
         log.info("[WorkflowInstance-{}][TaskInstanceKey-{}:{}] Added task instance into retry check list",
                 processInstance.getId(), taskInstance.getTaskCode(), taskInstance.getTaskDefinitionVersion());
     }
 
     public void removeTask4RetryCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
-        taskInstanceRetryCheckList.remove(taskInstanceKey);
+        removeTask4RetryCheck(taskInstanceKey);
         log.info("remove task instance from retry check list");
     }
 
     public void clearAllTasks() {
-        processInstanceTimeoutCheckList.clear();
-        taskInstanceTimeoutCheckList.clear();
-        taskInstanceRetryCheckList.clear();
+        processInstanceTimeoutCheckWheel.clear();
+        taskInstanceTimeoutCheckWheel.clear();
+        taskInstanceRetryCheckWheel.clear();
+        taskInstanceRetryCheckKeys.clear();
     }
 
-    private void checkTask4Timeout() {
-        if (taskInstanceTimeoutCheckList.isEmpty()) {
-            return;
+    private void addTask4RetryCheck(TaskInstanceKey taskInstanceKey, long deadline) {
+        taskInstanceRetryCheckKeys
+                .computeIfAbsent(taskInstanceKey.getProcessInstanceId(), k -> ConcurrentHashMap.newKeySet())
+                .add(taskInstanceKey);
+        taskInstanceRetryCheckWheel.add(taskInstanceKey, deadline);
+    }
+
+    private void removeTask4RetryCheck(TaskInstanceKey taskInstanceKey) {
+        taskInstanceRetryCheckWheel.cancel(taskInstanceKey);
+        taskInstanceRetryCheckKeys.computeIfPresent(taskInstanceKey.getProcessInstanceId(), (k, keys) -> {
+            keys.remove(taskInstanceKey);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private void removeWorkflow4RetryCheck(int processInstanceId) {
+        Set<TaskInstanceKey> taskInstanceKeys = taskInstanceRetryCheckKeys.remove(processInstanceId);
+        if (taskInstanceKeys != null) {
+            taskInstanceKeys.forEach(taskInstanceRetryCheckWheel::cancel);
         }
-        for (TaskInstanceKey taskInstanceKey : taskInstanceTimeoutCheckList) {
+    }
+
+    private void checkTask4Timeout(long now) {
+        List<TaskInstanceKey> expiredTaskInstanceKeys = taskInstanceTimeoutCheckWheel.advance(now);
+        for (TaskInstanceKey taskInstanceKey : expiredTaskInstanceKeys) {
             try {
                 LogUtils.setWorkflowInstanceIdMDC(taskInstanceKey.getProcessInstanceId());
                 int processInstanceId = taskInstanceKey.getProcessInstanceId();
@@ -230,43 +293,50 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
                 if (workflowExecuteThread == null) {
                     log.warn(
                             "Check task instance timeout failed, can not find workflowExecuteThread from cache manager, will remove this check task");
-                    taskInstanceTimeoutCheckList.remove(taskInstanceKey);
                     continue;
                 }
                 Optional<TaskInstance> taskInstanceOptional =
                         workflowExecuteThread.getActiveTaskInstanceByTaskCode(taskCode);
                 if (!taskInstanceOptional.isPresent()) {
-                    log.warn(
-                            "Check task instance timeout failed, can not get taskInstance from workflowExecuteThread, taskCode: {}"
-                                    + "will remove this check task",
+                    if (workflowExecuteThread.workFlowFinish()) {
+                        log.warn(
+                                "Check task instance timeout failed, can not get taskInstance from workflowExecuteThread, taskCode: {} "
+                                        + "will remove this check task",
+                                taskCode);
+                        continue;
+                    }
+                    log.warn("The task instance is not loaded, will check task instance timeout later, taskCode: {}",
                             taskCode);
-                    taskInstanceTimeoutCheckList.remove(taskInstanceKey);
+                    taskInstanceTimeoutCheckWheel.add(taskInstanceKey, now + recheckBackoffMills);
                     continue;
                 }
                 TaskInstance taskInstance = taskInstanceOptional.get();
-                if (TimeoutFlag.OPEN == taskInstance.getTaskDefine().getTimeoutFlag()) {
-                    long timeRemain = DateUtils.getRemainTime(taskInstance.getStartTime(),
-                            TimeUnit.MINUTES.toSeconds(taskInstance.getTaskDefine().getTimeout()));
-                    if (timeRemain < 0) {
-                        log.info("Task instance is timeout, adding task timeout event and remove the check");
-                        addTaskTimeoutEvent(taskInstance);
-                        taskInstanceTimeoutCheckList.remove(taskInstanceKey);
-                    }
+                TaskDefinition taskDefinition = taskInstance.getTaskDefine();
+                if (TimeoutFlag.OPEN != taskDefinition.getTimeoutFlag()) {
+                    continue;
                 }
+                long deadline = getDeadline(taskInstance.getStartTime(), taskDefinition.getTimeout());
+                if (taskInstance.getStartTime() == null || deadline > now) {
+                    // the task instance is not started when it is added, wait for the real deadline
+                    taskInstanceTimeoutCheckWheel.add(taskInstanceKey, deadline);
+                    continue;
+                }
+                log.info("Task instance is timeout, adding task timeout event and remove the check");
+                addTaskTimeoutEvent(taskInstance);
             } catch (Exception ex) {
-                log.error("Check task timeout error, taskInstanceKey: {}", taskInstanceKey, ex);
+                log.error("Check task timeout error, will check it later, taskInstanceKey: {}", taskInstanceKey, ex);
+                taskInstanceTimeoutCheckWheel.add(taskInstanceKey, now + recheckBackoffMills);
             } finally {
                 LogUtils.removeWorkflowInstanceIdMDC();
             }
         }
     }
 
-    private void checkTask4Retry() {
-        if (taskInstanceRetryCheckList.isEmpty()) {
-            return;
-        }
+    private void checkTask4Retry(long now) {
+        checkRetryWorkflow4Stop();
 
-        for (TaskInstanceKey taskInstanceKey : taskInstanceRetryCheckList) {
+        List<TaskInstanceKey> expiredTaskInstanceKeys = taskInstanceRetryCheckWheel.advance(now);
+        for (TaskInstanceKey taskInstanceKey : expiredTaskInstanceKeys) {
             int processInstanceId = taskInstanceKey.getProcessInstanceId();
             long taskCode = taskInstanceKey.getTaskCode();
             try {
@@ -279,27 +349,21 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
                     log.warn(
                             "Task instance retry check failed, can not find workflowExecuteThread from cache manager, "
                                     + "will remove this check task");
-                    taskInstanceRetryCheckList.remove(taskInstanceKey);
+                    removeTask4RetryCheck(taskInstanceKey);
                     continue;
                 }
 
                 Optional<TaskInstance> taskInstanceOptional =
                         workflowExecuteThread.getRetryTaskInstanceByTaskCode(taskCode);
-                ProcessInstance processInstance =
-                        workflowExecuteThread.getWorkflowExecuteContext().getWorkflowInstance();
-
-                if (processInstance.getState().isReadyStop()) {
-                    log.warn(
-                            "The process instance is ready to stop, will send process stop event and remove the check task");
-                    addProcessStopEvent(processInstance);
-                    taskInstanceRetryCheckList.remove(taskInstanceKey);
-                    break;
-                }
-
                 if (!taskInstanceOptional.isPresent()) {
-                    log.warn(
-                            "Task instance retry check failed, can not find taskInstance from workflowExecuteThread, will remove this check");
-                    taskInstanceRetryCheckList.remove(taskInstanceKey);
+                    if (workflowExecuteThread.workFlowFinish()) {
+                        log.warn(
+                                "Task instance retry check failed, can not find taskInstance from workflowExecuteThread, will remove this check");
+                        removeTask4RetryCheck(taskInstanceKey);
+                        continue;
+                    }
+                    log.warn("The task instance is not loaded, will check task instance retry later");
+                    taskInstanceRetryCheckWheel.add(taskInstanceKey, now + recheckBackoffMills);
                     continue;
                 }
 
@@ -307,27 +371,78 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
                 // We check the status to avoid when we do worker failover we submit a failover task, this task may be
                 // resubmit by this
                 // thread
-                if (taskInstance.getState() != TaskExecutionStatus.NEED_FAULT_TOLERANCE
-                        && taskInstance.retryTaskIntervalOverTime()) {
-                    // reset taskInstance endTime and state
-                    // todo relative function: TaskInstance.retryTaskIntervalOverTime,
-                    // WorkflowExecuteThread.cloneRetryTaskInstance
-                    log.info("[TaskInstanceKey-{}:{}]The task instance can retry, will retry this task instance",
-                            taskInstance.getTaskCode(), taskInstance.getTaskDefinitionVersion());
-                    taskInstance.setEndTime(null);
-                    taskInstance.setState(TaskExecutionStatus.SUBMITTED_SUCCESS);
-
-                    addTaskRetryEvent(taskInstance);
-                    taskInstanceRetryCheckList.remove(taskInstanceKey);
+                if (taskInstance.getState() == TaskExecutionStatus.NEED_FAULT_TOLERANCE
+                        || !taskInstance.retryTaskIntervalOverTime()) {
+                    taskInstanceRetryCheckWheel.add(taskInstanceKey,
+                            Math.max(getRetryDeadline(taskInstance), now + 1));
+                    continue;
                 }
+                // reset taskInstance endTime and state
+                // todo relative function: TaskInstance.retryTaskIntervalOverTime,
+                // WorkflowExecuteThread.cloneRetryTaskInstance
+                log.info("[TaskInstanceKey-{}:{}]The task instance can retry, will retry this task instance",
+                        taskInstance.getTaskCode(), taskInstance.getTaskDefinitionVersion());
+                taskInstance.setEndTime(null);
+                taskInstance.setState(TaskExecutionStatus.SUBMITTED_SUCCESS);
+
+                addTaskRetryEvent(taskInstance);
+                removeTask4RetryCheck(taskInstanceKey);
             } catch (Exception ex) {
-                log.error("Check task retry error, taskInstanceKey: {}", taskInstanceKey, ex);
+                log.error("Check task retry error, will check it later, taskInstanceKey: {}", taskInstanceKey, ex);
+                taskInstanceRetryCheckWheel.add(taskInstanceKey, now + recheckBackoffMills);
             } finally {
                 LogUtils.removeWorkflowInstanceIdMDC();
             }
         }
     }
 
+    /**
+     * The workflow may be stopped while its tasks are waiting to retry, this only visit the workflows which have retry
+     * tasks, rather than every retry task.
+     */
+    private void checkRetryWorkflow4Stop() {
+        for (Integer processInstanceId : taskInstanceRetryCheckKeys.keySet()) {
+            try {
+                LogUtils.setWorkflowInstanceIdMDC(processInstanceId);
+                WorkflowExecuteRunnable workflowExecuteThread =
+                        processInstanceExecCacheManager.getByProcessInstanceId(processInstanceId);
+                if (workflowExecuteThread == null) {
+                    log.warn(
+                            "Can not find workflowExecuteThread from cache manager, will remove the retry check tasks");
+                    removeWorkflow4RetryCheck(processInstanceId);
+                    continue;
+                }
+                ProcessInstance processInstance =
+                        workflowExecuteThread.getWorkflowExecuteContext().getWorkflowInstance();
+                if (processInstance.getState().isReadyStop()) {
+                    log.warn(
+                            "The process instance is ready to stop, will send process stop event and remove the check task");
+                    addProcessStopEvent(processInstance);
+                    removeWorkflow4RetryCheck(processInstanceId);
+                }
+            } catch (Exception ex) {
+                log.error("Check retry workflow stop error, processInstanceId: {}", processInstanceId, ex);
+            } finally {
+                LogUtils.removeWorkflowInstanceIdMDC();
+            }
+        }
+    }
+
+    private long getDeadline(Date startTime, int timeoutMinutes) {
+        long baseTime = startTime == null ? System.currentTimeMillis() : startTime.getTime();
+        return baseTime + TimeUnit.MINUTES.toMillis(timeoutMinutes);
+    }
+
+    private long getRetryDeadline(TaskInstance taskInstance) {
+        if (taskInstance.getState() != TaskExecutionStatus.FAILURE || taskInstance.getEndTime() == null
+                || taskInstance.getMaxRetryTimes() == 0 || taskInstance.getRetryInterval() == 0) {
+            return System.currentTimeMillis();
+        }
+        // TaskInstance.retryTaskIntervalOverTime requires the elapsed seconds to be strictly bigger than the interval
+        return taskInstance.getEndTime().getTime() + TimeUnit.MINUTES.toMillis(taskInstance.getRetryInterval())
+                + TimeUnit.SECONDS.toMillis(1);
+    }
+
     private void addProcessStopEvent(ProcessInstance processInstance) {
         WorkflowStateEvent stateEvent = WorkflowStateEvent.builder()
                 .processInstanceId(processInstance.getId())
@@ -53,6 +53,7 @@ import org.apache.dolphinscheduler.server.master.event.StateEventHandleError;
 import org.apache.dolphinscheduler.server.master.event.StateEventHandleException;
 import org.apache.dolphinscheduler.server.master.metrics.TaskMetrics;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEvent;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskEventAckBatchSender;
 import org.apache.dolphinscheduler.server.master.runner.dispatcher.WorkerTaskDispatcher;
 import org.apache.dolphinscheduler.server.master.runner.execute.DefaultTaskExecuteRunnableFactory;
 import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
@@ -417,6 +418,10 @@ public class StreamTaskExecuteRunnable implements Runnable {
 
     private void sendAckToWorker(TaskEvent taskEvent) {
         // If event handle success, send ack to worker to otherwise the worker will retry this event
+        if (taskEvent.isAckInBatch()) {
+            sendAckToWorkerInBatch(taskEvent);
+            return;
+        }
         ITaskInstanceExecutionEventAckListener instanceExecutionEventAckListener =
                 SingletonJdkDynamicRpcClientProxyFactory
                         .getProxyClient(taskEvent.getWorkerAddress(), ITaskInstanceExecutionEventAckListener.class);
@@ -440,6 +445,27 @@ public class StreamTaskExecuteRunnable implements Runnable {
         log.warn("SendAckToWorker error, get an unknown event: {}", taskEvent);
     }
 
+    private void sendAckToWorkerInBatch(TaskEvent taskEvent) {
+        TaskEventAckBatchSender taskEventAckBatchSender =
+                SpringApplicationContext.getBean(TaskEventAckBatchSender.class);
+        if (taskEvent.getEvent() == TaskEventType.RUNNING) {
+            taskEventAckBatchSender.sendAck(taskEvent.getWorkerAddress(),
+                    TaskInstanceExecutionRunningEventAck.success(taskEvent.getTaskInstanceId()));
+            return;
+        }
+        if (taskEvent.getEvent() == TaskEventType.RESULT) {
+            taskEventAckBatchSender.sendAck(taskEvent.getWorkerAddress(),
+                    TaskInstanceExecutionFinishEventAck.success(taskEvent.getTaskInstanceId()));
+            return;
+        }
+        if (taskEvent.getEvent() == TaskEventType.UPDATE_PID) {
+            taskEventAckBatchSender.sendAck(taskEvent.getWorkerAddress(),
+                    TaskInstanceExecutionInfoEventAck.success(taskEvent.getTaskInstanceId()));
+            return;
+        }
+        log.warn("SendAckToWorker error, get an unknown event: {}", taskEvent);
+    }
+
     private enum TaskRunnableStatus {
         CREATED, STARTED,
         ;
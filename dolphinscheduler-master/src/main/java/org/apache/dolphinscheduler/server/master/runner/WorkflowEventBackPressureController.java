@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.config.WorkflowEventBackPressure;
+import org.apache.dolphinscheduler.server.master.event.WorkflowEventQueue;
+import org.apache.dolphinscheduler.server.master.metrics.MasterServerMetrics;
+
+import javax.annotation.PostConstruct;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Used to decide how many commands can be consumed by the command loop, based on the workflow event pipeline, the
+ * pipeline is the {@link WorkflowEventQueue} and the queue of the {@link WorkflowExecuteThreadPool}.
+ * <p>
+ * The two stages hold different things, the workflow event queue holds the workflow start events created from the
+ * commands, and the execute thread pool queue holds the tasks which handle the state events of the running workflows,
+ * so they are checked against the watermarks separately rather than summed up. The command loop pauses once either of
+ * them reaches the high watermark or the oldest workflow event waits longer than the max event lag, and resumes once
+ * both of them drop to the low watermark. Between the watermarks, the number of commands fetched at once is limited to
+ * the remaining capacity of the workflow event queue under the high watermark.
+ */
+@Slf4j
+@Component
+public class WorkflowEventBackPressureController {
+
+    @Autowired
+    private MasterConfig masterConfig;
+
+    @Autowired
+    private WorkflowEventQueue workflowEventQueue;
+
+    @Autowired
+    private WorkflowExecuteThreadPool workflowExecuteThreadPool;
+
+    private volatile boolean paused = false;
+
+    @PostConstruct
+    public void init() {
+        MasterServerMetrics.registerWorkflowEventQueueSizeGauge(workflowEventQueue::size);
+        MasterServerMetrics.registerWorkflowExecutePoolQueueSizeGauge(workflowExecuteThreadPool::getPendingTaskSize);
+    }
+
+    /**
+     * Get the max number of commands which can be consumed now.
+     *
+     * @return 0 if the command loop should pause consuming commands
+     */
+    public int getMaxFetchSize() {
+        WorkflowEventBackPressure backPressure = masterConfig.getWorkflowEventBackPressure();
+        if (!backPressure.isEnabled()) {
+            return Integer.MAX_VALUE;
+        }
+        int pendingStartEvents = workflowEventQueue.size();
+        int pendingExecuteTasks = workflowExecuteThreadPool.getPendingTaskSize();
+        long eventLagMills = workflowEventQueue.getOldestEventLagMills();
+        boolean lagExceeded = eventLagMills >= backPressure.getMaxEventLag().toMillis();
+        if (paused) {
+            if (Math.max(pendingStartEvents, pendingExecuteTasks) > backPressure.getLowWatermark() || lagExceeded) {
+                return 0;
+            }
+            paused = false;
+            log.info(
+                    "The workflow event pipeline is drained, resume consuming commands, pendingStartEvents: {}, pendingExecuteTasks: {}",
+                    pendingStartEvents, pendingExecuteTasks);
+        } else if (Math.max(pendingStartEvents, pendingExecuteTasks) >= backPressure.getHighWatermark()
+                || lagExceeded) {
+            paused = true;
+            MasterServerMetrics.incMasterBackPressure();
+            log.warn(
+                    "The workflow event pipeline is busy, pause consuming commands, pendingStartEvents: {}, pendingExecuteTasks: {}, eventLag: {}ms",
+                    pendingStartEvents, pendingExecuteTasks, eventLagMills);
+            return 0;
+        }
+        return Math.max(backPressure.getHighWatermark() - pendingStartEvents, 1);
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+}
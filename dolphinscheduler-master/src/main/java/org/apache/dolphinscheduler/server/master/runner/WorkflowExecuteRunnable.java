@@ -36,9 +36,8 @@ import org.apache.dolphinscheduler.common.enums.Flag;
 import org.apache.dolphinscheduler.common.enums.Priority;
 import org.apache.dolphinscheduler.common.enums.StateEventType;
 import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
-import org.apache.dolphinscheduler.common.graph.DAG;
+import org.apache.dolphinscheduler.common.graph.CompiledDAG;
 import org.apache.dolphinscheduler.common.log.remote.RemoteLogUtils;
-import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.common.utils.DateUtils;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
@@ -72,6 +71,7 @@ import org.apache.dolphinscheduler.server.master.event.StateEventHandlerManager;
 import org.apache.dolphinscheduler.server.master.event.TaskStateEvent;
 import org.apache.dolphinscheduler.server.master.event.WorkflowStateEvent;
 import org.apache.dolphinscheduler.server.master.graph.IWorkflowGraph;
+import org.apache.dolphinscheduler.server.master.graph.TaskDependencyTracker;
 import org.apache.dolphinscheduler.server.master.metrics.TaskMetrics;
 import org.apache.dolphinscheduler.server.master.runner.execute.DefaultTaskExecuteRunnableFactory;
 import org.apache.dolphinscheduler.server.master.runner.taskgroup.TaskGroupCoordinator;
@@ -187,6 +187,11 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
      */
     private final Map<Long, TaskNode> skipTaskNodeMap = new ConcurrentHashMap<>();
 
+    /**
+     * unsettled dependencies of each task, created from the workflow graph at the first use
+     */
+    private volatile TaskDependencyTracker taskDependencyTracker;
+
     /**
      * complement date list
      */
@@ -351,7 +356,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
             }
 
             if (taskInstance.getState().isSuccess()) {
-                completeTaskSet.add(taskInstance.getTaskCode());
+                addCompleteTask(taskInstance.getTaskCode());
                 workflowInstance.setVarPool(VarPoolUtils.mergeVarPoolJsonString(
                         Lists.newArrayList(workflowInstance.getVarPool(), taskInstance.getVarPool())));
                 processInstanceDao.upsertProcessInstance(workflowInstance);
@@ -367,7 +372,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                 retryTaskInstance(taskInstance);
             } else if (taskInstance.getState().isFailure() || taskInstance.getState().isKill()
                     || taskInstance.getState().isStop()) {
-                completeTaskSet.add(taskInstance.getTaskCode());
+                addCompleteTask(taskInstance.getTaskCode());
                 if (isTaskNeedPutIntoErrorMap(taskInstance)) {
                     errorTaskMap.put(taskInstance.getTaskCode(), taskInstance.getId());
                 }
@@ -383,7 +388,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                 }
             } else if (taskInstance.getState().isFinished()) {
                 // todo: when the task instance type is pause, then it should not in completeTaskSet
-                completeTaskSet.add(taskInstance.getTaskCode());
+                addCompleteTask(taskInstance.getTaskCode());
             }
             log.info("TaskInstance finished will try to update the workflow instance state, task code:{} state:{}",
                     taskInstance.getTaskCode(),
@@ -395,7 +400,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
         } catch (Exception ex) {
             log.error("Task finish failed, get a exception, will remove this taskInstance from completeTaskSet", ex);
             // remove the task from complete map, so that we can finish in the next time.
-            completeTaskSet.remove(taskInstance.getTaskCode());
+            removeCompleteTask(taskInstance.getTaskCode());
             throw ex;
         }
     }
@@ -739,6 +744,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
         taskExecuteRunnableMap.clear();
         dependFailedTaskSet.clear();
         completeTaskSet.clear();
+        getTaskDependencyTracker().reset();
         errorTaskMap.clear();
 
         ProcessInstance workflowInstance = workflowExecuteContext.getWorkflowInstance();
@@ -778,7 +784,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
 
                     if (task.isTaskComplete()) {
                         log.info("TaskInstance is already complete.");
-                        completeTaskSet.add(task.getTaskCode());
+                        addCompleteTask(task.getTaskCode());
                         continue;
                     }
 
@@ -1107,9 +1113,9 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
     void initializeTaskInstanceVarPool(TaskInstance taskInstance) {
         // get pre task ,get all the task varPool to this task
         // Do not use dag.getPreviousNodes because of the dag may be miss the upstream node
-        String preTasks =
-                workflowExecuteContext.getWorkflowGraph().getTaskNodeByCode(taskInstance.getTaskCode()).getPreTasks();
-        Set<Long> preTaskList = new HashSet<>(JSONUtils.toList(preTasks, Long.class));
+        List<Long> preTasks =
+                workflowExecuteContext.getWorkflowGraph().getTaskNodeByCode(taskInstance.getTaskCode()).getDepList();
+        Set<Long> preTaskList = preTasks == null ? Collections.emptySet() : new HashSet<>(preTasks);
         ProcessInstance workflowInstance = workflowExecuteContext.getWorkflowInstance();
 
         if (CollectionUtils.isEmpty(preTaskList)) {
@@ -1130,6 +1136,23 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
         return taskInstanceMap.values();
     }
 
+    private TaskDependencyTracker getTaskDependencyTracker() {
+        if (taskDependencyTracker == null) {
+            taskDependencyTracker = new TaskDependencyTracker(workflowExecuteContext.getWorkflowGraph());
+        }
+        return taskDependencyTracker;
+    }
+
+    private void addCompleteTask(Long taskCode) {
+        completeTaskSet.add(taskCode);
+        getTaskDependencyTracker().markCompleted(taskCode);
+    }
+
+    private void removeCompleteTask(Long taskCode) {
+        completeTaskSet.remove(taskCode);
+        getTaskDependencyTracker().markUncompleted(taskCode);
+    }
+
     /**
      * get complete task instance map, taskCode as key
      */
@@ -1164,13 +1187,13 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
 
     private void submitPostNode(Long parentNodeCode) throws StateEventHandleException {
         ProcessInstance workflowInstance = workflowExecuteContext.getWorkflowInstance();
-        DAG<Long, TaskNode, TaskNodeRelation> dag = workflowExecuteContext.getWorkflowGraph().getDag();
+        IWorkflowGraph workflowGraph = workflowExecuteContext.getWorkflowGraph();
 
-        Set<Long> submitTaskNodeList =
-                DagHelper.parsePostNodes(parentNodeCode, skipTaskNodeMap, dag, getCompleteTaskInstanceMap());
+        Set<Long> submitTaskNodeList = DagHelper.parsePostNodes(parentNodeCode, skipTaskNodeMap,
+                workflowGraph.getDag(), getCompleteTaskInstanceMap());
         List<TaskInstance> taskInstances = new ArrayList<>();
         for (Long taskNode : submitTaskNodeList) {
-            TaskNode taskNodeObject = dag.getNode(taskNode);
+            TaskNode taskNodeObject = workflowGraph.getCompiledDag().getNode(taskNode);
             Optional<TaskInstance> existTaskInstanceOptional = getTaskInstance(taskNodeObject.getCode());
             if (existTaskInstanceOptional.isPresent()) {
                 TaskInstance existTaskInstance = existTaskInstanceOptional.get();
@@ -1205,7 +1228,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
             }
         }
         // the end node of the branch of the dag
-        if (parentNodeCode != null && dag.getEndNode().contains(parentNodeCode)) {
+        if (parentNodeCode != null && workflowGraph.getCompiledDag().getEndNode().contains(parentNodeCode)) {
             getTaskInstance(parentNodeCode)
                     .ifPresent(endTaskInstance -> workflowInstance.setVarPool(VarPoolUtils.mergeVarPoolJsonString(
                             Lists.newArrayList(workflowInstance.getVarPool(), endTaskInstance.getVarPool()))));
@@ -1276,18 +1299,23 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
      * @return DependResult
      */
     private DependResult isTaskDepsComplete(Long taskCode) {
-        DAG<Long, TaskNode, TaskNodeRelation> dag = workflowExecuteContext.getWorkflowGraph().getDag();
+        CompiledDAG<Long, TaskNode> dag = workflowExecuteContext.getWorkflowGraph().getCompiledDag();
 
-        Collection<Long> startNodes = dag.getBeginNode();
+        Set<Long> startNodes = dag.getBeginNode();
         // if vertex,returns true directly
         if (startNodes.contains(taskCode)) {
             return DependResult.SUCCESS;
         }
+        TaskDependencyTracker taskDependencyTracker = getTaskDependencyTracker();
+        // the skipped tasks are added while parsing the post nodes
+        taskDependencyTracker.trackSkippedTasks(skipTaskNodeMap);
+        if (!taskDependencyTracker.isDependenciesSettled(taskCode)) {
+            return DependResult.WAITING;
+        }
         TaskNode taskNode = dag.getNode(taskCode);
-        List<Long> indirectDepCodeList = new ArrayList<>();
-        setIndirectDepList(taskCode, indirectDepCodeList);
+        List<Long> indirectDepCodeList = taskDependencyTracker.getDependencies(taskCode);
         for (Long depsNode : indirectDepCodeList) {
-            if (dag.containsNode(depsNode) && !skipTaskNodeMap.containsKey(depsNode)) {
+            if (!skipTaskNodeMap.containsKey(depsNode)) {
                 // dependencies must be fully completed
                 if (!completeTaskSet.contains(depsNode)) {
                     return DependResult.WAITING;
@@ -1324,41 +1352,16 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
         return DependResult.SUCCESS;
     }
 
-    /**
-     * This function is specially used to handle the dependency situation where the parent node is a prohibited node.
-     * When the parent node is a forbidden node, the dependency relationship should continue to be traced
-     *
-     * @param taskCode            taskCode
-     * @param indirectDepCodeList All indirectly dependent nodes
-     */
-    private void setIndirectDepList(Long taskCode, List<Long> indirectDepCodeList) {
-        IWorkflowGraph workflowGraph = workflowExecuteContext.getWorkflowGraph();
-        DAG<Long, TaskNode, TaskNodeRelation> dag = workflowGraph.getDag();
-        TaskNode taskNode = dag.getNode(taskCode);
-        // If workflow start with startNode or recoveryNode, taskNode may be null
-        if (taskNode == null) {
-            return;
-        }
-
-        for (Long depsNode : taskNode.getDepList()) {
-            if (workflowGraph.isForbiddenTask(depsNode)) {
-                setIndirectDepList(depsNode, indirectDepCodeList);
-            } else {
-                indirectDepCodeList.add(depsNode);
-            }
-        }
-    }
-
     /**
      * depend node is completed, but here need check the condition task branch is the next node
      */
     private boolean dependTaskSuccess(Long dependNodeCode, Long nextNodeCode) {
-        DAG<Long, TaskNode, TaskNodeRelation> dag = workflowExecuteContext.getWorkflowGraph().getDag();
-        TaskNode dependentNode = dag.getNode(dependNodeCode);
+        IWorkflowGraph workflowGraph = workflowExecuteContext.getWorkflowGraph();
+        TaskNode dependentNode = workflowGraph.getCompiledDag().getNode(dependNodeCode);
         if (TaskTypeUtils.isConditionTask(dependentNode.getType())) {
             // condition task need check the branch to run
-            List<Long> nextTaskList =
-                    DagHelper.parseConditionTask(dependNodeCode, skipTaskNodeMap, dag, getCompleteTaskInstanceMap());
+            List<Long> nextTaskList = DagHelper.parseConditionTask(dependNodeCode, skipTaskNodeMap,
+                    workflowGraph.getDag(), getCompleteTaskInstanceMap());
             if (!nextTaskList.contains(nextNodeCode)) {
                 log.info(
                         "DependTask is a condition task, and its next condition branch does not hava current task, " +
@@ -1723,7 +1726,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                             "Task {} has been forced success, put it into complete task list and stop retrying, taskInstanceId: {}",
                             task.getName(), task.getId());
                     removeTaskFromStandbyList(task);
-                    completeTaskSet.add(task.getTaskCode());
+                    addCompleteTask(task.getTaskCode());
                     taskInstanceMap.put(task.getId(), task);
                     taskCodeInstanceMap.put(task.getTaskCode(), task);
                     submitPostNode(task.getTaskCode());
@@ -1745,7 +1748,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                                 workflowInstance.getId(),
                                 task.getTaskCode());
                     }
-                    completeTaskSet.add(task.getTaskCode());
+                    addCompleteTask(task.getTaskCode());
                     taskInstanceMap.put(task.getId(), task);
                     taskCodeInstanceMap.put(task.getTaskCode(), task);
                     errorTaskMap.put(task.getTaskCode(), task.getId());
@@ -1889,8 +1892,8 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
         }
 
         // Records the key of varPool data to be removed
-        DAG<Long, TaskNode, TaskNodeRelation> dag = workflowExecuteContext.getWorkflowGraph().getDag();
-        Set<Long> allNodesList = dag.getAllNodesList();
+        CompiledDAG<Long, TaskNode> dag = workflowExecuteContext.getWorkflowGraph().getCompiledDag();
+        List<Long> allNodesList = dag.getTopologicalOrder();
 
         List<TaskInstance> removeTaskInstances = new ArrayList<>();
 
@@ -1918,7 +1921,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
         processInstanceDao.updateById(workflowInstance);
 
         // remove task instance from taskInstanceMap,taskCodeInstanceMap , completeTaskSet, validTaskMap, errorTaskMap
-        completeTaskSet.removeIf(dag::containsNode);
+        allNodesList.forEach(this::removeCompleteTask);
         taskCodeInstanceMap.entrySet().removeIf(entity -> dag.containsNode(entity.getValue().getTaskCode()));
         taskInstanceMap.entrySet().removeIf(entry -> dag.containsNode(entry.getValue().getTaskCode()));
         validTaskMap.entrySet().removeIf(entry -> dag.containsNode(entry.getKey()));
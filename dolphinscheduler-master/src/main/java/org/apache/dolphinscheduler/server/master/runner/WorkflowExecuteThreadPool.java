@@ -63,6 +63,13 @@ public class WorkflowExecuteThreadPool extends ThreadPoolTaskExecutor {
         this.setCorePoolSize(masterConfig.getExecThreads());
     }
 
+    /**
+     * Get the number of tasks which are waiting for a thread in this pool.
+     */
+    public int getPendingTaskSize() {
+        return getThreadPoolExecutor().getQueue().size();
+    }
+
     /**
      * submit state event
      */
@@ -59,6 +59,7 @@ public class WorkerTaskDispatcher extends BaseTaskDispatcher {
                 throw new TaskDispatchException("Dispatch task: " + taskName + " to " + workerAddress + " failed: "
                         + taskInstanceDispatchResponse);
             }
+            workerLoadBalancer.onTaskInstanceDispatched(workerAddress, taskExecutionContext.getTaskInstanceId());
         } catch (TaskDispatchException e) {
             throw e;
         } catch (Exception e) {
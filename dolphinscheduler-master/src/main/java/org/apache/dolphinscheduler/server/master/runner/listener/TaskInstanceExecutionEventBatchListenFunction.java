@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner.listener;
+
+import org.apache.dolphinscheduler.extract.master.transportor.ITaskInstanceExecutionEvent;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionEventBatch;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionFinishEvent;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionInfoEvent;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionRunningEvent;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskEvent;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskEventService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class TaskInstanceExecutionEventBatchListenFunction
+        implements
+            ITaskInstanceExecutionEventListenFunction<TaskInstanceExecutionEventBatch> {
+
+    @Autowired
+    private TaskEventService taskEventService;
+
+    @Override
+    public void handleTaskInstanceExecutionEvent(TaskInstanceExecutionEventBatch taskInstanceExecutionEventBatch) {
+        // keep the order of the events, so the events of the same task are handled in the order they are reported
+        List<TaskEvent> taskEvents = new ArrayList<>(taskInstanceExecutionEventBatch.size());
+        for (ITaskInstanceExecutionEvent event : taskInstanceExecutionEventBatch.toEvents()) {
+            taskEvents.add(toTaskEvent(event));
+        }
+        taskEvents.forEach(taskEvent -> taskEvent.setAckInBatch(true));
+        log.info("Received TaskInstanceExecutionEventBatch, running events: {}, info events: {}, finish events: {}",
+                taskInstanceExecutionEventBatch.getRunningEvents().size(),
+                taskInstanceExecutionEventBatch.getInfoEvents().size(),
+                taskInstanceExecutionEventBatch.getFinishEvents().size());
+        taskEventService.addEvents(taskEvents);
+    }
+
+    private TaskEvent toTaskEvent(ITaskInstanceExecutionEvent event) {
+        switch (event.getEventType()) {
+            case RUNNING:
+                return TaskEvent.newRunningEvent((TaskInstanceExecutionRunningEvent) event);
+            case RUNNING_INFO:
+                return TaskEvent.newUpdatePidEvent((TaskInstanceExecutionInfoEvent) event);
+            case FINISH:
+                return TaskEvent.newResultEvent((TaskInstanceExecutionFinishEvent) event);
+            default:
+                throw new IllegalArgumentException("Unsupported event type: " + event.getEventType());
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner.queue;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A hashed timing wheel keyed by deadline.
+ * <p>
+ * Each key is put into the bucket of its deadline tick, so {@link #add} and {@link #cancel} are O(1), and
+ * {@link #advance} only visits the buckets of the ticks which have elapsed since the last call. Deadlines which are
+ * more than one revolution away stay in their bucket until the wheel reaches their tick.
+ * <p>
+ * The wheel doesn't own a thread, the caller is responsible to call {@link #advance} periodically.
+ */
+public class HashedTimingWheel<K> {
+
+    private final long tickDurationMills;
+
+    private final long startTimeMills;
+
+    private final Bucket<K>[] wheel;
+
+    private final int mask;
+
+    private final Map<K, Timeout<K>> timeouts = new HashMap<>();
+
+    private long lastProcessedTick;
+
+    public HashedTimingWheel(long tickDurationMills, int ticksPerWheel) {
+        this(tickDurationMills, ticksPerWheel, System.currentTimeMillis());
+    }
+
+    @SuppressWarnings("unchecked")
+    HashedTimingWheel(long tickDurationMills, int ticksPerWheel, long startTimeMills) {
+        checkArgument(tickDurationMills > 0, "tickDurationMills must be positive");
+        checkArgument(ticksPerWheel > 0 && ticksPerWheel <= (1 << 30), "ticksPerWheel must in (0, 2^30]");
+        int normalizedTicksPerWheel = 1;
+        while (normalizedTicksPerWheel < ticksPerWheel) {
+            normalizedTicksPerWheel <<= 1;
+        }
+        this.tickDurationMills = tickDurationMills;
+        this.startTimeMills = startTimeMills;
+        this.wheel = new Bucket[normalizedTicksPerWheel];
+        for (int i = 0; i < normalizedTicksPerWheel; i++) {
+            wheel[i] = new Bucket<>();
+        }
+        this.mask = normalizedTicksPerWheel - 1;
+        this.lastProcessedTick = 0;
+    }
+
+    /**
+     * Add the key into the wheel, it will be returned by {@link #advance} once the deadline is reached.
+     * If the deadline is already passed, the key will be returned by the next {@link #advance}.
+     *
+     * @return false if the key is already in the wheel
+     */
+    public synchronized boolean add(K key, long deadlineMills) {
+        checkNotNull(key, "key is null");
+        if (timeouts.containsKey(key)) {
+            return false;
+        }
+        long deadlineTick = Math.max(toDeadlineTick(deadlineMills), lastProcessedTick + 1);
+        Timeout<K> timeout = new Timeout<>(key, deadlineTick);
+        wheel[(int) (deadlineTick & mask)].append(timeout);
+        timeouts.put(key, timeout);
+        return true;
+    }
+
+    /**
+     * @return false if the key is not in the wheel
+     */
+    public synchronized boolean cancel(K key) {
+        Timeout<K> timeout = timeouts.remove(key);
+        if (timeout == null) {
+            return false;
+        }
+        timeout.bucket.remove(timeout);
+        return true;
+    }
+
+    public synchronized boolean contains(K key) {
+        return timeouts.containsKey(key);
+    }
+
+    /**
+     * Move the wheel to the given time and remove all the keys whose deadline has been reached.
+     *
+     * @return the expired keys in deadline order of the visited buckets
+     */
+    public synchronized List<K> advance(long nowMills) {
+        long currentTick = Math.floorDiv(nowMills - startTimeMills, tickDurationMills);
+        if (currentTick <= lastProcessedTick) {
+            return Collections.emptyList();
+        }
+        if (timeouts.isEmpty()) {
+            lastProcessedTick = currentTick;
+            return Collections.emptyList();
+        }
+        // If the wheel is behind more than one revolution, every bucket only need to be visited once
+        long ticksToProcess = Math.min(currentTick - lastProcessedTick, wheel.length);
+        List<K> expiredKeys = new ArrayList<>();
+        for (long tick = lastProcessedTick + 1; tick <= lastProcessedTick + ticksToProcess; tick++) {
+            Bucket<K> bucket = wheel[(int) (tick & mask)];
+            Timeout<K> timeout = bucket.head;
+            while (timeout != null) {
+                Timeout<K> next = timeout.next;
+                if (timeout.deadlineTick <= currentTick) {
+                    bucket.remove(timeout);
+                    timeouts.remove(timeout.key);
+                    expiredKeys.add(timeout.key);
+                }
+                timeout = next;
+            }
+        }
+        lastProcessedTick = currentTick;
+        return expiredKeys;
+    }
+
+    public synchronized int size() {
+        return timeouts.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return timeouts.isEmpty();
+    }
+
+    public synchronized void clear() {
+        for (Bucket<K> bucket : wheel) {
+            bucket.head = null;
+            bucket.tail = null;
+        }
+        timeouts.clear();
+    }
+
+    private long toDeadlineTick(long deadlineMills) {
+        // round up, the key should never be expired before its deadline
+        return -Math.floorDiv(startTimeMills - deadlineMills, tickDurationMills);
+    }
+
+    private static class Timeout<K> {
+
+        private final K key;
+
+        private final long deadlineTick;
+
+        private Bucket<K> bucket;
+
+        private Timeout<K> prev;
+
+        private Timeout<K> next;
+
+        private Timeout(K key, long deadlineTick) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+
+    private static class Bucket<K> {
+
+        private Timeout<K> head;
+
+        private Timeout<K> tail;
+
+        private void append(Timeout<K> timeout) {
+            timeout.bucket = this;
+            if (tail == null) {
+                head = timeout;
+                tail = timeout;
+                return;
+            }
+            tail.next = timeout;
+            timeout.prev = tail;
+            tail = timeout;
+        }
+
+        private void remove(Timeout<K> timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
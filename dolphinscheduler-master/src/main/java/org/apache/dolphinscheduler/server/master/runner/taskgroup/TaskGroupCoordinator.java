@@ -23,7 +23,6 @@ import org.apache.dolphinscheduler.common.enums.TaskGroupQueueStatus;
 import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
 import org.apache.dolphinscheduler.common.lifecycle.ServerLifeCycleManager;
 import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
-import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskGroup;
 import org.apache.dolphinscheduler.dao.entity.TaskGroupQueue;
@@ -40,13 +39,19 @@ import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 import org.apache.dolphinscheduler.registry.api.RegistryClient;
 import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.time.StopWatch;
 
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -76,6 +81,12 @@ import org.springframework.stereotype.Component;
  *         taskGroupCoordinator.releaseTaskGroupSlot(taskInstance);
  *     }
  * </pre>
+ * <p>
+ * The slots are event driven: the {@link TaskGroup#getUseSize()} is increased when a slot is acquired and decreased when
+ * a slot is released, and the acquire/release wakes up the coordinator to assign the free slots of the task group to the
+ * waiting {@link TaskGroupQueue} by priority immediately. The full reconciliation of the slots with the
+ * {@link TaskGroupQueue} in db only runs at the {@link MasterConfig#getTaskGroupReconcileInterval()}, to correct the
+ * slots which are not released normally, e.g. the master crashed.
  */
 @Slf4j
 @Component
@@ -96,8 +107,18 @@ public class TaskGroupCoordinator extends BaseDaemonThread {
     @Autowired
     private ProcessInstanceDao processInstanceDao;
 
+    @Autowired
+    private MasterConfig masterConfig;
+
     private static int DEFAULT_LIMIT = 1000;
 
+    private static final long FORCE_START_CHECK_INTERVAL_MILLS = Constants.SLEEP_TIME_MILLIS * 5;
+
+    /**
+     * The task groups whose slots are acquired or released, the coordinator will assign their free slots in next round.
+     */
+    private final BlockingQueue<Integer> pendingTaskGroupIds = new LinkedBlockingQueue<>();
+
     public TaskGroupCoordinator() {
         super("TaskGroupCoordinator");
     }
@@ -111,40 +132,76 @@ public class TaskGroupCoordinator extends BaseDaemonThread {
 
     @Override
     public void run() {
+        long nextReconcileTime = 0;
         while (!ServerLifeCycleManager.isStopped()) {
+            Set<Integer> taskGroupIds = new HashSet<>();
             try {
                 if (!ServerLifeCycleManager.isRunning()) {
                     continue;
                 }
+                boolean reconcile = System.currentTimeMillis() >= nextReconcileTime;
+                pendingTaskGroupIds.drainTo(taskGroupIds);
+                // the force start is only marked in db by the api server, check it without the lock first
+                boolean forceStart = CollectionUtils
+                        .isNotEmpty(taskGroupQueueDao.queryWaitNotifyForceStartTaskGroupQueue(-1, 1));
+                if (!reconcile && !forceStart && taskGroupIds.isEmpty()) {
+                    continue;
+                }
                 try {
                     registryClient.getLock(RegistryNodeType.MASTER_TASK_GROUP_COORDINATOR_LOCK.getRegistryPath());
                     StopWatch taskGroupCoordinatorRoundTimeCost = StopWatch.createStarted();
 
-                    amendTaskGroupUseSize();
-                    amendTaskGroupQueueStatus();
-                    dealWithForceStartTaskGroupQueue();
-                    dealWithWaitingTaskGroupQueue();
+                    if (reconcile) {
+                        nextReconcileTime = System.currentTimeMillis()
+                                + masterConfig.getTaskGroupReconcileInterval().toMillis();
+                        amendTaskGroupUseSize();
+                        amendTaskGroupQueueStatus();
+                    }
+                    if (reconcile || forceStart) {
+                        dealWithForceStartTaskGroupQueue();
+                    }
+                    if (reconcile) {
+                        dealWithWaitingTaskGroupQueue();
+                    } else {
+                        dealWithWaitingTaskGroupQueue(taskGroupIds);
+                    }
 
                     taskGroupCoordinatorRoundTimeCost.stop();
-                    log.info("TaskGroupCoordinator round time cost: {}/ms",
-                            taskGroupCoordinatorRoundTimeCost.getTime());
+                    log.info("TaskGroupCoordinator round(reconcile: {}, taskGroups: {}) time cost: {}/ms",
+                            reconcile, taskGroupIds, taskGroupCoordinatorRoundTimeCost.getTime());
                 } finally {
                     registryClient.releaseLock(RegistryNodeType.MASTER_TASK_GROUP_COORDINATOR_LOCK.getRegistryPath());
                 }
             } catch (Throwable e) {
                 log.error("TaskGroupCoordinator error", e);
             } finally {
-                // sleep 5s
-                ThreadUtils.sleep(Constants.SLEEP_TIME_MILLIS * 5);
+                awaitPendingTaskGroup();
             }
         }
     }
 
+    /**
+     * Wait until there is a task group whose slots are acquired or released, or the force start check interval passed.
+     */
+    private void awaitPendingTaskGroup() {
+        try {
+            Integer taskGroupId =
+                    pendingTaskGroupIds.poll(FORCE_START_CHECK_INTERVAL_MILLS, TimeUnit.MILLISECONDS);
+            if (taskGroupId != null) {
+                pendingTaskGroupIds.add(taskGroupId);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     /**
      * Make sure the TaskGroup useSize is equal to the TaskGroupQueue which status is {@link TaskGroupQueueStatus#ACQUIRE_SUCCESS} and forceStart is {@link org.apache.dolphinscheduler.common.enums.Flag#NO}.
      */
     private void amendTaskGroupUseSize() {
-        // The TaskGroup useSize should equal to the TaskGroupQueue which inQueue is YES and forceStart is NO
+        // The TaskGroup useSize should equal to the TaskGroupQueue which inQueue is YES and forceStart is NO.
+        // The slots are released outside the lock, so the useSize is read before counting, and only amended if it's
+        // not changed since then. A release deletes the TaskGroupQueue and decreases the useSize in one transaction.
         List<TaskGroup> taskGroups = taskGroupDao.queryAllTaskGroups();
         if (CollectionUtils.isEmpty(taskGroups)) {
             return;
@@ -159,8 +216,10 @@ public class TaskGroupCoordinator extends BaseDaemonThread {
             log.warn("The TaskGroup: {} useSize is {}, but the actual use size is {}, will amend it",
                     taskGroup.getName(),
                     taskGroup.getUseSize(), actualUseSize);
-            taskGroup.setUseSize(actualUseSize);
-            taskGroupDao.updateById(taskGroup);
+            if (!taskGroupDao.amendTaskGroupUseSize(taskGroup.getId(), taskGroup.getUseSize(), actualUseSize)) {
+                log.info("The TaskGroup: {} useSize is changed concurrently, will amend it in next round",
+                        taskGroup.getName());
+            }
         }
         log.info("Success amend TaskGroup useSize cost: {}/ms", taskGroupCoordinatorRoundTimeCost.getTime());
     }
@@ -283,51 +342,72 @@ public class TaskGroupCoordinator extends BaseDaemonThread {
             return;
         }
         for (TaskGroup taskGroup : taskGroups) {
-            int availableSize = taskGroup.getGroupSize() - taskGroup.getUseSize();
-            if (availableSize <= 0) {
-                log.info("TaskGroup {} is full, available size is {}", taskGroup, availableSize);
-                continue;
-            }
-            List<TaskGroupQueue> taskGroupQueues =
-                    taskGroupQueueDao.queryAllInQueueTaskGroupQueueByGroupId(taskGroup.getId())
-                            .stream()
-                            .filter(taskGroupQueue -> Flag.NO.getCode() == taskGroupQueue.getForceStart())
-                            .filter(taskGroupQueue -> TaskGroupQueueStatus.WAIT_QUEUE == taskGroupQueue.getStatus())
-                            .limit(availableSize)
-                            .collect(Collectors.toList());
-            if (CollectionUtils.isEmpty(taskGroupQueues)) {
-                log.debug("There is no waiting task group queue for task group {}", taskGroup.getName());
+            dealWithWaitingTaskGroupQueue(taskGroup);
+        }
+    }
+
+    private void dealWithWaitingTaskGroupQueue(Set<Integer> taskGroupIds) {
+        for (Integer taskGroupId : taskGroupIds) {
+            TaskGroup taskGroup = taskGroupDao.queryById(taskGroupId);
+            if (taskGroup == null) {
+                log.warn("The TaskGroup: {} does not exist, skip to assign its slots", taskGroupId);
                 continue;
             }
-            for (TaskGroupQueue taskGroupQueue : taskGroupQueues) {
+            dealWithWaitingTaskGroupQueue(taskGroup);
+        }
+    }
+
+    private void dealWithWaitingTaskGroupQueue(TaskGroup taskGroup) {
+        int availableSize = taskGroup.getGroupSize() - taskGroup.getUseSize();
+        if (availableSize <= 0) {
+            log.info("TaskGroup {} is full, available size is {}", taskGroup, availableSize);
+            return;
+        }
+        List<TaskGroupQueue> taskGroupQueues =
+                taskGroupQueueDao.queryAllInQueueTaskGroupQueueByGroupId(taskGroup.getId())
+                        .stream()
+                        .filter(taskGroupQueue -> Flag.NO.getCode() == taskGroupQueue.getForceStart())
+                        .filter(taskGroupQueue -> TaskGroupQueueStatus.WAIT_QUEUE == taskGroupQueue.getStatus())
+                        .limit(availableSize)
+                        .collect(Collectors.toList());
+        if (CollectionUtils.isEmpty(taskGroupQueues)) {
+            log.debug("There is no waiting task group queue for task group {}", taskGroup.getName());
+            return;
+        }
+        for (TaskGroupQueue taskGroupQueue : taskGroupQueues) {
+            try {
+                LogUtils.setTaskInstanceIdMDC(taskGroupQueue.getTaskId());
+                // Reduce the taskGroupSize
+                boolean acquireResult = taskGroupDao.acquireTaskGroupSlot(taskGroup.getId());
+                if (!acquireResult) {
+                    log.error("Failed to acquire task group slot for task group {}", taskGroup);
+                    continue;
+                }
+                // Notify the waiting task instance
+                // We notify first, it notify failed, the taskGroupQueue will be in queue, and then we will retry it
+                // next time.
                 try {
-                    LogUtils.setTaskInstanceIdMDC(taskGroupQueue.getTaskId());
-                    // Reduce the taskGroupSize
-                    boolean acquireResult = taskGroupDao.acquireTaskGroupSlot(taskGroup.getId());
-                    if (!acquireResult) {
-                        log.error("Failed to acquire task group slot for task group {}", taskGroup);
-                        continue;
-                    }
-                    // Notify the waiting task instance
-                    // We notify first, it notify failed, the taskGroupQueue will be in queue, and then we will retry it
-                    // next time.
                     notifyWaitingTaskInstance(taskGroupQueue);
-
-                    // Set the taskGroupQueue status to RUNNING and remove from queue
-                    taskGroupQueue.setInQueue(Flag.YES.getCode());
-                    taskGroupQueue.setStatus(TaskGroupQueueStatus.ACQUIRE_SUCCESS);
-                    taskGroupQueue.setUpdateTime(new Date());
-                    taskGroupQueueDao.updateById(taskGroupQueue);
-                } catch (UnsupportedOperationException unsupportedOperationException) {
-                    deleteTaskGroupQueueSlot(taskGroupQueue);
-                    log.info(
-                            "Notify the Waiting TaskInstance: {} for taskGroupQueue: {} failed, will release the taskGroupQueue",
-                            taskGroupQueue.getTaskName(), taskGroupQueue.getId(), unsupportedOperationException);
                 } catch (Throwable throwable) {
-                    log.error("Notify Waiting TaskGroupQueue: {} failed", taskGroupQueue, throwable);
-                } finally {
-                    LogUtils.removeTaskInstanceIdMDC();
+                    // the slot is not used by the task instance
+                    taskGroupDao.releaseTaskGroupSlot(taskGroup.getId());
+                    throw throwable;
                 }
+
+                // Set the taskGroupQueue status to RUNNING and remove from queue
+                taskGroupQueue.setInQueue(Flag.YES.getCode());
+                taskGroupQueue.setStatus(TaskGroupQueueStatus.ACQUIRE_SUCCESS);
+                taskGroupQueue.setUpdateTime(new Date());
+                taskGroupQueueDao.updateById(taskGroupQueue);
+            } catch (UnsupportedOperationException unsupportedOperationException) {
+                deleteTaskGroupQueueSlot(taskGroupQueue);
+                log.info(
+                        "Notify the Waiting TaskInstance: {} for taskGroupQueue: {} failed, will release the taskGroupQueue",
+                        taskGroupQueue.getTaskName(), taskGroupQueue.getId(), unsupportedOperationException);
+            } catch (Throwable throwable) {
+                log.error("Notify Waiting TaskGroupQueue: {} failed", taskGroupQueue, throwable);
+            } finally {
+                LogUtils.removeTaskInstanceIdMDC();
             }
         }
     }
@@ -392,6 +472,8 @@ public class TaskGroupCoordinator extends BaseDaemonThread {
                 .build();
         log.info("Success insert TaskGroupQueue: {} for TaskInstance: {}", taskGroupQueue, taskInstance.getName());
         taskGroupQueueDao.insert(taskGroupQueue);
+        // the task group may have free slot now
+        pendingTaskGroupIds.add(taskGroupQueue.getGroupId());
     }
 
     /**
@@ -477,8 +559,27 @@ public class TaskGroupCoordinator extends BaseDaemonThread {
     }
 
     private void deleteTaskGroupQueueSlot(TaskGroupQueue taskGroupQueue) {
-        taskGroupQueueDao.deleteById(taskGroupQueue);
+        boolean usingTaskGroupSlot = isUsingTaskGroupSlot(taskGroupQueue);
+        // delete the TaskGroupQueue and release its slot atomically, so the amend never sees one without the other
+        if (!taskGroupQueueDao.deleteTaskGroupQueue(taskGroupQueue, usingTaskGroupSlot)) {
+            log.info("The TaskGroupQueue: {} is already released", taskGroupQueue);
+            return;
+        }
         log.info("Success release TaskGroupQueue: {}", taskGroupQueue);
+        if (usingTaskGroupSlot) {
+            // wake up the waiting task instances of the task group
+            pendingTaskGroupIds.add(taskGroupQueue.getGroupId());
+        }
+    }
+
+    /**
+     * The same as {@link TaskGroupQueueDao#countUsingTaskGroupQueueByGroupId(Integer)}, the TaskGroupQueue which is in
+     * queue, status is {@link TaskGroupQueueStatus#ACQUIRE_SUCCESS} and forceStart is {@link Flag#NO} uses a slot.
+     */
+    private boolean isUsingTaskGroupSlot(TaskGroupQueue taskGroupQueue) {
+        return Flag.YES.getCode() == taskGroupQueue.getInQueue()
+                && Flag.NO.getCode() == taskGroupQueue.getForceStart()
+                && TaskGroupQueueStatus.ACQUIRE_SUCCESS == taskGroupQueue.getStatus();
     }
 
 }
@@ -143,6 +143,31 @@ class WorkerClustersTest {
         assertThat(workerClusters.getServers()).containsExactly(normalWorkerServerMetadata, workerServerMetadata);
     }
 
+    @Test
+    void testGetClusterVersion() {
+        WorkerClusters workerClusters = new WorkerClusters();
+        long clusterVersion = workerClusters.getClusterVersion();
+
+        workerClusters.onServerAdded(getNormalWorkerServerMetadata());
+        assertThat(workerClusters.getClusterVersion()).isGreaterThan(clusterVersion);
+
+        // the load changed only
+        clusterVersion = workerClusters.getClusterVersion();
+        workerClusters.onServerUpdate(WorkerServerMetadata.builder()
+                .address("127.0.0.1:1235")
+                .cpuUsage(0.9)
+                .serverStatus(ServerStatus.NORMAL)
+                .build());
+        assertThat(workerClusters.getClusterVersion()).isEqualTo(clusterVersion);
+
+        workerClusters.onServerUpdate(getBusyWorkerServerMetadata());
+        assertThat(workerClusters.getClusterVersion()).isGreaterThan(clusterVersion);
+
+        clusterVersion = workerClusters.getClusterVersion();
+        workerClusters.onWorkerGroupAdd(Lists.newArrayList(WorkerGroup.builder().name("flinkCluster").build()));
+        assertThat(workerClusters.getClusterVersion()).isGreaterThan(clusterVersion);
+    }
+
     private WorkerServerMetadata getNormalWorkerServerMetadata() {
         return WorkerServerMetadata.builder()
                 .address("127.0.0.1:1235")
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cluster.loadbalancer;
+
+import org.apache.dolphinscheduler.common.enums.ServerStatus;
+import org.apache.dolphinscheduler.server.master.cluster.WorkerClusters;
+import org.apache.dolphinscheduler.server.master.cluster.WorkerServerMetadata;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.Range;
+import com.google.common.truth.Truth;
+
+class LeastLoadedWorkerLoadBalancerTest extends BaseWorkerLoadBalancerTest {
+
+    private WorkerClusters workerClusters;
+
+    private LeastLoadedWorkerLoadBalancer loadBalancer;
+
+    private final AtomicLong currentTime = new AtomicLong();
+
+    @BeforeEach
+    void before() {
+        workerClusters = getDefaultWorkerClusters();
+        Random random = new Random(0);
+        loadBalancer = new LeastLoadedWorkerLoadBalancer(workerClusters,
+                new WorkerLoadBalancerConfigurationProperties.DynamicWeightConfigProperties(),
+                () -> random,
+                currentTime::get);
+        // receive the heartbeats after the load balancer created
+        workerClusters.getServers().forEach(workerClusters::onServerUpdate);
+    }
+
+    @Test
+    void select_spreadDispatchedTaskInstances() {
+        // dispatch 300 tasks without any task finished and heartbeat updated
+        Map<String, Integer> workerSelectedCount = new HashMap<>();
+        for (int i = 0; i < 300; i++) {
+            Optional<String> selectedWorker = loadBalancer.select("default");
+            Truth.assertThat(selectedWorker).isPresent();
+            loadBalancer.onTaskInstanceDispatched(selectedWorker.get(), i);
+            workerSelectedCount.merge(selectedWorker.get(), 1, Integer::sum);
+        }
+        Truth.assertThat(workerSelectedCount.keySet())
+                .containsExactly("127.0.0.1:1234", "127.0.0.2:1234", "127.0.0.3:1234");
+        for (int count : workerSelectedCount.values()) {
+            Truth.assertThat(count).isIn(Range.closed(80, 120));
+        }
+    }
+
+    @Test
+    void select_avoidWorkerWithMoreInFlightTaskInstances() {
+        for (int i = 0; i < 10; i++) {
+            loadBalancer.onTaskInstanceDispatched("127.0.0.1:1234", i);
+        }
+        for (int i = 0; i < 100; i++) {
+            Truth.assertThat(loadBalancer.select("default")).isNotEqualTo(Optional.of("127.0.0.1:1234"));
+        }
+    }
+
+    @Test
+    void onTaskInstanceFinished() {
+        loadBalancer.onTaskInstanceDispatched("127.0.0.1:1234", 1);
+        loadBalancer.onTaskInstanceDispatched("127.0.0.1:1234", 2);
+        // dispatch again, e.g. the task instance is retried
+        loadBalancer.onTaskInstanceDispatched("127.0.0.2:1234", 2);
+        Truth.assertThat(loadBalancer.getInFlightTaskCount("127.0.0.1:1234")).isEqualTo(1);
+        Truth.assertThat(loadBalancer.getInFlightTaskCount("127.0.0.2:1234")).isEqualTo(1);
+
+        loadBalancer.onTaskInstanceFinished(1);
+        // duplicated finish event
+        loadBalancer.onTaskInstanceFinished(1);
+        // the task instance is not dispatched by this master
+        loadBalancer.onTaskInstanceFinished(3);
+        Truth.assertThat(loadBalancer.getInFlightTaskCount("127.0.0.1:1234")).isEqualTo(0);
+        Truth.assertThat(loadBalancer.getInFlightTaskCount("127.0.0.2:1234")).isEqualTo(1);
+    }
+
+    @Test
+    void onTaskInstanceDispatched_expireInFlightTaskInstancesWithoutFinishEvent() {
+        loadBalancer.onTaskInstanceDispatched("127.0.0.1:1234", 1);
+        currentTime.addAndGet(LeastLoadedWorkerLoadBalancer.IN_FLIGHT_TASK_INSTANCE_TTL_MILLS / 2);
+        loadBalancer.onTaskInstanceDispatched("127.0.0.1:1234", 2);
+        Truth.assertThat(loadBalancer.getInFlightTaskCount("127.0.0.1:1234")).isEqualTo(2);
+
+        // the finish event of task instance 1 is lost
+        currentTime.addAndGet(LeastLoadedWorkerLoadBalancer.IN_FLIGHT_TASK_INSTANCE_TTL_MILLS / 2);
+        loadBalancer.onTaskInstanceDispatched("127.0.0.2:1234", 3);
+        Truth.assertThat(loadBalancer.getInFlightTaskCount("127.0.0.1:1234")).isEqualTo(1);
+        Truth.assertThat(loadBalancer.getInFlightTaskCount("127.0.0.2:1234")).isEqualTo(1);
+
+        // the expired task instance finished later
+        loadBalancer.onTaskInstanceFinished(1);
+        Truth.assertThat(loadBalancer.getInFlightTaskCount("127.0.0.1:1234")).isEqualTo(1);
+    }
+
+    @Test
+    void select_followWorkerClustersChange() {
+        workerClusters.onServerUpdate(WorkerServerMetadata.builder()
+                .address("127.0.0.1:1234")
+                .serverStatus(ServerStatus.BUSY)
+                .build());
+        workerClusters.onServerRemove(workerClusters.getServers().stream()
+                .filter(server -> server.getAddress().equals("127.0.0.2:1234"))
+                .findFirst()
+                .get());
+        for (int i = 0; i < 100; i++) {
+            Truth.assertThat(loadBalancer.select("default")).isEqualTo(Optional.of("127.0.0.3:1234"));
+        }
+
+        workerClusters.onServerUpdate(WorkerServerMetadata.builder()
+                .address("127.0.0.3:1234")
+                .serverStatus(ServerStatus.BUSY)
+                .build());
+        Truth.assertThat(loadBalancer.select("default")).isEmpty();
+    }
+
+    @Test
+    void onServerRemove_clearInFlightTaskInstances() {
+        loadBalancer.onTaskInstanceDispatched("127.0.0.1:1234", 1);
+        WorkerServerMetadata removedWorker = workerClusters.getServers().stream()
+                .filter(server -> server.getAddress().equals("127.0.0.1:1234"))
+                .findFirst()
+                .get();
+        workerClusters.onServerRemove(removedWorker);
+        workerClusters.onServerAdded(removedWorker);
+
+        Truth.assertThat(loadBalancer.getInFlightTaskCount("127.0.0.1:1234")).isEqualTo(0);
+    }
+
+    @Test
+    void select_emptyWorkerGroup() {
+        Truth.assertThat(loadBalancer.select("busyCluster")).isEmpty();
+    }
+
+    @Test
+    void select_workerGroupNotExist() {
+        Truth.assertThat(loadBalancer.select("notExistCluster")).isEmpty();
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cluster.loadbalancer;
+
+import org.apache.dolphinscheduler.common.enums.ServerStatus;
+import org.apache.dolphinscheduler.server.master.cluster.WorkerClusters;
+import org.apache.dolphinscheduler.server.master.cluster.WorkerServerMetadata;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.truth.Truth;
+
+/**
+ * Simulate the bursty task dispatching to the workers, and compare the tail queueing time of the tasks on the workers.
+ * <p>
+ * The heartbeat of the workers are only updated every {@link #HEARTBEAT_INTERVAL} ticks, while a burst of tasks with
+ * random duration are dispatched at once.
+ */
+@Slf4j
+class WorkerLoadBalancerSimulationTest {
+
+    private static final int WORKER_COUNT = 8;
+
+    private static final int WORKER_EXEC_THREADS = 4;
+
+    private static final int HEARTBEAT_INTERVAL = 10;
+
+    private static final int BURST_INTERVAL = 40;
+
+    private static final int BURST_SIZE = 30;
+
+    private static final int BURST_COUNT = 200;
+
+    @Test
+    void leastLoadedHasLowerTailQueueingTime() {
+        int dynamicWeightedP99 = simulate(WorkerLoadBalancerType.DYNAMIC_WEIGHTED_ROUND_ROBIN);
+        int leastLoadedP99 = simulate(WorkerLoadBalancerType.LEAST_LOADED);
+        log.info("P99 queueing ticks, DYNAMIC_WEIGHTED_ROUND_ROBIN: {}, LEAST_LOADED: {}",
+                dynamicWeightedP99, leastLoadedP99);
+
+        Truth.assertThat(leastLoadedP99).isLessThan(dynamicWeightedP99);
+    }
+
+    private int simulate(WorkerLoadBalancerType workerLoadBalancerType) {
+        WorkerClusters workerClusters = new WorkerClusters();
+        WorkerLoadBalancerConfigurationProperties.DynamicWeightConfigProperties dynamicWeightConfigProperties =
+                new WorkerLoadBalancerConfigurationProperties.DynamicWeightConfigProperties();
+        // use a seeded random in the load balancer so the simulation is reproducible
+        Random selectRandom = new Random(1);
+        IWorkerLoadBalancer workerLoadBalancer =
+                workerLoadBalancerType == WorkerLoadBalancerType.LEAST_LOADED
+                        ? new LeastLoadedWorkerLoadBalancer(workerClusters, dynamicWeightConfigProperties,
+                                () -> selectRandom, System::currentTimeMillis)
+                        : new DynamicWeightedRoundRobinWorkerLoadBalancer(workerClusters,
+                                dynamicWeightConfigProperties);
+
+        Map<String, SimulatedWorker> workers = new HashMap<>();
+        for (int i = 0; i < WORKER_COUNT; i++) {
+            SimulatedWorker worker = new SimulatedWorker("127.0.0." + i + ":1234");
+            workers.put(worker.address, worker);
+            workerClusters.onServerAdded(worker.heartbeat());
+        }
+
+        Random random = new Random(0);
+        List<Integer> queueingTicks = new ArrayList<>();
+        int taskInstanceId = 0;
+        int endTick = BURST_INTERVAL * BURST_COUNT;
+        for (int tick = 0; tick < endTick || hasPendingTasks(workers); tick++) {
+            for (SimulatedWorker worker : workers.values()) {
+                worker.finishTasks(tick, workerLoadBalancer);
+            }
+            if (tick < endTick && tick % BURST_INTERVAL == 0) {
+                for (int i = 0; i < BURST_SIZE; i++) {
+                    String workerAddress = workerLoadBalancer.select("default").get();
+                    // most tasks are short, a few are long
+                    int duration = random.nextInt(10) == 0 ? 100 + random.nextInt(100) : 1 + random.nextInt(20);
+                    workers.get(workerAddress).waitingTasks.add(new SimulatedTask(++taskInstanceId, tick, duration));
+                    workerLoadBalancer.onTaskInstanceDispatched(workerAddress, taskInstanceId);
+                }
+            }
+            for (SimulatedWorker worker : workers.values()) {
+                worker.startTasks(tick, queueingTicks);
+            }
+            if (tick % HEARTBEAT_INTERVAL == 0) {
+                for (SimulatedWorker worker : workers.values()) {
+                    workerClusters.onServerUpdate(worker.heartbeat());
+                }
+            }
+        }
+        Collections.sort(queueingTicks);
+        return queueingTicks.get((int) (queueingTicks.size() * 0.99));
+    }
+
+    private boolean hasPendingTasks(Map<String, SimulatedWorker> workers) {
+        return workers.values().stream()
+                .anyMatch(worker -> !worker.waitingTasks.isEmpty() || !worker.runningTasks.isEmpty());
+    }
+
+    private static class SimulatedTask {
+
+        private final int taskInstanceId;
+
+        private final int dispatchTick;
+
+        private final int duration;
+
+        private int finishTick;
+
+        private SimulatedTask(int taskInstanceId, int dispatchTick, int duration) {
+            this.taskInstanceId = taskInstanceId;
+            this.dispatchTick = dispatchTick;
+            this.duration = duration;
+        }
+    }
+
+    private static class SimulatedWorker {
+
+        private final String address;
+
+        private final Deque<SimulatedTask> waitingTasks = new ArrayDeque<>();
+
+        private final List<SimulatedTask> runningTasks = new ArrayList<>();
+
+        private SimulatedWorker(String address) {
+            this.address = address;
+        }
+
+        private void finishTasks(int tick, IWorkerLoadBalancer workerLoadBalancer) {
+            runningTasks.removeIf(task -> {
+                if (task.finishTick > tick) {
+                    return false;
+                }
+                workerLoadBalancer.onTaskInstanceFinished(task.taskInstanceId);
+                return true;
+            });
+        }
+
+        private void startTasks(int tick, List<Integer> queueingTicks) {
+            while (runningTasks.size() < WORKER_EXEC_THREADS && !waitingTasks.isEmpty()) {
+                SimulatedTask task = waitingTasks.poll();
+                task.finishTick = tick + task.duration;
+                runningTasks.add(task);
+                queueingTicks.add(tick - task.dispatchTick);
+            }
+        }
+
+        private WorkerServerMetadata heartbeat() {
+            double taskThreadPoolUsage =
+                    (double) (runningTasks.size() + waitingTasks.size()) / WORKER_EXEC_THREADS;
+            return WorkerServerMetadata.builder()
+                    .address(address)
+                    .serverStatus(ServerStatus.NORMAL)
+                    .cpuUsage(0.1 + 0.2 * runningTasks.size() / WORKER_EXEC_THREADS)
+                    .memoryUsage(0.1 + 0.2 * runningTasks.size() / WORKER_EXEC_THREADS)
+                    .taskThreadPoolUsage(taskThreadPoolUsage)
+                    .build();
+        }
+    }
+}
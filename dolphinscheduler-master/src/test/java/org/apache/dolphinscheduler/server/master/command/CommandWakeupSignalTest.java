@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.command;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class CommandWakeupSignalTest {
+
+    @Test
+    void await_timeout() throws InterruptedException {
+        CommandWakeupSignal commandWakeupSignal = new CommandWakeupSignal();
+        assertThat(commandWakeupSignal.await(10)).isFalse();
+    }
+
+    @Test
+    void await_signaled() throws InterruptedException {
+        CommandWakeupSignal commandWakeupSignal = new CommandWakeupSignal();
+        commandWakeupSignal.signal();
+        commandWakeupSignal.signal();
+        assertThat(commandWakeupSignal.await(10_000)).isTrue();
+        // the signals before await should be merged
+        assertThat(commandWakeupSignal.await(10)).isFalse();
+    }
+}
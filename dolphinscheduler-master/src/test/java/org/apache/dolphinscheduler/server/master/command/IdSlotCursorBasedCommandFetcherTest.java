@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.command;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.common.enums.Priority;
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.dao.repository.CommandDao;
+import org.apache.dolphinscheduler.server.master.cluster.MasterSlotManager;
+import org.apache.dolphinscheduler.server.master.config.CommandFetchStrategy;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class IdSlotCursorBasedCommandFetcherTest {
+
+    @Mock
+    private CommandDao commandDao;
+
+    @Mock
+    private MasterSlotManager masterSlotManager;
+
+    private IdSlotCursorBasedCommandFetcher commandFetcher;
+
+    @BeforeEach
+    void setUp() {
+        CommandFetchStrategy.IdSlotBasedFetchConfig fetchConfig = new CommandFetchStrategy.IdSlotBasedFetchConfig();
+        fetchConfig.setFetchSize(2);
+        commandFetcher = new IdSlotCursorBasedCommandFetcher(fetchConfig, masterSlotManager, commandDao);
+        when(masterSlotManager.checkSlotValid()).thenReturn(true);
+        when(masterSlotManager.getCurrentMasterSlot()).thenReturn(0);
+        when(masterSlotManager.getTotalMasterSlots()).thenReturn(1);
+        when(commandDao.queryCommandByIdSlotAfterId(anyInt(), anyInt(), anyInt(), any(), anyInt(), anyInt()))
+                .thenReturn(Collections.emptyList());
+    }
+
+    @Test
+    void fetchCommands_invalidSlot() {
+        when(masterSlotManager.checkSlotValid()).thenReturn(false);
+        assertThat(commandFetcher.fetchCommands()).isEmpty();
+    }
+
+    @Test
+    void fetchCommands_higherPriorityFirst() {
+        when(commandDao.queryCommandByIdSlotAfterId(0, 1, 1, Priority.HIGH, 0, 2))
+                .thenReturn(commands(5));
+        when(commandDao.queryCommandByIdSlotAfterId(0, 1, 1, Priority.MEDIUM, 0, 1))
+                .thenReturn(commands(1));
+
+        assertThat(ids(commandFetcher.fetchCommands())).containsExactly(5, 1).inOrder();
+    }
+
+    @Test
+    void fetchCommands_resumeFromCursor() {
+        when(commandDao.queryCommandByIdSlotAfterId(0, 1, 1, Priority.MEDIUM, 0, 2))
+                .thenReturn(commands(1, 2));
+        when(commandDao.queryCommandByIdSlotAfterId(0, 1, 1, Priority.MEDIUM, 2, 2))
+                .thenReturn(commands(3));
+
+        assertThat(ids(commandFetcher.fetchCommands())).containsExactly(1, 2).inOrder();
+        assertThat(ids(commandFetcher.fetchCommands())).containsExactly(3);
+        // reach the tail, the cursor should be reset
+        assertThat(ids(commandFetcher.fetchCommands())).containsExactly(1, 2).inOrder();
+    }
+
+    @Test
+    void fetchCommands_resetCursorWhenSlotChanged() {
+        when(commandDao.queryCommandByIdSlotAfterId(eq(0), anyInt(), eq(1), eq(Priority.MEDIUM), eq(0), eq(2)))
+                .thenReturn(commands(2, 4));
+
+        commandFetcher.fetchCommands();
+        when(masterSlotManager.getTotalMasterSlots()).thenReturn(2);
+        commandFetcher.fetchCommands();
+
+        verify(commandDao).queryCommandByIdSlotAfterId(0, 2, 1, Priority.MEDIUM, 0, 2);
+    }
+
+    private static List<Command> commands(Integer... ids) {
+        return Arrays.stream(ids).map(id -> {
+            Command command = new Command();
+            command.setId(id);
+            return command;
+        }).collect(Collectors.toList());
+    }
+
+    private static List<Integer> ids(List<Command> commands) {
+        return commands.stream().map(Command::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.graph;
+
+import org.apache.dolphinscheduler.common.graph.DAG;
+import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
+import org.apache.dolphinscheduler.service.model.TaskNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TaskDependencyTrackerTest {
+
+    private TaskDependencyTracker taskDependencyTracker;
+
+    @BeforeEach
+    public void setup() {
+        // 1->2(forbidden)->4
+        // 3->2(forbidden)
+        // 3->4
+        // 4->5
+        List<TaskNode> taskNodes = new ArrayList<>();
+        taskNodes.add(createTaskNode(1L, false));
+        taskNodes.add(createTaskNode(2L, true, 1L, 3L));
+        taskNodes.add(createTaskNode(3L, false));
+        taskNodes.add(createTaskNode(4L, false, 2L, 3L));
+        taskNodes.add(createTaskNode(5L, false, 4L));
+        DAG<Long, TaskNode, TaskNodeRelation> dag = new DAG<>();
+        for (TaskNode taskNode : taskNodes) {
+            dag.addNode(taskNode.getCode(), taskNode);
+        }
+        for (TaskNode taskNode : taskNodes) {
+            for (Long depCode : taskNode.getDepList()) {
+                dag.addEdge(depCode, taskNode.getCode());
+            }
+        }
+        taskDependencyTracker = new TaskDependencyTracker(new WorkflowGraph(taskNodes, dag));
+    }
+
+    @Test
+    public void testGetDependencies() {
+        Assertions.assertEquals(Arrays.asList(1L, 3L), taskDependencyTracker.getDependencies(4L));
+        Assertions.assertEquals(Collections.singletonList(4L), taskDependencyTracker.getDependencies(5L));
+        Assertions.assertTrue(taskDependencyTracker.getDependencies(1L).isEmpty());
+        Assertions.assertTrue(taskDependencyTracker.getDependencies(6L).isEmpty());
+    }
+
+    @Test
+    public void testMarkCompleted() {
+        Assertions.assertTrue(taskDependencyTracker.isDependenciesSettled(1L));
+        Assertions.assertFalse(taskDependencyTracker.isDependenciesSettled(4L));
+
+        taskDependencyTracker.markCompleted(1L);
+        taskDependencyTracker.markCompleted(1L);
+        Assertions.assertFalse(taskDependencyTracker.isDependenciesSettled(4L));
+
+        taskDependencyTracker.markCompleted(3L);
+        Assertions.assertTrue(taskDependencyTracker.isDependenciesSettled(4L));
+        Assertions.assertFalse(taskDependencyTracker.isDependenciesSettled(5L));
+
+        taskDependencyTracker.markUncompleted(3L);
+        Assertions.assertFalse(taskDependencyTracker.isDependenciesSettled(4L));
+
+        taskDependencyTracker.markCompleted(3L);
+        taskDependencyTracker.reset();
+        Assertions.assertFalse(taskDependencyTracker.isDependenciesSettled(4L));
+    }
+
+    @Test
+    public void testTrackSkippedTasks() {
+        Map<Long, TaskNode> skipTaskNodeMap = new HashMap<>();
+        taskDependencyTracker.markCompleted(1L);
+        skipTaskNodeMap.put(3L, createTaskNode(3L, false));
+        taskDependencyTracker.trackSkippedTasks(skipTaskNodeMap);
+        Assertions.assertTrue(taskDependencyTracker.isDependenciesSettled(4L));
+
+        // the skipped task is still settled after the completed tasks are cleared
+        taskDependencyTracker.markCompleted(3L);
+        taskDependencyTracker.markUncompleted(3L);
+        Assertions.assertTrue(taskDependencyTracker.isDependenciesSettled(4L));
+        taskDependencyTracker.reset();
+        Assertions.assertFalse(taskDependencyTracker.isDependenciesSettled(4L));
+
+        skipTaskNodeMap.put(1L, createTaskNode(1L, false));
+        taskDependencyTracker.trackSkippedTasks(skipTaskNodeMap);
+        Assertions.assertTrue(taskDependencyTracker.isDependenciesSettled(4L));
+    }
+
+    private TaskNode createTaskNode(Long code, boolean forbidden, Long... depCodes) {
+        TaskNode taskNode = new TaskNode();
+        taskNode.setCode(code);
+        taskNode.setRunFlag(forbidden ? "FORBIDDEN" : "NORMAL");
+        taskNode.setDepList(Arrays.asList(depCodes));
+        return taskNode;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.graph;
+
+import org.apache.dolphinscheduler.common.enums.TaskDependType;
+import org.apache.dolphinscheduler.dao.repository.TaskDefinitionLogDao;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.service.model.TaskNode;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class WorkflowGraphCacheTest {
+
+    @Mock
+    private ProcessService processService;
+
+    @Mock
+    private TaskDefinitionLogDao taskDefinitionLogDao;
+
+    private MasterConfig masterConfig;
+
+    @BeforeEach
+    public void setup() {
+        masterConfig = new MasterConfig();
+        // 1->2
+        List<TaskNode> taskNodes = new ArrayList<>();
+        taskNodes.add(createTaskNode(1L));
+        taskNodes.add(createTaskNode(2L, 1L));
+        Mockito.when(processService.transformTask(Mockito.any(), Mockito.any())).thenReturn(taskNodes);
+    }
+
+    @Test
+    public void testGetWorkflowDefinitionGraph() throws Exception {
+        WorkflowGraphCache workflowGraphCache =
+                new WorkflowGraphCache(masterConfig, processService, taskDefinitionLogDao);
+
+        WorkflowDefinitionGraph workflowDefinitionGraph = workflowGraphCache.getWorkflowDefinitionGraph(1L, 1);
+        Assertions.assertEquals(2, workflowDefinitionGraph.getTaskNodes().size());
+        Assertions.assertSame(workflowDefinitionGraph, workflowGraphCache.getWorkflowDefinitionGraph(1L, 1));
+        Mockito.verify(processService, Mockito.times(1)).findRelationByCode(1L, 1);
+
+        // a new version is loaded by its own key
+        Assertions.assertNotSame(workflowDefinitionGraph, workflowGraphCache.getWorkflowDefinitionGraph(1L, 2));
+        Mockito.verify(processService, Mockito.times(1)).findRelationByCode(1L, 2);
+    }
+
+    @Test
+    public void testGetWorkflowDefinitionGraphWhenDisabled() {
+        masterConfig.getWorkflowGraphCache().setEnabled(false);
+        WorkflowGraphCache workflowGraphCache =
+                new WorkflowGraphCache(masterConfig, processService, taskDefinitionLogDao);
+
+        Assertions.assertNotSame(workflowGraphCache.getWorkflowDefinitionGraph(1L, 1),
+                workflowGraphCache.getWorkflowDefinitionGraph(1L, 1));
+        Mockito.verify(processService, Mockito.times(2)).findRelationByCode(1L, 1);
+    }
+
+    @Test
+    public void testEvictByTaskNodes() {
+        masterConfig.getWorkflowGraphCache().setMaxTaskNodes(3);
+        WorkflowGraphCache workflowGraphCache =
+                new WorkflowGraphCache(masterConfig, processService, taskDefinitionLogDao);
+
+        workflowGraphCache.getWorkflowDefinitionGraph(1L, 1);
+        workflowGraphCache.getWorkflowDefinitionGraph(1L, 2);
+        workflowGraphCache.getWorkflowDefinitionGraph(1L, 1);
+        Mockito.verify(processService, Mockito.times(2)).findRelationByCode(1L, 1);
+    }
+
+    @Test
+    public void testCreateWorkflowGraph() throws Exception {
+        WorkflowGraphCache workflowGraphCache =
+                new WorkflowGraphCache(masterConfig, processService, taskDefinitionLogDao);
+        WorkflowDefinitionGraph workflowDefinitionGraph = workflowGraphCache.getWorkflowDefinitionGraph(1L, 1);
+
+        IWorkflowGraph workflowGraph = workflowDefinitionGraph.createWorkflowGraph(Collections.emptyList(),
+                Collections.emptyList(), TaskDependType.TASK_POST);
+        Assertions.assertEquals(2, workflowGraph.getCompiledDag().getNodesCount());
+        Assertions.assertSame(workflowGraph, workflowDefinitionGraph.createWorkflowGraph(Collections.emptyList(),
+                Collections.emptyList(), TaskDependType.TASK_POST));
+
+        IWorkflowGraph startNodeWorkflowGraph = workflowDefinitionGraph.createWorkflowGraph(Arrays.asList(2L),
+                Collections.emptyList(), TaskDependType.TASK_ONLY);
+        Assertions.assertNotSame(workflowGraph, startNodeWorkflowGraph);
+        Assertions.assertEquals(Collections.singleton(2L), startNodeWorkflowGraph.getCompiledDag().getBeginNode());
+    }
+
+    private TaskNode createTaskNode(Long code, Long... depCodes) {
+        TaskNode taskNode = new TaskNode();
+        taskNode.setCode(code);
+        taskNode.setName("task-" + code);
+        taskNode.setDepList(Arrays.asList(depCodes));
+        return taskNode;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.config.WorkflowEventBackPressure;
+import org.apache.dolphinscheduler.server.master.event.WorkflowEvent;
+import org.apache.dolphinscheduler.server.master.event.WorkflowEventQueue;
+import org.apache.dolphinscheduler.server.master.event.WorkflowEventType;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class WorkflowEventBackPressureControllerTest {
+
+    @Mock
+    private MasterConfig masterConfig;
+
+    @Mock
+    private WorkflowEventQueue workflowEventQueue;
+
+    @Mock
+    private WorkflowExecuteThreadPool workflowExecuteThreadPool;
+
+    @InjectMocks
+    private WorkflowEventBackPressureController workflowEventBackPressureController;
+
+    private final WorkflowEventBackPressure backPressure = new WorkflowEventBackPressure();
+
+    @BeforeEach
+    void setUp() {
+        backPressure.setHighWatermark(100);
+        backPressure.setLowWatermark(50);
+        backPressure.setMaxEventLag(Duration.ofSeconds(10));
+        when(masterConfig.getWorkflowEventBackPressure()).thenReturn(backPressure);
+        mockPipeline(0, 0, 0);
+    }
+
+    @Test
+    void getMaxFetchSize_disabled() {
+        backPressure.setEnabled(false);
+        mockPipeline(1000, 1000, 60_000);
+        assertThat(workflowEventBackPressureController.getMaxFetchSize()).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    @Test
+    void getMaxFetchSize_limitedByRemainingCapacity() {
+        // the execute pool queue doesn't take the capacity of the workflow start events
+        mockPipeline(20, 90, 0);
+        assertThat(workflowEventBackPressureController.getMaxFetchSize()).isEqualTo(80);
+        assertThat(workflowEventBackPressureController.isPaused()).isFalse();
+    }
+
+    @Test
+    void getMaxFetchSize_pauseUntilLowWatermark() {
+        mockPipeline(60, 40, 0);
+        assertThat(workflowEventBackPressureController.getMaxFetchSize()).isEqualTo(40);
+
+        mockPipeline(100, 40, 0);
+        assertThat(workflowEventBackPressureController.getMaxFetchSize()).isEqualTo(0);
+        assertThat(workflowEventBackPressureController.isPaused()).isTrue();
+
+        mockPipeline(30, 60, 0);
+        assertThat(workflowEventBackPressureController.getMaxFetchSize()).isEqualTo(0);
+
+        mockPipeline(30, 50, 0);
+        assertThat(workflowEventBackPressureController.getMaxFetchSize()).isEqualTo(70);
+        assertThat(workflowEventBackPressureController.isPaused()).isFalse();
+    }
+
+    @Test
+    void getMaxFetchSize_pauseWhenExecutePoolQueueReachHighWatermark() {
+        mockPipeline(0, 100, 0);
+        assertThat(workflowEventBackPressureController.getMaxFetchSize()).isEqualTo(0);
+        assertThat(workflowEventBackPressureController.isPaused()).isTrue();
+    }
+
+    @Test
+    void getMaxFetchSize_pauseWhenEventLagExceeded() {
+        mockPipeline(1, 0, 10_000);
+        assertThat(workflowEventBackPressureController.getMaxFetchSize()).isEqualTo(0);
+
+        mockPipeline(0, 0, 0);
+        assertThat(workflowEventBackPressureController.getMaxFetchSize()).isEqualTo(100);
+    }
+
+    @Test
+    void getMaxFetchSize_resumeWhenOldestEventRequeued() throws InterruptedException {
+        AtomicLong currentTime = new AtomicLong();
+        WorkflowEventQueue realWorkflowEventQueue = new WorkflowEventQueue(currentTime::get);
+        ReflectionTestUtils.setField(workflowEventBackPressureController, "workflowEventQueue",
+                realWorkflowEventQueue);
+        realWorkflowEventQueue.addEvent(new WorkflowEvent(WorkflowEventType.START_WORKFLOW, 1));
+
+        currentTime.addAndGet(Duration.ofSeconds(10).toMillis());
+        assertThat(workflowEventBackPressureController.getMaxFetchSize()).isEqualTo(0);
+
+        // the looper failed to handle the event and puts it back
+        WorkflowEvent workflowEvent = realWorkflowEventQueue.poolEvent();
+        realWorkflowEventQueue.addEvent(workflowEvent);
+        assertThat(workflowEventBackPressureController.getMaxFetchSize()).isEqualTo(99);
+        assertThat(workflowEventBackPressureController.isPaused()).isFalse();
+    }
+
+    private void mockPipeline(int eventQueueSize, int executePoolQueueSize, long eventLagMills) {
+        when(workflowEventQueue.size()).thenReturn(eventQueueSize);
+        when(workflowExecuteThreadPool.getPendingTaskSize()).thenReturn(executePoolQueueSize);
+        when(workflowEventQueue.getOldestEventLagMills()).thenReturn(eventLagMills);
+    }
+}
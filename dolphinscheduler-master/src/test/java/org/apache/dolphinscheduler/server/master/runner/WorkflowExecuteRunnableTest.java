@@ -25,6 +25,7 @@ import static org.apache.dolphinscheduler.common.constants.CommandKeyConstants.C
 import org.apache.dolphinscheduler.common.enums.CommandType;
 import org.apache.dolphinscheduler.common.enums.ProcessExecutionTypeEnum;
 import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
+import org.apache.dolphinscheduler.common.graph.CompiledDAG;
 import org.apache.dolphinscheduler.common.graph.DAG;
 import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
@@ -53,7 +54,6 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -138,6 +138,7 @@ public class WorkflowExecuteRunnableTest {
         IWorkflowGraph workflowGraph = Mockito.mock(IWorkflowGraph.class);
         Mockito.when(workflowExecuteContext.getWorkflowGraph()).thenReturn(workflowGraph);
         Mockito.when(workflowGraph.getDag()).thenReturn(new DAG<>());
+        Mockito.when(workflowGraph.getCompiledDag()).thenReturn(CompiledDAG.of(new DAG<>()));
 
         taskGroupCoordinator = Mockito.mock(TaskGroupCoordinator.class);
 
@@ -213,7 +214,7 @@ public class WorkflowExecuteRunnableTest {
             Mockito.when(workflowExecuteContext.getWorkflowGraph()).thenReturn(workflowGraph);
             TaskNode taskNode = Mockito.mock(TaskNode.class);
             Mockito.when(workflowGraph.getTaskNodeByCode(Mockito.anyLong())).thenReturn(taskNode);
-            Mockito.when(taskNode.getPreTasks()).thenReturn(JSONUtils.toJsonString(Lists.newArrayList(1L, 2L)));
+            Mockito.when(taskNode.getDepList()).thenReturn(Lists.newArrayList(1L, 2L));
 
             TaskInstance taskInstance = new TaskInstance();
 
@@ -338,19 +339,15 @@ public class WorkflowExecuteRunnableTest {
         Mockito.when(processInstance.getCommandType()).thenReturn(CommandType.EXECUTE_TASK);
         Mockito.when(processInstance.getId()).thenReturn(123);
 
-        DAG<Long, TaskNode, TaskNodeRelation> dag = Mockito.mock(DAG.class);
-        Set<Long> taskCodesString = new HashSet<>();
-        taskCodesString.add(1L);
-        taskCodesString.add(2L);
-        Mockito.when(dag.getAllNodesList()).thenReturn(taskCodesString);
-        Mockito.when(dag.containsNode(1L)).thenReturn(true);
-        Mockito.when(dag.containsNode(2L)).thenReturn(false);
+        DAG<Long, TaskNode, TaskNodeRelation> dag = new DAG<>();
+        dag.addNode(1L, new TaskNode());
 
         WorkflowExecuteContext workflowExecuteContext = Mockito.mock(WorkflowExecuteContext.class);
         Mockito.when(workflowExecuteContext.getWorkflowInstance()).thenReturn(processInstance);
         IWorkflowGraph workflowGraph = Mockito.mock(IWorkflowGraph.class);
         Mockito.when(workflowExecuteContext.getWorkflowGraph()).thenReturn(workflowGraph);
         Mockito.when(workflowGraph.getDag()).thenReturn(dag);
+        Mockito.when(workflowGraph.getCompiledDag()).thenReturn(CompiledDAG.of(dag));
 
         Field dagField = masterExecThreadClass.getDeclaredField("workflowExecuteContext");
         dagField.setAccessible(true);
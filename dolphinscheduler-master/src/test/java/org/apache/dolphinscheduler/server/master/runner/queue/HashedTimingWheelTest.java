@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner.queue;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class HashedTimingWheelTest {
+
+    private static final long START_TIME = 1_000_000L;
+
+    @Test
+    void advance_expireOnlyReachedDeadline() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 8, START_TIME);
+        wheel.add("a", START_TIME + 250);
+        wheel.add("b", START_TIME + 500);
+
+        assertThat(wheel.advance(START_TIME + 200)).isEmpty();
+        assertThat(wheel.advance(START_TIME + 300)).containsExactly("a");
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(START_TIME + 500)).containsExactly("b");
+        assertThat(wheel.isEmpty()).isTrue();
+    }
+
+    @Test
+    void advance_deadlineBeyondOneRevolution() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 4, START_TIME);
+        wheel.add("a", START_TIME + 100);
+        wheel.add("b", START_TIME + 500);
+
+        assertThat(wheel.advance(START_TIME + 100)).containsExactly("a");
+        assertThat(wheel.advance(START_TIME + 400)).isEmpty();
+        assertThat(wheel.advance(START_TIME + 500)).containsExactly("b");
+    }
+
+    @Test
+    void advance_behindMoreThanOneRevolution() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 4, START_TIME);
+        wheel.add("a", START_TIME + 100);
+        wheel.add("b", START_TIME + 1_000);
+        wheel.add("c", START_TIME + 5_000);
+
+        assertThat(wheel.advance(START_TIME + 2_000)).containsExactly("a", "b");
+        assertThat(wheel.contains("c")).isTrue();
+    }
+
+    @Test
+    void add_passedDeadline() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 8, START_TIME);
+        wheel.advance(START_TIME + 1_000);
+        wheel.add("a", START_TIME);
+
+        assertThat(wheel.advance(START_TIME + 1_050)).isEmpty();
+        assertThat(wheel.advance(START_TIME + 1_100)).containsExactly("a");
+    }
+
+    @Test
+    void add_duplicateKey() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 8, START_TIME);
+        assertThat(wheel.add("a", START_TIME + 100)).isTrue();
+        assertThat(wheel.add("a", START_TIME + 200)).isFalse();
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    void cancel() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 8, START_TIME);
+        wheel.add("a", START_TIME + 100);
+        wheel.add("b", START_TIME + 100);
+        wheel.add("c", START_TIME + 100);
+
+        assertThat(wheel.cancel("b")).isTrue();
+        assertThat(wheel.cancel("b")).isFalse();
+        assertThat(wheel.advance(START_TIME + 100)).containsExactly("a", "c");
+    }
+}
@@ -21,10 +21,14 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.common.enums.TaskGroupQueueStatus;
 import org.apache.dolphinscheduler.dao.entity.TaskGroup;
 import org.apache.dolphinscheduler.dao.entity.TaskGroupQueue;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
@@ -34,10 +38,13 @@ import org.apache.dolphinscheduler.dao.repository.TaskGroupQueueDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.registry.api.RegistryClient;
 import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 
+import java.time.Duration;
 import java.util.List;
 
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -71,6 +78,14 @@ class TaskGroupCoordinatorTest {
     @Mock
     private ProcessInstanceDao processInstanceDao;
 
+    @Mock
+    private MasterConfig masterConfig;
+
+    @BeforeEach
+    void before() {
+        when(masterConfig.getTaskGroupReconcileInterval()).thenReturn(Duration.ofMinutes(1));
+    }
+
     @Test
     void start() throws InterruptedException {
         // Get the Lock from Registry
@@ -173,7 +188,64 @@ class TaskGroupCoordinatorTest {
         when(taskGroupQueueDao.queryByTaskInstanceId(taskInstance.getId())).thenReturn(taskGroupQueues);
         taskGroupCoordinator.releaseTaskGroupSlot(taskInstance);
 
-        verify(taskGroupQueueDao, Mockito.times(1)).deleteById(taskGroupQueue);
+        // the TaskGroupQueue doesn't use the slot
+        verify(taskGroupQueueDao, Mockito.times(1)).deleteTaskGroupQueue(taskGroupQueue, false);
+        verify(taskGroupDao, never()).releaseTaskGroupSlot(anyInt());
+
+    }
 
+    @Test
+    void releaseAcquiredTaskGroupSlot() {
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(1);
+        taskInstance.setTaskGroupId(1);
+        TaskGroupQueue taskGroupQueue = TaskGroupQueue.builder()
+                .id(1)
+                .taskId(1)
+                .groupId(1)
+                .inQueue(Flag.YES.getCode())
+                .forceStart(Flag.NO.getCode())
+                .status(TaskGroupQueueStatus.ACQUIRE_SUCCESS)
+                .build();
+        when(taskGroupQueueDao.queryByTaskInstanceId(taskInstance.getId()))
+                .thenReturn(Lists.newArrayList(taskGroupQueue));
+
+        // the TaskGroupQueue and its slot are released together
+        when(taskGroupQueueDao.deleteTaskGroupQueue(taskGroupQueue, true)).thenReturn(true);
+        taskGroupCoordinator.releaseTaskGroupSlot(taskInstance);
+        verify(taskGroupQueueDao, Mockito.times(1)).deleteTaskGroupQueue(taskGroupQueue, true);
+        verify(taskGroupDao, never()).releaseTaskGroupSlot(1);
+    }
+
+    @Test
+    void wakeupWaitingTaskGroupQueueOnRelease() {
+        taskGroupCoordinator.start();
+        // the first round reconcile all the task groups
+        verify(registryClient, timeout(1_000).times(1))
+                .getLock(RegistryNodeType.MASTER_TASK_GROUP_COORDINATOR_LOCK.getRegistryPath());
+        verify(taskGroupDao, timeout(1_000).times(1)).queryAvailableTaskGroups();
+
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(1);
+        taskInstance.setTaskGroupId(1);
+        TaskGroupQueue taskGroupQueue = TaskGroupQueue.builder()
+                .id(1)
+                .taskId(1)
+                .groupId(1)
+                .inQueue(Flag.YES.getCode())
+                .forceStart(Flag.NO.getCode())
+                .status(TaskGroupQueueStatus.ACQUIRE_SUCCESS)
+                .build();
+        when(taskGroupQueueDao.queryByTaskInstanceId(taskInstance.getId()))
+                .thenReturn(Lists.newArrayList(taskGroupQueue));
+        when(taskGroupQueueDao.deleteTaskGroupQueue(taskGroupQueue, true)).thenReturn(true);
+        taskGroupCoordinator.releaseTaskGroupSlot(taskInstance);
+
+        // the released task group is assigned immediately without the full reconciliation
+        verify(registryClient, timeout(1_000).times(2))
+                .getLock(RegistryNodeType.MASTER_TASK_GROUP_COORDINATOR_LOCK.getRegistryPath());
+        verify(taskGroupDao, timeout(1_000)).queryById(1);
+        verify(taskGroupDao, Mockito.times(1)).queryAvailableTaskGroups();
+        verify(taskGroupQueueDao, Mockito.times(1)).queryInQueueTaskGroupQueue(anyInt(), anyInt());
     }
 }
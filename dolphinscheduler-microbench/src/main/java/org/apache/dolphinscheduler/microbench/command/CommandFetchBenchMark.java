@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.command;
+
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compare the command fetch SQL of ID_SLOT_BASED and ID_SLOT_CURSOR_BASED against H2 with different command backlog,
+ * the statements are the same as the ones in CommandMapper.xml.
+ * <p>
+ * The commands are seeded with mixed priorities, most of them are MEDIUM and a few are HIGHEST or LOWEST, and the
+ * cursor based fetch goes through the priorities one by one until the fetch size is reached, same as
+ * IdSlotCursorBasedCommandFetcher.
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+public class CommandFetchBenchMark extends AbstractBaseBenchmark {
+
+    private static final int TOTAL_SLOT = 3;
+
+    private static final int CURRENT_SLOT_INDEX = 1;
+
+    private static final int ID_STEP = 1;
+
+    private static final int FETCH_SIZE = 10;
+
+    private static final int PRIORITY_COUNT = 5;
+
+    /**
+     * The percentage of the commands with each priority, from HIGHEST to LOWEST.
+     */
+    private static final int[] PRIORITY_PERCENTAGES = {1, 9, 80, 9, 1};
+
+    private static final String ID_SLOT_SQL = "select * from t_ds_command "
+            + "where (id / ?) % ? = ? "
+            + "order by process_instance_priority, id asc limit ?";
+
+    private static final String ID_SLOT_CURSOR_SQL = "select * from t_ds_command "
+            + "where process_instance_priority = ? and id > ? and (id / ?) % ? = ? "
+            + "order by id asc limit ?";
+
+    @Param({"1000", "10000", "100000"})
+    private int commandBacklog;
+
+    private Connection connection;
+
+    private PreparedStatement idSlotStatement;
+
+    private PreparedStatement idSlotCursorStatement;
+
+    @Setup
+    public void before() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:command_fetch_" + commandBacklog + ";MODE=MySQL");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE t_ds_command ("
+                    + "id int NOT NULL AUTO_INCREMENT, "
+                    + "command_type tinyint DEFAULT NULL, "
+                    + "process_definition_code bigint NOT NULL, "
+                    + "command_param text, "
+                    + "process_instance_priority int DEFAULT '2', "
+                    + "PRIMARY KEY (id))");
+            statement.execute(
+                    "CREATE INDEX priority_id_index ON t_ds_command (process_instance_priority, id)");
+        }
+        try (
+                PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO t_ds_command (command_type, process_definition_code, command_param, "
+                                + "process_instance_priority) VALUES (0, ?, '{}', ?)")) {
+            // use a fixed seed so each run has the same data
+            Random random = new Random(0);
+            for (int i = 0; i < commandBacklog; i++) {
+                insert.setLong(1, i);
+                insert.setInt(2, randomPriority(random));
+                insert.addBatch();
+                if (i % 1000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        idSlotStatement = connection.prepareStatement(ID_SLOT_SQL);
+        idSlotCursorStatement = connection.prepareStatement(ID_SLOT_CURSOR_SQL);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void idSlotFetch(Blackhole bh) throws SQLException {
+        idSlotStatement.setInt(1, ID_STEP);
+        idSlotStatement.setInt(2, TOTAL_SLOT);
+        idSlotStatement.setInt(3, CURRENT_SLOT_INDEX);
+        idSlotStatement.setInt(4, FETCH_SIZE);
+        consume(idSlotStatement, bh);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void idSlotCursorFetch(Blackhole bh) throws SQLException {
+        int fetched = 0;
+        for (int priority = 0; priority < PRIORITY_COUNT && fetched < FETCH_SIZE; priority++) {
+            // Fetch from the middle of the backlog to make sure the cursor seek is not benefit from the table head
+            idSlotCursorStatement.setInt(1, priority);
+            idSlotCursorStatement.setInt(2, commandBacklog / 2);
+            idSlotCursorStatement.setInt(3, ID_STEP);
+            idSlotCursorStatement.setInt(4, TOTAL_SLOT);
+            idSlotCursorStatement.setInt(5, CURRENT_SLOT_INDEX);
+            idSlotCursorStatement.setInt(6, FETCH_SIZE - fetched);
+            fetched += consume(idSlotCursorStatement, bh);
+        }
+    }
+
+    @TearDown
+    public void after() throws SQLException {
+        idSlotStatement.close();
+        idSlotCursorStatement.close();
+        connection.close();
+    }
+
+    private int randomPriority(Random random) {
+        int percentage = random.nextInt(100);
+        for (int priority = 0; priority < PRIORITY_COUNT - 1; priority++) {
+            percentage -= PRIORITY_PERCENTAGES[priority];
+            if (percentage < 0) {
+                return priority;
+            }
+        }
+        return PRIORITY_COUNT - 1;
+    }
+
+    private int consume(PreparedStatement statement, Blackhole bh) throws SQLException {
+        int count = 0;
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                bh.consume(resultSet.getInt("id"));
+                count++;
+            }
+        }
+        return count;
+    }
+}
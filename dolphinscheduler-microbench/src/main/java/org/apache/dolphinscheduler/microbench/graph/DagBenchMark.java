@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.graph;
+
+import org.apache.dolphinscheduler.common.graph.CompiledDAG;
+import org.apache.dolphinscheduler.common.graph.DAG;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compare the dependency checks of a workflow on the locked {@link DAG} with the ones on the {@link CompiledDAG}.
+ * <p>
+ * Each benchmark checks every node once, like a workflow instance does when all of its tasks are submitted: whether
+ * it's a begin node, its node info and its previous nodes.
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+public class DagBenchMark extends AbstractBaseBenchmark {
+
+    private static final int LAYER_WIDTH = 50;
+
+    @Param({"1000", "10000"})
+    private int nodesCount;
+
+    private DAG<Long, String, String> dag;
+
+    private CompiledDAG<Long, String> compiledDag;
+
+    @Setup
+    public void setup() {
+        dag = new DAG<>();
+        for (long i = 0; i < nodesCount; i++) {
+            dag.addNode(i, "task-" + i);
+        }
+        // every node except the first layer depends on two nodes of the previous layer
+        for (long i = LAYER_WIDTH; i < nodesCount; i++) {
+            long layerStart = i / LAYER_WIDTH * LAYER_WIDTH - LAYER_WIDTH;
+            dag.addEdge(layerStart + i % LAYER_WIDTH, i);
+            dag.addEdge(layerStart + (i + 1) % LAYER_WIDTH, i);
+        }
+        compiledDag = CompiledDAG.of(dag);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void dagDependencyCheck(Blackhole blackhole) {
+        for (long i = 0; i < nodesCount; i++) {
+            Collection<Long> beginNodes = dag.getBeginNode();
+            if (beginNodes.contains(i)) {
+                continue;
+            }
+            blackhole.consume(dag.getNode(i));
+            for (Long previousNode : dag.getPreviousNodes(i)) {
+                blackhole.consume(dag.containsNode(previousNode));
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void compiledDagDependencyCheck(Blackhole blackhole) {
+        for (long i = 0; i < nodesCount; i++) {
+            Collection<Long> beginNodes = compiledDag.getBeginNode();
+            if (beginNodes.contains(i)) {
+                continue;
+            }
+            blackhole.consume(compiledDag.getNode(i));
+            for (Long previousNode : compiledDag.getPreviousNodes(i)) {
+                blackhole.consume(compiledDag.containsNode(previousNode));
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public CompiledDAG<Long, String> compileDag() {
+        return CompiledDAG.of(dag);
+    }
+}
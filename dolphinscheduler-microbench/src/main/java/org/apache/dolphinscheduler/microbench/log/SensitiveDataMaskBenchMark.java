@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.log;
+
+import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.constants.DataSourceConstants;
+import org.apache.dolphinscheduler.common.log.SensitiveDataConverter;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.base.Strings;
+
+/**
+ * Compare the log masking of {@link SensitiveDataConverter} with the masking which compiles the patterns for each log,
+ * both on the log lines without sensitive data, which are most of the logs, and the ones with sensitive data.
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+public class SensitiveDataMaskBenchMark extends AbstractBaseBenchmark {
+
+    private static final String K8S_CONFIG_REGEX = Constants.K8S_CONFIG_REGEX;
+
+    private static final String PLAIN_LOG =
+            "[INFO] 2023-06-01 10:00:00.000 +0800 - Begin to execute task, taskInstanceId: 1024, workflowInstanceId: 512";
+
+    private static final String SENSITIVE_LOG =
+            "[INFO] 2023-06-01 10:00:00.000 +0800 - connectionParams: {\"user\":\"root\",\"password\":\"123456\"}";
+
+    @Setup
+    public void setup() {
+        SensitiveDataConverter.addMaskPattern(K8S_CONFIG_REGEX, Constants.K8S_CONFIG_KEYWORD);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String maskPlainLog() {
+        return SensitiveDataConverter.maskSensitiveData(PLAIN_LOG);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String maskSensitiveLog() {
+        return SensitiveDataConverter.maskSensitiveData(SENSITIVE_LOG);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String compilePerLogMaskPlainLog() {
+        return compilePerLogMask(PLAIN_LOG);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String compilePerLogMaskSensitiveLog() {
+        return compilePerLogMask(SENSITIVE_LOG);
+    }
+
+    private static String compilePerLogMask(String logMsg) {
+        Pattern pattern = Pattern.compile(
+                String.join("|", DataSourceConstants.DATASOURCE_PASSWORD_REGEX, K8S_CONFIG_REGEX), Pattern.MULTILINE);
+        StringBuffer sb = new StringBuffer(logMsg.length());
+        Matcher matcher = pattern.matcher(logMsg);
+        while (matcher.find()) {
+            String password = matcher.group();
+            matcher.appendReplacement(sb, Strings.repeat(Constants.STAR, password.length()));
+        }
+        matcher.appendTail(sb);
+        return sb.toString();
+    }
+}
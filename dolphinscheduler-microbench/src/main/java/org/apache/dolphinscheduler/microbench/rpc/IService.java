@@ -26,4 +26,7 @@ public interface IService {
     @RpcMethod
     String ping(String pingRequest);
 
+    @RpcMethod
+    RpcPayload echo(RpcPayload payload);
+
 }
@@ -24,4 +24,9 @@ public class IServiceImpl implements IService {
         return "I get " + pingRequest + ", I am Pong!";
     }
 
+    @Override
+    public RpcPayload echo(RpcPayload payload) {
+        return payload;
+    }
+
 }
@@ -17,8 +17,13 @@
 
 package org.apache.dolphinscheduler.microbench.rpc;
 
-import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
+import org.apache.dolphinscheduler.extract.base.client.JdkDynamicRpcClientProxyFactory;
+import org.apache.dolphinscheduler.extract.base.client.NettyRemotingClient;
+import org.apache.dolphinscheduler.extract.base.client.NettyRemotingClientFactory;
+import org.apache.dolphinscheduler.extract.base.config.NettyClientConfig;
 import org.apache.dolphinscheduler.extract.base.config.NettyServerConfig;
+import org.apache.dolphinscheduler.extract.base.serialize.BinaryRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.JsonRpcSerializer;
 import org.apache.dolphinscheduler.extract.base.server.SpringServerMethodInvokerDiscovery;
 import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
 
@@ -31,6 +36,7 @@ import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -38,6 +44,9 @@ import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
 
+/**
+ * Compare the rpc throughput and latency of each serializer, run with {@code -prof gc} to see the allocation per call.
+ */
 @Slf4j
 @Warmup(iterations = 5, time = 1)
 @Measurement(iterations = 10, time = 1)
@@ -45,10 +54,17 @@ import org.openjdk.jmh.infra.Blackhole;
 @BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
 public class RpcBenchMarkTest extends AbstractBaseBenchmark {
 
+    @Param({JsonRpcSerializer.NAME, BinaryRpcSerializer.NAME})
+    private String serializer;
+
     private SpringServerMethodInvokerDiscovery springServerMethodInvokerDiscovery;
 
+    private NettyRemotingClient nettyRemotingClient;
+
     private IService iService;
 
+    private RpcPayload payload;
+
     @Setup
     public void before() {
         NettyServerConfig nettyServerConfig =
@@ -56,8 +72,11 @@ public class RpcBenchMarkTest extends AbstractBaseBenchmark {
         springServerMethodInvokerDiscovery = new SpringServerMethodInvokerDiscovery(nettyServerConfig);
         springServerMethodInvokerDiscovery.postProcessAfterInitialization(new IServiceImpl(), "iServiceImpl");
         springServerMethodInvokerDiscovery.start();
-        iService =
-                SingletonJdkDynamicRpcClientProxyFactory.getProxyClient("localhost:12345", IService.class);
+        nettyRemotingClient = NettyRemotingClientFactory
+                .buildNettyRemotingClient(NettyClientConfig.builder().serializer(serializer).build());
+        iService = new JdkDynamicRpcClientProxyFactory(nettyRemotingClient)
+                .getProxyClient("localhost:12345", IService.class);
+        payload = RpcPayload.create();
     }
 
     @Benchmark
@@ -68,8 +87,17 @@ public class RpcBenchMarkTest extends AbstractBaseBenchmark {
         bh.consume(pong);
     }
 
+    @Benchmark
+    @BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void sendPayloadTest(Blackhole bh) {
+        RpcPayload echo = iService.echo(payload);
+        bh.consume(echo);
+    }
+
     @TearDown
     public void after() {
+        nettyRemotingClient.close();
         springServerMethodInvokerDiscovery.close();
     }
 }
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.rpc;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Data;
+
+/**
+ * A payload similar to the task execution context, which is the largest argument of the rpc between master and worker.
+ */
+@Data
+public class RpcPayload {
+
+    private int taskInstanceId;
+
+    private String taskName;
+
+    private String taskType;
+
+    private Date startTime;
+
+    private String executePath;
+
+    private String taskParams;
+
+    private Map<String, String> definedParams;
+
+    private List<String> resources;
+
+    public static RpcPayload create() {
+        RpcPayload payload = new RpcPayload();
+        payload.setTaskInstanceId(10086);
+        payload.setTaskName("benchmark-shell-task");
+        payload.setTaskType("SHELL");
+        payload.setStartTime(new Date());
+        payload.setExecutePath("/tmp/dolphinscheduler/exec/process/default/1/2/3/4");
+        StringBuilder rawScript = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            rawScript.append("echo line ").append(i).append("\\n");
+        }
+        payload.setTaskParams("{\"localParams\":[],\"rawScript\":\"" + rawScript + "\",\"resourceList\":[]}");
+        Map<String, String> definedParams = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            definedParams.put("param_" + i, "value_" + i);
+        }
+        payload.setDefinedParams(definedParams);
+        List<String> resources = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            resources.add("/dolphinscheduler/default/resources/resource_" + i + ".sh");
+        }
+        payload.setResources(resources);
+        return payload;
+    }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.storage;
+
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageTransferExecutor;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare downloading a large file in a single stream with downloading it in ranges concurrently.
+ * <p>
+ * The remote storage is a local file behind a stand-in which adds the first byte latency and limits the bandwidth of
+ * each stream, like an object storage does for each request.
+ */
+@Warmup(iterations = 1, time = 1)
+@Measurement(iterations = 3, time = 1)
+@State(Scope.Benchmark)
+public class StorageTransferBenchMark extends AbstractBaseBenchmark {
+
+    private static final int FILE_SIZE = 32 * 1024 * 1024;
+
+    private static final long PART_SIZE = 4 * 1024 * 1024;
+
+    private static final long FIRST_BYTE_LATENCY_MILLS = 20;
+
+    private static final long STREAM_BANDWIDTH_BYTES_PER_SECOND = 64 * 1024 * 1024;
+
+    @Param({"1", "4", "8"})
+    private int parallelism;
+
+    private Path tempDirectory;
+
+    private Path remoteFile;
+
+    private StorageTransferExecutor storageTransferExecutor;
+
+    @Setup
+    public void setup() throws IOException {
+        tempDirectory = Files.createTempDirectory("storage-transfer-benchmark");
+        remoteFile = tempDirectory.resolve("remote");
+        byte[] content = new byte[FILE_SIZE];
+        new Random(0).nextBytes(content);
+        Files.write(remoteFile, content);
+        storageTransferExecutor = new StorageTransferExecutor(parallelism, PART_SIZE, PART_SIZE);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(tempDirectory.toFile());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void singleStreamDownload() throws IOException {
+        try (InputStream inputStream = openRange(0, FILE_SIZE - 1)) {
+            Files.copy(inputStream, tempDirectory.resolve("single"), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void rangedDownload() throws IOException {
+        storageTransferExecutor.downloadInRanges(FILE_SIZE, this::openRange,
+                tempDirectory.resolve("ranged").toString());
+    }
+
+    private InputStream openRange(long start, long end) throws IOException {
+        sleep(FIRST_BYTE_LATENCY_MILLS);
+        RandomAccessFile randomAccessFile = new RandomAccessFile(remoteFile.toFile(), "r");
+        randomAccessFile.seek(start);
+        InputStream inputStream = new BoundedInputStream(Channels.newInputStream(randomAccessFile.getChannel()),
+                end - start + 1);
+        return new ThrottledInputStream(inputStream);
+    }
+
+    private static void sleep(long mills) throws IOException {
+        try {
+            Thread.sleep(mills);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
+    private static class ThrottledInputStream extends FilterInputStream {
+
+        private final long startTime = System.nanoTime();
+
+        private long readBytes;
+
+        private ThrottledInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int readLength = super.read(b, off, len);
+            if (readLength > 0) {
+                readBytes += readLength;
+                long expectedElapsedMills = readBytes * 1000 / STREAM_BANDWIDTH_BYTES_PER_SECOND;
+                long elapsedMills = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+                if (expectedElapsedMills > elapsedMills) {
+                    sleep(expectedElapsedMills - elapsedMills);
+                }
+            }
+            return readLength;
+        }
+    }
+}
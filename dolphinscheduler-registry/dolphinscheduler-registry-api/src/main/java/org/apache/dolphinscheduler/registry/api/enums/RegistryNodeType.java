@@ -32,6 +32,7 @@ public enum RegistryNodeType {
     WORKER("Worker", "/nodes/worker"),
     ALERT_SERVER("AlertServer", "/nodes/alert-server"),
     ALERT_LOCK("AlertNodeLock", "/lock/alert"),
+    API_STATE_COUNT_ROLLUP_LOCK("StateCountRollupLock", "/lock/api-state-count-rollup"),
     ;
 
     private final String name;
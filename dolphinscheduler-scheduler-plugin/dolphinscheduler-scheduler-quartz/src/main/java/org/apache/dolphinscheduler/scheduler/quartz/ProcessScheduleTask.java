@@ -17,22 +17,13 @@
 
 package org.apache.dolphinscheduler.scheduler.quartz;
 
-import org.apache.dolphinscheduler.common.enums.CommandType;
-import org.apache.dolphinscheduler.common.enums.ReleaseState;
-import org.apache.dolphinscheduler.dao.entity.Command;
-import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
-import org.apache.dolphinscheduler.dao.entity.Schedule;
-import org.apache.dolphinscheduler.dao.utils.WorkerGroupUtils;
-import org.apache.dolphinscheduler.service.command.CommandService;
-import org.apache.dolphinscheduler.service.process.ProcessService;
-
 import java.util.Date;
+import java.util.concurrent.ExecutionException;
 
 import lombok.extern.slf4j.Slf4j;
 
 import org.quartz.JobExecutionContext;
-import org.quartz.JobKey;
-import org.quartz.Scheduler;
+import org.quartz.JobExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.quartz.QuartzJobBean;
 
@@ -43,15 +34,12 @@ import io.micrometer.core.annotation.Timed;
 public class ProcessScheduleTask extends QuartzJobBean {
 
     @Autowired
-    private ProcessService processService;
-
-    @Autowired
-    private CommandService commandService;
+    private ScheduleFireCoalescer scheduleFireCoalescer;
 
     @Counted(value = "ds.master.quartz.job.executed")
     @Timed(value = "ds.master.quartz.job.execution.time", percentiles = {0.5, 0.75, 0.95, 0.99}, histogram = true)
     @Override
-    protected void executeInternal(JobExecutionContext context) {
+    protected void executeInternal(JobExecutionContext context) throws JobExecutionException {
         QuartzJobData quartzJobData = QuartzJobData.of(context.getJobDetail().getJobDataMap());
         int projectId = quartzJobData.getProjectId();
         int scheduleId = quartzJobData.getScheduleId();
@@ -62,56 +50,17 @@ public class ProcessScheduleTask extends QuartzJobBean {
 
         log.info("scheduled fire time :{}, fire time :{}, scheduleId :{}", scheduledFireTime, fireTime, scheduleId);
 
-        // query schedule
-        Schedule schedule = processService.querySchedule(scheduleId);
-        if (schedule == null || ReleaseState.OFFLINE == schedule.getReleaseState()) {
-            log.warn(
-                    "process schedule does not exist in db or process schedule offline，delete schedule job in quartz, projectId:{}, scheduleId:{}",
-                    projectId, scheduleId);
-            deleteJob(context, projectId, scheduleId);
-            return;
-        }
-
-        ProcessDefinition processDefinition =
-                processService.findProcessDefinitionByCode(schedule.getProcessDefinitionCode());
-        // release state : online/offline
-        ReleaseState releaseState = processDefinition.getReleaseState();
-        if (releaseState == ReleaseState.OFFLINE) {
-            log.warn(
-                    "process definition does not exist in db or offline，need not to create command, projectId:{}, processDefinitionId:{}",
-                    projectId, processDefinition.getId());
-            return;
-        }
-
-        Command command = new Command();
-        command.setCommandType(CommandType.SCHEDULER);
-        command.setExecutorId(schedule.getUserId());
-        command.setFailureStrategy(schedule.getFailureStrategy());
-        command.setProcessDefinitionCode(schedule.getProcessDefinitionCode());
-        command.setScheduleTime(scheduledFireTime);
-        command.setStartTime(fireTime);
-        command.setWarningGroupId(schedule.getWarningGroupId());
-        String workerGroup = WorkerGroupUtils.getWorkerGroupOrDefault(schedule.getWorkerGroup());
-        command.setWorkerGroup(workerGroup);
-        command.setTenantCode(schedule.getTenantCode());
-        command.setEnvironmentCode(schedule.getEnvironmentCode());
-        command.setWarningType(schedule.getWarningType());
-        command.setProcessInstancePriority(schedule.getProcessInstancePriority());
-        command.setProcessDefinitionVersion(processDefinition.getVersion());
-
-        commandService.createCommand(command);
-    }
-
-    private void deleteJob(JobExecutionContext context, int projectId, int scheduleId) {
-        final Scheduler scheduler = context.getScheduler();
-        JobKey jobKey = QuartzJobKey.of(projectId, scheduleId).toJobKey();
+        // the command is created by the coalescer, together with the commands of the other fires, wait until it's
+        // persisted so the fire is not acknowledged to quartz before that
         try {
-            if (scheduler.checkExists(jobKey)) {
-                log.info("Try to delete job: {}, projectId: {}, schedulerId", projectId, scheduleId);
-                scheduler.deleteJob(jobKey);
-            }
-        } catch (Exception e) {
-            log.error("Failed to delete job: {}", jobKey);
+            scheduleFireCoalescer.offer(
+                    new ScheduleFire(projectId, scheduleId, scheduledFireTime, fireTime, context.getScheduler()))
+                    .get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new JobExecutionException("Interrupted while creating the command of schedule: " + scheduleId, ex);
+        } catch (ExecutionException ex) {
+            throw new JobExecutionException("Failed to create the command of schedule: " + scheduleId, ex.getCause());
         }
     }
 }
@@ -17,6 +17,9 @@
 
 package org.apache.dolphinscheduler.scheduler.quartz;
 
+import org.apache.dolphinscheduler.dao.repository.CommandDao;
+import org.apache.dolphinscheduler.dao.repository.ProcessDefinitionDao;
+import org.apache.dolphinscheduler.dao.repository.ScheduleDao;
 import org.apache.dolphinscheduler.scheduler.api.SchedulerApi;
 
 import org.quartz.Scheduler;
@@ -24,10 +27,12 @@ import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.quartz.QuartzAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 
 @AutoConfiguration(after = {QuartzAutoConfiguration.class})
 @ConditionalOnClass(value = Scheduler.class)
+@EnableConfigurationProperties(ScheduleFireCoalesceProperties.class)
 public class QuartzSchedulerAutoConfiguration {
 
     @Bean
@@ -35,4 +40,14 @@ public class QuartzSchedulerAutoConfiguration {
     public SchedulerApi schedulerApi(Scheduler scheduler) {
         return new QuartzScheduler(scheduler);
     }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ScheduleFireCoalescer scheduleFireCoalescer(ScheduleDao scheduleDao,
+                                                       ProcessDefinitionDao processDefinitionDao,
+                                                       CommandDao commandDao,
+                                                       ScheduleFireCoalesceProperties scheduleFireCoalesceProperties) {
+        return new ScheduleFireCoalescer(scheduleDao, processDefinitionDao, commandDao,
+                scheduleFireCoalesceProperties);
+    }
 }
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.quartz;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import lombok.experimental.UtilityClass;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+@UtilityClass
+public class QuartzSchedulerMetrics {
+
+    private final Timer fireToCommandLatencyTimer =
+            Timer.builder("ds.master.quartz.fire.command.latency")
+                    .description("The latency from the schedule fire to the command created")
+                    .publishPercentiles(0.5, 0.75, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .register(Metrics.globalRegistry);
+
+    private final DistributionSummary fireBatchSizeSummary =
+            DistributionSummary.builder("ds.master.quartz.fire.batch.size")
+                    .description("The count of the schedule fires handled in one batch")
+                    .register(Metrics.globalRegistry);
+
+    public void recordFireToCommandLatency(long milliseconds) {
+        fireToCommandLatencyTimer.record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
+    public void recordFireBatchSize(int batchSize) {
+        fireBatchSizeSummary.record(batchSize);
+    }
+
+    public synchronized void registerPendingFireGauge(Supplier<Number> function) {
+        Gauge.builder("ds.master.quartz.fire.pending", function)
+                .description("The count of the schedule fires waiting to be turned into commands")
+                .register(Metrics.globalRegistry);
+    }
+
+}
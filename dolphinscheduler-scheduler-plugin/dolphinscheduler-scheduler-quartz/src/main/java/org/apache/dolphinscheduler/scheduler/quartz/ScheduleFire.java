@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.quartz;
+
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import org.quartz.Scheduler;
+
+@Data
+@AllArgsConstructor
+public class ScheduleFire {
+
+    private int projectId;
+
+    private int scheduleId;
+
+    private Date scheduledFireTime;
+
+    private Date fireTime;
+
+    /**
+     * Used to delete the job if the schedule doesn't exist or is offline.
+     */
+    private Scheduler scheduler;
+
+    /**
+     * Completed once the command of the fire is persisted, or no command is needed for the fire.
+     */
+    private final CompletableFuture<Void> persistFuture = new CompletableFuture<>();
+
+}
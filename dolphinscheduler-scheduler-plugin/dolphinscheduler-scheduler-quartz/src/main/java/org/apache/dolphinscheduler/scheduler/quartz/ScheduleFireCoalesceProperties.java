@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.quartz;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * The properties of coalescing the schedule fires, the fires collected within the window are validated by set-based
+ * queries and turned into commands by one batch insert, instead of several round trips to the db for each fire.
+ */
+@Data
+@ConfigurationProperties(prefix = "scheduler.quartz.fire-coalesce")
+public class ScheduleFireCoalesceProperties {
+
+    /**
+     * Whether to coalesce the schedule fires, the command is created in the quartz thread for each fire if disabled.
+     */
+    private boolean enabled = false;
+
+    /**
+     * How long to collect the fires before creating the commands.
+     */
+    private Duration window = Duration.ofMillis(200);
+
+    /**
+     * The max fires handled in one batch.
+     */
+    private int maxBatchSize = 500;
+
+    /**
+     * The max fires waiting in the buffer, once it's full the quartz thread creates the command by itself.
+     */
+    private int maxPendingSize = 20000;
+
+}
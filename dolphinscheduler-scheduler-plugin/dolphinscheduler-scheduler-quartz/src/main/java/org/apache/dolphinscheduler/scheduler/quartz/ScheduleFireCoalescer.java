@@ -0,0 +1,321 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.quartz;
+
+import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.enums.CommandType;
+import org.apache.dolphinscheduler.common.enums.ReleaseState;
+import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
+import org.apache.dolphinscheduler.dao.entity.Schedule;
+import org.apache.dolphinscheduler.dao.repository.CommandDao;
+import org.apache.dolphinscheduler.dao.repository.ProcessDefinitionDao;
+import org.apache.dolphinscheduler.dao.repository.ScheduleDao;
+import org.apache.dolphinscheduler.dao.utils.WorkerGroupUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+
+/**
+ * Turn the schedule fires into commands in batches.
+ * <p>
+ * The quartz thread only puts the fire into the buffer, the coalescer thread collects the fires within the window,
+ * queries the schedules and the process definitions of them by two set-based queries, and inserts the commands by one
+ * multi-row insert. So the quartz threads are not blocked by the db round trips when lots of schedules fire at the
+ * same time.
+ * <p>
+ * Each fire carries a future which is completed once its command is persisted (or once it turns out no command is
+ * needed), the quartz job waits on it, so a fire is never acknowledged to quartz before its command is in the db.
+ */
+@Slf4j
+public class ScheduleFireCoalescer extends BaseDaemonThread implements AutoCloseable {
+
+    private static final long POLL_TIMEOUT_MILLS = TimeUnit.SECONDS.toMillis(1);
+
+    private final ScheduleDao scheduleDao;
+
+    private final ProcessDefinitionDao processDefinitionDao;
+
+    private final CommandDao commandDao;
+
+    private final ScheduleFireCoalesceProperties scheduleFireCoalesceProperties;
+
+    private final BlockingQueue<ScheduleFire> pendingFires;
+
+    private final AtomicBoolean started = new AtomicBoolean(false);
+
+    private volatile boolean running = true;
+
+    public ScheduleFireCoalescer(ScheduleDao scheduleDao,
+                                 ProcessDefinitionDao processDefinitionDao,
+                                 CommandDao commandDao,
+                                 ScheduleFireCoalesceProperties scheduleFireCoalesceProperties) {
+        super("ScheduleFireCoalescer");
+        this.scheduleDao = scheduleDao;
+        this.processDefinitionDao = processDefinitionDao;
+        this.commandDao = commandDao;
+        this.scheduleFireCoalesceProperties = scheduleFireCoalesceProperties;
+        this.pendingFires = new LinkedBlockingQueue<>(scheduleFireCoalesceProperties.getMaxPendingSize());
+        QuartzSchedulerMetrics.registerPendingFireGauge(pendingFires::size);
+    }
+
+    /**
+     * Put the fire into the buffer. The fire is handled in the caller thread if the coalescing is disabled or the
+     * buffer is full.
+     *
+     * @return the future which is completed once the command of the fire is persisted
+     */
+    public CompletableFuture<Void> offer(ScheduleFire scheduleFire) {
+        if (!scheduleFireCoalesceProperties.isEnabled() || !running) {
+            handleFires(Collections.singletonList(scheduleFire));
+            return scheduleFire.getPersistFuture();
+        }
+        // the thread is started lazily, since the jobs are only executed in master
+        if (started.compareAndSet(false, true)) {
+            start();
+        }
+        if (!pendingFires.offer(scheduleFire)) {
+            log.warn("The pending schedule fires exceed {}, handle the fire of schedule: {} directly",
+                    scheduleFireCoalesceProperties.getMaxPendingSize(), scheduleFire.getScheduleId());
+            handleFires(Collections.singletonList(scheduleFire));
+        } else if (!running) {
+            // the coalescer is closed after the check above, the fire may be missed by close
+            handlePendingFires();
+        }
+        return scheduleFire.getPersistFuture();
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                List<ScheduleFire> scheduleFires = collectFires();
+                if (!scheduleFires.isEmpty()) {
+                    handleFires(scheduleFires);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception ex) {
+                log.error("Handle the schedule fires error", ex);
+            }
+        }
+    }
+
+    /**
+     * Wait for the first fire, then collect the fires until the window is over or the batch is full.
+     */
+    private List<ScheduleFire> collectFires() throws InterruptedException {
+        ScheduleFire firstFire = pendingFires.poll(POLL_TIMEOUT_MILLS, TimeUnit.MILLISECONDS);
+        if (firstFire == null) {
+            return Collections.emptyList();
+        }
+        int maxBatchSize = scheduleFireCoalesceProperties.getMaxBatchSize();
+        List<ScheduleFire> scheduleFires = new ArrayList<>();
+        scheduleFires.add(firstFire);
+        long deadline = System.currentTimeMillis() + scheduleFireCoalesceProperties.getWindow().toMillis();
+        while (scheduleFires.size() < maxBatchSize) {
+            long remainingTime = deadline - System.currentTimeMillis();
+            if (remainingTime <= 0) {
+                break;
+            }
+            ScheduleFire scheduleFire = pendingFires.poll(remainingTime, TimeUnit.MILLISECONDS);
+            if (scheduleFire == null) {
+                break;
+            }
+            scheduleFires.add(scheduleFire);
+            pendingFires.drainTo(scheduleFires, maxBatchSize - scheduleFires.size());
+        }
+        return scheduleFires;
+    }
+
+    /**
+     * Create the commands of the fires, the future of each fire is completed when this method returns.
+     */
+    void handleFires(List<ScheduleFire> scheduleFires) {
+        try {
+            doHandleFires(scheduleFires);
+        } catch (Throwable ex) {
+            log.error("Handle the schedule fires error, scheduleIds: {}",
+                    scheduleFires.stream().map(ScheduleFire::getScheduleId).collect(Collectors.toList()), ex);
+            // the fires whose command is already inserted are not affected
+            scheduleFires.forEach(scheduleFire -> scheduleFire.getPersistFuture().completeExceptionally(ex));
+        }
+    }
+
+    private void doHandleFires(List<ScheduleFire> scheduleFires) {
+        Set<Integer> scheduleIds = scheduleFires.stream()
+                .map(ScheduleFire::getScheduleId)
+                .collect(Collectors.toSet());
+        Map<Integer, Schedule> schedules = scheduleDao.queryByIds(scheduleIds)
+                .stream()
+                .collect(Collectors.toMap(Schedule::getId, Function.identity()));
+        Set<Long> processDefinitionCodes = schedules.values()
+                .stream()
+                .filter(schedule -> ReleaseState.ONLINE == schedule.getReleaseState())
+                .map(Schedule::getProcessDefinitionCode)
+                .collect(Collectors.toSet());
+        Map<Long, ProcessDefinition> processDefinitions = processDefinitionDao.queryByCodes(processDefinitionCodes)
+                .stream()
+                .collect(Collectors.toMap(ProcessDefinition::getCode, Function.identity()));
+
+        List<Command> commands = new ArrayList<>(scheduleFires.size());
+        List<ScheduleFire> commandFires = new ArrayList<>(scheduleFires.size());
+        for (ScheduleFire scheduleFire : scheduleFires) {
+            Schedule schedule = schedules.get(scheduleFire.getScheduleId());
+            if (schedule == null || ReleaseState.OFFLINE == schedule.getReleaseState()) {
+                log.warn(
+                        "process schedule does not exist in db or process schedule offline，delete schedule job in quartz, projectId:{}, scheduleId:{}",
+                        scheduleFire.getProjectId(), scheduleFire.getScheduleId());
+                deleteJob(scheduleFire);
+                continue;
+            }
+            ProcessDefinition processDefinition = processDefinitions.get(schedule.getProcessDefinitionCode());
+            if (processDefinition == null || ReleaseState.OFFLINE == processDefinition.getReleaseState()) {
+                log.warn(
+                        "process definition does not exist in db or offline，need not to create command, projectId:{}, processDefinitionCode:{}",
+                        scheduleFire.getProjectId(), schedule.getProcessDefinitionCode());
+                continue;
+            }
+            commands.add(createCommand(schedule, processDefinition, scheduleFire));
+            commandFires.add(scheduleFire);
+        }
+        int insertedCount = insertCommands(commands, commandFires);
+        // the fires which don't need a command
+        scheduleFires.forEach(scheduleFire -> scheduleFire.getPersistFuture().complete(null));
+
+        long now = System.currentTimeMillis();
+        for (ScheduleFire scheduleFire : commandFires) {
+            if (!scheduleFire.getPersistFuture().isCompletedExceptionally()) {
+                QuartzSchedulerMetrics.recordFireToCommandLatency(now - scheduleFire.getFireTime().getTime());
+            }
+        }
+        QuartzSchedulerMetrics.recordFireBatchSize(scheduleFires.size());
+        log.info("Created {} commands for {} schedule fires", insertedCount, scheduleFires.size());
+    }
+
+    /**
+     * Insert the commands by one multi-row insert, fall back to insert them one by one if the batch fails, so a bad
+     * command doesn't fail the other fires of the batch.
+     *
+     * @return the count of the inserted commands
+     */
+    private int insertCommands(List<Command> commands, List<ScheduleFire> commandFires) {
+        try {
+            commandDao.insertBatch(commands);
+            commandFires.forEach(scheduleFire -> scheduleFire.getPersistFuture().complete(null));
+            return commands.size();
+        } catch (Exception ex) {
+            log.error("Insert {} commands in batch error, will insert them one by one", commands.size(), ex);
+        }
+        int insertedCount = 0;
+        for (int i = 0; i < commands.size(); i++) {
+            Command command = commands.get(i);
+            ScheduleFire scheduleFire = commandFires.get(i);
+            try {
+                command.setId(null);
+                commandDao.insert(command);
+                scheduleFire.getPersistFuture().complete(null);
+                insertedCount++;
+            } catch (Exception ex) {
+                log.error("Insert the command of schedule: {} error", scheduleFire.getScheduleId(), ex);
+                scheduleFire.getPersistFuture().completeExceptionally(ex);
+            }
+        }
+        return insertedCount;
+    }
+
+    private Command createCommand(Schedule schedule, ProcessDefinition processDefinition, ScheduleFire scheduleFire) {
+        Command command = new Command();
+        command.setCommandType(CommandType.SCHEDULER);
+        command.setExecutorId(schedule.getUserId());
+        command.setFailureStrategy(schedule.getFailureStrategy());
+        command.setProcessDefinitionCode(schedule.getProcessDefinitionCode());
+        command.setScheduleTime(scheduleFire.getScheduledFireTime());
+        command.setStartTime(scheduleFire.getFireTime());
+        command.setWarningGroupId(schedule.getWarningGroupId());
+        String workerGroup = WorkerGroupUtils.getWorkerGroupOrDefault(schedule.getWorkerGroup());
+        command.setWorkerGroup(workerGroup);
+        command.setTenantCode(schedule.getTenantCode());
+        command.setEnvironmentCode(schedule.getEnvironmentCode());
+        command.setWarningType(schedule.getWarningType());
+        command.setProcessInstancePriority(schedule.getProcessInstancePriority());
+        command.setProcessDefinitionVersion(processDefinition.getVersion());
+        command.setCommandParam(JSONUtils.toJsonString(
+                Collections.singletonMap(Constants.SCHEDULE_TIMEZONE, schedule.getTimezoneId())));
+        command.setUpdateTime(new Date());
+        return command;
+    }
+
+    private void deleteJob(ScheduleFire scheduleFire) {
+        final Scheduler scheduler = scheduleFire.getScheduler();
+        JobKey jobKey = QuartzJobKey.of(scheduleFire.getProjectId(), scheduleFire.getScheduleId()).toJobKey();
+        try {
+            if (scheduler.checkExists(jobKey)) {
+                log.info("Try to delete job: {}, projectId: {}, scheduleId: {}", jobKey, scheduleFire.getProjectId(),
+                        scheduleFire.getScheduleId());
+                scheduler.deleteJob(jobKey);
+            }
+        } catch (Exception e) {
+            log.error("Failed to delete job: {}", jobKey);
+        }
+    }
+
+    /**
+     * Stop collecting the fires, and handle the pending fires before return.
+     */
+    @Override
+    public void close() {
+        running = false;
+        if (started.get()) {
+            try {
+                join(POLL_TIMEOUT_MILLS + scheduleFireCoalesceProperties.getWindow().toMillis());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        handlePendingFires();
+        log.info("ScheduleFireCoalescer closed");
+    }
+
+    private void handlePendingFires() {
+        List<ScheduleFire> scheduleFires = new ArrayList<>();
+        pendingFires.drainTo(scheduleFires);
+        if (!scheduleFires.isEmpty()) {
+            handleFires(scheduleFires);
+        }
+    }
+}
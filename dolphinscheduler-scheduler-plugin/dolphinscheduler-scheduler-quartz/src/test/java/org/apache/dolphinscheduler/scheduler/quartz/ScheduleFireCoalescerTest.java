@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.quartz;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.enums.CommandType;
+import org.apache.dolphinscheduler.common.enums.ReleaseState;
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
+import org.apache.dolphinscheduler.dao.entity.Schedule;
+import org.apache.dolphinscheduler.dao.repository.CommandDao;
+import org.apache.dolphinscheduler.dao.repository.ProcessDefinitionDao;
+import org.apache.dolphinscheduler.dao.repository.ScheduleDao;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+
+class ScheduleFireCoalescerTest {
+
+    private ScheduleDao scheduleDao;
+
+    private ProcessDefinitionDao processDefinitionDao;
+
+    private CommandDao commandDao;
+
+    private Scheduler scheduler;
+
+    private ScheduleFireCoalesceProperties scheduleFireCoalesceProperties;
+
+    @BeforeEach
+    void before() {
+        scheduleDao = mock(ScheduleDao.class);
+        processDefinitionDao = mock(ProcessDefinitionDao.class);
+        commandDao = mock(CommandDao.class);
+        scheduler = mock(Scheduler.class);
+        scheduleFireCoalesceProperties = new ScheduleFireCoalesceProperties();
+        scheduleFireCoalesceProperties.setEnabled(true);
+        scheduleFireCoalesceProperties.setWindow(Duration.ofMillis(500));
+    }
+
+    @Test
+    void handleFires() {
+        when(scheduleDao.queryByIds(anyCollection())).thenReturn(Arrays.asList(
+                createSchedule(1, 100L, ReleaseState.ONLINE),
+                createSchedule(2, 200L, ReleaseState.ONLINE)));
+        when(processDefinitionDao.queryByCodes(anyCollection())).thenReturn(Arrays.asList(
+                createProcessDefinition(100L, ReleaseState.ONLINE),
+                createProcessDefinition(200L, ReleaseState.ONLINE)));
+
+        createScheduleFireCoalescer().handleFires(Arrays.asList(createScheduleFire(1), createScheduleFire(2)));
+
+        List<Command> commands = captureInsertedCommands();
+        assertEquals(2, commands.size());
+        assertEquals(CommandType.SCHEDULER, commands.get(0).getCommandType());
+        assertEquals(100L, commands.get(0).getProcessDefinitionCode());
+        assertEquals(3, commands.get(0).getProcessDefinitionVersion());
+        assertTrue(commands.get(0).getCommandParam().contains(Constants.SCHEDULE_TIMEZONE));
+        assertEquals(200L, commands.get(1).getProcessDefinitionCode());
+        verify(scheduleDao, times(1)).queryByIds(anyCollection());
+        verify(processDefinitionDao, times(1)).queryByCodes(anyCollection());
+    }
+
+    @Test
+    void handleFires_deleteJobOfOfflineSchedule() throws SchedulerException {
+        when(scheduleDao.queryByIds(anyCollection()))
+                .thenReturn(Arrays.asList(createSchedule(1, 100L, ReleaseState.OFFLINE)));
+        when(scheduler.checkExists(any(JobKey.class))).thenReturn(true);
+
+        createScheduleFireCoalescer().handleFires(Arrays.asList(createScheduleFire(1), createScheduleFire(2)));
+
+        verify(scheduler).deleteJob(QuartzJobKey.of(1, 1).toJobKey());
+        verify(scheduler).deleteJob(QuartzJobKey.of(1, 2).toJobKey());
+        assertTrue(captureInsertedCommands().isEmpty());
+    }
+
+    @Test
+    void handleFires_skipOfflineProcessDefinition() throws SchedulerException {
+        when(scheduleDao.queryByIds(anyCollection())).thenReturn(Arrays.asList(
+                createSchedule(1, 100L, ReleaseState.ONLINE),
+                createSchedule(2, 200L, ReleaseState.ONLINE)));
+        when(processDefinitionDao.queryByCodes(anyCollection()))
+                .thenReturn(Arrays.asList(createProcessDefinition(100L, ReleaseState.OFFLINE)));
+
+        createScheduleFireCoalescer().handleFires(Arrays.asList(createScheduleFire(1), createScheduleFire(2)));
+
+        verify(scheduler, never()).deleteJob(any(JobKey.class));
+        assertTrue(captureInsertedCommands().isEmpty());
+    }
+
+    @Test
+    void handleFires_insertOneByOneIfBatchFails() {
+        when(scheduleDao.queryByIds(anyCollection())).thenReturn(Arrays.asList(
+                createSchedule(1, 100L, ReleaseState.ONLINE),
+                createSchedule(2, 200L, ReleaseState.ONLINE)));
+        when(processDefinitionDao.queryByCodes(anyCollection())).thenReturn(Arrays.asList(
+                createProcessDefinition(100L, ReleaseState.ONLINE),
+                createProcessDefinition(200L, ReleaseState.ONLINE)));
+        doThrow(new RuntimeException("batch insert failed")).when(commandDao).insertBatch(anyCollection());
+        doThrow(new RuntimeException("insert failed")).doReturn(1).when(commandDao).insert(any(Command.class));
+        ScheduleFire failedFire = createScheduleFire(1);
+        ScheduleFire insertedFire = createScheduleFire(2);
+
+        createScheduleFireCoalescer().handleFires(Arrays.asList(failedFire, insertedFire));
+
+        verify(commandDao, times(2)).insert(any(Command.class));
+        assertTrue(failedFire.getPersistFuture().isCompletedExceptionally());
+        assertTrue(insertedFire.getPersistFuture().isDone());
+        assertFalse(insertedFire.getPersistFuture().isCompletedExceptionally());
+    }
+
+    @Test
+    void handleFires_completeFiresExceptionallyIfQueryFails() {
+        when(scheduleDao.queryByIds(anyCollection())).thenThrow(new RuntimeException("query failed"));
+        ScheduleFire scheduleFire = createScheduleFire(1);
+
+        createScheduleFireCoalescer().handleFires(Arrays.asList(scheduleFire));
+
+        assertTrue(scheduleFire.getPersistFuture().isCompletedExceptionally());
+    }
+
+    @Test
+    void handleFires_completeFiresWithoutCommand() {
+        when(scheduleDao.queryByIds(anyCollection()))
+                .thenReturn(Arrays.asList(createSchedule(1, 100L, ReleaseState.OFFLINE)));
+        ScheduleFire scheduleFire = createScheduleFire(1);
+
+        createScheduleFireCoalescer().handleFires(Arrays.asList(scheduleFire));
+
+        assertTrue(scheduleFire.getPersistFuture().isDone());
+        assertFalse(scheduleFire.getPersistFuture().isCompletedExceptionally());
+    }
+
+    @Test
+    void offer_coalesceFiresWithinWindow() throws Exception {
+        when(scheduleDao.queryByIds(anyCollection())).thenReturn(Arrays.asList(
+                createSchedule(1, 100L, ReleaseState.ONLINE),
+                createSchedule(2, 200L, ReleaseState.ONLINE)));
+        when(processDefinitionDao.queryByCodes(anyCollection())).thenReturn(Arrays.asList(
+                createProcessDefinition(100L, ReleaseState.ONLINE),
+                createProcessDefinition(200L, ReleaseState.ONLINE)));
+
+        try (ScheduleFireCoalescer scheduleFireCoalescer = createScheduleFireCoalescer()) {
+            CompletableFuture<Void> firstFuture = scheduleFireCoalescer.offer(createScheduleFire(1));
+            CompletableFuture<Void> secondFuture = scheduleFireCoalescer.offer(createScheduleFire(2));
+
+            firstFuture.get(5, TimeUnit.SECONDS);
+            secondFuture.get(5, TimeUnit.SECONDS);
+            verify(scheduleDao, times(1)).queryByIds(anyCollection());
+            assertEquals(2, captureInsertedCommands().size());
+        }
+    }
+
+    @Test
+    void offer_handleFireDirectlyIfDisabled() {
+        scheduleFireCoalesceProperties.setEnabled(false);
+        when(scheduleDao.queryByIds(anyCollection()))
+                .thenReturn(Arrays.asList(createSchedule(1, 100L, ReleaseState.ONLINE)));
+        when(processDefinitionDao.queryByCodes(anyCollection()))
+                .thenReturn(Arrays.asList(createProcessDefinition(100L, ReleaseState.ONLINE)));
+
+        assertTrue(createScheduleFireCoalescer().offer(createScheduleFire(1)).isDone());
+
+        assertEquals(1, captureInsertedCommands().size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Command> captureInsertedCommands() {
+        ArgumentCaptor<Collection<Command>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(commandDao).insertBatch(captor.capture());
+        return new ArrayList<>(captor.getValue());
+    }
+
+    private ScheduleFireCoalescer createScheduleFireCoalescer() {
+        return new ScheduleFireCoalescer(scheduleDao, processDefinitionDao, commandDao,
+                scheduleFireCoalesceProperties);
+    }
+
+    private ScheduleFire createScheduleFire(int scheduleId) {
+        return new ScheduleFire(1, scheduleId, new Date(), new Date(), scheduler);
+    }
+
+    private Schedule createSchedule(int id, long processDefinitionCode, ReleaseState releaseState) {
+        Schedule schedule = new Schedule();
+        schedule.setId(id);
+        schedule.setProcessDefinitionCode(processDefinitionCode);
+        schedule.setReleaseState(releaseState);
+        schedule.setTimezoneId("Asia/Shanghai");
+        return schedule;
+    }
+
+    private ProcessDefinition createProcessDefinition(long code, ReleaseState releaseState) {
+        ProcessDefinition processDefinition = new ProcessDefinition();
+        processDefinition.setCode(code);
+        processDefinition.setVersion(3);
+        processDefinition.setReleaseState(releaseState);
+        return processDefinition;
+    }
+}
@@ -102,7 +102,7 @@ public class TaskNode {
     private String params;
 
     /**
-     * inner dependency information
+     * inner dependency information, derived from the depList if it is set by {@link #setDepList(List)}
      */
     @JsonDeserialize(using = JSONUtils.JsonDataDeserializer.class)
     @JsonSerialize(using = JSONUtils.JsonDataSerializer.class)
@@ -203,6 +203,9 @@ public class TaskNode {
     }
 
     public String getPreTasks() {
+        if (preTasks == null && depList != null) {
+            return JSONUtils.toJsonString(depList);
+        }
         return preTasks;
     }
 
@@ -226,7 +229,7 @@ public class TaskNode {
     public void setDepList(List<Long> depList) {
         if (depList != null) {
             this.depList = depList;
-            this.preTasks = JSONUtils.toJsonString(depList);
+            this.preTasks = null;
         }
     }
 
@@ -275,7 +278,7 @@ public class TaskNode {
                 && Objects.equals(desc, taskNode.desc)
                 && Objects.equals(type, taskNode.type)
                 && Objects.equals(params, taskNode.params)
-                && Objects.equals(preTasks, taskNode.preTasks)
+                && Objects.equals(getPreTasks(), taskNode.getPreTasks())
                 && Objects.equals(extras, taskNode.extras)
                 && Objects.equals(runFlag, taskNode.runFlag)
                 && Objects.equals(workerGroup, taskNode.workerGroup)
@@ -286,7 +289,7 @@ public class TaskNode {
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, desc, type, params, preTasks, extras, depList, runFlag);
+        return Objects.hash(name, desc, type, params, getPreTasks(), extras, depList, runFlag);
     }
 
     public int getMaxRetryTimes() {
@@ -44,6 +44,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -65,12 +66,12 @@ public class DagHelper {
      */
     public static List<TaskNodeRelation> generateRelationListByFlowNodes(List<TaskNode> taskNodeList) {
         List<TaskNodeRelation> nodeRelationList = new ArrayList<>();
+        Set<Long> taskNodeCodes = taskNodeList.stream().map(TaskNode::getCode).collect(Collectors.toSet());
         for (TaskNode taskNode : taskNodeList) {
-            String preTasks = taskNode.getPreTasks();
-            List<Long> preTaskList = JSONUtils.toList(preTasks, Long.class);
+            List<Long> preTaskList = taskNode.getDepList();
             if (preTaskList != null) {
                 for (Long depNodeCode : preTaskList) {
-                    if (null != findNodeByCode(taskNodeList, depNodeCode)) {
+                    if (taskNodeCodes.contains(depNodeCode)) {
                         nodeRelationList.add(new TaskNodeRelation(depNodeCode, taskNode.getCode()));
                     }
                 }
@@ -495,8 +496,7 @@ public class DagHelper {
 
         // Traverse node information and build relationships
         for (TaskNode taskNode : taskNodeList) {
-            String preTasks = taskNode.getPreTasks();
-            List<Long> preTasksList = JSONUtils.toList(preTasks, Long.class);
+            List<Long> preTasksList = taskNode.getDepList();
 
             // If the dependency is not empty
             if (preTasksList != null) {
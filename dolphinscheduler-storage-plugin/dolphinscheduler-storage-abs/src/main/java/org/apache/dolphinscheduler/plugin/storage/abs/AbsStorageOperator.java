@@ -25,6 +25,7 @@ import org.apache.dolphinscheduler.common.utils.FileUtils;
 import org.apache.dolphinscheduler.plugin.storage.api.AbstractStorageOperator;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageTransferExecutor;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -36,21 +37,29 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
+import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 
+import com.azure.core.util.Context;
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.BlobServiceClientBuilder;
 import com.azure.storage.blob.models.BlobContainerItem;
+import com.azure.storage.blob.models.BlobRequestConditions;
+import com.azure.storage.blob.models.ParallelTransferOptions;
 import com.azure.storage.blob.specialized.BlockBlobClient;
 
 @Slf4j
@@ -103,7 +112,10 @@ public class AbsStorageOperator extends AbstractStorageOperator implements Close
         }
 
         BlobClient blobClient = blobContainerClient.getBlobClient(srcFilePath);
-        blobClient.downloadToFile(dstFilePath, true);
+        Set<OpenOption> openOptions = new HashSet<>(Arrays.asList(StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE));
+        blobClient.downloadToFileWithResponse(dstFilePath, null, createParallelTransferOptions(), null, null, false,
+                openOptions, null, Context.NONE);
     }
 
     @Override
@@ -137,7 +149,11 @@ public class AbsStorageOperator extends AbstractStorageOperator implements Close
     @Override
     public void upload(String srcFile, String dstPath, boolean deleteSource, boolean overwrite) {
         BlobClient blobClient = blobContainerClient.getBlobClient(dstPath);
-        blobClient.uploadFromFile(srcFile, overwrite);
+        BlobRequestConditions requestConditions = new BlobRequestConditions();
+        if (!overwrite) {
+            requestConditions.setIfNoneMatch(Constants.STAR);
+        }
+        blobClient.uploadFromFile(srcFile, createParallelTransferOptions(), null, null, null, requestConditions, null);
 
         Path srcPath = Paths.get(srcFile);
         if (deleteSource) {
@@ -145,6 +161,17 @@ public class AbsStorageOperator extends AbstractStorageOperator implements Close
         }
     }
 
+    /**
+     * The Azure SDK transfers the blocks concurrently by itself, so only the transfer options are shared.
+     */
+    private ParallelTransferOptions createParallelTransferOptions() {
+        StorageTransferExecutor storageTransferExecutor = StorageTransferExecutor.getInstance();
+        return new ParallelTransferOptions()
+                .setBlockSizeLong(storageTransferExecutor.getPartSize())
+                .setMaxSingleUploadSizeLong(storageTransferExecutor.getMultipartThreshold())
+                .setMaxConcurrency(storageTransferExecutor.getParallelism());
+    }
+
     @SneakyThrows
     @Override
     public List<String> fetchFileContent(String filePath, int skipLineNums, int limit) {
@@ -120,6 +120,23 @@ public interface StorageOperator {
      */
     void download(String srcFileAbsolutePath, String dstAbsoluteFile, boolean overwrite);
 
+    /**
+     * Download the resource from the source path to the destination path, the {@link StorageEntity} of the source
+     * file has been fetched by {@link #getStorageEntity(String)}, so the storage can reuse it rather than fetch the
+     * metadata again.
+     *
+     * @param srcFileAbsolutePath the source path
+     * @param srcFileEntity       the storage entity of the source path
+     * @param dstAbsoluteFile     the destination file
+     * @param overwrite           whether to overwrite the destination file if it exists
+     */
+    default void download(String srcFileAbsolutePath,
+                          StorageEntity srcFileEntity,
+                          String dstAbsoluteFile,
+                          boolean overwrite) {
+        download(srcFileAbsolutePath, dstAbsoluteFile, overwrite);
+    }
+
     /**
      * Fetch the content of the file.
      *
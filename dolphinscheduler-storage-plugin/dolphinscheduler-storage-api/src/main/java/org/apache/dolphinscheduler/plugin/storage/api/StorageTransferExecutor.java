@@ -0,0 +1,316 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.storage.api;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.common.utils.PropertyUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.slf4j.MDC;
+
+/**
+ * The bounded transfer pool shared by the storage operators and their callers.
+ * <p>
+ * The caller thread of {@link #invokeAll} takes part in executing the tasks, the pool threads only help it. So a
+ * transfer never waits for a task which is not running, and the nested usage, e.g. downloading the files of a task
+ * concurrently while each large file is downloaded in ranges, cannot dead lock even if the pool is exhausted.
+ * <p>
+ * The MDC of the caller thread, e.g. the task instance log path, is copied to the pool threads, so the logs of the
+ * transfer tasks are written into the task log.
+ */
+@Slf4j
+public class StorageTransferExecutor {
+
+    private static final long MB = 1024L * 1024L;
+
+    /**
+     * The minimum part size of the multipart upload of S3/OSS/OBS.
+     */
+    private static final long MIN_PART_SIZE = 5 * MB;
+
+    private static final int DEFAULT_PARALLELISM = 8;
+
+    private static final int DEFAULT_PART_SIZE_MB = 16;
+
+    private static final int DEFAULT_MULTIPART_THRESHOLD_MB = 64;
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private static volatile StorageTransferExecutor instance;
+
+    private final int parallelism;
+
+    private final long partSize;
+
+    private final long multipartThreshold;
+
+    private final ExecutorService transferPool;
+
+    public StorageTransferExecutor(int parallelism, long partSize, long multipartThreshold) {
+        checkArgument(parallelism > 0, "parallelism must be positive");
+        checkArgument(partSize > 0, "partSize must be positive");
+        this.parallelism = parallelism;
+        this.partSize = partSize;
+        this.multipartThreshold = Math.max(multipartThreshold, partSize);
+        this.transferPool = ThreadUtils.newDaemonFixedThreadExecutor("StorageTransferThread", parallelism);
+    }
+
+    public static StorageTransferExecutor getInstance() {
+        if (instance == null) {
+            synchronized (StorageTransferExecutor.class) {
+                if (instance == null) {
+                    int parallelism =
+                            PropertyUtils.getInt(Constants.RESOURCE_TRANSFER_PARALLELISM, DEFAULT_PARALLELISM);
+                    long partSize = Math.max(MIN_PART_SIZE,
+                            PropertyUtils.getInt(Constants.RESOURCE_TRANSFER_PART_SIZE_MB, DEFAULT_PART_SIZE_MB) * MB);
+                    long multipartThreshold = PropertyUtils.getInt(Constants.RESOURCE_TRANSFER_MULTIPART_THRESHOLD_MB,
+                            DEFAULT_MULTIPART_THRESHOLD_MB) * MB;
+                    instance = new StorageTransferExecutor(parallelism, partSize, multipartThreshold);
+                    log.info("StorageTransferExecutor initialized, parallelism: {}, partSize: {}, "
+                            + "multipartThreshold: {}", parallelism, partSize, instance.multipartThreshold);
+                }
+            }
+        }
+        return instance;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public long getPartSize() {
+        return partSize;
+    }
+
+    public long getMultipartThreshold() {
+        return multipartThreshold;
+    }
+
+    /**
+     * @return true if the file of the given size should be transferred in multiple parts
+     */
+    public boolean isMultipartRequired(long size) {
+        return size >= multipartThreshold;
+    }
+
+    /**
+     * Execute the given tasks concurrently, and wait until all of them are finished.
+     * <p>
+     * Once a task failed, the tasks which are not started will be skipped and the first failure will be thrown.
+     */
+    public void invokeAll(List<? extends TransferTask> tasks) throws IOException {
+        checkNotNull(tasks, "tasks is null");
+        if (tasks.isEmpty()) {
+            return;
+        }
+        if (tasks.size() == 1) {
+            runTask(tasks.get(0));
+            return;
+        }
+        AtomicInteger nextTask = new AtomicInteger();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch finishedLatch = new CountDownLatch(tasks.size());
+        Runnable taskRunner = () -> {
+            int index;
+            while ((index = nextTask.getAndIncrement()) < tasks.size()) {
+                try {
+                    if (failure.get() == null) {
+                        tasks.get(index).transfer();
+                    }
+                } catch (Throwable ex) {
+                    failure.compareAndSet(null, ex);
+                } finally {
+                    finishedLatch.countDown();
+                }
+            }
+        };
+        Map<String, String> mdcContext = MDC.getCopyOfContextMap();
+        Runnable helperTaskRunner = () -> {
+            if (mdcContext != null) {
+                MDC.setContextMap(mdcContext);
+            }
+            try {
+                taskRunner.run();
+            } finally {
+                MDC.clear();
+            }
+        };
+        int helperCount = Math.min(parallelism, tasks.size() - 1);
+        for (int i = 0; i < helperCount; i++) {
+            try {
+                transferPool.execute(helperTaskRunner);
+            } catch (RejectedExecutionException ex) {
+                // the caller thread will execute the remaining tasks
+                break;
+            }
+        }
+        taskRunner.run();
+        try {
+            finishedLatch.await();
+        } catch (InterruptedException ex) {
+            failure.compareAndSet(null, ex);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the transfer tasks");
+        }
+        rethrow(failure.get());
+    }
+
+    /**
+     * Download a remote file of the given size by ranges into the local file concurrently.
+     */
+    public void downloadInRanges(long size, RangeReader rangeReader, String dstFilePath) throws IOException {
+        checkArgument(size >= 0, "size must not be negative");
+        checkNotNull(rangeReader, "rangeReader is null");
+        try (
+                RandomAccessFile randomAccessFile = new RandomAccessFile(new File(dstFilePath), "rw");
+                FileChannel fileChannel = randomAccessFile.getChannel()) {
+            randomAccessFile.setLength(size);
+            List<TransferTask> rangeTasks = new ArrayList<>();
+            for (long start = 0; start < size; start += partSize) {
+                long rangeStart = start;
+                long rangeEnd = Math.min(start + partSize, size) - 1;
+                rangeTasks.add(() -> downloadRange(rangeReader, rangeStart, rangeEnd, fileChannel));
+            }
+            invokeAll(rangeTasks);
+        }
+    }
+
+    /**
+     * Upload a local file of the given size by parts concurrently.
+     *
+     * @return the results of the part uploader, ordered by the part number
+     */
+    public <T> List<T> uploadInParts(long size, PartUploader<T> partUploader) throws IOException {
+        checkArgument(size > 0, "size must be positive");
+        checkNotNull(partUploader, "partUploader is null");
+        int partCount = (int) ((size + partSize - 1) / partSize);
+        Object[] partResults = new Object[partCount];
+        List<TransferTask> partTasks = new ArrayList<>(partCount);
+        for (int i = 0; i < partCount; i++) {
+            int partIndex = i;
+            long offset = partIndex * partSize;
+            long currentPartSize = Math.min(partSize, size - offset);
+            partTasks.add(() -> partResults[partIndex] = partUploader.upload(partIndex + 1, offset, currentPartSize));
+        }
+        invokeAll(partTasks);
+        List<T> results = new ArrayList<>(partCount);
+        for (Object partResult : partResults) {
+            @SuppressWarnings("unchecked")
+            T result = (T) partResult;
+            results.add(result);
+        }
+        return results;
+    }
+
+    private void downloadRange(RangeReader rangeReader,
+                               long rangeStart,
+                               long rangeEnd,
+                               FileChannel fileChannel) throws Exception {
+        long position = rangeStart;
+        try (InputStream inputStream = rangeReader.read(rangeStart, rangeEnd)) {
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            int readLength;
+            while ((readLength = inputStream.read(buffer)) > 0) {
+                ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, readLength);
+                while (byteBuffer.hasRemaining()) {
+                    position += fileChannel.write(byteBuffer, position);
+                }
+            }
+        }
+        if (position != rangeEnd + 1) {
+            throw new IOException(String.format("The range [%s, %s] is incomplete, only %s bytes are read",
+                    rangeStart, rangeEnd, position - rangeStart));
+        }
+    }
+
+    private void runTask(TransferTask task) throws IOException {
+        try {
+            task.transfer();
+        } catch (Throwable ex) {
+            rethrow(ex);
+        }
+    }
+
+    private void rethrow(Throwable ex) throws IOException {
+        if (ex == null) {
+            return;
+        }
+        if (ex instanceof IOException) {
+            throw (IOException) ex;
+        }
+        if (ex instanceof RuntimeException) {
+            throw (RuntimeException) ex;
+        }
+        if (ex instanceof Error) {
+            throw (Error) ex;
+        }
+        throw new IOException(ex);
+    }
+
+    @FunctionalInterface
+    public interface TransferTask {
+
+        void transfer() throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface RangeReader {
+
+        /**
+         * Open the content stream of the remote file in the given range.
+         *
+         * @param start the first byte of the range
+         * @param end   the last byte of the range, inclusive
+         */
+        InputStream read(long start, long end) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface PartUploader<T> {
+
+        /**
+         * Upload the part of the local file.
+         *
+         * @param partNumber the part number, start from 1
+         * @param offset     the offset of the part in the local file
+         * @param partSize   the size of the part
+         */
+        T upload(int partNumber, long offset, long partSize) throws Exception;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.storage.api;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.MDC;
+
+class StorageTransferExecutorTest {
+
+    @TempDir
+    private Path tempDirectory;
+
+    @Test
+    void invokeAll_nestedWithExhaustedPool() throws IOException {
+        StorageTransferExecutor storageTransferExecutor = new StorageTransferExecutor(2, 1, 1);
+        AtomicInteger finishedTasks = new AtomicInteger();
+        List<StorageTransferExecutor.TransferTask> fileTasks = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            fileTasks.add(() -> {
+                List<StorageTransferExecutor.TransferTask> partTasks = new ArrayList<>();
+                for (int j = 0; j < 4; j++) {
+                    partTasks.add(finishedTasks::incrementAndGet);
+                }
+                storageTransferExecutor.invokeAll(partTasks);
+            });
+        }
+
+        storageTransferExecutor.invokeAll(fileTasks);
+
+        assertThat(finishedTasks.get()).isEqualTo(16);
+    }
+
+    @Test
+    void invokeAll_throwFirstFailure() {
+        StorageTransferExecutor storageTransferExecutor = new StorageTransferExecutor(2, 1, 1);
+        List<StorageTransferExecutor.TransferTask> tasks = Arrays.asList(
+                () -> {
+                },
+                () -> {
+                    throw new IOException("download failed");
+                },
+                () -> {
+                });
+
+        IOException exception = assertThrows(IOException.class, () -> storageTransferExecutor.invokeAll(tasks));
+        assertThat(exception).hasMessageThat().isEqualTo("download failed");
+    }
+
+    @Test
+    void invokeAll_copyMdcToPoolThreads() throws IOException {
+        StorageTransferExecutor storageTransferExecutor = new StorageTransferExecutor(2, 1, 1);
+        List<String> taskLogPaths = new CopyOnWriteArrayList<>();
+        CountDownLatch runningLatch = new CountDownLatch(3);
+        List<StorageTransferExecutor.TransferTask> tasks = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            tasks.add(() -> {
+                // make sure every task runs in a different thread
+                runningLatch.countDown();
+                runningLatch.await(10, TimeUnit.SECONDS);
+                taskLogPaths.add(MDC.get("taskInstanceLogFullPath"));
+            });
+        }
+
+        MDC.put("taskInstanceLogFullPath", "/tmp/task.log");
+        try {
+            storageTransferExecutor.invokeAll(tasks);
+        } finally {
+            MDC.remove("taskInstanceLogFullPath");
+        }
+
+        assertThat(taskLogPaths).containsExactly("/tmp/task.log", "/tmp/task.log", "/tmp/task.log");
+    }
+
+    @Test
+    void downloadInRanges() throws IOException {
+        byte[] content = new byte[1000];
+        new Random(0).nextBytes(content);
+        StorageTransferExecutor storageTransferExecutor = new StorageTransferExecutor(4, 64, 64);
+        Path dstFile = tempDirectory.resolve("dst");
+
+        storageTransferExecutor.downloadInRanges(content.length,
+                (start, end) -> new ByteArrayInputStream(content, (int) start, (int) (end - start + 1)),
+                dstFile.toString());
+
+        assertThat(Files.readAllBytes(dstFile)).isEqualTo(content);
+    }
+
+    @Test
+    void downloadInRanges_incompleteRange() {
+        StorageTransferExecutor storageTransferExecutor = new StorageTransferExecutor(4, 64, 64);
+
+        assertThrows(IOException.class, () -> storageTransferExecutor.downloadInRanges(1000,
+                (start, end) -> new ByteArrayInputStream(new byte[1]),
+                tempDirectory.resolve("dst").toString()));
+    }
+
+    @Test
+    void uploadInParts() throws IOException {
+        StorageTransferExecutor storageTransferExecutor = new StorageTransferExecutor(4, 64, 64);
+
+        List<String> parts = storageTransferExecutor.uploadInParts(150,
+                (partNumber, offset, partSize) -> partNumber + ":" + offset + ":" + partSize);
+
+        assertThat(parts).containsExactly("1:0:64", "2:64:64", "3:128:22").inOrder();
+    }
+}
@@ -25,6 +25,7 @@ import org.apache.dolphinscheduler.plugin.storage.api.AbstractStorageOperator;
 import org.apache.dolphinscheduler.plugin.storage.api.ResourceMetadata;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageTransferExecutor;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -34,6 +35,7 @@ import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
@@ -54,6 +56,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import com.google.api.gax.paging.Page;
 import com.google.auth.oauth2.ServiceAccountCredentials;
+import com.google.cloud.ReadChannel;
 import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.BlobInfo;
@@ -115,7 +118,22 @@ public class GcsStorageOperator extends AbstractStorageOperator implements Close
             FileUtils.createDirectoryWith755(dstFile.getParentFile().toPath());
         }
 
-        Blob blob = gcsStorage.get(BlobId.of(bucketName, srcFilePath));
+        BlobId blobId = BlobId.of(bucketName, srcFilePath);
+        Blob blob = gcsStorage.get(blobId);
+        StorageTransferExecutor storageTransferExecutor = StorageTransferExecutor.getInstance();
+        if (blob != null && storageTransferExecutor.isMultipartRequired(blob.getSize())) {
+            // Only read the generation got above, so a file will never be mixed by the different generations of the
+            // blob if it's overwritten while downloading
+            BlobId generationBlobId = BlobId.of(bucketName, srcFilePath, blob.getGeneration());
+            storageTransferExecutor.downloadInRanges(blob.getSize(), (start, end) -> {
+                ReadChannel readChannel =
+                        gcsStorage.reader(generationBlobId, Storage.BlobSourceOption.generationMatch());
+                readChannel.seek(start);
+                readChannel.limit(end + 1);
+                return Channels.newInputStream(readChannel);
+            }, dstFilePath);
+            return;
+        }
         blob.downloadTo(Paths.get(dstFilePath));
     }
 
@@ -165,7 +183,8 @@ public class GcsStorageOperator extends AbstractStorageOperator implements Close
                 BlobId.of(bucketName, dstPath)).build();
 
         Path srcPath = Paths.get(srcFile);
-        gcsStorage.create(blobInfo, Files.readAllBytes(srcPath));
+        // stream the file instead of loading the whole file into memory
+        gcsStorage.createFrom(blobInfo, srcPath);
 
         if (deleteSource) {
             Files.delete(srcPath);
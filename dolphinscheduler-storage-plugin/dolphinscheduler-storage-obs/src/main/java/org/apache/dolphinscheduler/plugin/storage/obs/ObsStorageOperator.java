@@ -23,6 +23,7 @@ import org.apache.dolphinscheduler.plugin.storage.api.AbstractStorageOperator;
 import org.apache.dolphinscheduler.plugin.storage.api.ResourceMetadata;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageTransferExecutor;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -49,11 +50,18 @@ import lombok.extern.slf4j.Slf4j;
 
 import com.obs.services.ObsClient;
 import com.obs.services.exception.ObsException;
+import com.obs.services.model.AbortMultipartUploadRequest;
+import com.obs.services.model.CompleteMultipartUploadRequest;
+import com.obs.services.model.GetObjectRequest;
+import com.obs.services.model.InitiateMultipartUploadRequest;
 import com.obs.services.model.ListObjectsRequest;
 import com.obs.services.model.ObjectListing;
 import com.obs.services.model.ObjectMetadata;
 import com.obs.services.model.ObsObject;
+import com.obs.services.model.PartEtag;
 import com.obs.services.model.PutObjectRequest;
+import com.obs.services.model.UploadPartRequest;
+import com.obs.services.model.UploadPartResult;
 
 @Slf4j
 public class ObsStorageOperator extends AbstractStorageOperator implements Closeable, StorageOperator {
@@ -102,9 +110,20 @@ public class ObsStorageOperator extends AbstractStorageOperator implements Close
         obsClient.putObject(putObjectRequest);
     }
 
-    @SneakyThrows
     @Override
     public void download(String srcFilePath, String dstFilePath, boolean overwrite) {
+        downloadObject(srcFilePath, dstFilePath, null);
+    }
+
+    @Override
+    public void download(String srcFilePath, StorageEntity srcFileEntity, String dstFilePath, boolean overwrite) {
+        // Reuse the size in the storage entity to avoid fetching the object metadata again
+        Long contentLength = srcFileEntity == null || srcFileEntity.isDirectory() ? null : srcFileEntity.getSize();
+        downloadObject(srcFilePath, dstFilePath, contentLength);
+    }
+
+    @SneakyThrows
+    private void downloadObject(String srcFilePath, String dstFilePath, Long knownContentLength) {
         srcFilePath = transformAbsolutePathToObsKey(srcFilePath);
 
         File dstFile = new File(dstFilePath);
@@ -113,18 +132,47 @@ public class ObsStorageOperator extends AbstractStorageOperator implements Close
         } else {
             FileUtils.createDirectoryWith755(dstFile.getParentFile().toPath());
         }
-        ObsObject obsObject = obsClient.getObject(bucketName, srcFilePath);
-        try (
-                InputStream obsInputStream = obsObject.getObjectContent();
-                FileOutputStream fos = new FileOutputStream(dstFilePath)) {
-            byte[] readBuf = new byte[1024];
-            int readLen;
-            while ((readLen = obsInputStream.read(readBuf)) > 0) {
-                fos.write(readBuf, 0, readLen);
+        String obsKey = srcFilePath;
+        StorageTransferExecutor storageTransferExecutor = StorageTransferExecutor.getInstance();
+        if (knownContentLength != null && storageTransferExecutor.isMultipartRequired(knownContentLength)) {
+            ObjectMetadata objectMetadata = obsClient.getObjectMetadata(bucketName, obsKey);
+            downloadInRanges(obsKey, objectMetadata.getContentLength(), objectMetadata.getEtag(), dstFilePath);
+            return;
+        }
+        // The small object is downloaded by a single request, without fetching the metadata first
+        ObsObject obsObject = obsClient.getObject(bucketName, obsKey);
+        try (InputStream obsInputStream = obsObject.getObjectContent()) {
+            ObjectMetadata objectMetadata = obsObject.getMetadata();
+            if (storageTransferExecutor.isMultipartRequired(objectMetadata.getContentLength())) {
+                // the stream is closed without reading the content
+                downloadInRanges(obsKey, objectMetadata.getContentLength(), objectMetadata.getEtag(), dstFilePath);
+                return;
+            }
+            try (FileOutputStream fos = new FileOutputStream(dstFilePath)) {
+                byte[] readBuf = new byte[1024];
+                int readLen;
+                while ((readLen = obsInputStream.read(readBuf)) > 0) {
+                    fos.write(readBuf, 0, readLen);
+                }
             }
         }
     }
 
+    /**
+     * Download the object by ranges concurrently, the ranges only match the given ETag, so a file will never be mixed
+     * by the different versions of the object if it's overwritten while downloading.
+     */
+    private void downloadInRanges(String obsKey, long contentLength, String eTag,
+                                  String dstFilePath) throws IOException {
+        StorageTransferExecutor.getInstance().downloadInRanges(contentLength, (start, end) -> {
+            GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, obsKey);
+            getObjectRequest.setRangeStart(start);
+            getObjectRequest.setRangeEnd(end);
+            getObjectRequest.setIfMatchTag(eTag);
+            return obsClient.getObject(getObjectRequest).getObjectContent();
+        }, dstFilePath);
+    }
+
     @Override
     public boolean exists(String fileName) {
         fileName = transformAbsolutePathToObsKey(fileName);
@@ -158,13 +206,45 @@ public class ObsStorageOperator extends AbstractStorageOperator implements Close
                 obsClient.deleteObject(bucketName, dstPath);
             }
         }
-        obsClient.putObject(bucketName, dstPath, new File(srcFile));
+        File file = new File(srcFile);
+        StorageTransferExecutor storageTransferExecutor = StorageTransferExecutor.getInstance();
+        if (storageTransferExecutor.isMultipartRequired(file.length())) {
+            multipartUpload(storageTransferExecutor, file, dstPath);
+        } else {
+            obsClient.putObject(bucketName, dstPath, file);
+        }
         if (deleteSource) {
             Files.delete(Paths.get(srcFile));
         }
 
     }
 
+    private void multipartUpload(StorageTransferExecutor storageTransferExecutor,
+                                 File file,
+                                 String obsKey) throws IOException {
+        String uploadId = obsClient
+                .initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, obsKey))
+                .getUploadId();
+        try {
+            List<PartEtag> partEtags = storageTransferExecutor.uploadInParts(file.length(),
+                    (partNumber, offset, partSize) -> {
+                        UploadPartRequest uploadPartRequest = new UploadPartRequest(bucketName, obsKey);
+                        uploadPartRequest.setUploadId(uploadId);
+                        uploadPartRequest.setPartNumber(partNumber);
+                        uploadPartRequest.setFile(file);
+                        uploadPartRequest.setOffset(offset);
+                        uploadPartRequest.setPartSize(partSize);
+                        UploadPartResult uploadPartResult = obsClient.uploadPart(uploadPartRequest);
+                        return new PartEtag(uploadPartResult.getEtag(), uploadPartResult.getPartNumber());
+                    });
+            obsClient.completeMultipartUpload(
+                    new CompleteMultipartUploadRequest(bucketName, obsKey, uploadId, partEtags));
+        } catch (IOException | RuntimeException ex) {
+            obsClient.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, obsKey, uploadId));
+            throw ex;
+        }
+    }
+
     @SneakyThrows
     @Override
     public List<String> fetchFileContent(String filePath, int skipLineNums, int limit) {
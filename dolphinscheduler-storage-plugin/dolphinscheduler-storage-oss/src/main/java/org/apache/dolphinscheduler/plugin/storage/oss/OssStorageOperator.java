@@ -26,8 +26,10 @@ import org.apache.dolphinscheduler.plugin.storage.api.AbstractStorageOperator;
 import org.apache.dolphinscheduler.plugin.storage.api.ResourceMetadata;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageTransferExecutor;
 import org.apache.dolphinscheduler.plugin.task.api.TaskConstants;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.BufferedReader;
@@ -43,6 +45,7 @@ import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -54,13 +57,18 @@ import lombok.extern.slf4j.Slf4j;
 
 import com.aliyun.oss.OSS;
 import com.aliyun.oss.OSSException;
+import com.aliyun.oss.model.AbortMultipartUploadRequest;
+import com.aliyun.oss.model.CompleteMultipartUploadRequest;
 import com.aliyun.oss.model.GetObjectRequest;
+import com.aliyun.oss.model.InitiateMultipartUploadRequest;
 import com.aliyun.oss.model.ListObjectsV2Request;
 import com.aliyun.oss.model.ListObjectsV2Result;
 import com.aliyun.oss.model.OSSObject;
 import com.aliyun.oss.model.OSSObjectSummary;
 import com.aliyun.oss.model.ObjectMetadata;
+import com.aliyun.oss.model.PartETag;
 import com.aliyun.oss.model.PutObjectRequest;
+import com.aliyun.oss.model.UploadPartRequest;
 
 @Slf4j
 public class OssStorageOperator extends AbstractStorageOperator implements Closeable, StorageOperator {
@@ -161,11 +169,20 @@ public class OssStorageOperator extends AbstractStorageOperator implements Close
         ossClient.putObject(putObjectRequest);
     }
 
-    @SneakyThrows
     @Override
-    public void download(String srcFilePath,
-                         String dstFilePath,
-                         boolean overwrite) {
+    public void download(String srcFilePath, String dstFilePath, boolean overwrite) {
+        downloadObject(srcFilePath, dstFilePath, null);
+    }
+
+    @Override
+    public void download(String srcFilePath, StorageEntity srcFileEntity, String dstFilePath, boolean overwrite) {
+        // Reuse the size in the storage entity to avoid fetching the object metadata again
+        Long contentLength = srcFileEntity == null || srcFileEntity.isDirectory() ? null : srcFileEntity.getSize();
+        downloadObject(srcFilePath, dstFilePath, contentLength);
+    }
+
+    @SneakyThrows
+    private void downloadObject(String srcFilePath, String dstFilePath, Long knownContentLength) {
         srcFilePath = transformAbsolutePathToOssKey(srcFilePath);
 
         File dstFile = new File(dstFilePath);
@@ -174,14 +191,28 @@ public class OssStorageOperator extends AbstractStorageOperator implements Close
         } else {
             FileUtils.createDirectoryWith755(dstFile.getParentFile().toPath());
         }
-        OSSObject ossObject = ossClient.getObject(bucketName, srcFilePath);
-        try (
-                InputStream ossInputStream = ossObject.getObjectContent();
-                FileOutputStream fos = new FileOutputStream(dstFilePath)) {
-            byte[] readBuf = new byte[1024];
-            int readLen;
-            while ((readLen = ossInputStream.read(readBuf)) > 0) {
-                fos.write(readBuf, 0, readLen);
+        String ossKey = srcFilePath;
+        StorageTransferExecutor storageTransferExecutor = StorageTransferExecutor.getInstance();
+        if (knownContentLength != null && storageTransferExecutor.isMultipartRequired(knownContentLength)) {
+            ObjectMetadata objectMetadata = ossClient.getObjectMetadata(bucketName, ossKey);
+            downloadInRanges(ossKey, objectMetadata.getContentLength(), objectMetadata.getETag(), dstFilePath);
+            return;
+        }
+        // The small object is downloaded by a single request, without fetching the metadata first
+        OSSObject ossObject = ossClient.getObject(bucketName, ossKey);
+        try (InputStream ossInputStream = ossObject.getObjectContent()) {
+            ObjectMetadata objectMetadata = ossObject.getObjectMetadata();
+            if (storageTransferExecutor.isMultipartRequired(objectMetadata.getContentLength())) {
+                ossObject.forcedClose();
+                downloadInRanges(ossKey, objectMetadata.getContentLength(), objectMetadata.getETag(), dstFilePath);
+                return;
+            }
+            try (FileOutputStream fos = new FileOutputStream(dstFilePath)) {
+                byte[] readBuf = new byte[1024];
+                int readLen;
+                while ((readLen = ossInputStream.read(readBuf)) > 0) {
+                    fos.write(readBuf, 0, readLen);
+                }
             }
         } catch (OSSException e) {
             throw new IOException(e);
@@ -191,6 +222,20 @@ public class OssStorageOperator extends AbstractStorageOperator implements Close
         }
     }
 
+    /**
+     * Download the object by ranges concurrently, the ranges only match the given ETag, so a file will never be mixed
+     * by the different versions of the object if it's overwritten while downloading.
+     */
+    private void downloadInRanges(String ossKey, long contentLength, String eTag,
+                                  String dstFilePath) throws IOException {
+        StorageTransferExecutor.getInstance().downloadInRanges(contentLength, (start, end) -> {
+            GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, ossKey);
+            getObjectRequest.setRange(start, end);
+            getObjectRequest.setMatchingETagConstraints(Collections.singletonList(eTag));
+            return ossClient.getObject(getObjectRequest).getObjectContent();
+        }, dstFilePath);
+    }
+
     @Override
     public boolean exists(String fileName) {
         fileName = transformAbsolutePathToOssKey(fileName);
@@ -226,12 +271,45 @@ public class OssStorageOperator extends AbstractStorageOperator implements Close
             }
 
         }
-        ossClient.putObject(bucketName, dstPath, new File(srcFile));
+        File file = new File(srcFile);
+        StorageTransferExecutor storageTransferExecutor = StorageTransferExecutor.getInstance();
+        if (storageTransferExecutor.isMultipartRequired(file.length())) {
+            multipartUpload(storageTransferExecutor, file, dstPath);
+        } else {
+            ossClient.putObject(bucketName, dstPath, file);
+        }
         if (deleteSource) {
             Files.delete(Paths.get(srcFile));
         }
     }
 
+    private void multipartUpload(StorageTransferExecutor storageTransferExecutor,
+                                 File file,
+                                 String ossKey) throws IOException {
+        String uploadId = ossClient
+                .initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, ossKey))
+                .getUploadId();
+        try {
+            List<PartETag> partETags = storageTransferExecutor.uploadInParts(file.length(),
+                    (partNumber, offset, partSize) -> {
+                        try (InputStream inputStream = Files.newInputStream(file.toPath())) {
+                            IOUtils.skipFully(inputStream, offset);
+                            UploadPartRequest uploadPartRequest = new UploadPartRequest(bucketName, ossKey);
+                            uploadPartRequest.setUploadId(uploadId);
+                            uploadPartRequest.setPartNumber(partNumber);
+                            uploadPartRequest.setInputStream(inputStream);
+                            uploadPartRequest.setPartSize(partSize);
+                            return ossClient.uploadPart(uploadPartRequest).getPartETag();
+                        }
+                    });
+            ossClient.completeMultipartUpload(
+                    new CompleteMultipartUploadRequest(bucketName, ossKey, uploadId, partETags));
+        } catch (IOException | RuntimeException ex) {
+            ossClient.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, ossKey, uploadId));
+            throw ex;
+        }
+    }
+
     @SneakyThrows
     @Override
     public List<String> fetchFileContent(String filePath, int skipLineNums, int limit) {
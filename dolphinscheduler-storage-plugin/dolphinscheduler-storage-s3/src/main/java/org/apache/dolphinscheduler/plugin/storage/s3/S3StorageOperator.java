@@ -24,6 +24,7 @@ import org.apache.dolphinscheduler.plugin.storage.api.AbstractStorageOperator;
 import org.apache.dolphinscheduler.plugin.storage.api.ResourceMetadata;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageTransferExecutor;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -49,13 +50,19 @@ import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
 import com.amazonaws.services.s3.model.ListObjectsV2Request;
 import com.amazonaws.services.s3.model.ListObjectsV2Result;
 import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
 import com.amazonaws.services.s3.model.PutObjectRequest;
 import com.amazonaws.services.s3.model.S3Object;
 import com.amazonaws.services.s3.model.S3ObjectInputStream;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.amazonaws.services.s3.model.UploadPartRequest;
 
 @Slf4j
 public class S3StorageOperator extends AbstractStorageOperator implements Closeable, StorageOperator {
@@ -103,11 +110,20 @@ public class S3StorageOperator extends AbstractStorageOperator implements Closea
         s3Client.putObject(putObjectRequest);
     }
 
-    @SneakyThrows
     @Override
-    public void download(String srcFilePath,
-                         String dstFilePath,
-                         boolean overwrite) {
+    public void download(String srcFilePath, String dstFilePath, boolean overwrite) {
+        downloadObject(srcFilePath, dstFilePath, null);
+    }
+
+    @Override
+    public void download(String srcFilePath, StorageEntity srcFileEntity, String dstFilePath, boolean overwrite) {
+        // Reuse the size in the storage entity to avoid fetching the object metadata again
+        Long contentLength = srcFileEntity == null || srcFileEntity.isDirectory() ? null : srcFileEntity.getSize();
+        downloadObject(srcFilePath, dstFilePath, contentLength);
+    }
+
+    @SneakyThrows
+    private void downloadObject(String srcFilePath, String dstFilePath, Long knownContentLength) {
         srcFilePath = transformAbsolutePathToS3Key(srcFilePath);
         File dstFile = new File(dstFilePath);
         if (dstFile.isDirectory()) {
@@ -115,18 +131,50 @@ public class S3StorageOperator extends AbstractStorageOperator implements Closea
         } else {
             FileUtils.createDirectoryWith755(dstFile.getParentFile().toPath());
         }
-        S3Object o = s3Client.getObject(bucketName, srcFilePath);
-        try (
-                S3ObjectInputStream s3is = o.getObjectContent();
-                FileOutputStream fos = new FileOutputStream(dstFilePath)) {
-            byte[] readBuf = new byte[1024];
-            int readLen;
-            while ((readLen = s3is.read(readBuf)) > 0) {
-                fos.write(readBuf, 0, readLen);
+        String s3Key = srcFilePath;
+        StorageTransferExecutor storageTransferExecutor = StorageTransferExecutor.getInstance();
+        if (knownContentLength != null && storageTransferExecutor.isMultipartRequired(knownContentLength)) {
+            ObjectMetadata objectMetadata = s3Client.getObjectMetadata(bucketName, s3Key);
+            downloadInRanges(s3Key, objectMetadata.getContentLength(), objectMetadata.getETag(), dstFilePath);
+            return;
+        }
+        // The small object is downloaded by a single request, without fetching the metadata first
+        S3Object o = s3Client.getObject(bucketName, s3Key);
+        try (S3ObjectInputStream s3is = o.getObjectContent()) {
+            ObjectMetadata objectMetadata = o.getObjectMetadata();
+            if (storageTransferExecutor.isMultipartRequired(objectMetadata.getContentLength())) {
+                s3is.abort();
+                downloadInRanges(s3Key, objectMetadata.getContentLength(), objectMetadata.getETag(), dstFilePath);
+                return;
+            }
+            try (FileOutputStream fos = new FileOutputStream(dstFilePath)) {
+                byte[] readBuf = new byte[1024];
+                int readLen;
+                while ((readLen = s3is.read(readBuf)) > 0) {
+                    fos.write(readBuf, 0, readLen);
+                }
             }
         }
     }
 
+    /**
+     * Download the object by ranges concurrently, the ranges only match the given ETag, so a file will never be mixed
+     * by the different versions of the object if it's overwritten while downloading.
+     */
+    private void downloadInRanges(String s3Key, long contentLength, String eTag,
+                                  String dstFilePath) throws IOException {
+        StorageTransferExecutor.getInstance().downloadInRanges(contentLength, (start, end) -> {
+            GetObjectRequest getObjectRequest =
+                    new GetObjectRequest(bucketName, s3Key).withRange(start, end).withMatchingETagConstraint(eTag);
+            S3Object s3Object = s3Client.getObject(getObjectRequest);
+            if (s3Object == null) {
+                // the constraint is not matched
+                throw new IOException("The object: " + s3Key + " is modified while downloading");
+            }
+            return s3Object.getObjectContent();
+        }, dstFilePath);
+    }
+
     @Override
     public boolean exists(String fullName) {
         fullName = transformAbsolutePathToS3Key(fullName);
@@ -179,13 +227,44 @@ public class S3StorageOperator extends AbstractStorageOperator implements Closea
             }
         }
 
-        s3Client.putObject(bucketName, dstPath, new File(srcFile));
+        File file = new File(srcFile);
+        StorageTransferExecutor storageTransferExecutor = StorageTransferExecutor.getInstance();
+        if (storageTransferExecutor.isMultipartRequired(file.length())) {
+            multipartUpload(storageTransferExecutor, file, dstPath);
+        } else {
+            s3Client.putObject(bucketName, dstPath, file);
+        }
 
         if (deleteSource) {
             Files.delete(Paths.get(srcFile));
         }
     }
 
+    private void multipartUpload(StorageTransferExecutor storageTransferExecutor,
+                                 File file,
+                                 String s3Key) throws IOException {
+        String uploadId = s3Client
+                .initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, s3Key))
+                .getUploadId();
+        try {
+            List<PartETag> partETags = storageTransferExecutor.uploadInParts(file.length(),
+                    (partNumber, offset, partSize) -> s3Client.uploadPart(new UploadPartRequest()
+                            .withBucketName(bucketName)
+                            .withKey(s3Key)
+                            .withUploadId(uploadId)
+                            .withPartNumber(partNumber)
+                            .withFile(file)
+                            .withFileOffset(offset)
+                            .withPartSize(partSize))
+                            .getPartETag());
+            s3Client.completeMultipartUpload(
+                    new CompleteMultipartUploadRequest(bucketName, s3Key, uploadId, partETags));
+        } catch (IOException | RuntimeException ex) {
+            s3Client.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, s3Key, uploadId));
+            throw ex;
+        }
+    }
+
     @SneakyThrows
     @Override
     public List<String> fetchFileContent(String filePath, int skipLineNums, int limit) {
@@ -251,8 +330,9 @@ public class S3StorageOperator extends AbstractStorageOperator implements Closea
     public StorageEntity getStorageEntity(String resourceAbsolutePath) {
         resourceAbsolutePath = transformAbsolutePathToS3Key(resourceAbsolutePath);
 
-        S3Object object = s3Client.getObject(bucketName, resourceAbsolutePath);
-        return transformS3ObjectToStorageEntity(object);
+        // Only fetch the metadata, the object content is not needed
+        ObjectMetadata objectMetadata = s3Client.getObjectMetadata(bucketName, resourceAbsolutePath);
+        return transformS3ObjectMetadataToStorageEntity(resourceAbsolutePath, objectMetadata);
     }
 
     private List<StorageEntity> listStorageEntityRecursively(String resourceAbsolutePath) {
@@ -281,9 +361,7 @@ public class S3StorageOperator extends AbstractStorageOperator implements Closea
         return storageEntityList;
     }
 
-    private StorageEntity transformS3ObjectToStorageEntity(S3Object object) {
-
-        String s3Key = object.getKey();
+    private StorageEntity transformS3ObjectMetadataToStorageEntity(String s3Key, ObjectMetadata objectMetadata) {
         String absolutePath = transformS3KeyToAbsolutePath(s3Key);
 
         ResourceMetadata resourceMetaData = getResourceMetaData(absolutePath);
@@ -293,9 +371,9 @@ public class S3StorageOperator extends AbstractStorageOperator implements Closea
         entity.setFullName(absolutePath);
         entity.setDirectory(resourceMetaData.isDirectory());
         entity.setType(resourceMetaData.getResourceType());
-        entity.setSize(object.getObjectMetadata().getContentLength());
-        entity.setCreateTime(object.getObjectMetadata().getLastModified());
-        entity.setUpdateTime(object.getObjectMetadata().getLastModified());
+        entity.setSize(objectMetadata.getContentLength());
+        entity.setCreateTime(objectMetadata.getLastModified());
+        entity.setUpdateTime(objectMetadata.getLastModified());
         return entity;
     }
 
@@ -94,6 +94,7 @@ public class DataxTask extends AbstractTask {
      * post jdbc info regex
      */
     private static final String POST_JDBC_INFO_REGEX = "(?<=(post jdbc info:)).*(?=)";
+    private static final String POST_JDBC_INFO_KEYWORD = "post jdbc info:";
     /**
      * datax path
      */
@@ -143,7 +144,7 @@ public class DataxTask extends AbstractTask {
         if (dataXParameters == null || !dataXParameters.checkParameters()) {
             throw new RuntimeException("datax task params is not valid");
         }
-        SensitiveDataConverter.addMaskPattern(POST_JDBC_INFO_REGEX);
+        SensitiveDataConverter.addMaskPattern(POST_JDBC_INFO_REGEX, POST_JDBC_INFO_KEYWORD);
         dataxTaskExecutionContext =
                 dataXParameters.generateExtendedContext(taskExecutionContext.getResourceParametersHelper());
     }
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.sql;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
+import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
+import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Process the result set of the sql query row by row, so the memory used is bounded by the display rows, the out
+ * params and the attachment size rather than the size of the result set.
+ * <p>
+ * The column labels are read once. Each row is converted to json only once, it is logged if it is a display row,
+ * appended to the attachment if the attachment is not full, and only the columns of the {@link DataType#LIST} out
+ * params are kept for the var pool.
+ */
+@Slf4j
+class SqlQueryResultProcessor {
+
+    private final int displayRows;
+
+    private final int rowLimit;
+
+    private final boolean attachmentEnabled;
+
+    private final int attachmentMaxLength;
+
+    private final Set<String> listOutParamNames = new LinkedHashSet<>();
+
+    @Getter
+    private int rowCount;
+
+    @Getter
+    private boolean attachmentTruncated;
+
+    private ObjectNode firstRow;
+
+    private ArrayNode listOutParamRows;
+
+    private StringBuilder attachment;
+
+    SqlQueryResultProcessor(int displayRows,
+                            int rowLimit,
+                            boolean attachmentEnabled,
+                            int attachmentMaxLength,
+                            List<Property> localParams) {
+        this.displayRows = displayRows;
+        this.rowLimit = rowLimit;
+        this.attachmentEnabled = attachmentEnabled;
+        this.attachmentMaxLength = attachmentMaxLength;
+        if (localParams != null) {
+            for (Property property : localParams) {
+                if (property.getDirect() == Direct.OUT && property.getType() == DataType.LIST) {
+                    listOutParamNames.add(property.getProp());
+                }
+            }
+        }
+    }
+
+    /**
+     * Consume the result set, at most rowLimit rows are read.
+     */
+    void process(ResultSet resultSet) throws SQLException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        String[] columnLabels = new String[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columnLabels[i] = metaData.getColumnLabel(i + 1);
+        }
+        if (attachmentEnabled) {
+            attachment = new StringBuilder().append('[');
+        }
+        listOutParamRows = JSONUtils.createArrayNode();
+
+        log.info("display sql result at most {} rows as follows:", displayRows);
+        while (rowCount < rowLimit && resultSet.next()) {
+            ObjectNode row = JSONUtils.createObjectNode();
+            for (int i = 0; i < columnCount; i++) {
+                row.set(columnLabels[i], JSONUtils.toJsonNode(resultSet.getObject(i + 1)));
+            }
+            rowCount++;
+            if (rowCount == 1) {
+                firstRow = row;
+            }
+            String rowJson = null;
+            if (rowCount <= displayRows) {
+                rowJson = JSONUtils.toJsonString(row);
+                log.info("row {} : {}", rowCount, rowJson);
+            }
+            if (attachment != null && !attachmentTruncated) {
+                appendAttachment(rowJson == null ? JSONUtils.toJsonString(row) : rowJson);
+            }
+            // the out params only need to know there are multiple rows if there is no list out param
+            if (!listOutParamNames.isEmpty() || listOutParamRows.size() < 2) {
+                ObjectNode outParamRow = rowCount == 1 ? row.deepCopy() : row;
+                listOutParamRows.add(outParamRow.retain(listOutParamNames));
+            }
+        }
+        if (rowCount >= rowLimit && rowLimit > 0) {
+            log.info("The sql result reaches the row limit: {}, the rest rows are ignored", rowLimit);
+        }
+        if (rowCount == 0) {
+            log.info("sql query results is empty");
+            ObjectNode emptyRow = JSONUtils.createObjectNode();
+            for (String columnLabel : columnLabels) {
+                emptyRow.set(columnLabel, JSONUtils.toJsonNode(""));
+            }
+            firstRow = emptyRow;
+            if (attachment != null) {
+                appendAttachment(JSONUtils.toJsonString(emptyRow));
+            }
+        }
+        if (attachment != null) {
+            attachment.append(']');
+        }
+    }
+
+    /**
+     * @return the result used to set the out params, only the first row and the columns of the list out params
+     */
+    String getOutParamResult() {
+        if (firstRow == null) {
+            return JSONUtils.toJsonString(Collections.emptyList());
+        }
+        if (rowCount > 1) {
+            return JSONUtils.toJsonString(listOutParamRows);
+        }
+        ArrayNode result = JSONUtils.createArrayNode();
+        result.add(firstRow);
+        return JSONUtils.toJsonString(result);
+    }
+
+    /**
+     * @return the json array of the rows to send as the alert attachment, null if the attachment is disabled
+     */
+    String getAttachment() {
+        return attachment == null ? null : attachment.toString();
+    }
+
+    private void appendAttachment(String rowJson) {
+        // 2 = the separator and the closing bracket
+        if (attachment.length() + rowJson.length() + 2 > attachmentMaxLength) {
+            attachmentTruncated = true;
+            log.warn("The sql result attachment exceeds the max length: {}, the rest rows are not attached",
+                    attachmentMaxLength);
+            return;
+        }
+        if (attachment.length() > 1) {
+            attachment.append(',');
+        }
+        attachment.append(rowJson);
+    }
+}
@@ -44,7 +44,6 @@ import org.apache.commons.lang3.StringUtils;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -81,6 +80,16 @@ public class SqlTask extends AbstractTask {
      */
     private static final int QUERY_LIMIT = 10000;
 
+    /**
+     * the number of rows fetched from the database in one round trip
+     */
+    private static final int QUERY_FETCH_SIZE = 1000;
+
+    /**
+     * the max length of the query result sent as the alert attachment, the rest rows are not attached
+     */
+    private static final int ATTACHMENT_MAX_LENGTH = 4 * 1024 * 1024;
+
     private SQLTaskExecutionContext sqlTaskExecutionContext;
 
     public static final int TEST_FLAG_YES = 1;
@@ -226,57 +235,39 @@ public class SqlTask extends AbstractTask {
      * @throws Exception Exception
      */
     private String resultProcess(ResultSet resultSet) throws Exception {
-        ArrayNode resultJSONArray = JSONUtils.createArrayNode();
+        boolean sendEmail = Boolean.TRUE.equals(sqlParameters.getSendEmail());
+        String result;
+        String attachment;
         if (resultSet != null) {
-            ResultSetMetaData md = resultSet.getMetaData();
-            int num = md.getColumnCount();
-
-            while (resultSet.next()) {
-                ObjectNode mapOfColValues = JSONUtils.createObjectNode();
-                for (int i = 1; i <= num; i++) {
-                    mapOfColValues.set(md.getColumnLabel(i), JSONUtils.toJsonNode(resultSet.getObject(i)));
-                }
-                resultJSONArray.add(mapOfColValues);
-            }
-
             int displayRows = sqlParameters.getDisplayRows() > 0 ? sqlParameters.getDisplayRows()
                     : TaskConstants.DEFAULT_DISPLAY_ROWS;
-            displayRows = Math.min(displayRows, resultJSONArray.size());
-            log.info("display sql result {} rows as follows:", displayRows);
-            for (int i = 0; i < displayRows; i++) {
-                String row = JSONUtils.toJsonString(resultJSONArray.get(i));
-                log.info("row {} : {}", i + 1, row);
-            }
+            SqlQueryResultProcessor resultProcessor = new SqlQueryResultProcessor(displayRows, getQueryLimit(),
+                    sendEmail, ATTACHMENT_MAX_LENGTH, sqlParameters.getLocalParams());
+            resultProcessor.process(resultSet);
+            log.info("sql query returns {} rows", resultProcessor.getRowCount());
+            result = resultProcessor.getOutParamResult();
+            attachment = resultProcessor.getAttachment();
+        } else {
+            result = JSONUtils.toJsonString(generateEmptyRow());
+            attachment = result;
         }
 
-        String result = resultJSONArray.isEmpty() ? JSONUtils.toJsonString(generateEmptyRow(resultSet))
-                : JSONUtils.toJsonString(resultJSONArray);
-
-        if (Boolean.TRUE.equals(sqlParameters.getSendEmail())) {
+        if (sendEmail) {
             sendAttachment(sqlParameters.getGroupId(), StringUtils.isNotEmpty(sqlParameters.getTitle())
                     ? sqlParameters.getTitle()
-                    : taskExecutionContext.getTaskName() + " query result sets", result);
+                    : taskExecutionContext.getTaskName() + " query result sets", attachment);
         }
         log.debug("execute sql result : {}", result);
         return result;
     }
 
     /**
-     * generate empty Results as ArrayNode
+     * generate the result when the resultSet is null
      */
-    private ArrayNode generateEmptyRow(ResultSet resultSet) throws SQLException {
+    private ArrayNode generateEmptyRow() {
         ArrayNode resultJSONArray = JSONUtils.createArrayNode();
         ObjectNode emptyOfColValues = JSONUtils.createObjectNode();
-        if (resultSet != null) {
-            ResultSetMetaData metaData = resultSet.getMetaData();
-            int columnsNum = metaData.getColumnCount();
-            log.info("sql query results is empty");
-            for (int i = 1; i <= columnsNum; i++) {
-                emptyOfColValues.set(metaData.getColumnLabel(i), JSONUtils.toJsonNode(""));
-            }
-        } else {
-            emptyOfColValues.set("error", JSONUtils.toJsonNode("resultSet is null"));
-        }
+        emptyOfColValues.set("error", JSONUtils.toJsonNode("resultSet is null"));
         resultJSONArray.add(emptyOfColValues);
         return resultJSONArray;
     }
@@ -298,12 +289,29 @@ public class SqlTask extends AbstractTask {
 
     private String executeQuery(Connection connection, SqlBinds sqlBinds, String handlerType) throws Exception {
         try (PreparedStatement statement = prepareStatementAndBind(connection, sqlBinds)) {
+            setFetchSize(statement);
             log.info("{} statement execute query, for sql: {}", handlerType, sqlBinds.getSql());
-            ResultSet resultSet = statement.executeQuery();
-            return resultProcess(resultSet);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultProcess(resultSet);
+            }
         }
     }
 
+    /**
+     * Fetch the rows in batches, so the driver doesn't load the whole result set into memory if it supports.
+     */
+    private void setFetchSize(PreparedStatement statement) {
+        try {
+            statement.setFetchSize(Math.min(QUERY_FETCH_SIZE, getQueryLimit()));
+        } catch (SQLException e) {
+            log.warn("Set the fetch size of the statement error, will use the default fetch size", e);
+        }
+    }
+
+    private int getQueryLimit() {
+        return sqlParameters.getLimit() <= 0 ? QUERY_LIMIT : sqlParameters.getLimit();
+    }
+
     private String executeUpdate(Connection connection, List<SqlBinds> statementsBinds,
                                  String handlerType) throws Exception {
         int result = 0;
@@ -350,7 +358,7 @@ public class SqlTask extends AbstractTask {
             if (timeoutFlag) {
                 stmt.setQueryTimeout(taskExecutionContext.getTaskTimeout());
             }
-            stmt.setMaxRows(sqlParameters.getLimit() <= 0 ? QUERY_LIMIT : sqlParameters.getLimit());
+            stmt.setMaxRows(getQueryLimit());
             Map<Integer, Property> params = sqlBinds.getParamsMap();
             if (params != null) {
                 for (Map.Entry<Integer, Property> entry : params.entrySet()) {
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.sql;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
+import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
+import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+import org.apache.dolphinscheduler.plugin.task.api.parameters.SqlParameters;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.Lists;
+
+class SqlQueryResultProcessorTest {
+
+    @Test
+    void testProcessWithRowLimit() throws SQLException {
+        ResultSet resultSet = mockResultSet(1000);
+        SqlQueryResultProcessor resultProcessor =
+                new SqlQueryResultProcessor(10, 100, true, Integer.MAX_VALUE, Collections.emptyList());
+
+        resultProcessor.process(resultSet);
+
+        Assertions.assertEquals(100, resultProcessor.getRowCount());
+        verify(resultSet, times(100)).next();
+        verify(resultSet.getMetaData(), times(2)).getColumnLabel(anyInt());
+        Assertions.assertTrue(resultProcessor.getAttachment().startsWith("[{\"id\":0,\"name\":\"name0\"},"));
+        Assertions.assertTrue(resultProcessor.getAttachment().endsWith("{\"id\":99,\"name\":\"name99\"}]"));
+    }
+
+    @Test
+    void testProcessWithAttachmentTruncated() throws SQLException {
+        SqlQueryResultProcessor resultProcessor =
+                new SqlQueryResultProcessor(10, 100, true, 60, Collections.emptyList());
+
+        resultProcessor.process(mockResultSet(10));
+
+        Assertions.assertEquals(10, resultProcessor.getRowCount());
+        Assertions.assertTrue(resultProcessor.isAttachmentTruncated());
+        Assertions.assertEquals("[{\"id\":0,\"name\":\"name0\"},{\"id\":1,\"name\":\"name1\"}]",
+                resultProcessor.getAttachment());
+    }
+
+    @Test
+    void testOutParamResultWithSingleRow() throws SQLException {
+        Property outParam = new Property("name", Direct.OUT, DataType.VARCHAR, null);
+        SqlParameters sqlParameters = new SqlParameters();
+        sqlParameters.setLocalParams(Lists.newArrayList(outParam));
+        SqlQueryResultProcessor resultProcessor =
+                new SqlQueryResultProcessor(10, 100, false, 0, sqlParameters.getLocalParams());
+
+        resultProcessor.process(mockResultSet(1));
+        sqlParameters.dealOutParam(resultProcessor.getOutParamResult());
+
+        Assertions.assertNull(resultProcessor.getAttachment());
+        Assertions.assertEquals("name0", outParam.getValue());
+    }
+
+    @Test
+    void testOutParamResultWithMultipleRows() throws SQLException {
+        Property listOutParam = new Property("id", Direct.OUT, DataType.LIST, null);
+        SqlParameters sqlParameters = new SqlParameters();
+        sqlParameters.setLocalParams(Lists.newArrayList(listOutParam));
+        SqlQueryResultProcessor resultProcessor =
+                new SqlQueryResultProcessor(10, 100, false, 0, sqlParameters.getLocalParams());
+
+        resultProcessor.process(mockResultSet(3));
+
+        Assertions.assertEquals("[{\"id\":0},{\"id\":1},{\"id\":2}]", resultProcessor.getOutParamResult());
+        sqlParameters.dealOutParam(resultProcessor.getOutParamResult());
+        Assertions.assertEquals("[\"0\",\"1\",\"2\"]", listOutParam.getValue());
+    }
+
+    @Test
+    void testOutParamResultWithEmptyResult() throws SQLException {
+        SqlQueryResultProcessor resultProcessor =
+                new SqlQueryResultProcessor(10, 100, true, Integer.MAX_VALUE, Collections.emptyList());
+
+        resultProcessor.process(mockResultSet(0));
+
+        Assertions.assertEquals(0, resultProcessor.getRowCount());
+        Assertions.assertEquals("[{\"id\":\"\",\"name\":\"\"}]", resultProcessor.getOutParamResult());
+        Assertions.assertEquals("[{\"id\":\"\",\"name\":\"\"}]", resultProcessor.getAttachment());
+    }
+
+    private ResultSet mockResultSet(int rows) throws SQLException {
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(2);
+        when(metaData.getColumnLabel(1)).thenReturn("id");
+        when(metaData.getColumnLabel(2)).thenReturn("name");
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        int[] cursor = {-1};
+        when(resultSet.next()).thenAnswer(invocation -> ++cursor[0] < rows);
+        when(resultSet.getObject(1)).thenAnswer(invocation -> cursor[0]);
+        when(resultSet.getObject(2)).thenAnswer(invocation -> "name" + cursor[0]);
+        return resultSet;
+    }
+}
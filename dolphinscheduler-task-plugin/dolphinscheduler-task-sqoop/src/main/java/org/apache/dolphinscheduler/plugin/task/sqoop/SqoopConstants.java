@@ -76,6 +76,8 @@ public final class SqoopConstants {
 
     public static final String SQOOP_PASSWORD_REGEX = "(?<=(--password \")).+?(?=\")";
 
+    public static final String SQOOP_PASSWORD_KEYWORD = "--password";
+
     public static final String MYSQL = "MYSQL";
     public static final String HIVE = "HIVE";
     public static final String HDFS = "HDFS";
@@ -64,7 +64,8 @@ public class SqoopTask extends AbstractYarnTask {
         sqoopTaskExecutionContext =
                 sqoopParameters.generateExtendedContext(taskExecutionContext.getResourceParametersHelper());
 
-        SensitiveDataConverter.addMaskPattern(SqoopConstants.SQOOP_PASSWORD_REGEX);
+        SensitiveDataConverter.addMaskPattern(SqoopConstants.SQOOP_PASSWORD_REGEX,
+                SqoopConstants.SQOOP_PASSWORD_KEYWORD);
     }
 
     @Override
@@ -32,7 +32,8 @@ public class SqoopTaskTest {
         final String maskScript =
                 "sqoop import -D mapred.job.name=sqoop_task -m 1 --connect \"jdbc:mysql://localhost:3306/defuault\" --username root --password \"**********\" --table student --target-dir /sqoop_test --as-textfile";
 
-        SensitiveDataConverter.addMaskPattern(SqoopConstants.SQOOP_PASSWORD_REGEX);
+        SensitiveDataConverter.addMaskPattern(SqoopConstants.SQOOP_PASSWORD_REGEX,
+                SqoopConstants.SQOOP_PASSWORD_KEYWORD);
         Assertions.assertEquals(maskScript, SensitiveDataConverter.maskSensitiveData(originalScript));
     }
 }
@@ -21,8 +21,10 @@ import org.apache.dolphinscheduler.common.CommonConfiguration;
 import org.apache.dolphinscheduler.common.IStoppable;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.lifecycle.ServerLifeCycleManager;
+import org.apache.dolphinscheduler.common.log.LogLineIndexCleaner;
 import org.apache.dolphinscheduler.common.thread.DefaultUncaughtExceptionHandler;
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
 import org.apache.dolphinscheduler.meter.metrics.MetricsProvider;
 import org.apache.dolphinscheduler.meter.metrics.SystemMetrics;
 import org.apache.dolphinscheduler.plugin.datasource.api.plugin.DataSourceProcessorProvider;
@@ -32,6 +34,7 @@ import org.apache.dolphinscheduler.plugin.task.api.TaskPluginManager;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 import org.apache.dolphinscheduler.plugin.task.api.utils.ProcessUtils;
 import org.apache.dolphinscheduler.registry.api.RegistryConfiguration;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.message.MessageRetryRunner;
 import org.apache.dolphinscheduler.server.worker.metrics.WorkerServerMetrics;
 import org.apache.dolphinscheduler.server.worker.registry.WorkerRegistryClient;
@@ -71,6 +74,11 @@ public class WorkerServer implements IStoppable {
     @Autowired
     private MetricsProvider metricsProvider;
 
+    @Autowired
+    private WorkerConfig workerConfig;
+
+    private LogLineIndexCleaner logLineIndexCleaner;
+
     /**
      * worker server startup, not use web service
      *
@@ -86,6 +94,7 @@ public class WorkerServer implements IStoppable {
     @PostConstruct
     public void run() {
         this.workerRpcServer.start();
+        SingletonJdkDynamicRpcClientProxyFactory.setRpcSerializer(workerConfig.getRpcSerializer());
         TaskPluginManager.loadTaskPlugin();
         DataSourceProcessorProvider.initialize();
 
@@ -94,6 +103,9 @@ public class WorkerServer implements IStoppable {
 
         this.messageRetryRunner.start();
 
+        this.logLineIndexCleaner = new LogLineIndexCleaner(LogUtils.getTaskInstanceLogBasePath());
+        this.logLineIndexCleaner.start();
+
         WorkerServerMetrics.registerWorkerCpuUsageGauge(() -> {
             SystemMetrics systemMetrics = metricsProvider.getSystemMetrics();
             return systemMetrics.getSystemCpuUsagePercentage();
@@ -126,7 +138,8 @@ public class WorkerServer implements IStoppable {
 
         try (
                 WorkerRpcServer closedWorkerRpcServer = workerRpcServer;
-                WorkerRegistryClient closedRegistryClient = workerRegistryClient) {
+                WorkerRegistryClient closedRegistryClient = workerRegistryClient;
+                LogLineIndexCleaner closedLogLineIndexCleaner = logLineIndexCleaner) {
             log.info("Worker server is stopping, current cause : {}", cause);
             // todo: we need to remove this method
             // since for some task, we need to take-over the remote task after the worker restart
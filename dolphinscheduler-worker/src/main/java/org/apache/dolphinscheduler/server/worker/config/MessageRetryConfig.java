@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.config;
+
+import org.apache.dolphinscheduler.extract.master.transportor.ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+/**
+ * The retry backoff of the task instance execution events which are not acked by the master.
+ */
+@Data
+public class MessageRetryConfig {
+
+    private RetryBackoff running = new RetryBackoff();
+
+    private RetryBackoff runningInfo = new RetryBackoff();
+
+    private RetryBackoff finish = new RetryBackoff();
+
+    public RetryBackoff getRetryBackoff(TaskInstanceExecutionEventType eventType) {
+        switch (eventType) {
+            case RUNNING:
+                return running;
+            case RUNNING_INFO:
+                return runningInfo;
+            case FINISH:
+                return finish;
+            default:
+                throw new IllegalArgumentException("Unsupported event type: " + eventType);
+        }
+    }
+
+    @Data
+    public static class RetryBackoff {
+
+        /**
+         * The interval between the first send and the first retry.
+         */
+        private Duration initialInterval = Duration.ofSeconds(10);
+
+        /**
+         * The upper bound of the retry interval.
+         */
+        private Duration maxInterval = Duration.ofMinutes(5);
+
+        /**
+         * The retry interval will be multiplied by this value after each retry.
+         */
+        private double multiplier = 2;
+
+        /**
+         * @param retryTimes the times the message has been retried
+         * @return the interval before the next retry
+         */
+        public long getRetryIntervalMills(int retryTimes) {
+            double interval = initialInterval.toMillis() * Math.pow(multiplier, retryTimes);
+            return (long) Math.min(interval, maxInterval.toMillis());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.config;
+
+import lombok.Data;
+
+import org.springframework.util.unit.DataSize;
+
+/**
+ * The resource files downloaded from the storage are cached on the worker and shared by the task instances.
+ */
+@Data
+public class ResourceCacheConfig {
+
+    private boolean enabled = true;
+
+    /**
+     * The parent directory of the cached resource files, default is {data.basedir.path}. The resource files are cached
+     * under its {@code resource-cache} subdirectory, which is cleaned when the worker starts.
+     */
+    private String directory;
+
+    /**
+     * The least recently used resource files will be evicted once the total size exceeds this value.
+     */
+    private DataSize maxSize = DataSize.ofGigabytes(10);
+
+}
@@ -18,6 +18,10 @@
 package org.apache.dolphinscheduler.server.worker.config;
 
 import org.apache.dolphinscheduler.common.utils.NetUtils;
+import org.apache.dolphinscheduler.extract.base.config.TaskEventBatchConfig;
+import org.apache.dolphinscheduler.extract.base.serialize.JsonRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerManager;
+import org.apache.dolphinscheduler.extract.master.transportor.ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType;
 import org.apache.dolphinscheduler.registry.api.ConnectStrategyProperties;
 import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
 
@@ -58,6 +62,18 @@ public class WorkerConfig implements Validator {
 
     private TenantConfig tenantConfig = new TenantConfig();
 
+    private TaskEventBatchConfig taskEventBatch = new TaskEventBatchConfig();
+
+    private MessageRetryConfig messageRetry = new MessageRetryConfig();
+
+    private ResourceCacheConfig resourceCache = new ResourceCacheConfig();
+
+    /**
+     * The serializer of the rpc requests sent by the worker, only set it to binary once all the servers are upgraded,
+     * the old servers cannot recognize the binary requests.
+     */
+    private String rpcSerializer = JsonRpcSerializer.NAME;
+
     @Override
     public boolean supports(Class<?> clazz) {
         return WorkerConfig.class.isAssignableFrom(clazz);
@@ -72,6 +88,33 @@ public class WorkerConfig implements Validator {
         if (workerConfig.getMaxHeartbeatInterval().getSeconds() <= 0) {
             errors.rejectValue("max-heartbeat-interval", null, "shoule be a valid duration");
         }
+        if (workerConfig.getTaskEventBatch().getMaxBatchSize() <= 0) {
+            errors.rejectValue("task-event-batch.max-batch-size", null, "should be a positive value");
+        }
+        if (workerConfig.getTaskEventBatch().getFlushInterval().toMillis() <= 0) {
+            errors.rejectValue("task-event-batch.flush-interval", null, "should be a valid duration");
+        }
+        for (TaskInstanceExecutionEventType eventType : TaskInstanceExecutionEventType.values()) {
+            MessageRetryConfig.RetryBackoff retryBackoff = workerConfig.getMessageRetry().getRetryBackoff(eventType);
+            if (retryBackoff.getInitialInterval().toMillis() <= 0) {
+                errors.rejectValue("message-retry", null, eventType + " initial-interval should be a valid duration");
+            }
+            if (retryBackoff.getMaxInterval().compareTo(retryBackoff.getInitialInterval()) < 0) {
+                errors.rejectValue("message-retry", null,
+                        eventType + " max-interval should not be smaller than initial-interval");
+            }
+            if (retryBackoff.getMultiplier() < 1) {
+                errors.rejectValue("message-retry", null, eventType + " multiplier should not be smaller than 1");
+            }
+        }
+        if (workerConfig.getResourceCache().getMaxSize().toBytes() <= 0) {
+            errors.rejectValue("resource-cache.max-size", null, "should be a positive value");
+        }
+        try {
+            RpcSerializerManager.getSerializer(workerConfig.getRpcSerializer());
+        } catch (IllegalArgumentException ex) {
+            errors.rejectValue("rpc-serializer", null, ex.getMessage());
+        }
         if (StringUtils.isEmpty(workerConfig.getWorkerAddress())) {
             workerConfig.setWorkerAddress(NetUtils.getAddr(workerConfig.getListenPort()));
         }
@@ -92,6 +135,10 @@ public class WorkerConfig implements Validator {
                         "\n  server-load-protection -> " + serverLoadProtection +
                         "\n  registry-disconnect-strategy -> " + registryDisconnectStrategy +
                         "\n  task-execute-threads-full-policy: " + taskExecuteThreadsFullPolicy +
+                        "\n  task-event-batch -> " + taskEventBatch +
+                        "\n  message-retry -> " + messageRetry +
+                        "\n  resource-cache -> " + resourceCache +
+                        "\n  rpc-serializer -> " + rpcSerializer +
                         "\n  address -> " + workerAddress +
                         "\n  registry-path: " + workerRegistryPath +
                         "\n****************************Worker Configuration**************************************";
@@ -22,29 +22,36 @@ import org.apache.dolphinscheduler.common.lifecycle.ServerLifeCycleManager;
 import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
 import org.apache.dolphinscheduler.extract.master.transportor.ITaskInstanceExecutionEvent;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
+import org.apache.dolphinscheduler.server.worker.config.MessageRetryConfig;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+import org.apache.dolphinscheduler.server.worker.metrics.WorkerServerMetrics;
 
-import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.collections4.MapUtils;
-
-import java.time.Duration;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
 
-import lombok.Data;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
-import com.google.common.base.Objects;
-
+/**
+ * Resend the task instance execution events which are not acked by the master.
+ * <p>
+ * The pending events are indexed by taskInstanceId and eventType, so the ack is O(1). Each pending event has a retry
+ * deadline in a {@link DelayQueue}, the retry thread only wakes up when the earliest deadline is reached. The retry
+ * interval grows exponentially by {@link MessageRetryConfig}, until the event is acked.
+ * <p>
+ * The acked or replaced events are not removed from the delay queue, they are discarded when their deadline is reached.
+ */
 @Component
 @Slf4j
 public class MessageRetryRunner extends BaseDaemonThread {
@@ -53,16 +60,19 @@ public class MessageRetryRunner extends BaseDaemonThread {
         super("WorkerMessageRetryRunnerThread");
     }
 
-    private static final long MESSAGE_RETRY_WINDOW = Duration.ofMinutes(5L).toMillis();
-
     @Lazy
     @Autowired
     private List<TaskInstanceExecutionEventSender> messageSenders;
 
+    @Autowired
+    private WorkerConfig workerConfig;
+
     private final Map<ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType, TaskInstanceExecutionEventSender<ITaskInstanceExecutionEvent>> messageSenderMap =
             new HashMap<>();
 
-    private final Map<Integer, List<TaskInstanceMessage>> needToRetryMessages = new ConcurrentHashMap<>();
+    private final Map<MessageKey, RetryMessage> pendingMessages = new ConcurrentHashMap<>();
+
+    private final DelayQueue<RetryMessage> retryQueue = new DelayQueue<>();
 
     @Override
     public synchronized void start() {
@@ -71,77 +81,65 @@ public class MessageRetryRunner extends BaseDaemonThread {
             messageSenderMap.put(messageSender.getMessageType(), messageSender);
             log.info("Injected message sender: {}", messageSender.getClass().getSimpleName());
         });
+        WorkerServerMetrics.registerWorkerMessageRetryPendingGauge(pendingMessages::size);
+        WorkerServerMetrics.registerWorkerMessageRetryOldestUnackedAgeGauge(this::getOldestUnackedAgeMills);
         super.start();
         log.info("Message retry runner started");
     }
 
     public void addRetryMessage(int taskInstanceId, @NonNull ITaskInstanceExecutionEvent iTaskInstanceExecutionEvent) {
-        needToRetryMessages.computeIfAbsent(taskInstanceId, k -> Collections.synchronizedList(new ArrayList<>()))
-                .add(TaskInstanceMessage.of(taskInstanceId, iTaskInstanceExecutionEvent.getEventType(),
-                        iTaskInstanceExecutionEvent));
+        MessageKey messageKey = new MessageKey(taskInstanceId, iTaskInstanceExecutionEvent.getEventType());
+        long now = System.currentTimeMillis();
+        RetryMessage retryMessage = new RetryMessage(messageKey, iTaskInstanceExecutionEvent, now,
+                now + getRetryBackoff(messageKey).getRetryIntervalMills(0));
+        pendingMessages.put(messageKey, retryMessage);
+        retryQueue.offer(retryMessage);
     }
 
     public void removeRetryMessage(int taskInstanceId,
                                    @NonNull ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType eventType) {
-        List<TaskInstanceMessage> taskInstanceMessages = needToRetryMessages.get(taskInstanceId);
-        if (taskInstanceMessages != null) {
-            taskInstanceMessages.remove(TaskInstanceMessage.of(taskInstanceId, eventType, null));
-        }
+        pendingMessages.remove(new MessageKey(taskInstanceId, eventType));
     }
 
     public void removeRetryMessages(int taskInstanceId) {
-        needToRetryMessages.remove(taskInstanceId);
+        for (ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType eventType : ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType
+                .values()) {
+            pendingMessages.remove(new MessageKey(taskInstanceId, eventType));
+        }
     }
 
+    /**
+     * Update the receiver of the pending messages and resend them immediately, this is used when the workflow instance
+     * is failover to another master.
+     */
     public boolean updateMessageHost(int taskInstanceId, String messageReceiverHost) {
-        List<TaskInstanceMessage> taskInstanceMessages = this.needToRetryMessages.get(taskInstanceId);
-        if (CollectionUtils.isEmpty(taskInstanceMessages)) {
-            return false;
+        boolean updated = false;
+        long now = System.currentTimeMillis();
+        for (ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType eventType : ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType
+                .values()) {
+            MessageKey messageKey = new MessageKey(taskInstanceId, eventType);
+            RetryMessage retryMessage = pendingMessages.get(messageKey);
+            if (retryMessage == null) {
+                continue;
+            }
+            retryMessage.getEvent().setWorkflowInstanceHost(messageReceiverHost);
+            RetryMessage rescheduledMessage =
+                    new RetryMessage(messageKey, retryMessage.getEvent(), retryMessage.getFirstSendTime(), now);
+            if (pendingMessages.replace(messageKey, retryMessage, rescheduledMessage)) {
+                retryQueue.offer(rescheduledMessage);
+            }
+            updated = true;
         }
-        taskInstanceMessages.forEach(taskInstanceMessage -> {
-            taskInstanceMessage.getEvent().setWorkflowInstanceHost(messageReceiverHost);
-        });
-        return true;
+        return updated;
     }
 
     public void run() {
         while (!ServerLifeCycleManager.isStopped()) {
             try {
-                if (MapUtils.isEmpty(needToRetryMessages)) {
-                    Thread.sleep(MESSAGE_RETRY_WINDOW);
-                }
-
-                long now = System.currentTimeMillis();
-                Iterator<Map.Entry<Integer, List<TaskInstanceMessage>>> iterator =
-                        needToRetryMessages.entrySet().iterator();
-                while (iterator.hasNext()) {
-                    Map.Entry<Integer, List<TaskInstanceMessage>> taskEntry = iterator.next();
-                    Integer taskInstanceId = taskEntry.getKey();
-                    List<TaskInstanceMessage> taskInstanceMessages = taskEntry.getValue();
-                    if (taskInstanceMessages.isEmpty()) {
-                        iterator.remove();
-                        continue;
-                    }
-                    LogUtils.setTaskInstanceIdMDC(taskInstanceId);
-                    try {
-                        for (TaskInstanceMessage taskInstanceMessage : taskInstanceMessages) {
-                            ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType eventType =
-                                    taskInstanceMessage.getEventType();
-                            ITaskInstanceExecutionEvent event = taskInstanceMessage.getEvent();
-                            if (now - event.getEventSendTime() > MESSAGE_RETRY_WINDOW) {
-                                log.info("Begin retry send message to master, event: {}", event);
-                                event.setEventSendTime(now);
-                                messageSenderMap.get(eventType).sendEvent(event);
-                                log.info("Success send message to master, event: {}", event);
-                            }
-                        }
-                    } catch (Exception e) {
-                        log.warn("Retry send message to master error", e);
-                    } finally {
-                        LogUtils.removeTaskInstanceIdMDC();
-                    }
+                RetryMessage retryMessage = retryQueue.poll(Constants.SLEEP_TIME_MILLIS, TimeUnit.MILLISECONDS);
+                if (retryMessage != null) {
+                    retryMessage(retryMessage);
                 }
-                Thread.sleep(Constants.SLEEP_TIME_MILLIS);
             } catch (InterruptedException instance) {
                 log.warn("The message retry thread is interrupted, will break this loop", instance);
                 Thread.currentThread().interrupt();
@@ -152,45 +150,96 @@ public class MessageRetryRunner extends BaseDaemonThread {
         }
     }
 
+    void retryMessage(RetryMessage retryMessage) {
+        MessageKey messageKey = retryMessage.getMessageKey();
+        if (pendingMessages.get(messageKey) != retryMessage) {
+            // the message is acked or replaced
+            return;
+        }
+        long now = System.currentTimeMillis();
+        ITaskInstanceExecutionEvent event = retryMessage.getEvent();
+        LogUtils.setTaskInstanceIdMDC(messageKey.getTaskInstanceId());
+        try {
+            log.info("Begin retry send message to master, retryTimes: {}, event: {}", retryMessage.getRetryTimes(),
+                    event);
+            WorkerServerMetrics.incWorkerMessageRetryCount(messageKey.getEventType().name());
+            event.setEventSendTime(now);
+            messageSenderMap.get(messageKey.getEventType()).sendEvent(event);
+            log.info("Success send message to master, event: {}", event);
+        } catch (Exception e) {
+            log.warn("Retry send message to master error", e);
+        } finally {
+            LogUtils.removeTaskInstanceIdMDC();
+        }
+        retryMessage.retryTimes++;
+        retryMessage.retryTime = now + getRetryBackoff(messageKey).getRetryIntervalMills(retryMessage.retryTimes);
+        if (pendingMessages.get(messageKey) == retryMessage) {
+            retryQueue.offer(retryMessage);
+        }
+    }
+
     public void clearMessage() {
-        needToRetryMessages.clear();
+        pendingMessages.clear();
+        retryQueue.clear();
+    }
+
+    public int getPendingMessageCount() {
+        return pendingMessages.size();
+    }
+
+    public long getOldestUnackedAgeMills() {
+        long now = System.currentTimeMillis();
+        return pendingMessages.values()
+                .stream()
+                .mapToLong(retryMessage -> now - retryMessage.getFirstSendTime())
+                .max()
+                .orElse(0L);
+    }
+
+    private MessageRetryConfig.RetryBackoff getRetryBackoff(MessageKey messageKey) {
+        return workerConfig.getMessageRetry().getRetryBackoff(messageKey.getEventType());
     }
 
     /**
-     * If two message has the same taskInstanceId and messageType they will be considered as the same message
+     * If two message has the same taskInstanceId and eventType they will be considered as the same message
      */
-    @Data
-    public static class TaskInstanceMessage {
-
-        private long taskInstanceId;
-        private ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType eventType;
-        private ITaskInstanceExecutionEvent event;
-
-        public static TaskInstanceMessage of(long taskInstanceId,
-                                             ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType eventType,
-                                             ITaskInstanceExecutionEvent event) {
-            TaskInstanceMessage taskInstanceMessage = new TaskInstanceMessage();
-            taskInstanceMessage.setTaskInstanceId(taskInstanceId);
-            taskInstanceMessage.setEventType(eventType);
-            taskInstanceMessage.setEvent(event);
-            return taskInstanceMessage;
+    @Value
+    static class MessageKey {
+
+        int taskInstanceId;
+
+        ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType eventType;
+    }
+
+    @Getter
+    static class RetryMessage implements Delayed {
+
+        private final MessageKey messageKey;
+
+        private final ITaskInstanceExecutionEvent event;
+
+        private final long firstSendTime;
+
+        // only be modified by the retry thread when the message is not in the delay queue
+        private volatile long retryTime;
+
+        private volatile int retryTimes;
+
+        RetryMessage(MessageKey messageKey, ITaskInstanceExecutionEvent event, long firstSendTime, long retryTime) {
+            this.messageKey = messageKey;
+            this.event = event;
+            this.firstSendTime = firstSendTime;
+            this.retryTime = retryTime;
         }
 
         @Override
-        public boolean equals(Object o) {
-            if (this == o) {
-                return true;
-            }
-            if (o == null || getClass() != o.getClass()) {
-                return false;
-            }
-            TaskInstanceMessage that = (TaskInstanceMessage) o;
-            return taskInstanceId == that.taskInstanceId && eventType == that.eventType;
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(retryTime - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
         }
 
         @Override
-        public int hashCode() {
-            return Objects.hashCode(taskInstanceId, eventType);
+        public int compareTo(Delayed o) {
+            return Long.compare(retryTime, ((RetryMessage) o).retryTime);
         }
     }
 }
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.message;
+
+import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
+import org.apache.dolphinscheduler.extract.base.config.TaskEventBatchConfig;
+import org.apache.dolphinscheduler.extract.base.utils.BatchCoalescer;
+import org.apache.dolphinscheduler.extract.master.ITaskInstanceExecutionEventListener;
+import org.apache.dolphinscheduler.extract.master.transportor.ITaskInstanceExecutionEvent;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionEventBatch;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+
+import java.util.List;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalesce the task instance execution events by the workflow instance host and send them to the master in one
+ * request, the master will ack the whole batch in one request too.
+ * <p>
+ * The events should be added into {@link MessageRetryRunner} before being sent, so that the events in a failed batch
+ * will be retried one by one.
+ */
+@Slf4j
+@Component
+public class TaskInstanceExecutionEventBatchSender {
+
+    @Autowired
+    private WorkerConfig workerConfig;
+
+    private BatchCoalescer<String, ITaskInstanceExecutionEvent> batchCoalescer;
+
+    @PostConstruct
+    public void start() {
+        TaskEventBatchConfig taskEventBatchConfig = workerConfig.getTaskEventBatch();
+        if (!taskEventBatchConfig.isEnabled()) {
+            log.info("The task event batch is disabled, the task events will be sent one by one");
+            return;
+        }
+        batchCoalescer = new BatchCoalescer<>(
+                "TaskInstanceExecutionEventBatchSender",
+                taskEventBatchConfig.getMaxBatchSize(),
+                taskEventBatchConfig.getFlushInterval().toMillis(),
+                this::sendBatch);
+        batchCoalescer.start();
+    }
+
+    public boolean isEnabled() {
+        return batchCoalescer != null;
+    }
+
+    public void sendEvent(@NonNull ITaskInstanceExecutionEvent taskInstanceExecutionEvent) {
+        if (batchCoalescer == null) {
+            throw new IllegalStateException("The task event batch is disabled");
+        }
+        batchCoalescer.add(taskInstanceExecutionEvent.getWorkflowInstanceHost(), taskInstanceExecutionEvent);
+    }
+
+    private void sendBatch(String workflowInstanceHost, List<ITaskInstanceExecutionEvent> events) {
+        ITaskInstanceExecutionEventListener iTaskInstanceExecutionEventListener =
+                SingletonJdkDynamicRpcClientProxyFactory
+                        .getProxyClient(workflowInstanceHost, ITaskInstanceExecutionEventListener.class);
+        iTaskInstanceExecutionEventListener
+                .onTaskInstanceExecutionEventBatch(TaskInstanceExecutionEventBatch.of(events));
+        log.debug("Success send {} task events to master: {}", events.size(), workflowInstanceHost);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (batchCoalescer != null) {
+            batchCoalescer.close();
+        }
+    }
+}
@@ -52,6 +52,23 @@ public class WorkerServerMetrics {
                     .description("worker resource download failure count")
                     .register(Metrics.globalRegistry);
 
+    private final Counter workerResourceCacheHitCounter =
+            Counter.builder("ds.worker.resource.cache.count")
+                    .tag("result", "hit")
+                    .description("worker resource cache hit count")
+                    .register(Metrics.globalRegistry);
+
+    private final Counter workerResourceCacheMissCounter =
+            Counter.builder("ds.worker.resource.cache.count")
+                    .tag("result", "miss")
+                    .description("worker resource cache miss count")
+                    .register(Metrics.globalRegistry);
+
+    private final Counter workerResourceCacheEvictionCounter =
+            Counter.builder("ds.worker.resource.cache.eviction.count")
+                    .description("worker resource cache eviction count")
+                    .register(Metrics.globalRegistry);
+
     private final Counter workerHeartBeatCounter =
             Counter.builder("ds.worker.heartbeat.count")
                     .description("worker heartbeat count")
@@ -88,10 +105,30 @@ public class WorkerServerMetrics {
         workerResourceDownloadFailCounter.increment();
     }
 
+    public void incWorkerResourceCacheHitCount() {
+        workerResourceCacheHitCounter.increment();
+    }
+
+    public void incWorkerResourceCacheMissCount() {
+        workerResourceCacheMissCounter.increment();
+    }
+
+    public void incWorkerResourceCacheEvictionCount() {
+        workerResourceCacheEvictionCounter.increment();
+    }
+
     public void incWorkerHeartbeatCount() {
         workerHeartBeatCounter.increment();
     }
 
+    public void incWorkerMessageRetryCount(final String eventType) {
+        Counter.builder("ds.worker.message.retry.count")
+                .tag("type", eventType)
+                .description("The number of task events resent to master since no ack is received")
+                .register(Metrics.globalRegistry)
+                .increment();
+    }
+
     public void recordWorkerResourceDownloadTime(final long milliseconds) {
         workerResourceDownloadDurationTimer.record(milliseconds, TimeUnit.MILLISECONDS);
     }
@@ -118,6 +155,26 @@ public class WorkerServerMetrics {
                 .register(Metrics.globalRegistry);
     }
 
+    public void registerWorkerResourceCacheSizeGauge(Supplier<Number> supplier) {
+        Gauge.builder("ds.worker.resource.cache.size", supplier)
+                .description("total size of the cached resource files on worker")
+                .baseUnit("bytes")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void registerWorkerMessageRetryPendingGauge(Supplier<Number> supplier) {
+        Gauge.builder("ds.worker.message.retry.pending", supplier)
+                .description("The number of task events waiting for the ack from master")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void registerWorkerMessageRetryOldestUnackedAgeGauge(Supplier<Number> supplier) {
+        Gauge.builder("ds.worker.message.retry.oldest.unacked.age", supplier)
+                .description("The age of the oldest task event waiting for the ack from master")
+                .baseUnit("milliseconds")
+                .register(Metrics.globalRegistry);
+    }
+
     public void registerWorkerMemoryAvailableGauge(Supplier<Number> supplier) {
         Gauge.builder("ds.worker.memory.available", supplier)
                 .description("worker memory available")
@@ -0,0 +1,325 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.resource;
+
+import org.apache.dolphinscheduler.common.utils.FileUtils;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
+import org.apache.dolphinscheduler.server.worker.config.ResourceCacheConfig;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+import org.apache.dolphinscheduler.server.worker.metrics.WorkerServerMetrics;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import javax.annotation.PostConstruct;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * The resource files cache shared by all the task instances on the worker.
+ * <p>
+ * The cache key is the resource path in storage with its size and update time, so a modified resource will not hit
+ * the stale cache. The cached file is copied into the task working directory rather than linked, so a task modifying
+ * its resource file cannot corrupt the cache, and the running task will not be affected by the eviction.
+ * <p>
+ * All the cached files are kept under the {@code resource-cache} subdirectory of the configured directory, which is
+ * marked by a marker file created by the cache. The subdirectory is cleaned when the worker starts, and it will never
+ * be cleaned if it is not created by the cache.
+ * <p>
+ * The concurrent requests of the same resource will be coalesced into a single download, and the least recently used
+ * resource files will be evicted once the total size exceeds {@link ResourceCacheConfig#getMaxSize()}.
+ */
+@Slf4j
+@Component
+public class WorkerResourceCache {
+
+    private static final String CACHE_DIRECTORY = "resource-cache";
+
+    private static final String MARKER_FILE = ".dolphinscheduler-resource-cache";
+
+    private static final String TMP_DIRECTORY = "tmp";
+
+    private final ResourceCacheConfig resourceCacheConfig;
+
+    private final Path cacheDirectory;
+
+    private boolean enabled;
+
+    // access ordered, the first entry is the least recently used one
+    private final LinkedHashMap<String, CachedResource> cachedResources = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Map<String, CompletableFuture<CachedResource>> loadingResources = new ConcurrentHashMap<>();
+
+    private long totalSize;
+
+    public WorkerResourceCache(WorkerConfig workerConfig) {
+        this.resourceCacheConfig = workerConfig.getResourceCache();
+        this.cacheDirectory = StringUtils.isEmpty(resourceCacheConfig.getDirectory())
+                ? Paths.get(FileUtils.DATA_BASEDIR, CACHE_DIRECTORY)
+                : Paths.get(resourceCacheConfig.getDirectory(), CACHE_DIRECTORY);
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (!resourceCacheConfig.isEnabled()) {
+            log.info("The worker resource cache is disabled");
+            return;
+        }
+        if (Files.exists(cacheDirectory) && !Files.exists(cacheDirectory.resolve(MARKER_FILE))) {
+            // Never clean a directory which is not created by the cache, it might contain the user data
+            log.error("The worker resource cache is disabled, since the directory: {} is not created by the cache, "
+                    + "please remove it or change worker.resource-cache.directory", cacheDirectory);
+            return;
+        }
+        // The cache index is in memory, so the files cached by the last worker process cannot be reused
+        FileUtils.deleteFile(cacheDirectory.toString());
+        FileUtils.createDirectoryWith755(cacheDirectory.resolve(TMP_DIRECTORY));
+        Files.createFile(cacheDirectory.resolve(MARKER_FILE));
+        enabled = true;
+        WorkerServerMetrics.registerWorkerResourceCacheSizeGauge(this::getTotalSize);
+        log.info("The worker resource cache is enabled, directory: {}, max size: {}", cacheDirectory,
+                resourceCacheConfig.getMaxSize());
+    }
+
+    /**
+     * Download the resource file from the storage into the given local path, through the cache if possible.
+     */
+    public void download(StorageOperator storageOperator,
+                         String resourceAbsolutePathInStorage,
+                         String resourceAbsolutePathInLocal) throws IOException {
+        if (!enabled) {
+            downloadFromStorage(storageOperator, resourceAbsolutePathInStorage, null, resourceAbsolutePathInLocal);
+            return;
+        }
+        StorageEntity storageEntity = getStorageEntity(storageOperator, resourceAbsolutePathInStorage);
+        if (storageEntity == null) {
+            downloadFromStorage(storageOperator, resourceAbsolutePathInStorage, null, resourceAbsolutePathInLocal);
+            return;
+        }
+        String cacheKey = resourceAbsolutePathInStorage + ":" + storageEntity.getSize() + ":"
+                + storageEntity.getUpdateTime().getTime();
+        CachedResource cachedResource =
+                acquire(storageOperator, resourceAbsolutePathInStorage, storageEntity, cacheKey);
+        try {
+            materialize(cachedResource.getPath(), Paths.get(resourceAbsolutePathInLocal));
+        } finally {
+            release(cachedResource);
+        }
+    }
+
+    public synchronized long getTotalSize() {
+        return totalSize;
+    }
+
+    public synchronized int getCachedResourceCount() {
+        return cachedResources.size();
+    }
+
+    private StorageEntity getStorageEntity(StorageOperator storageOperator, String resourceAbsolutePathInStorage) {
+        try {
+            StorageEntity storageEntity = storageOperator.getStorageEntity(resourceAbsolutePathInStorage);
+            if (storageEntity == null || storageEntity.isDirectory() || storageEntity.getUpdateTime() == null) {
+                return null;
+            }
+            return storageEntity;
+        } catch (Exception ex) {
+            log.warn("Get the metadata of resource: {} failed, will download it without cache",
+                    resourceAbsolutePathInStorage, ex);
+            return null;
+        }
+    }
+
+    private CachedResource acquire(StorageOperator storageOperator,
+                                   String resourceAbsolutePathInStorage,
+                                   StorageEntity storageEntity,
+                                   String cacheKey) throws IOException {
+        while (true) {
+            CachedResource cachedResource = pin(cacheKey);
+            if (cachedResource != null) {
+                WorkerServerMetrics.incWorkerResourceCacheHitCount();
+                return cachedResource;
+            }
+            CompletableFuture<CachedResource> future = new CompletableFuture<>();
+            CompletableFuture<CachedResource> loadingFuture = loadingResources.putIfAbsent(cacheKey, future);
+            if (loadingFuture != null) {
+                // Another task is downloading the same resource, wait for it and then pin the cached resource,
+                // the cached resource might be evicted before pinned, then try again
+                waitLoading(loadingFuture, resourceAbsolutePathInStorage);
+                continue;
+            }
+            try {
+                cachedResource = pin(cacheKey);
+                if (cachedResource == null) {
+                    WorkerServerMetrics.incWorkerResourceCacheMissCount();
+                    cachedResource = load(storageOperator, resourceAbsolutePathInStorage, storageEntity, cacheKey);
+                } else {
+                    WorkerServerMetrics.incWorkerResourceCacheHitCount();
+                }
+                future.complete(cachedResource);
+                return cachedResource;
+            } catch (IOException | RuntimeException ex) {
+                future.completeExceptionally(ex);
+                throw ex;
+            } finally {
+                loadingResources.remove(cacheKey, future);
+            }
+        }
+    }
+
+    private void waitLoading(CompletableFuture<CachedResource> loadingFuture,
+                             String resourceAbsolutePathInStorage) throws IOException {
+        try {
+            loadingFuture.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting the resource: " + resourceAbsolutePathInStorage, ex);
+        } catch (ExecutionException ex) {
+            throw new IOException("Download resource: " + resourceAbsolutePathInStorage + " failed", ex.getCause());
+        }
+    }
+
+    private CachedResource load(StorageOperator storageOperator,
+                                String resourceAbsolutePathInStorage,
+                                StorageEntity storageEntity,
+                                String cacheKey) throws IOException {
+        Path tmpPath = cacheDirectory.resolve(TMP_DIRECTORY).resolve(UUID.randomUUID().toString());
+        Path cachedPath = cacheDirectory.resolve(Hashing.sha256().hashString(cacheKey, StandardCharsets.UTF_8)
+                .toString());
+        try {
+            downloadFromStorage(storageOperator, resourceAbsolutePathInStorage, storageEntity, tmpPath.toString());
+            Files.move(tmpPath, cachedPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmpPath);
+        }
+        CachedResource cachedResource = new CachedResource(cacheKey, cachedPath, Files.size(cachedPath));
+        synchronized (this) {
+            cachedResource.pins++;
+            cachedResources.put(cacheKey, cachedResource);
+            totalSize += cachedResource.getSize();
+            evictIfNeeded();
+        }
+        log.info("Cached resource file {} -> {}", resourceAbsolutePathInStorage, cachedPath);
+        return cachedResource;
+    }
+
+    private synchronized CachedResource pin(String cacheKey) {
+        CachedResource cachedResource = cachedResources.get(cacheKey);
+        if (cachedResource != null) {
+            cachedResource.pins++;
+        }
+        return cachedResource;
+    }
+
+    private synchronized void release(CachedResource cachedResource) {
+        cachedResource.pins--;
+        evictIfNeeded();
+    }
+
+    private void evictIfNeeded() {
+        long maxSize = resourceCacheConfig.getMaxSize().toBytes();
+        Iterator<CachedResource> iterator = cachedResources.values().iterator();
+        while (totalSize > maxSize && iterator.hasNext()) {
+            CachedResource cachedResource = iterator.next();
+            if (cachedResource.pins > 0) {
+                // the resource is being copied into the task working directory
+                continue;
+            }
+            iterator.remove();
+            totalSize -= cachedResource.getSize();
+            try {
+                Files.deleteIfExists(cachedResource.getPath());
+            } catch (IOException ex) {
+                log.warn("Delete the evicted resource file: {} failed", cachedResource.getPath(), ex);
+            }
+            WorkerServerMetrics.incWorkerResourceCacheEvictionCount();
+            log.info("Evicted resource file: {}, cacheKey: {}", cachedResource.getPath(), cachedResource.getCacheKey());
+        }
+    }
+
+    private void materialize(Path cachedPath, Path localPath) throws IOException {
+        FileUtils.createDirectoryWith755(localPath.getParent());
+        Files.copy(cachedPath, localPath, StandardCopyOption.REPLACE_EXISTING);
+        FileUtils.setFileTo755(localPath.toFile());
+        log.info("Copied resource file {} -> {}", cachedPath, localPath);
+    }
+
+    private void downloadFromStorage(StorageOperator storageOperator,
+                                     String resourceAbsolutePathInStorage,
+                                     StorageEntity storageEntity,
+                                     String resourceAbsolutePathInLocal) throws IOException {
+        try {
+            long resourceDownloadStartTime = System.currentTimeMillis();
+            if (storageEntity == null) {
+                storageOperator.download(resourceAbsolutePathInStorage, resourceAbsolutePathInLocal, true);
+            } else {
+                storageOperator.download(resourceAbsolutePathInStorage, storageEntity, resourceAbsolutePathInLocal,
+                        true);
+            }
+            log.info("Download resource file {} -> {} successfully", resourceAbsolutePathInStorage,
+                    resourceAbsolutePathInLocal);
+            FileUtils.setFileTo755(new File(resourceAbsolutePathInLocal));
+            WorkerServerMetrics
+                    .recordWorkerResourceDownloadTime(System.currentTimeMillis() - resourceDownloadStartTime);
+            WorkerServerMetrics
+                    .recordWorkerResourceDownloadSize(Files.size(Paths.get(resourceAbsolutePathInLocal)));
+            WorkerServerMetrics.incWorkerResourceDownloadSuccessCount();
+        } catch (Exception ex) {
+            WorkerServerMetrics.incWorkerResourceDownloadFailureCount();
+            throw ex;
+        }
+    }
+
+    @Getter
+    private static class CachedResource {
+
+        private final String cacheKey;
+
+        private final Path path;
+
+        private final long size;
+
+        // guarded by WorkerResourceCache.this
+        private int pins;
+
+        private CachedResource(String cacheKey, Path path, long size) {
+            this.cacheKey = cacheKey;
+            this.path = path;
+            this.size = size;
+        }
+    }
+}
@@ -18,6 +18,7 @@
 package org.apache.dolphinscheduler.server.worker.rpc;
 
 import org.apache.dolphinscheduler.extract.worker.ITaskInstanceExecutionEventAckListener;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionEventAckBatch;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionFinishEventAck;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionInfoEventAck;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionRunningEventAck;
@@ -52,4 +53,14 @@ public class TaskInstanceExecutionEventAckListenerImpl implements ITaskInstanceE
         taskInstanceExecutionEventAckListenFunctionManager.getTaskInstanceExecutionInfoEventAckListenFunction()
                 .handleTaskInstanceExecutionEventAck(taskInstanceExecutionInfoEventAck);
     }
+
+    @Override
+    public void handleTaskInstanceExecutionEventAckBatch(TaskInstanceExecutionEventAckBatch taskInstanceExecutionEventAckBatch) {
+        taskInstanceExecutionEventAckBatch.getRunningEventAcks()
+                .forEach(this::handleTaskInstanceExecutionRunningEventAck);
+        taskInstanceExecutionEventAckBatch.getInfoEventAcks()
+                .forEach(this::handleTaskInstanceExecutionInfoEventAck);
+        taskInstanceExecutionEventAckBatch.getFinishEventAcks()
+                .forEach(this::handleTaskInstanceExecutionFinishEventAck);
+    }
 }
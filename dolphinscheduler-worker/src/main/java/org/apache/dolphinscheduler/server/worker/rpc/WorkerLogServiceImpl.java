@@ -20,6 +20,7 @@ package org.apache.dolphinscheduler.server.worker.rpc;
 import static org.apache.dolphinscheduler.common.constants.Constants.APPID_COLLECT;
 import static org.apache.dolphinscheduler.common.constants.Constants.DEFAULT_COLLECT_WAY;
 
+import org.apache.dolphinscheduler.common.log.LogLineIndex;
 import org.apache.dolphinscheduler.common.utils.FileUtils;
 import org.apache.dolphinscheduler.common.utils.LogUtils;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
@@ -53,12 +54,18 @@ public class WorkerLogServiceImpl implements ILogService {
 
     @Override
     public TaskInstanceLogPageQueryResponse pageQueryTaskInstanceLog(TaskInstanceLogPageQueryRequest taskInstanceLogPageQueryRequest) {
-        List<String> lines = LogUtils.readPartFileContent(
-                taskInstanceLogPageQueryRequest.getTaskInstanceLogAbsolutePath(),
-                taskInstanceLogPageQueryRequest.getSkipLineNum(),
-                taskInstanceLogPageQueryRequest.getLimit());
-
-        String logContent = LogUtils.rollViewLogLines(lines);
+        String logPath = taskInstanceLogPageQueryRequest.getTaskInstanceLogAbsolutePath();
+        String logContent;
+        if (taskInstanceLogPageQueryRequest.isTail()) {
+            List<String> lines = LogUtils.readLastLines(logPath, taskInstanceLogPageQueryRequest.getLimit());
+            logContent = LogUtils.rollViewLogTailLines(lines);
+        } else {
+            List<String> lines = LogUtils.readPartFileContent(
+                    logPath,
+                    taskInstanceLogPageQueryRequest.getSkipLineNum(),
+                    taskInstanceLogPageQueryRequest.getLimit());
+            logContent = LogUtils.rollViewLogLines(lines);
+        }
         return new TaskInstanceLogPageQueryResponse(logContent);
     }
 
@@ -80,5 +87,6 @@ public class WorkerLogServiceImpl implements ILogService {
     @Override
     public void removeTaskInstanceLog(String taskInstanceLogAbsolutePath) {
         FileUtils.deleteFile(taskInstanceLogAbsolutePath);
+        LogLineIndex.remove(taskInstanceLogAbsolutePath);
     }
 }
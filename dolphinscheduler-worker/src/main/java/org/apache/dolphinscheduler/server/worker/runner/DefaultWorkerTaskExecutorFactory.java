@@ -21,6 +21,7 @@ import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.registry.WorkerRegistryClient;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerResourceCache;
 import org.apache.dolphinscheduler.server.worker.rpc.WorkerMessageSender;
 
 import javax.annotation.Nullable;
@@ -36,17 +37,20 @@ public class DefaultWorkerTaskExecutorFactory
     private final @NonNull WorkerMessageSender workerMessageSender;
     private final @Nullable StorageOperator storageOperator;
     private final @NonNull WorkerRegistryClient workerRegistryClient;
+    private final @NonNull WorkerResourceCache workerResourceCache;
 
     public DefaultWorkerTaskExecutorFactory(@NonNull TaskExecutionContext taskExecutionContext,
                                             @NonNull WorkerConfig workerConfig,
                                             @NonNull WorkerMessageSender workerMessageSender,
                                             @Nullable StorageOperator storageOperator,
-                                            @NonNull WorkerRegistryClient workerRegistryClient) {
+                                            @NonNull WorkerRegistryClient workerRegistryClient,
+                                            @NonNull WorkerResourceCache workerResourceCache) {
         this.taskExecutionContext = taskExecutionContext;
         this.workerConfig = workerConfig;
         this.workerMessageSender = workerMessageSender;
         this.storageOperator = storageOperator;
         this.workerRegistryClient = workerRegistryClient;
+        this.workerResourceCache = workerResourceCache;
     }
 
     @Override
@@ -56,6 +60,7 @@ public class DefaultWorkerTaskExecutorFactory
                 workerConfig,
                 workerMessageSender,
                 storageOperator,
-                workerRegistryClient);
+                workerRegistryClient,
+                workerResourceCache);
     }
 }
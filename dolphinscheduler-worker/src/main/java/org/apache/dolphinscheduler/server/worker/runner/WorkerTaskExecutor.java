@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.server.worker.runner;
 
 import static ch.qos.logback.classic.ClassicConstants.FINALIZE_SESSION_MARKER;
 import static org.apache.dolphinscheduler.common.constants.Constants.DRY_RUN_FLAG_YES;
+import static org.apache.dolphinscheduler.common.constants.Constants.K8S_CONFIG_KEYWORD;
 import static org.apache.dolphinscheduler.common.constants.Constants.K8S_CONFIG_REGEX;
 import static org.apache.dolphinscheduler.common.constants.Constants.SINGLE_SLASH;
 
@@ -50,6 +51,7 @@ import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 import org.apache.dolphinscheduler.plugin.task.api.utils.ProcessUtils;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.registry.WorkerRegistryClient;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerResourceCache;
 import org.apache.dolphinscheduler.server.worker.rpc.WorkerMessageSender;
 import org.apache.dolphinscheduler.server.worker.utils.TaskExecutionContextUtils;
 import org.apache.dolphinscheduler.server.worker.utils.TaskFilesTransferUtils;
@@ -78,6 +80,7 @@ public abstract class WorkerTaskExecutor implements Runnable {
     protected final WorkerMessageSender workerMessageSender;
     protected final @Nullable StorageOperator storageOperator;
     protected final WorkerRegistryClient workerRegistryClient;
+    protected final WorkerResourceCache workerResourceCache;
 
     protected @Nullable AbstractTask task;
 
@@ -86,13 +89,15 @@ public abstract class WorkerTaskExecutor implements Runnable {
                                  @NonNull WorkerConfig workerConfig,
                                  @NonNull WorkerMessageSender workerMessageSender,
                                  @Nullable StorageOperator storageOperator,
-                                 @NonNull WorkerRegistryClient workerRegistryClient) {
+                                 @NonNull WorkerRegistryClient workerRegistryClient,
+                                 @NonNull WorkerResourceCache workerResourceCache) {
         this.taskExecutionContext = taskExecutionContext;
         this.workerConfig = workerConfig;
         this.workerMessageSender = workerMessageSender;
         this.storageOperator = storageOperator;
         this.workerRegistryClient = workerRegistryClient;
-        SensitiveDataConverter.addMaskPattern(K8S_CONFIG_REGEX);
+        this.workerResourceCache = workerResourceCache;
+        SensitiveDataConverter.addMaskPattern(K8S_CONFIG_REGEX, K8S_CONFIG_KEYWORD);
     }
 
     protected abstract void executeTask(TaskCallBack taskCallBack);
@@ -224,7 +229,7 @@ public abstract class WorkerTaskExecutor implements Runnable {
         log.info("Create TaskChannel: {} successfully", taskChannel.getClass().getName());
 
         ResourceContext resourceContext = TaskExecutionContextUtils.downloadResourcesIfNeeded(taskChannel,
-                storageOperator, taskExecutionContext);
+                storageOperator, workerResourceCache, taskExecutionContext);
         taskExecutionContext.setResourceContext(resourceContext);
         log.info("Download resources successfully: \n{}", taskExecutionContext.getResourceContext());
 
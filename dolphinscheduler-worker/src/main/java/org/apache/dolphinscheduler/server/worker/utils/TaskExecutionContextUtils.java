@@ -20,19 +20,21 @@ package org.apache.dolphinscheduler.server.worker.utils;
 import org.apache.dolphinscheduler.common.utils.FileUtils;
 import org.apache.dolphinscheduler.plugin.storage.api.ResourceMetadata;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageTransferExecutor;
 import org.apache.dolphinscheduler.plugin.task.api.TaskChannel;
 import org.apache.dolphinscheduler.plugin.task.api.TaskException;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.model.ResourceInfo;
 import org.apache.dolphinscheduler.plugin.task.api.parameters.AbstractParameters;
 import org.apache.dolphinscheduler.plugin.task.api.resource.ResourceContext;
-import org.apache.dolphinscheduler.server.worker.metrics.WorkerServerMetrics;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerResourceCache;
 
 import org.apache.commons.collections4.CollectionUtils;
 
 import java.io.File;
-import java.nio.file.Files;
+import java.io.IOException;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 
 import lombok.extern.slf4j.Slf4j;
@@ -67,6 +69,7 @@ public class TaskExecutionContextUtils {
 
     public static ResourceContext downloadResourcesIfNeeded(TaskChannel taskChannel,
                                                             StorageOperator storageOperator,
+                                                            WorkerResourceCache workerResourceCache,
                                                             TaskExecutionContext taskExecutionContext) {
         AbstractParameters abstractParameters = taskChannel.parseParameters(taskExecutionContext.getTaskParams());
 
@@ -79,6 +82,7 @@ public class TaskExecutionContextUtils {
         ResourceContext resourceContext = new ResourceContext();
         String taskWorkingDirectory = taskExecutionContext.getExecutePath();
 
+        List<StorageTransferExecutor.TransferTask> downloadTasks = new ArrayList<>();
         for (ResourceInfo resourceInfo : resourceFilesList) {
             String resourceAbsolutePathInStorage = resourceInfo.getResourceName();
             ResourceMetadata resourceMetaData = storageOperator.getResourceMetaData(resourceAbsolutePathInStorage);
@@ -86,22 +90,15 @@ public class TaskExecutionContextUtils {
                     Paths.get(taskWorkingDirectory, resourceMetaData.getResourceRelativePath()).toString();
             File file = new File(resourceAbsolutePathInLocal);
             if (!file.exists()) {
-                try {
-                    long resourceDownloadStartTime = System.currentTimeMillis();
-                    storageOperator.download(resourceAbsolutePathInStorage, resourceAbsolutePathInLocal, true);
-                    log.info("Download resource file {} -> {} successfully", resourceAbsolutePathInStorage,
-                            resourceAbsolutePathInLocal);
-                    FileUtils.setFileTo755(file);
-                    WorkerServerMetrics
-                            .recordWorkerResourceDownloadTime(System.currentTimeMillis() - resourceDownloadStartTime);
-                    WorkerServerMetrics
-                            .recordWorkerResourceDownloadSize(Files.size(Paths.get(resourceAbsolutePathInLocal)));
-                    WorkerServerMetrics.incWorkerResourceDownloadSuccessCount();
-                } catch (Exception ex) {
-                    WorkerServerMetrics.incWorkerResourceDownloadFailureCount();
-                    throw new TaskException(
-                            String.format("Download resource file: %s error", resourceAbsolutePathInStorage), ex);
-                }
+                downloadTasks.add(() -> {
+                    try {
+                        workerResourceCache.download(storageOperator, resourceAbsolutePathInStorage,
+                                resourceAbsolutePathInLocal);
+                    } catch (Exception ex) {
+                        throw new TaskException(
+                                String.format("Download resource file: %s error", resourceAbsolutePathInStorage), ex);
+                    }
+                });
             }
             ResourceContext.ResourceItem resourceItem = ResourceContext.ResourceItem.builder()
                     .resourceAbsolutePathInStorage(resourceAbsolutePathInStorage)
@@ -109,6 +106,12 @@ public class TaskExecutionContextUtils {
                     .build();
             resourceContext.addResourceItem(resourceItem);
         }
+        // download the resource files of the task concurrently
+        try {
+            StorageTransferExecutor.getInstance().invokeAll(downloadTasks);
+        } catch (IOException ex) {
+            throw new TaskException("Download resource files error", ex);
+        }
         return resourceContext;
     }
 
@@ -23,6 +23,7 @@ import org.apache.dolphinscheduler.common.utils.DateUtils;
 import org.apache.dolphinscheduler.common.utils.FileUtils;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageTransferExecutor;
 import org.apache.dolphinscheduler.plugin.task.api.TaskException;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
@@ -158,6 +159,7 @@ public class TaskFilesTransferUtils {
         String downloadTmpPath = String.format("%s/%s", executePath, DOWNLOAD_TMP);
 
         log.info("Download upstream files...");
+        List<StorageTransferExecutor.TransferTask> downloadTasks = new ArrayList<>();
         for (Property property : localParamsProperty) {
             Property inVarPool = varPoolsMap.get(property.getValue());
             if (inVarPool == null) {
@@ -181,15 +183,23 @@ public class TaskFilesTransferUtils {
 
             String resourceWholePath =
                     storageOperator.getStorageFileAbsolutePath(taskExecutionContext.getTenantCode(), resourcePath);
-            log.info("{} --- Remote:{} to Local:{}", property, resourceWholePath, downloadPath);
-            storageOperator.download(resourceWholePath, downloadPath, true);
-
-            // unpack if the data is packaged
-            if (isPack) {
-                File downloadFile = new File(downloadPath);
-                log.info("Unpack {} to {}", downloadPath, targetPath);
-                ZipUtil.unpack(downloadFile, new File(targetPath));
-            }
+            downloadTasks.add(() -> {
+                log.info("{} --- Remote:{} to Local:{}", property, resourceWholePath, downloadPath);
+                storageOperator.download(resourceWholePath, downloadPath, true);
+
+                // unpack if the data is packaged
+                if (isPack) {
+                    File downloadFile = new File(downloadPath);
+                    log.info("Unpack {} to {}", downloadPath, targetPath);
+                    ZipUtil.unpack(downloadFile, new File(targetPath));
+                }
+            });
+        }
+        // download the upstream files concurrently
+        try {
+            StorageTransferExecutor.getInstance().invokeAll(downloadTasks);
+        } catch (IOException e) {
+            throw new TaskException("Download upstream files failed", e);
         }
 
         // delete DownloadTmp Folder if DownloadTmpPath exists
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.message;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.extract.master.transportor.ITaskInstanceExecutionEvent;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionFinishEvent;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionRunningEvent;
+import org.apache.dolphinscheduler.server.worker.config.MessageRetryConfig;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class MessageRetryRunnerTest {
+
+    private MessageRetryRunner messageRetryRunner;
+
+    private TaskInstanceExecutionEventSender<ITaskInstanceExecutionEvent> runningEventSender;
+
+    private TaskInstanceExecutionEventSender<ITaskInstanceExecutionEvent> finishEventSender;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void before() {
+        MessageRetryConfig messageRetryConfig = new MessageRetryConfig();
+        messageRetryConfig.getRunning().setInitialInterval(Duration.ofMillis(10));
+        messageRetryConfig.getRunning().setMaxInterval(Duration.ofMillis(50));
+        messageRetryConfig.getFinish().setInitialInterval(Duration.ofMinutes(1));
+        WorkerConfig workerConfig = new WorkerConfig();
+        workerConfig.setMessageRetry(messageRetryConfig);
+
+        runningEventSender = mock(TaskInstanceExecutionEventSender.class);
+        when(runningEventSender.getMessageType())
+                .thenReturn(ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType.RUNNING);
+        finishEventSender = mock(TaskInstanceExecutionEventSender.class);
+        when(finishEventSender.getMessageType())
+                .thenReturn(ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType.FINISH);
+
+        messageRetryRunner = new MessageRetryRunner();
+        ReflectionTestUtils.setField(messageRetryRunner, "workerConfig", workerConfig);
+        ReflectionTestUtils.setField(messageRetryRunner, "messageSenders",
+                Arrays.asList(runningEventSender, finishEventSender));
+        messageRetryRunner.start();
+    }
+
+    @AfterEach
+    void after() {
+        messageRetryRunner.interrupt();
+    }
+
+    @Test
+    void retryUntilAcked() {
+        TaskInstanceExecutionRunningEvent runningEvent = new TaskInstanceExecutionRunningEvent();
+        runningEvent.setTaskInstanceId(1);
+        messageRetryRunner.addRetryMessage(1, runningEvent);
+        assertThat(messageRetryRunner.getPendingMessageCount()).isEqualTo(1);
+
+        await().atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> verify(runningEventSender, atLeast(2)).sendEvent(any()));
+
+        messageRetryRunner.removeRetryMessage(1, ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType.RUNNING);
+        assertThat(messageRetryRunner.getPendingMessageCount()).isEqualTo(0);
+        assertThat(messageRetryRunner.getOldestUnackedAgeMills()).isEqualTo(0);
+    }
+
+    @Test
+    void removeRetryMessages() {
+        messageRetryRunner.addRetryMessage(1, new TaskInstanceExecutionRunningEvent());
+        messageRetryRunner.addRetryMessage(1, new TaskInstanceExecutionFinishEvent());
+        messageRetryRunner.addRetryMessage(2, new TaskInstanceExecutionFinishEvent());
+        assertThat(messageRetryRunner.getPendingMessageCount()).isEqualTo(3);
+
+        messageRetryRunner.removeRetryMessages(1);
+        assertThat(messageRetryRunner.getPendingMessageCount()).isEqualTo(1);
+    }
+
+    @Test
+    void updateMessageHost_resendImmediately() {
+        TaskInstanceExecutionFinishEvent finishEvent = new TaskInstanceExecutionFinishEvent();
+        finishEvent.setWorkflowInstanceHost("127.0.0.1:5678");
+        messageRetryRunner.addRetryMessage(1, finishEvent);
+
+        assertThat(messageRetryRunner.updateMessageHost(2, "127.0.0.2:5678")).isFalse();
+        assertThat(messageRetryRunner.updateMessageHost(1, "127.0.0.2:5678")).isTrue();
+        assertThat(finishEvent.getWorkflowInstanceHost()).isEqualTo("127.0.0.2:5678");
+
+        await().atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> verify(finishEventSender, Mockito.times(1)).sendEvent(finishEvent));
+        assertThat(messageRetryRunner.getPendingMessageCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getRetryIntervalMills() {
+        MessageRetryConfig.RetryBackoff retryBackoff = new MessageRetryConfig.RetryBackoff();
+        assertThat(retryBackoff.getRetryIntervalMills(0)).isEqualTo(10_000L);
+        assertThat(retryBackoff.getRetryIntervalMills(1)).isEqualTo(20_000L);
+        assertThat(retryBackoff.getRetryIntervalMills(3)).isEqualTo(80_000L);
+        assertThat(retryBackoff.getRetryIntervalMills(10)).isEqualTo(300_000L);
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.resource;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+class WorkerResourceCacheTest {
+
+    private static final String RESOURCE_CONTENT = "echo hello";
+
+    @TempDir
+    private Path tempDirectory;
+
+    private WorkerConfig workerConfig;
+
+    private StorageOperator storageOperator;
+
+    @BeforeEach
+    void before() {
+        workerConfig = new WorkerConfig();
+        workerConfig.getResourceCache().setDirectory(tempDirectory.resolve("cache").toString());
+
+        storageOperator = mock(StorageOperator.class);
+        when(storageOperator.getStorageEntity(anyString())).thenAnswer(invocation -> StorageEntity.builder()
+                .fullName(invocation.getArgument(0))
+                .size(RESOURCE_CONTENT.length())
+                .updateTime(new Date(1000L))
+                .build());
+        doAnswer(invocation -> {
+            Files.write(Paths.get((String) invocation.getArgument(1)),
+                    RESOURCE_CONTENT.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(storageOperator).download(anyString(), anyString(), anyBoolean());
+        doAnswer(invocation -> {
+            Files.write(Paths.get((String) invocation.getArgument(2)),
+                    RESOURCE_CONTENT.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(storageOperator).download(anyString(), any(StorageEntity.class), anyString(), anyBoolean());
+    }
+
+    @Test
+    void download_hitCacheForSameResource() throws Exception {
+        WorkerResourceCache workerResourceCache = createWorkerResourceCache();
+        Path task1File = tempDirectory.resolve("task1").resolve("a.sh");
+        Path task2File = tempDirectory.resolve("task2").resolve("a.sh");
+
+        workerResourceCache.download(storageOperator, "/resources/a.sh", task1File.toString());
+        workerResourceCache.download(storageOperator, "/resources/a.sh", task2File.toString());
+
+        verify(storageOperator, times(1)).download(eq("/resources/a.sh"), any(StorageEntity.class), anyString(),
+                anyBoolean());
+        assertThat(readContent(task1File)).isEqualTo(RESOURCE_CONTENT);
+        assertThat(readContent(task2File)).isEqualTo(RESOURCE_CONTENT);
+        assertThat(workerResourceCache.getCachedResourceCount()).isEqualTo(1);
+        assertThat(workerResourceCache.getTotalSize()).isEqualTo(RESOURCE_CONTENT.length());
+    }
+
+    @Test
+    void download_missCacheWhenResourceUpdated() throws Exception {
+        WorkerResourceCache workerResourceCache = createWorkerResourceCache();
+        workerResourceCache.download(storageOperator, "/resources/a.sh",
+                tempDirectory.resolve("task1").resolve("a.sh").toString());
+
+        when(storageOperator.getStorageEntity("/resources/a.sh")).thenReturn(StorageEntity.builder()
+                .fullName("/resources/a.sh")
+                .size(RESOURCE_CONTENT.length())
+                .updateTime(new Date(2000L))
+                .build());
+        workerResourceCache.download(storageOperator, "/resources/a.sh",
+                tempDirectory.resolve("task2").resolve("a.sh").toString());
+
+        verify(storageOperator, times(2)).download(eq("/resources/a.sh"), any(StorageEntity.class), anyString(),
+                anyBoolean());
+    }
+
+    @Test
+    void download_coalesceConcurrentDownloads() throws Exception {
+        CountDownLatch downloadStarted = new CountDownLatch(1);
+        CountDownLatch downloadBlocked = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            downloadStarted.countDown();
+            downloadBlocked.await(10, TimeUnit.SECONDS);
+            Files.write(Paths.get((String) invocation.getArgument(2)),
+                    RESOURCE_CONTENT.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(storageOperator).download(anyString(), any(StorageEntity.class), anyString(), anyBoolean());
+        WorkerResourceCache workerResourceCache = createWorkerResourceCache();
+
+        int taskCount = 4;
+        ExecutorService executorService = Executors.newFixedThreadPool(taskCount);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < taskCount; i++) {
+                Path taskFile = tempDirectory.resolve("task" + i).resolve("a.sh");
+                futures.add(executorService.submit(() -> {
+                    workerResourceCache.download(storageOperator, "/resources/a.sh", taskFile.toString());
+                    return null;
+                }));
+            }
+            assertThat(downloadStarted.await(10, TimeUnit.SECONDS)).isTrue();
+            downloadBlocked.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        verify(storageOperator, times(1)).download(eq("/resources/a.sh"), any(StorageEntity.class), anyString(),
+                anyBoolean());
+        for (int i = 0; i < taskCount; i++) {
+            assertThat(readContent(tempDirectory.resolve("task" + i).resolve("a.sh")))
+                    .isEqualTo(RESOURCE_CONTENT);
+        }
+    }
+
+    @Test
+    void download_evictLeastRecentlyUsed() throws Exception {
+        workerConfig.getResourceCache().setMaxSize(DataSize.ofBytes(RESOURCE_CONTENT.length() * 2L));
+        WorkerResourceCache workerResourceCache = createWorkerResourceCache();
+        Path taskFile = tempDirectory.resolve("task1").resolve("a.sh");
+
+        workerResourceCache.download(storageOperator, "/resources/a.sh", taskFile.toString());
+        workerResourceCache.download(storageOperator, "/resources/b.sh",
+                tempDirectory.resolve("task1").resolve("b.sh").toString());
+        workerResourceCache.download(storageOperator, "/resources/c.sh",
+                tempDirectory.resolve("task1").resolve("c.sh").toString());
+
+        assertThat(workerResourceCache.getCachedResourceCount()).isEqualTo(2);
+        assertThat(workerResourceCache.getTotalSize()).isEqualTo(RESOURCE_CONTENT.length() * 2L);
+        // The evicted resource file in the task working directory is still available
+        assertThat(readContent(taskFile)).isEqualTo(RESOURCE_CONTENT);
+
+        workerResourceCache.download(storageOperator, "/resources/a.sh",
+                tempDirectory.resolve("task2").resolve("a.sh").toString());
+        verify(storageOperator, times(2)).download(eq("/resources/a.sh"), any(StorageEntity.class), anyString(),
+                anyBoolean());
+    }
+
+    @Test
+    void download_modifyLocalFileNotAffectCache() throws Exception {
+        WorkerResourceCache workerResourceCache = createWorkerResourceCache();
+        Path task1File = tempDirectory.resolve("task1").resolve("a.sh");
+        Path task2File = tempDirectory.resolve("task2").resolve("a.sh");
+
+        workerResourceCache.download(storageOperator, "/resources/a.sh", task1File.toString());
+        Files.write(task1File, "modified".getBytes(StandardCharsets.UTF_8));
+        workerResourceCache.download(storageOperator, "/resources/a.sh", task2File.toString());
+
+        assertThat(readContent(task2File)).isEqualTo(RESOURCE_CONTENT);
+    }
+
+    @Test
+    void init_notCleanDirectoryNotCreatedByCache() throws Exception {
+        Path userFile = tempDirectory.resolve("cache").resolve("resource-cache").resolve("user.txt");
+        Files.createDirectories(userFile.getParent());
+        Files.write(userFile, RESOURCE_CONTENT.getBytes(StandardCharsets.UTF_8));
+        WorkerResourceCache workerResourceCache = createWorkerResourceCache();
+        Path taskFile = tempDirectory.resolve("a.sh");
+
+        workerResourceCache.download(storageOperator, "/resources/a.sh", taskFile.toString());
+
+        // The cache is disabled and the user file is kept
+        assertThat(readContent(userFile)).isEqualTo(RESOURCE_CONTENT);
+        assertThat(workerResourceCache.getCachedResourceCount()).isEqualTo(0);
+        verify(storageOperator, times(1)).download("/resources/a.sh", taskFile.toString(), true);
+    }
+
+    @Test
+    void init_cleanDirectoryCreatedByCache() throws Exception {
+        createWorkerResourceCache().download(storageOperator, "/resources/a.sh",
+                tempDirectory.resolve("task1").resolve("a.sh").toString());
+        WorkerResourceCache workerResourceCache = createWorkerResourceCache();
+
+        workerResourceCache.download(storageOperator, "/resources/a.sh",
+                tempDirectory.resolve("task2").resolve("a.sh").toString());
+
+        assertThat(workerResourceCache.getCachedResourceCount()).isEqualTo(1);
+        verify(storageOperator, times(2)).download(eq("/resources/a.sh"), any(StorageEntity.class), anyString(),
+                anyBoolean());
+    }
+
+    @Test
+    void download_cacheDisabled() throws Exception {
+        workerConfig.getResourceCache().setEnabled(false);
+        WorkerResourceCache workerResourceCache = createWorkerResourceCache();
+        Path taskFile = tempDirectory.resolve("a.sh");
+
+        workerResourceCache.download(storageOperator, "/resources/a.sh", taskFile.toString());
+        workerResourceCache.download(storageOperator, "/resources/a.sh", taskFile.toString());
+
+        verify(storageOperator, times(2)).download("/resources/a.sh", taskFile.toString(), true);
+        assertThat(workerResourceCache.getCachedResourceCount()).isEqualTo(0);
+    }
+
+    private WorkerResourceCache createWorkerResourceCache() throws Exception {
+        WorkerResourceCache workerResourceCache = new WorkerResourceCache(workerConfig);
+        workerResourceCache.init();
+        return workerResourceCache;
+    }
+
+    private String readContent(Path path) throws IOException {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    }
+}
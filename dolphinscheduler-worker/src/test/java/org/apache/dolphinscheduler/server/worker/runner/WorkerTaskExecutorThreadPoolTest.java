@@ -23,6 +23,7 @@ import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.server.worker.config.TaskExecuteThreadsFullPolicy;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.registry.WorkerRegistryClient;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerResourceCache;
 import org.apache.dolphinscheduler.server.worker.rpc.WorkerMessageSender;
 
 import org.apache.commons.lang3.RandomUtils;
@@ -149,7 +150,8 @@ class WorkerTaskExecutorThreadPoolTest {
                     new WorkerConfig(),
                     new WorkerMessageSender(),
                     null,
-                    new WorkerRegistryClient());
+                    new WorkerRegistryClient(),
+                    new WorkerResourceCache(new WorkerConfig()));
             this.runnable = runnable;
         }
 
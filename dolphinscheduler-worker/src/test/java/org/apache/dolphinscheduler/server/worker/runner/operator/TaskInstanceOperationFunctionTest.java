@@ -38,6 +38,7 @@ import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.message.MessageRetryRunner;
 import org.apache.dolphinscheduler.server.worker.registry.WorkerRegistryClient;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerResourceCache;
 import org.apache.dolphinscheduler.server.worker.rpc.WorkerMessageSender;
 import org.apache.dolphinscheduler.server.worker.runner.WorkerTaskExecutor;
 import org.apache.dolphinscheduler.server.worker.runner.WorkerTaskExecutorFactoryBuilder;
@@ -75,6 +76,8 @@ public class TaskInstanceOperationFunctionTest {
 
     private WorkerRegistryClient workerRegistryClient = Mockito.mock(WorkerRegistryClient.class);
 
+    private WorkerResourceCache workerResourceCache = Mockito.mock(WorkerResourceCache.class);
+
     @Test
     public void testTaskInstanceOperationFunctionManager() {
         TaskInstanceKillOperationFunction taskInstanceKillOperationFunction = new TaskInstanceKillOperationFunction(
@@ -93,7 +96,8 @@ public class TaskInstanceOperationFunctionTest {
                 workerMessageSender,
                 workerManager,
                 storageOperator,
-                workerRegistryClient);
+                workerRegistryClient,
+                workerResourceCache);
 
         TaskInstanceDispatchOperationFunction taskInstanceDispatchOperationFunction =
                 new TaskInstanceDispatchOperationFunction(
@@ -187,7 +191,8 @@ public class TaskInstanceOperationFunctionTest {
                 workerMessageSender,
                 workerManager,
                 storageOperator,
-                workerRegistryClient);
+                workerRegistryClient,
+                workerResourceCache);
 
         TaskInstanceDispatchOperationFunction taskInstanceDispatchOperationFunction =
                 new TaskInstanceDispatchOperationFunction(